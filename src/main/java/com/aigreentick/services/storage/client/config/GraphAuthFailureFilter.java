@@ -0,0 +1,46 @@
+package com.aigreentick.services.storage.client.config;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.aigreentick.services.storage.client.service.impl.UserClientAdapter;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/**
+ * Drops cached credentials whose access token the Graph API answers with
+ * 401, so the next request looks fresh ones up instead of failing again
+ * until the cache entry expires. The token is taken from the
+ * {@code Authorization} header ({@code Bearer} or {@code OAuth}) or the
+ * {@code access_token} query parameter.
+ */
+@Component
+@RequiredArgsConstructor
+public class GraphAuthFailureFilter implements ExchangeFilterFunction {
+    private final UserClientAdapter userClient;
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return next.exchange(request).doOnNext(response -> {
+            if (response.statusCode().value() == HttpStatus.UNAUTHORIZED.value()) {
+                userClient.invalidateAccessToken(accessToken(request));
+            }
+        });
+    }
+
+    private String accessToken(ClientRequest request) {
+        String authorization = request.headers().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authorization != null) {
+            int space = authorization.indexOf(' ');
+            return space >= 0 ? authorization.substring(space + 1).trim() : authorization.trim();
+        }
+        return UriComponentsBuilder.fromUri(request.url()).build().getQueryParams().getFirst("access_token");
+    }
+}
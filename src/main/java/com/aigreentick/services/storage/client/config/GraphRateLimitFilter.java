@@ -0,0 +1,214 @@
+package com.aigreentick.services.storage.client.config;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+
+import com.aigreentick.services.storage.client.properties.GraphRateLimitProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Rate limits Graph API requests per phone number ID, the unit Meta
+ * throttles by, so one busy tenant cannot use up the capacity of others.
+ * Each phone number gets its own limiter whose rate adapts AIMD-style:
+ * it grows by a step after each second of healthy responses and is cut by
+ * a factor on a 429, on a throttling error code in a 4xx error body, or
+ * when {@code X-Business-Use-Case-Usage} reports usage above the watermark.
+ *
+ * <p>Requests over the rate are delayed without blocking a thread, up to
+ * {@code max-wait-ms}; only then are they rejected with
+ * {@link RequestNotPermitted}. Requests without the
+ * {@link #PHONE_NUMBER_ID} attribute are not limited.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GraphRateLimitFilter implements ExchangeFilterFunction {
+    /**
+     * Request attribute carrying the phone number ID a request is limited by.
+     */
+    public static final String PHONE_NUMBER_ID = GraphRateLimitFilter.class.getName() + ".phoneNumberId";
+
+    static final String BUSINESS_USAGE_HEADER = "X-Business-Use-Case-Usage";
+
+    /**
+     * Graph error codes for throttling, which arrive as 400 rather than 429:
+     * app rate limit, WhatsApp Business Account rate limit, and phone number
+     * throughput reached.
+     */
+    static final Set<Integer> THROTTLING_ERROR_CODES = Set.of(4, 80007, 130429);
+
+    private static final long ADAPT_INTERVAL_NANOS = Duration.ofSeconds(1).toNanos();
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final GraphRateLimitProperties properties;
+    private final Map<String, AdaptiveLimiter> limiters = new ConcurrentHashMap<>();
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        Object phoneNumberId = request.attribute(PHONE_NUMBER_ID).orElse(null);
+        if (!properties.isEnabled() || phoneNumberId == null) {
+            return next.exchange(request);
+        }
+
+        AdaptiveLimiter limiter = limiters.computeIfAbsent(phoneNumberId.toString(), AdaptiveLimiter::new);
+        return Mono.defer(() -> {
+            long waitNanos = limiter.rateLimiter.reservePermission();
+            if (waitNanos < 0) {
+                log.warn("Graph API rate limit for phoneNumberId={} exceeded at {}/s, rejecting request",
+                        limiter.phoneNumberId, limiter.limit);
+                return Mono.error(RequestNotPermitted.createRequestNotPermitted(limiter.rateLimiter));
+            }
+            Mono<ClientResponse> exchange = next.exchange(request).flatMap(response -> observe(limiter, response));
+            return waitNanos == 0 ? exchange : Mono.delay(Duration.ofNanos(waitNanos)).then(exchange);
+        });
+    }
+
+    private Mono<ClientResponse> observe(AdaptiveLimiter limiter, ClientResponse response) {
+        HttpStatusCode status = response.statusCode();
+        HttpHeaders headers = response.headers().asHttpHeaders();
+        if (!status.is4xxClientError() || status.value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            limiter.onResponse(status, headers, 0);
+            return Mono.just(response);
+        }
+        // The error code is in the body; error bodies are small, so buffer it and hand on a copy
+        return response.bodyToMono(String.class)
+                .defaultIfEmpty("")
+                .map(body -> {
+                    limiter.onResponse(status, headers, parseErrorCode(body));
+                    return response.mutate().body(body).build();
+                });
+    }
+
+    /**
+     * Current rate of a phone number, in requests per second; null before its first request.
+     */
+    Integer currentLimit(String phoneNumberId) {
+        AdaptiveLimiter limiter = limiters.get(phoneNumberId);
+        return limiter != null ? limiter.limit : null;
+    }
+
+    /**
+     * Highest usage percentage and longest wait to regain access reported by
+     * {@code X-Business-Use-Case-Usage}, whose value maps business IDs to lists
+     * of per-use-case usage objects.
+     */
+    static BusinessUsage parseBusinessUsage(String header) {
+        if (header == null || header.isBlank()) {
+            return BusinessUsage.NONE;
+        }
+        try {
+            int percent = 0;
+            int regainMinutes = 0;
+            for (JsonNode useCases : MAPPER.readTree(header)) {
+                for (JsonNode usage : useCases) {
+                    percent = Math.max(percent, usage.path("call_count").asInt(0));
+                    percent = Math.max(percent, usage.path("total_cputime").asInt(0));
+                    percent = Math.max(percent, usage.path("total_time").asInt(0));
+                    regainMinutes = Math.max(regainMinutes, usage.path("estimated_time_to_regain_access").asInt(0));
+                }
+            }
+            return new BusinessUsage(percent, regainMinutes);
+        } catch (JsonProcessingException e) {
+            log.debug("Ignoring unparseable {} header: {}", BUSINESS_USAGE_HEADER, header);
+            return BusinessUsage.NONE;
+        }
+    }
+
+    /**
+     * {@code error.code} of a Graph error body; 0 when there is none.
+     */
+    static int parseErrorCode(String body) {
+        if (body == null || body.isBlank()) {
+            return 0;
+        }
+        try {
+            return MAPPER.readTree(body).path("error").path("code").asInt(0);
+        } catch (JsonProcessingException e) {
+            log.debug("Ignoring unparseable Graph error body");
+            return 0;
+        }
+    }
+
+    record BusinessUsage(int percent, int regainMinutes) {
+        static final BusinessUsage NONE = new BusinessUsage(0, 0);
+    }
+
+    private final class AdaptiveLimiter {
+        private final String phoneNumberId;
+        private final RateLimiter rateLimiter;
+        private volatile int limit;
+        private long lastChangeNanos = System.nanoTime() - ADAPT_INTERVAL_NANOS;
+
+        AdaptiveLimiter(String phoneNumberId) {
+            this.phoneNumberId = phoneNumberId;
+            this.limit = properties.getInitialLimitPerSecond();
+            this.rateLimiter = RateLimiter.of("graph-phone-" + phoneNumberId, RateLimiterConfig.custom()
+                    .limitForPeriod(limit)
+                    .limitRefreshPeriod(Duration.ofSeconds(1))
+                    .timeoutDuration(Duration.ofMillis(properties.getMaxWaitMs()))
+                    .build());
+        }
+
+        synchronized void onResponse(HttpStatusCode status, HttpHeaders headers, int errorCode) {
+            BusinessUsage usage = parseBusinessUsage(headers.getFirst(BUSINESS_USAGE_HEADER));
+            long now = System.nanoTime();
+            boolean recentlyChanged = now - lastChangeNanos < ADAPT_INTERVAL_NANOS;
+            boolean throttled = status.value() == HttpStatus.TOO_MANY_REQUESTS.value()
+                    || THROTTLING_ERROR_CODES.contains(errorCode);
+
+            if (usage.regainMinutes() > 0) {
+                // Meta has blocked the number for a while; probe again slowly
+                change(properties.getMinLimitPerSecond(), now, "access blocked for " + usage.regainMinutes() + " min");
+            } else if (throttled || usage.percent() >= properties.getUsageHighWatermarkPercent()) {
+                // Responses from the same second report the same overload; back off once for them
+                if (!recentlyChanged) {
+                    change((int) (limit * properties.getDecreaseFactor()), now,
+                            throttled ? throttleReason(status, errorCode) : "usage at " + usage.percent() + "%");
+                }
+            } else if (status.is2xxSuccessful() && !recentlyChanged) {
+                change(limit + properties.getAdditiveIncrease(), now, null);
+            }
+        }
+
+        private String throttleReason(HttpStatusCode status, int errorCode) {
+            return errorCode != 0 ? "Graph error code " + errorCode : status.value() + " response";
+        }
+
+        private void change(int newLimit, long now, String reason) {
+            int bounded = Math.max(properties.getMinLimitPerSecond(),
+                    Math.min(properties.getMaxLimitPerSecond(), newLimit));
+            lastChangeNanos = now;
+            if (bounded == limit) {
+                return;
+            }
+            if (reason != null) {
+                log.info("Graph API rate for phoneNumberId={} lowered {} -> {}/s ({})",
+                        phoneNumberId, limit, bounded, reason);
+            } else {
+                log.debug("Graph API rate for phoneNumberId={} raised {} -> {}/s", phoneNumberId, limit, bounded);
+            }
+            limit = bounded;
+            rateLimiter.changeLimitForPeriod(bounded);
+        }
+    }
+}
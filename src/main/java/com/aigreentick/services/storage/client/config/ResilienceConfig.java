@@ -8,9 +8,11 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.web.reactive.function.client.WebClientRequestException;
 
 import com.aigreentick.services.storage.client.properties.ResilienceProperties;
+import com.aigreentick.services.storage.exception.GraphApiException;
 
 import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.common.bulkhead.configuration.BulkheadConfigCustomizer;
 import io.github.resilience4j.ratelimiter.RateLimiterConfig;
 import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
 import io.github.resilience4j.retry.Retry;
@@ -20,11 +22,15 @@ import lombok.RequiredArgsConstructor;
 
 /**
  * Resilience4j configuration for media service client operations.
- * Provides retry, circuit breaker, and rate limiter policies.
+ * Provides retry, circuit breaker, rate limiter, and bulkhead policies.
  */
 @Configuration
 @RequiredArgsConstructor
 public class ResilienceConfig {
+    public static final String GRAPH_BULKHEAD = "graphApiBulkhead";
+    public static final String ORGANISATION_BULKHEAD = "organisationClientBulkhead";
+    public static final String USER_BULKHEAD = "userClientBulkhead";
+
     private final ResilienceProperties properties;
 
     // ---------------- Retry Configuration ----------------
@@ -35,7 +41,7 @@ public class ResilienceConfig {
         return RetryConfig.custom()
                 .maxAttempts(properties.getRetryMaxAttempts())
                 .waitDuration(Duration.ofMillis(properties.getRetryWaitDurationMs()))
-                .retryExceptions(IOException.class, WebClientRequestException.class)
+                .retryExceptions(IOException.class, WebClientRequestException.class, GraphApiException.class)
                 .ignoreExceptions(IllegalArgumentException.class)
                 .build();
     }
@@ -88,4 +94,37 @@ public class ResilienceConfig {
     public RateLimiterRegistry rateLimiterRegistry(RateLimiterConfig defaultRateLimiterConfig) {
         return RateLimiterRegistry.of(defaultRateLimiterConfig);
     }
-}
\ No newline at end of file
+
+    // ---------------- Bulkhead Configuration ----------------
+
+    /**
+     * One semaphore bulkhead per downstream, so a slow Graph API (or user or
+     * organisation service) can hold at most its own share of request threads.
+     * Applied as customizers to Boot's bulkhead registry, so its
+     * {@code resilience4j.bulkhead.*} settings, events and tagged metrics
+     * still apply.
+     */
+    @Bean
+    public BulkheadConfigCustomizer graphBulkheadCustomizer() {
+        return bulkheadCustomizer(GRAPH_BULKHEAD,
+                properties.getGraphBulkheadMaxConcurrentCalls(), properties.getGraphBulkheadMaxWaitMs());
+    }
+
+    @Bean
+    public BulkheadConfigCustomizer organisationBulkheadCustomizer() {
+        return bulkheadCustomizer(ORGANISATION_BULKHEAD,
+                properties.getOrganisationBulkheadMaxConcurrentCalls(), properties.getOrganisationBulkheadMaxWaitMs());
+    }
+
+    @Bean
+    public BulkheadConfigCustomizer userBulkheadCustomizer() {
+        return bulkheadCustomizer(USER_BULKHEAD,
+                properties.getUserBulkheadMaxConcurrentCalls(), properties.getUserBulkheadMaxWaitMs());
+    }
+
+    private BulkheadConfigCustomizer bulkheadCustomizer(String name, int maxConcurrentCalls, long maxWaitMs) {
+        return BulkheadConfigCustomizer.of(name, builder -> builder
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ofMillis(maxWaitMs)));
+    }
+}
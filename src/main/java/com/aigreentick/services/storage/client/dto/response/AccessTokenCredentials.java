@@ -1,6 +1,8 @@
 package com.aigreentick.services.storage.client.dto.response;
 
 
+import java.time.Instant;
+
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
@@ -9,4 +11,9 @@ import lombok.Getter;
 public class AccessTokenCredentials {
     private final String id; // WABA ID or PhoneNumber ID
     private final String accessToken;
+    private final Instant expiresAt; // null for tokens that do not expire (system user tokens)
+
+    public AccessTokenCredentials(String id, String accessToken) {
+        this(id, accessToken, null);
+    }
 }
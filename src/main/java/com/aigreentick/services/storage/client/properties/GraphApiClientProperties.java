@@ -0,0 +1,35 @@
+package com.aigreentick.services.storage.client.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * HTTP client and connection pool settings for calls to the Graph API.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "whatsapp-service.http")
+@Data
+public class GraphApiClientProperties {
+
+    // Connection pool
+    private int maxConnections = 500;
+    private int pendingAcquireMaxCount = 1000;
+    private long pendingAcquireTimeoutMs = 5000;
+
+    // Close pooled connections before the Graph edge drops them
+    private long maxIdleTimeMs = 30_000;
+    private long maxLifeTimeMs = 300_000;
+    private long evictInBackgroundMs = 30_000;
+
+    // Timeouts
+    private int connectTimeoutMs = 2000;
+    private long responseTimeoutMs = 5000;
+
+    // Negotiate HTTP/2 over TLS (ALPN), falling back to HTTP/1.1
+    private boolean http2Enabled = false;
+
+    // Pool gauges (active, idle, pending) under reactor.netty.connection.provider.*
+    private boolean metricsEnabled = true;
+}
@@ -0,0 +1,29 @@
+package com.aigreentick.services.storage.client.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Per-request deadlines and hedging of Graph API calls.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "whatsapp-service.deadline")
+@Data
+public class GraphDeadlineProperties {
+
+    // Size-aware timeout: base plus the time to send the body at the minimum expected throughput
+    private long baseTimeoutMs = 5000;
+    private long minThroughputBytesPerSecond = 512 * 1024;
+    private long maxTimeoutMs = 600_000;
+
+    // Longest caller time budget accepted in X-Request-Timeout-Ms; larger budgets are clamped to it
+    private long maxRequestTimeoutMs = 600_000;
+
+    // Hedging of idempotent calls, fired after the observed p95 latency
+    private boolean hedgingEnabled = true;
+    private long hedgeDefaultDelayMs = 1000;
+    private long hedgeMinDelayMs = 50;
+    private int hedgeMinSamples = 20;
+}
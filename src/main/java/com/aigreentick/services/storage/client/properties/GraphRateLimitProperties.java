@@ -0,0 +1,31 @@
+package com.aigreentick.services.storage.client.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Adaptive per-phone-number rate limiting of Graph API uploads.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "whatsapp-service.rate-limit")
+@Data
+public class GraphRateLimitProperties {
+    private boolean enabled = true;
+
+    // Requests per second per phone number ID: starting point and bounds of the adaptation
+    private int initialLimitPerSecond = 20;
+    private int minLimitPerSecond = 1;
+    private int maxLimitPerSecond = 80;
+
+    // AIMD: added after a second of healthy responses, multiplied on throttling
+    private int additiveIncrease = 1;
+    private double decreaseFactor = 0.5;
+
+    // Back off once any X-Business-Use-Case-Usage figure reaches this percentage
+    private int usageHighWatermarkPercent = 75;
+
+    // Longest a request waits for a permit before it is rejected with 429
+    private long maxWaitMs = 2000;
+}
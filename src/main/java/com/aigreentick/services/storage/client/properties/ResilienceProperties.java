@@ -28,6 +28,14 @@ public class ResilienceProperties {
     private int rateLimiterLimitForPeriod = 10;
     private long rateLimiterLimitRefreshPeriodSec = 1;
     private long rateLimiterTimeoutDurationMs = 0;
+
+    // Bulkhead properties, one bulkhead per downstream. Calls wait up to maxWait for a free slot, then fail fast
+    private int graphBulkheadMaxConcurrentCalls = 32;
+    private long graphBulkheadMaxWaitMs = 50;
+    private int organisationBulkheadMaxConcurrentCalls = 16;
+    private long organisationBulkheadMaxWaitMs = 200;
+    private int userBulkheadMaxConcurrentCalls = 16;
+    private long userBulkheadMaxWaitMs = 200;
     
     private volatile boolean enabled = true;
 }
@@ -13,5 +13,8 @@ public class UserClientProperties {
     private String apiVersion;
 
      private volatile boolean outgoingEnabled = true;
-}
 
+    // Credential cache: lifetime of tokens without an expiry, and how long before expiry they are refreshed
+    private long credentialTtlSeconds = 3600;
+    private long credentialRefreshAheadSeconds = 300;
+}
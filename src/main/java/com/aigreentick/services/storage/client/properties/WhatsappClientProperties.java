@@ -11,6 +11,15 @@ public class WhatsappClientProperties {
     private String baseUrl;
     private String apiVersion;
 
+    // App that owns Graph resumable upload sessions
+    private String appId;
+
+    // Files above this size use a resumable upload session instead of /media;
+    // kept well below the 100 MB /media limit so large documents get resumable chunks
+    private long resumableThresholdBytes = 16L * 1024 * 1024;
+    private long resumableChunkSizeBytes = 4L * 1024 * 1024;
+    private int resumableMaxResumes = 5;
+
     // Feature flags for dynamic enable/disable
     private volatile boolean outgoingEnabled = true;
     private volatile boolean incomingEnabled = true;
@@ -0,0 +1,142 @@
+package com.aigreentick.services.storage.client.service.impl;
+
+import java.time.Duration;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import com.aigreentick.services.storage.client.properties.GraphDeadlineProperties;
+import com.aigreentick.services.storage.util.RequestDeadline;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+
+/**
+ * Deadlines, latency metrics and hedging for Graph API calls.
+ *
+ * <p>A call's timeout grows with the bytes it sends and is cut to what is
+ * left of the incoming request's {@link RequestDeadline}. Latency is
+ * recorded per operation as {@code graph.api.latency} with p50/p95/p99.
+ * Idempotent calls may be hedged: if the first attempt has not answered
+ * within the operation's recent p95, a second one is sent and the first
+ * answer wins. {@code graph.api.hedge} counts hedges fired and which
+ * attempt won.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GraphCallPolicy {
+    private static final double HEDGE_PERCENTILE = 0.95;
+
+    private final GraphDeadlineProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Timeout of a call sending {@code contentLength} bytes (negative when
+     * unknown or bodyless). Zero or negative once the request deadline has passed.
+     */
+    public Duration timeoutFor(long contentLength) {
+        long timeoutMs = properties.getBaseTimeoutMs();
+        if (contentLength > 0) {
+            timeoutMs += contentLength * 1000 / Math.max(1, properties.getMinThroughputBytesPerSecond());
+        }
+        Duration timeout = Duration.ofMillis(Math.min(timeoutMs, properties.getMaxTimeoutMs()));
+
+        Duration remaining = RequestDeadline.remaining();
+        return remaining != null && remaining.compareTo(timeout) < 0 ? remaining : timeout;
+    }
+
+    /**
+     * Bounds {@code call} by {@code timeout} and records its latency.
+     */
+    public <T> Mono<T> timed(String operation, Duration timeout, Mono<T> call) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return call.timeout(timeout)
+                    .doOnSuccess(value -> record(operation, "success", start))
+                    .doOnError(e -> record(operation, e instanceof TimeoutException ? "timeout" : "error", start));
+        });
+    }
+
+    /**
+     * Like {@link #timed}, and sends a second attempt if the first is slower
+     * than the operation's recent p95. Only for idempotent calls.
+     */
+    public <T> Mono<T> hedged(String operation, Duration timeout, Supplier<Mono<T>> call) {
+        Mono<T> primary = timed(operation, timeout, Mono.defer(call));
+        Duration delay = hedgeDelay(operation);
+        if (!properties.isHedgingEnabled() || delay.compareTo(timeout) >= 0) {
+            return primary;
+        }
+
+        Mono<Attempt<T>> first = primary.map(value -> new Attempt<>(value, false));
+        Mono<Attempt<T>> second = Mono.delay(delay)
+                .then(Mono.defer(() -> {
+                    hedgeCounter(operation, "fired").increment();
+                    log.debug("Hedging {} after {} ms", operation, delay.toMillis());
+                    return timed(operation, timeout.minus(delay), Mono.defer(call));
+                }))
+                .map(value -> new Attempt<>(value, true));
+
+        // A hedge that is never fired (primary answered first) is cancelled with its delay
+        return Mono.firstWithValue(first, second)
+                .doOnNext(attempt -> hedgeCounter(operation, attempt.hedge() ? "hedge_won" : "primary_won").increment())
+                .map(Attempt::value)
+                .onErrorMap(GraphCallPolicy::firstFailure);
+    }
+
+    /**
+     * Recent p95 latency of successful calls, once there are enough of them.
+     */
+    Duration hedgeDelay(String operation) {
+        Timer timer = latency(operation, "success");
+        if (timer.count() >= properties.getHedgeMinSamples()) {
+            for (ValueAtPercentile percentile : timer.takeSnapshot().percentileValues()) {
+                if (percentile.percentile() == HEDGE_PERCENTILE) {
+                    long delayMs = (long) percentile.value(TimeUnit.MILLISECONDS);
+                    return Duration.ofMillis(Math.max(properties.getHedgeMinDelayMs(), delayMs));
+                }
+            }
+        }
+        return Duration.ofMillis(properties.getHedgeDefaultDelayMs());
+    }
+
+    private void record(String operation, String outcome, long startNanos) {
+        latency(operation, outcome).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer latency(String operation, String outcome) {
+        return Timer.builder("graph.api.latency")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, HEDGE_PERCENTILE, 0.99)
+                .register(meterRegistry);
+    }
+
+    private Counter hedgeCounter(String operation, String event) {
+        return meterRegistry.counter("graph.api.hedge", "operation", operation, "event", event);
+    }
+
+    /**
+     * When both attempts fail, reports the first attempt's error rather than
+     * Reactor's "all sources failed" wrapper.
+     */
+    private static Throwable firstFailure(Throwable e) {
+        if (e instanceof NoSuchElementException && e.getSuppressed().length > 0) {
+            return Exceptions.unwrapMultiple(e.getSuppressed()[0]).get(0);
+        }
+        return e;
+    }
+
+    private record Attempt<T>(T value, boolean hedge) {
+    }
+}
@@ -0,0 +1,154 @@
+package com.aigreentick.services.storage.client.service.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.springframework.stereotype.Component;
+
+import com.aigreentick.services.common.dto.response.FacebookApiResponse;
+import com.aigreentick.services.storage.client.dto.response.AccessTokenCredentials;
+import com.aigreentick.services.storage.client.dto.response.UploadMediaResponse;
+import com.aigreentick.services.storage.client.dto.response.UploadOffsetResponse;
+import com.aigreentick.services.storage.client.dto.response.UploadSessionResponse;
+import com.aigreentick.services.storage.client.dto.response.WhatsappMediaUploadResponseDto;
+import com.aigreentick.services.storage.client.properties.WhatsappClientProperties;
+import com.aigreentick.services.storage.exception.GraphApiException;
+import com.aigreentick.services.storage.exception.MediaUploadException;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Uploads a file to the Graph API, choosing the path by size. Files up to
+ * {@code resumable-threshold-bytes} go through the single-request
+ * {@code /media} endpoint. Larger files go through a resumable upload
+ * session in ranged chunks; after a failed chunk the session offset is
+ * re-read and only the bytes Graph does not have yet are sent again.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GraphUploadEngine {
+    private final WhatsappClientAdapter whatsappClient;
+    private final WhatsappClientProperties properties;
+
+    /**
+     * Result of an upload: a media ID from {@code /media}, or the media
+     * handle Graph issues when a resumable session is finished.
+     */
+    public record GraphUploadResult(String mediaId, String handle) {
+    }
+
+    public GraphUploadResult upload(Path file, String filename, String mimeType,
+            AccessTokenCredentials credentials) throws IOException {
+        long size = Files.size(file);
+        if (size <= properties.getResumableThresholdBytes()) {
+            return new GraphUploadResult(uploadSimple(file, size, filename, mimeType, credentials), null);
+        }
+        return new GraphUploadResult(null, uploadResumable(file, size, filename, mimeType, credentials));
+    }
+
+    private String uploadSimple(Path file, long size, String filename, String mimeType,
+            AccessTokenCredentials credentials) throws IOException {
+        FacebookApiResponse<WhatsappMediaUploadResponseDto> response;
+        try (InputStream content = Files.newInputStream(file)) {
+            response = whatsappClient.uploadMediaToFacebook(
+                    content, filename, mimeType, size, credentials.getId(), credentials.getAccessToken());
+        }
+        if (!response.isSuccess()) {
+            throw new MediaUploadException(response.getErrorMessage(), response.getStatusCode());
+        }
+        return response.getData().getId();
+    }
+
+    private String uploadResumable(Path file, long size, String filename, String mimeType,
+            AccessTokenCredentials credentials) throws IOException {
+        String accessToken = credentials.getAccessToken();
+        FacebookApiResponse<UploadSessionResponse> session = whatsappClient.initiateUploadSession(
+                filename, size, mimeType, properties.getAppId(), accessToken);
+        if (!session.isSuccess()) {
+            throw new MediaUploadException(session.getErrorMessage(), session.getStatusCode());
+        }
+        String sessionId = session.getData().getUploadSessionId();
+        log.info("Resumable Graph upload started: sessionId={}, size={}", sessionId, size);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long offset = 0;
+            int resumes = 0;
+            String handle = null;
+
+            while (offset < size) {
+                long length = Math.min(properties.getResumableChunkSizeBytes(), size - offset);
+                FacebookApiResponse<UploadMediaResponse> response = uploadChunk(sessionId, channel, offset, length,
+                        accessToken);
+
+                if (response.isSuccess()) {
+                    offset += length;
+                    // Only the chunk that completes the file carries the handle
+                    if (offset == size && response.getData() != null) {
+                        handle = response.getData().getFacebookImageUrl();
+                    }
+                    continue;
+                }
+
+                if (++resumes > properties.getResumableMaxResumes()) {
+                    throw new MediaUploadException("Resumable upload " + sessionId + " failed after "
+                            + properties.getResumableMaxResumes() + " resumes: " + response.getErrorMessage(),
+                            response.getStatusCode());
+                }
+                // Part of the chunk may have landed; continue from what Graph actually has
+                long resumeAt = currentOffset(sessionId, accessToken);
+                log.warn("Chunk at offset {} failed ({}), resuming session {} at offset {}",
+                        offset, response.getErrorMessage(), sessionId, resumeAt);
+                offset = resumeAt;
+            }
+
+            // Finish: Graph must hold every byte before its handle refers to the whole file
+            long received = currentOffset(sessionId, accessToken);
+            if (received != size) {
+                throw new MediaUploadException("Upload session " + sessionId + " holds " + received
+                        + " of " + size + " bytes after the last chunk");
+            }
+            if (handle == null || handle.isBlank()) {
+                throw new MediaUploadException("Graph returned no handle for completed upload session " + sessionId);
+            }
+            log.info("Resumable Graph upload completed: sessionId={}, resumes={}", sessionId, resumes);
+            return handle;
+        }
+    }
+
+    /**
+     * A chunk failure of either kind, returned or thrown for the circuit
+     * breaker, leaves the session to be resumed from Graph's offset.
+     */
+    private FacebookApiResponse<UploadMediaResponse> uploadChunk(String sessionId, FileChannel channel, long offset,
+            long length, String accessToken) {
+        try {
+            return whatsappClient.uploadResumableChunk(sessionId, channel, offset, length, accessToken);
+        } catch (GraphApiException e) {
+            return FacebookApiResponse.error(e.getMessage(), e.getStatusCode());
+        }
+    }
+
+    private long currentOffset(String sessionId, String accessToken) {
+        FacebookApiResponse<UploadOffsetResponse> offset;
+        try {
+            offset = whatsappClient.getUploadOffset(sessionId, accessToken);
+        } catch (GraphApiException e) {
+            offset = FacebookApiResponse.error(e.getMessage(), e.getStatusCode());
+        }
+        if (!offset.isSuccess()) {
+            throw new MediaUploadException("Failed to read offset of upload session " + sessionId + ": "
+                    + offset.getStatusCode() + " " + offset.getErrorMessage());
+        }
+        UploadOffsetResponse response = offset.getData();
+        if (response == null || response.getFileOffset() == null) {
+            throw new MediaUploadException("Graph returned no offset for upload session " + sessionId);
+        }
+        return Long.parseLong(response.getFileOffset());
+    }
+}
@@ -3,10 +3,12 @@ package com.aigreentick.services.storage.client.service.impl;
 import org.springframework.stereotype.Component;
 
 import com.aigreentick.services.common.exceptions.infrastructure.ExternalServiceException;
+import com.aigreentick.services.storage.client.config.ResilienceConfig;
 import com.aigreentick.services.storage.client.dto.response.StorageInfo;
 import com.aigreentick.services.storage.client.properties.OrganisationClientProperties;
 // import com.aigreentick.services.storage.client.service.interfaces.OrganisationClient;
 
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
 import lombok.RequiredArgsConstructor;
@@ -23,6 +25,7 @@ public class OrganisationClientAdapter {
 
     @Retry(name = ORG_CLIENT_CB, fallbackMethod = "getStorageInfoFallback")
     @CircuitBreaker(name = ORG_CLIENT_CB, fallbackMethod = "getStorageInfoFallback")
+    @Bulkhead(name = ResilienceConfig.ORGANISATION_BULKHEAD, fallbackMethod = "getStorageInfoFallback")
     public StorageInfo getStorageInfo() {
         if (!properties.isOutgoingEnabled()) {
             log.warn("Outgoing call to Organisation Service is disabled via configuration");
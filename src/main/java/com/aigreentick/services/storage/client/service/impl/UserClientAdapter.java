@@ -1,28 +1,143 @@
 package com.aigreentick.services.storage.client.service.impl;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
 import org.springframework.stereotype.Component;
 
+import com.aigreentick.services.storage.client.config.ResilienceConfig;
 import com.aigreentick.services.storage.client.dto.response.AccessTokenCredentials;
 import com.aigreentick.services.storage.client.properties.UserClientProperties;
 
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Resolves the Graph API credentials of a user. Credentials are cached per
+ * user and refreshed in the background shortly before they expire, so
+ * uploads in steady state never wait for a lookup. Concurrent misses for
+ * the same user share one lookup. Credentials the Graph API rejects with
+ * a 401 are dropped through {@link #invalidateAccessToken}. Lookups run
+ * inside the user service bulkhead; cache hits do not.
+ */
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class UserClientAdapter {
 
      private final UserClientProperties properties;
+    private final BulkheadRegistry bulkheadRegistry;
+
+    private final Map<String, CachedCredentials> credentials = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<AccessTokenCredentials>> lookups = new ConcurrentHashMap<>();
 
     public AccessTokenCredentials getPhoneNumberIdAccessToken(Long userId) {
+        return cached("phone:" + userId, () -> fetchPhoneNumberIdAccessToken(userId));
+    }
+
+    public AccessTokenCredentials getWabaAccessToken(Long userId) {
+        return cached("waba:" + userId, () -> fetchWabaAccessToken(userId));
+    }
+
+    /**
+     * Drops every cached credential carrying {@code accessToken}, e.g. after the
+     * Graph API rejected it; the next call looks the credentials up again.
+     */
+    public void invalidateAccessToken(String accessToken) {
+        if (accessToken == null) {
+            return;
+        }
+        credentials.entrySet().removeIf(entry -> {
+            boolean rejected = accessToken.equals(entry.getValue().credentials().getAccessToken());
+            if (rejected) {
+                log.warn("Dropping cached credentials {} after the Graph API rejected their token", entry.getKey());
+            }
+            return rejected;
+        });
+    }
+
+    AccessTokenCredentials fetchPhoneNumberIdAccessToken(Long userId) {
         if (!properties.isOutgoingEnabled()) {
-            
+
         }
         return new AccessTokenCredentials("669015486305605",
                 "EAAOcfziRygMBPOGjGD034ta4V7khOBcoNwZBfFOS3SBrsfFEqsuqhoWrlnZB8a5jXH13dhjsyhg3P6M37pWVe5yrdzryZBSBZCfC1GuFVRLFBQdG1MtZAM4S8aG4oSHvd19uZCGSWfk7pw7bCHhE2tJ1W1O0AHp4jrOMTvHKVNhFpRsDJjrqE9ShWk8h3ZB");
     }
 
-    public AccessTokenCredentials getWabaAccessToken(Long userId) {
+    AccessTokenCredentials fetchWabaAccessToken(Long userId) {
         return new AccessTokenCredentials("530819718510685",
                 "EAAOcfziRygMBPOGjGD034ta4V7khOBcoNwZBfFOS3SBrsfFEqsuqhoWrlnZB8a5jXH13dhjsyhg3P6M37pWVe5yrdzryZBSBZCfC1GuFVRLFBQdG1MtZAM4S8aG4oSHvd19uZCGSWfk7pw7bCHhE2tJ1W1O0AHp4jrOMTvHKVNhFpRsDJjrqE9ShWk8h3ZB");
     }
-}
\ No newline at end of file
+
+    private AccessTokenCredentials cached(String key, Supplier<AccessTokenCredentials> lookup) {
+        CachedCredentials entry = credentials.get(key);
+        Instant now = Instant.now();
+        if (entry != null && now.isBefore(entry.expiresAt())) {
+            if (!now.isBefore(entry.refreshAt()) && !lookups.containsKey(key)) {
+                Thread.ofVirtual().name("credential-refresh").start(() -> refresh(key, lookup));
+            }
+            return entry.credentials();
+        }
+        return load(key, lookup);
+    }
+
+    private void refresh(String key, Supplier<AccessTokenCredentials> lookup) {
+        try {
+            load(key, lookup);
+        } catch (RuntimeException e) {
+            // The cached credentials stay in use until they expire
+            log.warn("Background refresh of credentials {} failed: {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * Looks the credentials up, or waits for the lookup another caller has
+     * already started for the same key.
+     */
+    private AccessTokenCredentials load(String key, Supplier<AccessTokenCredentials> lookup) {
+        CompletableFuture<AccessTokenCredentials> mine = new CompletableFuture<>();
+        CompletableFuture<AccessTokenCredentials> inFlight = lookups.putIfAbsent(key, mine);
+        if (inFlight != null) {
+            try {
+                return inFlight.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        try {
+            AccessTokenCredentials fetched = bulkheadRegistry.bulkhead(ResilienceConfig.USER_BULKHEAD)
+                    .executeSupplier(lookup);
+            credentials.put(key, cache(fetched));
+            mine.complete(fetched);
+            return fetched;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            lookups.remove(key, mine);
+        }
+    }
+
+    private CachedCredentials cache(AccessTokenCredentials fetched) {
+        Instant now = Instant.now();
+        Instant expiresAt = fetched.getExpiresAt() != null ? fetched.getExpiresAt()
+                : now.plusSeconds(properties.getCredentialTtlSeconds());
+        Duration lifetime = Duration.between(now, expiresAt);
+        Duration refreshAhead = Duration.ofSeconds(properties.getCredentialRefreshAheadSeconds());
+        // Short-lived tokens are refreshed half way through their life instead
+        Instant refreshAt = lifetime.compareTo(refreshAhead.multipliedBy(2)) > 0
+                ? expiresAt.minus(refreshAhead)
+                : now.plus(lifetime.dividedBy(2));
+        return new CachedCredentials(fetched, expiresAt, refreshAt);
+    }
+
+    private record CachedCredentials(AccessTokenCredentials credentials, Instant expiresAt, Instant refreshAt) {
+    }
+}
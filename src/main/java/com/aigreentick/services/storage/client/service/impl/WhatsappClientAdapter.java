@@ -2,56 +2,88 @@ package com.aigreentick.services.storage.client.service.impl;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
-
-import org.springframework.core.io.FileSystemResource;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatusCode;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.http.client.reactive.ClientHttpRequest;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import org.springframework.web.util.UriComponentsBuilder;
 import com.aigreentick.services.common.dto.response.FacebookApiResponse;
+import com.aigreentick.services.storage.client.config.GraphRateLimitFilter;
+import com.aigreentick.services.storage.client.config.ResilienceConfig;
 import com.aigreentick.services.storage.client.dto.response.UploadMediaResponse;
 import com.aigreentick.services.storage.client.dto.response.UploadOffsetResponse;
 import com.aigreentick.services.storage.client.dto.response.UploadSessionResponse;
 import com.aigreentick.services.storage.client.dto.response.WhatsappMediaUploadResponseDto;
 import com.aigreentick.services.storage.client.properties.WhatsappClientProperties;
+import com.aigreentick.services.storage.exception.GraphApiException;
 
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
 import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
 import io.github.resilience4j.retry.annotation.Retry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import reactor.core.publisher.Mono;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.netty.http.client.HttpClientRequest;
 
 @Component
 @Slf4j
 @RequiredArgsConstructor
 public class WhatsappClientAdapter {
+    private static final int UPLOAD_BUFFER_SIZE = 64 * 1024;
 
-    private final WebClient.Builder webClientBuilder;
+    private final WebClient graphApiWebClient;
     private final WhatsappClientProperties properties;
+    private final Scheduler mediaReadScheduler;
+    private final GraphCallPolicy callPolicy;
 
     /**
-     * Uploads media to WhatsApp.
-     * Wrapped with Retry, CircuitBreaker, and RateLimiter for resilience.
+     * Uploads media to WhatsApp, streaming the content as it is read.
+     * Wrapped with a CircuitBreaker; not retried, since the stream cannot be
+     * read again (the publish outbox retries the whole job). Rate limited per
+     * phone number ID by {@link GraphRateLimitFilter}. The timeout scales with
+     * {@code contentLength} (negative when unknown) within the request deadline.
+     * The caller owns {@code content} and must close it.
      */
-    @Retry(name = "whatsappMediaRetry", fallbackMethod = "uploadMediaFallback")
     @CircuitBreaker(name = "whatsappMediaCircuitBreaker", fallbackMethod = "uploadMediaFallback")
-    @RateLimiter(name = "whatsappMediaRateLimiter", fallbackMethod = "rateLimiterFallback")
+    @Bulkhead(name = ResilienceConfig.GRAPH_BULKHEAD, fallbackMethod = "bulkheadFallback")
     public FacebookApiResponse<WhatsappMediaUploadResponseDto> uploadMediaToFacebook(
-            File file,
+            InputStream content,
+            String filename,
             String mimeType,
+            long contentLength,
             String phoneNumberId,
             String accessToken) {
 
         if (!properties.isOutgoingEnabled()) {
             return FacebookApiResponse.error("Outgoing requests disabled", 503);
         }
+        Duration timeout = callPolicy.timeoutFor(contentLength);
+        if (!timeout.isPositive()) {
+            return deadlineExceeded("media upload");
+        }
 
         URI uri = UriComponentsBuilder
                 .fromUriString(properties.getBaseUrl())
@@ -59,43 +91,39 @@ public class WhatsappClientAdapter {
                 .build()
                 .toUri();
 
+        // Stream the body instead of buffering it; reads happen off the event loop
+        Flux<DataBuffer> body = DataBufferUtils
+                .readInputStream(() -> content, DefaultDataBufferFactory.sharedInstance, UPLOAD_BUFFER_SIZE)
+                .subscribeOn(mediaReadScheduler);
+
         MultipartBodyBuilder builder = new MultipartBodyBuilder();
         builder.part("messaging_product", "whatsapp");
-        builder.part("file", new FileSystemResource(file))
+        builder.asyncPart("file", body, DataBuffer.class)
+                .filename(filename)
                 .header(HttpHeaders.CONTENT_TYPE, mimeType);
 
         try {
-            WhatsappMediaUploadResponseDto response = webClientBuilder.build()
+            WhatsappMediaUploadResponseDto response = callPolicy.timed("media_upload", timeout, graphApiWebClient
                     .post()
                     .uri(uri)
+                    .attribute(GraphRateLimitFilter.PHONE_NUMBER_ID, phoneNumberId)
+                    .httpRequest(responseTimeout(timeout))
                     .headers(headers -> headers.setBearerAuth(accessToken))
                     .contentType(MediaType.MULTIPART_FORM_DATA)
                     .body(BodyInserters.fromMultipartData(builder.build()))
                     .retrieve()
-                    .onStatus(HttpStatusCode::is4xxClientError, r -> r.bodyToMono(String.class)
-                            .flatMap(errorBody -> {
-                                log.error("Facebook API 4xx error for phoneNumberId={}: {}", phoneNumberId, errorBody);
-                                return Mono.error(new RuntimeException("Facebook API returned 4xx: " + errorBody));
-                            }))
-                    .onStatus(HttpStatusCode::is5xxServerError, r -> r.bodyToMono(String.class)
-                            .flatMap(errorBody -> {
-                                log.error("Facebook API 5xx error for phoneNumberId={}: {}", phoneNumberId, errorBody);
-                                return Mono.error(new RuntimeException("Facebook API returned 5xx: " + errorBody));
-                            }))
-                    .bodyToMono(WhatsappMediaUploadResponseDto.class)
+                    .bodyToMono(WhatsappMediaUploadResponseDto.class))
                     .block();
 
             log.info("Media uploaded to WhatsApp. phoneNumberId={} Response={}", phoneNumberId, response);
             return FacebookApiResponse.success(response, 200);
 
-        } catch (WebClientResponseException ex) {
-            log.error("Failed to upload media. phoneNumberId={} Status={} Response={}",
-                    phoneNumberId, ex.getStatusCode().value(), ex.getResponseBodyAsString());
-            return FacebookApiResponse.error(ex.getResponseBodyAsString(), ex.getStatusCode().value());
+        } catch (RequestNotPermitted ex) {
+            log.warn("Upload rate limit exceeded for phoneNumberId={}", phoneNumberId);
+            return FacebookApiResponse.error("Rate limit exceeded. Please try again later.", 429);
 
         } catch (Exception ex) {
-            log.error("Unexpected error while uploading media to WhatsApp. phoneNumberId={}", phoneNumberId, ex);
-            return FacebookApiResponse.error("Internal Server Error: " + ex.getMessage(), 500);
+            return failure("media upload", "phoneNumberId=" + phoneNumberId, timeout, ex);
         }
     }
 
@@ -104,16 +132,22 @@ public class WhatsappClientAdapter {
     /**
      * Step 1: Initiates an upload session with the Facebook Graph API.
      * Wrapped with Retry, CircuitBreaker, and RateLimiter for resilience.
+     * Hedged: a spare session from a lost race is simply never used.
      */
-    @Retry(name = "facebookUploadRetry", fallbackMethod = "uploadFallback")
-    @CircuitBreaker(name = "facebookUploadCircuitBreaker", fallbackMethod = "uploadFallback")
+    @Retry(name = "facebookUploadRetry", fallbackMethod = "initiateUploadSessionFallback")
+    @CircuitBreaker(name = "facebookUploadCircuitBreaker")
     @RateLimiter(name = "facebookUploadRateLimiter", fallbackMethod = "rateLimiterFallback")
+    @Bulkhead(name = ResilienceConfig.GRAPH_BULKHEAD, fallbackMethod = "bulkheadFallback")
     public FacebookApiResponse<UploadSessionResponse> initiateUploadSession(String fileName, long fileSize,
             String mimeType,
             String wabaAppId, String accessToken) {
         if (!properties.isOutgoingEnabled()) {
             return FacebookApiResponse.error("Outgoing requests disabled", 503);
         }
+        Duration timeout = callPolicy.timeoutFor(-1);
+        if (!timeout.isPositive()) {
+            return deadlineExceeded("upload session initiation");
+        }
 
         URI uri = UriComponentsBuilder
                 .fromUriString(properties.getBaseUrl())
@@ -128,47 +162,31 @@ public class WhatsappClientAdapter {
         log.info("Initiating upload session: {}", uri);
 
         try {
-            UploadSessionResponse response = webClientBuilder.build()
+            UploadSessionResponse response = callPolicy.hedged("session_init", timeout, () -> graphApiWebClient
                     .post()
                     .uri(uri)
+                    .httpRequest(responseTimeout(timeout))
                     .accept(MediaType.APPLICATION_JSON)
                     .retrieve()
-                    .onStatus(HttpStatusCode::is4xxClientError, r -> r.bodyToMono(String.class)
-                            .flatMap(errorBody -> {
-                                log.error("Facebook API 4xx during upload initiation for appId={}: {}", wabaAppId,
-                                        errorBody);
-                                return Mono.error(new RuntimeException("Facebook API returned 4xx: " + errorBody));
-                            }))
-                    .onStatus(HttpStatusCode::is5xxServerError, r -> r.bodyToMono(String.class)
-                            .flatMap(errorBody -> {
-                                log.error("Facebook API 5xx during upload initiation for appId={}: {}", wabaAppId,
-                                        errorBody);
-                                return Mono.error(new RuntimeException("Facebook API returned 5xx: " + errorBody));
-                            }))
-                    .bodyToMono(UploadSessionResponse.class)
+                    .bodyToMono(UploadSessionResponse.class))
                     .block();
 
             log.info("Upload session initiated successfully. Session ID: {}", response.getUploadSessionId());
             return FacebookApiResponse.success(response, 200);
 
-        } catch (WebClientResponseException ex) {
-            log.error("Upload session initiation failed. AppId={} Status={} Response={}",
-                    wabaAppId, ex.getStatusCode().value(), ex.getResponseBodyAsString());
-            return FacebookApiResponse.error(ex.getResponseBodyAsString(), ex.getStatusCode().value());
-
         } catch (Exception ex) {
-            log.error("Unexpected error initiating upload session for AppId={}", wabaAppId, ex);
-            return FacebookApiResponse.error("Internal Server Error: " + ex.getMessage(), 500);
+            return failure("upload session initiation", "AppId=" + wabaAppId, timeout, ex);
         }
     }
 
     /**
-     * Step 2: Uploads media to Facebook using an upload session ID.
+     * Step 2: Uploads the rest of a file, from {@code offset} to its end, to an upload session.
      * Wrapped with Retry, CircuitBreaker, and RateLimiter for resilience.
      */
-    @Retry(name = "facebookUploadRetry", fallbackMethod = "uploadFallback")
-    @CircuitBreaker(name = "facebookUploadCircuitBreaker", fallbackMethod = "uploadFallback")
+    @Retry(name = "facebookUploadRetry", fallbackMethod = "resumableUploadFallback")
+    @CircuitBreaker(name = "facebookUploadCircuitBreaker")
     @RateLimiter(name = "facebookUploadRateLimiter", fallbackMethod = "rateLimiterFallback")
+    @Bulkhead(name = ResilienceConfig.GRAPH_BULKHEAD, fallbackMethod = "bulkheadFallback")
     public FacebookApiResponse<UploadMediaResponse> uploadResumableMediaToFacebook(
             String sessionId,
             File file,
@@ -179,127 +197,304 @@ public class WhatsappClientAdapter {
             return FacebookApiResponse.error("File not found: " + file.getAbsolutePath(), 400);
         }
 
+        long start = Long.parseLong(offset.trim());
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            return uploadResumableChunk(sessionId, channel, start, channel.size() - start, accessToken);
+        }
+    }
+
+    /**
+     * Uploads {@code length} bytes of {@code channel}, starting at {@code offset},
+     * to an upload session. Uses positional reads, so the channel may be shared.
+     * The handle is only returned once the session has received the whole file.
+     * Not retried here: after a failure the caller must re-read the session
+     * offset, since part of the chunk may have been accepted.
+     */
+    @CircuitBreaker(name = "facebookUploadCircuitBreaker", fallbackMethod = "uploadChunkFallback")
+    @Bulkhead(name = ResilienceConfig.GRAPH_BULKHEAD, fallbackMethod = "bulkheadFallback")
+    public FacebookApiResponse<UploadMediaResponse> uploadResumableChunk(
+            String sessionId,
+            FileChannel channel,
+            long offset,
+            long length,
+            String accessToken) {
+
+        if (!properties.isOutgoingEnabled()) {
+            return FacebookApiResponse.error("Outgoing requests disabled", 503);
+        }
+
+        Duration timeout = callPolicy.timeoutFor(length);
+        if (!timeout.isPositive()) {
+            return deadlineExceeded("media chunk upload");
+        }
+
         URI uri = URI.create(properties.getBaseUrl() + "/" + properties.getApiVersion() + "/" + sessionId);
-        log.info("Uploading media chunk to Facebook: {}", uri);
+        log.info("Uploading media chunk to Facebook: {} offset={} length={}", uri, offset, length);
 
         try {
-            FileSystemResource fileResource = new FileSystemResource(file);
-
-            UploadMediaResponse response = webClientBuilder.build()
+            UploadMediaResponse response = callPolicy.timed("chunk_upload", timeout, graphApiWebClient
                     .post()
                     .uri(uri)
+                    .httpRequest(responseTimeout(timeout))
                     .header(HttpHeaders.AUTHORIZATION, "OAuth " + accessToken.trim())
-                    .header("file_offset", String.valueOf(offset).trim())
+                    .header("file_offset", String.valueOf(offset))
                     .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                    .body(BodyInserters.fromResource(fileResource))
+                    .contentLength(length)
+                    .body(BodyInserters.fromDataBuffers(readRange(channel, offset, length)))
                     .retrieve()
-                    .onStatus(HttpStatusCode::is4xxClientError, r -> r.bodyToMono(String.class)
-                            .flatMap(errorBody -> {
-                                log.error("Facebook API 4xx during media upload for sessionId={}: {}", sessionId,
-                                        errorBody);
-                                return Mono.error(new RuntimeException("Facebook API returned 4xx: " + errorBody));
-                            }))
-                    .onStatus(HttpStatusCode::is5xxServerError, r -> r.bodyToMono(String.class)
-                            .flatMap(errorBody -> {
-                                log.error("Facebook API 5xx during media upload for sessionId={}: {}", sessionId,
-                                        errorBody);
-                                return Mono.error(new RuntimeException("Facebook API returned 5xx: " + errorBody));
-                            }))
-                    .bodyToMono(UploadMediaResponse.class)
+                    .bodyToMono(UploadMediaResponse.class))
                     .block();
 
-            if (response == null || response.getFacebookImageUrl() == null) {
-                throw new IllegalStateException("Upload failed or handle not returned");
+            if (response == null) {
+                return FacebookApiResponse.error("Upload failed, empty response", 502);
             }
 
-            log.info("Media uploaded successfully. Handle={}", response.getFacebookImageUrl());
+            log.info("Media chunk uploaded. SessionId={} Handle={}", sessionId, response.getFacebookImageUrl());
             return FacebookApiResponse.success(response, 200);
 
-        } catch (WebClientResponseException ex) {
-            log.error("Failed to upload media. SessionId={} Status={} Response={}",
-                    sessionId, ex.getStatusCode().value(), ex.getResponseBodyAsString());
-            return FacebookApiResponse.error(ex.getResponseBodyAsString(), ex.getStatusCode().value());
-
         } catch (Exception ex) {
-            log.error("Unexpected error during media upload. SessionId={}", sessionId, ex);
-            return FacebookApiResponse.error("Internal Server Error: " + ex.getMessage(), 500);
+            return failure("media chunk upload", "SessionId=" + sessionId, timeout, ex);
         }
     }
 
     /**
-     * Step 3: Retrieves current file offset for an ongoing upload session.
-     * Wrapped with Retry, CircuitBreaker, and RateLimiter for resilience.
-     */
-    @Retry(name = "facebookUploadRetry", fallbackMethod = "uploadFallback")
-    @CircuitBreaker(name = "facebookUploadCircuitBreaker", fallbackMethod = "uploadFallback")
-    @RateLimiter(name = "facebookUploadRateLimiter", fallbackMethod = "rateLimiterFallback")
-    /**
-     * Gets the current file offset for an ongoing Facebook upload session.
-     * Used to resume chunked uploads or verify completion.
+     * Step 3: Gets the current file offset of an ongoing upload session.
+     * Used to resume chunked uploads or verify completion. Hedged, since
+     * reading the offset has no side effects. Wrapped with Retry,
+     * CircuitBreaker, and RateLimiter for resilience.
      *
      * @param sessionId   The upload session ID (e.g., "upload:123456")
      * @param accessToken Valid user access token with upload permission
-     * @param apiVersion  Graph API version (e.g., "v23.0")
-     * @return UploadOffsetResponse with current file offset
+     * @return the current file offset of the session
      */
-    public UploadOffsetResponse getUploadOffset(String sessionId,
+    @Retry(name = "facebookUploadRetry", fallbackMethod = "uploadOffsetFallback")
+    @CircuitBreaker(name = "facebookUploadCircuitBreaker")
+    @RateLimiter(name = "facebookUploadRateLimiter", fallbackMethod = "rateLimiterFallback")
+    @Bulkhead(name = ResilienceConfig.GRAPH_BULKHEAD, fallbackMethod = "bulkheadFallback")
+    public FacebookApiResponse<UploadOffsetResponse> getUploadOffset(String sessionId,
             String accessToken) {
+        if (!properties.isOutgoingEnabled()) {
+            return FacebookApiResponse.error("Outgoing requests disabled", 503);
+        }
+        Duration timeout = callPolicy.timeoutFor(-1);
+        if (!timeout.isPositive()) {
+            return deadlineExceeded("checking upload offset");
+        }
 
-          URI uri = UriComponentsBuilder
-            .fromUriString(properties.getBaseUrl())
-            .pathSegment(properties.getApiVersion(), sessionId)
-            .queryParam("access_token", accessToken)
-            .build()
-            .toUri();
+        URI uri = UriComponentsBuilder
+                .fromUriString(properties.getBaseUrl())
+                .pathSegment(properties.getApiVersion(), sessionId)
+                .queryParam("access_token", accessToken)
+                .build()
+                .toUri();
 
         log.info("Checking upload offset: {}", uri);
 
-       return webClientBuilder.build()
-            .get()
-            .uri(uri)
-            .header(HttpHeaders.AUTHORIZATION, "OAuth " + accessToken)
-            .accept(MediaType.APPLICATION_JSON)
-            .retrieve()
-            .bodyToMono(UploadOffsetResponse.class)
-            .doOnNext(resp -> log.info("Received file_offset: {}", resp.getFileOffset()))
-            .block();
+        try {
+            UploadOffsetResponse response = callPolicy.hedged("upload_offset", timeout, () -> graphApiWebClient
+                    .get()
+                    .uri(uri)
+                    .httpRequest(responseTimeout(timeout))
+                    .header(HttpHeaders.AUTHORIZATION, "OAuth " + accessToken)
+                    .accept(MediaType.APPLICATION_JSON)
+                    .retrieve()
+                    .bodyToMono(UploadOffsetResponse.class))
+                    .block();
+
+            log.info("Received file_offset: {}", response != null ? response.getFileOffset() : null);
+            return FacebookApiResponse.success(response, 200);
+
+        } catch (Exception ex) {
+            return failure("upload offset check", "SessionId=" + sessionId, timeout, ex);
+        }
     }
 
     /**
-     * Common fallback for all Facebook upload operations.
+     * Sets the Netty response timeout of a single request.
      */
-    @SuppressWarnings("unused")
-    private <T> FacebookApiResponse<T> uploadFallback(
-            String param1, Object... args) {
+    private static Consumer<ClientHttpRequest> responseTimeout(Duration timeout) {
+        return request -> request.<HttpClientRequest>getNativeRequest().responseTimeout(timeout);
+    }
+
+    private static boolean isTimeout(Throwable ex) {
+        return Exceptions.unwrap(ex) instanceof TimeoutException;
+    }
 
-        Throwable ex = args != null && args.length > 0 && args[args.length - 1] instanceof Throwable
-                ? (Throwable) args[args.length - 1]
-                : new RuntimeException("Unknown failure");
+    private static <T> FacebookApiResponse<T> deadlineExceeded(String operation) {
+        log.warn("Request deadline exceeded before {}", operation);
+        return FacebookApiResponse.error("Request deadline exceeded", 504);
+    }
 
-        log.warn("Fallback triggered for Facebook upload operation. Params={} Cause={}", param1, ex.getMessage());
+    /**
+     * Maps a failed Graph call. Timeouts, connection failures, 429s and 5xx
+     * are thrown as {@link GraphApiException} so Retry and CircuitBreaker
+     * count them; other errors, e.g. an invalid request, are returned.
+     */
+    private static <T> FacebookApiResponse<T> failure(String operation, String context, Duration timeout,
+            Exception ex) {
+        if (isTimeout(ex)) {
+            log.warn("Graph API {} timed out after {} ms. {}", operation, timeout.toMillis(), context);
+            throw new GraphApiException("Graph API call timed out", 504, ex);
+        }
+        if (ex instanceof WebClientResponseException response) {
+            int status = response.getStatusCode().value();
+            log.error("Graph API {} failed. {} Status={} Response={}", operation, context, status,
+                    response.getResponseBodyAsString());
+            if (status == HttpStatus.TOO_MANY_REQUESTS.value() || response.getStatusCode().is5xxServerError()) {
+                throw new GraphApiException(response.getResponseBodyAsString(), status, ex);
+            }
+            return FacebookApiResponse.error(response.getResponseBodyAsString(), status);
+        }
+        if (ex instanceof WebClientRequestException) {
+            log.warn("Graph API {} could not reach Graph. {} Cause={}", operation, context, ex.getMessage());
+            throw new GraphApiException("Graph API unreachable: " + ex.getMessage(), 503, ex);
+        }
+        log.error("Unexpected error during Graph API {}. {}", operation, context, ex);
+        return FacebookApiResponse.error("Internal Server Error: " + ex.getMessage(), 500);
+    }
+
+    /**
+     * Error response for a call that failed after its retries, or was not
+     * let through by the circuit breaker.
+     */
+    private static <T> FacebookApiResponse<T> fallbackResponse(String operation, Throwable ex) {
+        if (ex instanceof GraphApiException graphFailure) {
+            log.warn("Graph API {} failed: {}", operation, graphFailure.getMessage());
+            return FacebookApiResponse.error(graphFailure.getMessage(), graphFailure.getStatusCode());
+        }
+        if (ex instanceof RequestNotPermitted) {
+            return FacebookApiResponse.error("Rate limit exceeded. Please try again later.", 429);
+        }
+        log.warn("Fallback triggered for Graph API {}. Cause={}", operation, ex.getMessage());
         return FacebookApiResponse.error("Facebook upload operation failed: " + ex.getMessage(), 503);
     }
 
     /**
-     * Fallback method for resilience.
+     * Streams a byte range of the channel with positional reads, off the event loop.
      */
+    private Flux<DataBuffer> readRange(FileChannel channel, long offset, long length) {
+        long end = offset + length;
+        return Flux.<DataBuffer, Long>generate(() -> offset, (position, sink) -> {
+            if (position >= end) {
+                sink.complete();
+                return position;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(UPLOAD_BUFFER_SIZE, end - position));
+            try {
+                int read = channel.read(buffer, position);
+                if (read < 0) {
+                    sink.error(new IOException("File ended at " + position + ", expected " + end + " bytes"));
+                    return position;
+                }
+                buffer.flip();
+                sink.next(DefaultDataBufferFactory.sharedInstance.wrap(buffer));
+                return position + read;
+            } catch (IOException e) {
+                sink.error(e);
+                return position;
+            }
+        }).subscribeOn(mediaReadScheduler);
+    }
+
+    // Fallbacks. Retry, or the CircuitBreaker where nothing retries, gets the catch-all
+    // fallback of its method; the RateLimiter and Bulkhead ones only take their own
+    // rejections, so other failures still reach Retry and the CircuitBreaker.
+
     @SuppressWarnings("unused")
     private FacebookApiResponse<WhatsappMediaUploadResponseDto> uploadMediaFallback(
-            File file,
+            InputStream content,
+            String filename,
             String mimeType,
+            long contentLength,
             String phoneNumberId,
             String accessToken,
             Throwable ex) {
+        return fallbackResponse("media upload for phoneNumberId=" + phoneNumberId, ex);
+    }
+
+    @SuppressWarnings("unused")
+    private FacebookApiResponse<UploadSessionResponse> initiateUploadSessionFallback(
+            String fileName, long fileSize, String mimeType, String wabaAppId, String accessToken, Throwable ex) {
+        return fallbackResponse("upload session initiation for AppId=" + wabaAppId, ex);
+    }
+
+    @SuppressWarnings("unused")
+    private FacebookApiResponse<UploadMediaResponse> resumableUploadFallback(
+            String sessionId, File file, String accessToken, String offset, Throwable ex) {
+        return fallbackResponse("resumable upload for SessionId=" + sessionId, ex);
+    }
+
+    @SuppressWarnings("unused")
+    private FacebookApiResponse<UploadMediaResponse> uploadChunkFallback(
+            String sessionId, FileChannel channel, long offset, long length, String accessToken, Throwable ex) {
+        return fallbackResponse("media chunk upload for SessionId=" + sessionId, ex);
+    }
+
+    @SuppressWarnings("unused")
+    private FacebookApiResponse<UploadOffsetResponse> uploadOffsetFallback(
+            String sessionId, String accessToken, Throwable ex) {
+        return fallbackResponse("upload offset check for SessionId=" + sessionId, ex);
+    }
+
+    @SuppressWarnings("unused")
+    private FacebookApiResponse<UploadSessionResponse> rateLimiterFallback(
+            String fileName, long fileSize, String mimeType, String wabaAppId, String accessToken,
+            RequestNotPermitted ex) {
+        return rateLimited(ex);
+    }
+
+    @SuppressWarnings("unused")
+    private FacebookApiResponse<UploadMediaResponse> rateLimiterFallback(
+            String sessionId, File file, String accessToken, String offset, RequestNotPermitted ex) {
+        return rateLimited(ex);
+    }
+
+    @SuppressWarnings("unused")
+    private FacebookApiResponse<UploadOffsetResponse> rateLimiterFallback(
+            String sessionId, String accessToken, RequestNotPermitted ex) {
+        return rateLimited(ex);
+    }
 
-        log.warn("Fallback triggered for uploadMediaToWhatsapp. phoneNumberId={}", phoneNumberId, ex);
-        return FacebookApiResponse.error("Media upload failed due to: " + ex.getMessage(), 503);
+    @SuppressWarnings("unused")
+    private FacebookApiResponse<WhatsappMediaUploadResponseDto> bulkheadFallback(
+            InputStream content, String filename, String mimeType, long contentLength, String phoneNumberId,
+            String accessToken, BulkheadFullException ex) {
+        return bulkheadFull(ex);
+    }
+
+    @SuppressWarnings("unused")
+    private FacebookApiResponse<UploadSessionResponse> bulkheadFallback(
+            String fileName, long fileSize, String mimeType, String wabaAppId, String accessToken,
+            BulkheadFullException ex) {
+        return bulkheadFull(ex);
+    }
+
+    @SuppressWarnings("unused")
+    private FacebookApiResponse<UploadMediaResponse> bulkheadFallback(
+            String sessionId, File file, String accessToken, String offset, BulkheadFullException ex) {
+        return bulkheadFull(ex);
     }
 
     @SuppressWarnings("unused")
-    private <T> FacebookApiResponse<T> rateLimiterFallback(
-            File file, String mimeType, String phoneNumberId, String accessToken, Throwable ex) {
-        log.warn("Rate limiter fallback triggered for WhatsApp upload. Cause={}", ex.getMessage());
+    private FacebookApiResponse<UploadMediaResponse> bulkheadFallback(
+            String sessionId, FileChannel channel, long offset, long length, String accessToken,
+            BulkheadFullException ex) {
+        return bulkheadFull(ex);
+    }
+
+    @SuppressWarnings("unused")
+    private FacebookApiResponse<UploadOffsetResponse> bulkheadFallback(
+            String sessionId, String accessToken, BulkheadFullException ex) {
+        return bulkheadFull(ex);
+    }
+
+    private static <T> FacebookApiResponse<T> rateLimited(RequestNotPermitted ex) {
+        log.warn("Rate limiter fallback triggered for Facebook upload. Cause={}", ex.getMessage());
         return FacebookApiResponse.error("Rate limit exceeded. Please try again later.", 429);
     }
 
+    private static <T> FacebookApiResponse<T> bulkheadFull(BulkheadFullException ex) {
+        log.warn("Graph API bulkhead full. Cause={}", ex.getMessage());
+        return FacebookApiResponse.error("Too many concurrent Graph API calls. Please try again later.", 503);
+    }
 }
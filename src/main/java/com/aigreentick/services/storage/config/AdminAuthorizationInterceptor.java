@@ -0,0 +1,62 @@
+package com.aigreentick.services.storage.config;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Guards the admin paths, which sit outside the {@code /api/**} chain. The
+ * caller must send the configured admin token as {@code X-Admin-Token};
+ * otherwise the request is rejected with 403. The purge-all token is accepted
+ * too and marks the request as allowed to purge every organisation.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class AdminAuthorizationInterceptor implements HandlerInterceptor {
+    public static final String TOKEN_HEADER = "X-Admin-Token";
+    public static final String PURGE_ALL_ALLOWED = AdminAuthorizationInterceptor.class.getName() + ".purgeAllAllowed";
+
+    private final MediaAdminProperties properties;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        String token = request.getHeader(TOKEN_HEADER);
+        if (matches(token, properties.getPurgeAllToken())) {
+            request.setAttribute(PURGE_ALL_ALLOWED, Boolean.TRUE);
+            return true;
+        }
+        if (matches(token, properties.getToken())) {
+            return true;
+        }
+
+        log.warn("Rejecting admin request {} {} without a valid {} header",
+                request.getMethod(), request.getRequestURI(), TOKEN_HEADER);
+        response.setStatus(HttpStatus.FORBIDDEN.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"status\":\"ERROR\",\"message\":\"Admin access denied\",\"data\":null}");
+        return false;
+    }
+
+    /**
+     * Compares in constant time; an unset or blank expected token never matches.
+     */
+    private boolean matches(String presented, String expected) {
+        if (presented == null || expected == null || expected.isBlank()) {
+            return false;
+        }
+        return MessageDigest.isEqual(presented.getBytes(StandardCharsets.UTF_8),
+                expected.getBytes(StandardCharsets.UTF_8));
+    }
+}
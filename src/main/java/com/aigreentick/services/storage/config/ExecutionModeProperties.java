@@ -0,0 +1,34 @@
+package com.aigreentick.services.storage.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Configuration properties for the virtual-thread execution mode. The mode
+ * itself is Spring Boot's {@code spring.threads.virtual.enabled}; these
+ * settings tune the service's own executors when it is on.
+ * Maps to application.yml under 'media.execution' prefix.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "media.execution")
+public class ExecutionModeProperties {
+
+    /**
+     * Upper bound on concurrent pipeline tasks in virtual mode; -1 for unbounded.
+     * Each task may hold {@code media.upload.pipeline.max-buffered-chunks} chunks.
+     */
+    private int virtualPipelineConcurrencyLimit = 4096;
+
+    /**
+     * Streams jdk.VirtualThreadPinned JFR events and reports each pinning call site.
+     */
+    private boolean pinningMonitorEnabled = true;
+
+    /**
+     * Pinned intervals shorter than this are ignored.
+     */
+    private long pinningThresholdMs = 20;
+}
@@ -0,0 +1,25 @@
+package com.aigreentick.services.storage.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Configuration properties for the administrative media endpoints.
+ * Maps to application.yml under 'media.admin' prefix.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "media.admin")
+public class MediaAdminProperties {
+    /**
+     * Token callers send as X-Admin-Token; the admin endpoints are refused while it is unset.
+     */
+    private String token;
+
+    /**
+     * Token that additionally allows a purge across all organisations; such purges are refused while it is unset.
+     */
+    private String purgeAllToken;
+}
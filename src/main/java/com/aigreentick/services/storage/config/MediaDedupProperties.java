@@ -0,0 +1,23 @@
+package com.aigreentick.services.storage.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Configuration properties for content-addressed deduplication of uploads.
+ * Maps to application.yml under 'media.dedup' prefix.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "media.dedup")
+public class MediaDedupProperties {
+    private boolean enabled = true;
+
+    /**
+     * How long a WhatsApp media ID is reused for duplicate content. Graph API
+     * media IDs expire after 30 days, so this stays below that.
+     */
+    private long whatsappMediaIdTtlHours = 29 * 24;
+}
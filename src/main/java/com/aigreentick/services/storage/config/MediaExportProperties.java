@@ -0,0 +1,45 @@
+package com.aigreentick.services.storage.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Configuration properties for streaming ZIP exports of media.
+ * Maps to application.yml under 'media.export' prefix.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "media.export")
+public class MediaExportProperties {
+    /**
+     * Media rows read from the database per query.
+     */
+    private int batchSize = 200;
+
+    /**
+     * Objects fetched from storage ahead of the entry being written.
+     */
+    private int prefetchWindow = 4;
+
+    /**
+     * Bytes of each prefetched object read ahead into memory; the rest is
+     * streamed when its entry is written. Bounds export memory to
+     * prefetch-window x prefetch-bytes.
+     */
+    private int prefetchBytes = 1024 * 1024;
+
+    /**
+     * Content type prefixes of media that is already compressed and is
+     * written to the archive without further compression.
+     */
+    private List<String> storedContentTypes = new ArrayList<>(List.of(
+            "image/jpeg", "image/png", "image/gif", "image/webp",
+            "video/", "audio/",
+            "application/zip", "application/gzip", "application/pdf",
+            "application/vnd.openxmlformats-officedocument."));
+}
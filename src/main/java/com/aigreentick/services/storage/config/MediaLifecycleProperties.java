@@ -0,0 +1,72 @@
+package com.aigreentick.services.storage.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import com.aigreentick.services.storage.enums.MediaType;
+
+import lombok.Data;
+
+/**
+ * Configuration properties for the storage lifecycle engine, which moves
+ * cold media to cheaper storage tiers.
+ * Maps to application.yml under 'media.lifecycle' prefix.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "media.lifecycle")
+public class MediaLifecycleProperties {
+    private boolean enabled = false;
+
+    /**
+     * Media rows read per query; the scan pages by id, so each query is an index range read.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Upper bound on batches per rule and run, to spread large backlogs over several runs.
+     */
+    private int maxBatchesPerRun = 20;
+
+    /**
+     * Downloads refresh a media row's last access time at most this often.
+     */
+    private long accessTouchIntervalHours = 24;
+
+    /**
+     * Transition rules, applied in order. List them from warm to cold and
+     * chain them through {@code fromTier}.
+     */
+    private List<Rule> rules = new ArrayList<>();
+
+    @Data
+    public static class Rule {
+        /**
+         * Media type the rule applies to; all types when unset.
+         */
+        private MediaType mediaType;
+
+        /**
+         * Minimum days since upload.
+         */
+        private int minAgeDays = 30;
+
+        /**
+         * Minimum days since the last download; 0 ignores access.
+         */
+        private int minIdleDays = 0;
+
+        /**
+         * Tier the media must be in; unset matches media still in the upload tier.
+         */
+        private String fromTier;
+
+        /**
+         * Provider-specific target tier, e.g. STANDARD_IA or GLACIER_IR on S3, ARCHIVE on local storage.
+         */
+        private String toTier;
+    }
+}
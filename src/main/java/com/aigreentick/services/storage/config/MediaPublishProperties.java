@@ -0,0 +1,38 @@
+package com.aigreentick.services.storage.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Configuration properties for publishing stored media to WhatsApp.
+ * Maps to application.yml under 'media.publish' prefix.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "media.publish")
+public class MediaPublishProperties {
+
+    public enum Mode {
+        /**
+         * Upload returns once the object is stored; a background dispatcher publishes it.
+         */
+        ASYNC,
+        /**
+         * The Graph API upload runs inside the upload request.
+         */
+        INLINE
+    }
+
+    private Mode mode = Mode.ASYNC;
+
+    private boolean dispatcherEnabled = true;
+    private long pollIntervalMs = 2000;
+    // Maximum publish jobs in flight; each poll claims only the free slots
+    private int batchSize = 20;
+    private int maxAttempts = 5;
+    private long initialBackoffMs = 5000;
+    private long maxBackoffMs = 600000;
+    private long leaseSeconds = 300;
+}
@@ -0,0 +1,20 @@
+package com.aigreentick.services.storage.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Configuration properties for purging soft-deleted media.
+ * Maps to application.yml under 'media.purge' prefix.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "media.purge")
+public class MediaPurgeProperties {
+    /**
+     * Media rows handled per batch; each batch makes one bulk delete call to storage.
+     */
+    private int batchSize = 1000;
+}
@@ -0,0 +1,74 @@
+package com.aigreentick.services.storage.config;
+
+import java.io.IOException;
+import java.time.Instant;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import com.aigreentick.services.storage.client.properties.GraphDeadlineProperties;
+import com.aigreentick.services.storage.util.RequestDeadline;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Turns the caller's time budget, sent as {@code X-Request-Timeout-Ms},
+ * into the {@link RequestDeadline} of the request. Budgets above
+ * {@code max-request-timeout-ms} are clamped to it; a budget that is not a
+ * positive number is rejected with 400.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class RequestDeadlineInterceptor implements AsyncHandlerInterceptor {
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout-Ms";
+
+    private final GraphDeadlineProperties properties;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        String timeoutHeader = request.getHeader(TIMEOUT_HEADER);
+        if (timeoutHeader == null) {
+            return true;
+        }
+
+        long timeoutMs;
+        try {
+            timeoutMs = Long.parseLong(timeoutHeader.trim());
+        } catch (NumberFormatException e) {
+            timeoutMs = 0;
+        }
+        if (timeoutMs <= 0) {
+            log.warn("Rejecting request with invalid {} header: {}", TIMEOUT_HEADER, timeoutHeader);
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"status\":\"ERROR\",\"message\":\"" + TIMEOUT_HEADER
+                    + " must be a positive number of milliseconds\",\"data\":null}");
+            return false;
+        }
+
+        RequestDeadline.set(Instant.now().plusMillis(Math.min(timeoutMs, properties.getMaxRequestTimeoutMs())));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request,
+            HttpServletResponse response,
+            Object handler,
+            Exception ex) {
+        RequestDeadline.clear();
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request,
+            HttpServletResponse response,
+            Object handler) {
+        RequestDeadline.clear();
+    }
+}
@@ -0,0 +1,36 @@
+package com.aigreentick.services.storage.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Configuration properties for resumable (chunked) uploads.
+ * Maps to application.yml under 'media.upload.resumable' prefix.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "media.upload.resumable")
+public class ResumableUploadProperties {
+    /**
+     * Bytes per chunk. Every chunk but the last must be exactly this size; each
+     * chunk becomes one S3 multipart part, so it must be at least 5 MB.
+     */
+    private long chunkSizeBytes = 8L * 1024 * 1024;
+
+    /**
+     * Idle time after which an unfinished session is dropped; refreshed by every chunk.
+     */
+    private long sessionTtlHours = 24;
+
+    /**
+     * Upper bound on one chunk write, after which another request may take over the session.
+     */
+    private long writeLockSeconds = 900;
+
+    /**
+     * Expired sessions whose provider upload is aborted per sweeper run.
+     */
+    private int sweepBatchSize = 200;
+}
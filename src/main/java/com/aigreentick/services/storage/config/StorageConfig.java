@@ -8,7 +8,10 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 
+import com.aigreentick.services.storage.enums.StorageProviderType;
+import com.aigreentick.services.storage.service.ReactiveStorageProvider;
 import com.aigreentick.services.storage.service.StorageProvider;
+import com.aigreentick.services.storage.service.impl.storage.UnsupportedReactiveStorageProvider;
 
 import java.util.List;
 import java.util.Map;
@@ -24,6 +27,8 @@ public class StorageConfig {
     private String activeProvider;
     
     private final List<StorageProvider> storageProviders;
+
+    private final List<ReactiveStorageProvider> reactiveStorageProviders;
     
     @Bean
     @Primary
@@ -50,4 +55,38 @@ public class StorageConfig {
         
         return provider;
     }
-}
\ No newline at end of file
+
+    /**
+     * Non-blocking variant of the active provider, used by the streaming upload endpoint.
+     */
+    @Bean
+    @Primary
+    public ReactiveStorageProvider reactiveStorageProvider() {
+        // The tiered and replicated providers have no streaming variant. Writing to one of
+        // their backing stores would skip the disk cache, or the write quorum and repair
+        for (StorageProviderType composite : List.of(StorageProviderType.TIERED, StorageProviderType.REPLICATED)) {
+            if (composite.name().equalsIgnoreCase(activeProvider)) {
+                log.warn("Storage provider {} has no streaming variant; streaming uploads are disabled", composite);
+                return new UnsupportedReactiveStorageProvider(composite);
+            }
+        }
+
+        Map<String, ReactiveStorageProvider> providerMap = reactiveStorageProviders.stream()
+                .collect(Collectors.toMap(
+                        provider -> provider.getProviderType().name().toLowerCase(),
+                        Function.identity()
+                ));
+
+        String reactiveProvider = activeProvider;
+        ReactiveStorageProvider provider = providerMap.get(reactiveProvider.toLowerCase());
+
+        if (provider == null) {
+            log.error("Reactive storage provider '{}' not found. Available providers: {}",
+                     reactiveProvider, providerMap.keySet());
+            throw new IllegalStateException("Reactive storage provider not configured: " + reactiveProvider);
+        }
+
+        log.info("Using reactive storage provider: {}", provider.getProviderType());
+        return provider;
+    }
+}
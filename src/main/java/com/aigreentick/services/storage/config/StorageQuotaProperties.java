@@ -0,0 +1,33 @@
+package com.aigreentick.services.storage.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Configuration properties for the per-organisation storage quota ledger.
+ * Maps to application.yml under 'media.quota' prefix.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "media.quota")
+public class StorageQuotaProperties {
+    /**
+     * Enforce quota against the Redis ledger; when false every upload asks
+     * the organisation service, as before.
+     */
+    private boolean ledgerEnabled = true;
+
+    /**
+     * Age after which an organisation's ledger is refreshed from the
+     * organisation service on its next reservation.
+     */
+    private long reconcileIntervalSeconds = 300;
+
+    /**
+     * Reservations not settled within this time (crashed node, lost request)
+     * are dropped at the next reconcile.
+     */
+    private long reservationTtlSeconds = 3600;
+}
@@ -0,0 +1,56 @@
+package com.aigreentick.services.storage.config;
+
+import java.util.List;
+
+import org.springframework.boot.web.servlet.ServletRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ServletHttpHandlerAdapter;
+import org.springframework.web.reactive.function.server.RequestPredicates;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.aigreentick.services.storage.constants.MediaConstants;
+import com.aigreentick.services.storage.controller.MediaStreamUploadHandler;
+import com.aigreentick.services.storage.interceptor.RateLimitInterceptor;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Mounts the WebFlux streaming upload route on its own async servlet next to
+ * the DispatcherServlet. The adapter reads the request with non-blocking
+ * servlet I/O, which the MVC multipart resolver cannot do. The interceptors
+ * registered for {@code /api/**} in {@link WebMvcConfig} run in front of the
+ * route, in the same order.
+ */
+@Slf4j
+@Configuration
+public class StreamingUploadConfig {
+
+    @Bean
+    public ServletRegistrationBean<ServletHttpHandlerAdapter> streamingUploadServlet(
+            MediaStreamUploadHandler handler,
+            UserContextInterceptor userContextInterceptor,
+            RateLimitInterceptor rateLimitInterceptor,
+            RequestDeadlineInterceptor requestDeadlineInterceptor) {
+        RouterFunction<ServerResponse> routes = RouterFunctions.route(
+                RequestPredicates.POST(MediaConstants.Paths.UPLOAD)
+                        .and(RequestPredicates.contentType(org.springframework.http.MediaType.MULTIPART_FORM_DATA)),
+                handler::upload)
+                .filter(new StreamingUploadInterceptorFilter(
+                        List.of(userContextInterceptor, rateLimitInterceptor, requestDeadlineInterceptor)));
+
+        HttpHandler httpHandler = RouterFunctions.toHttpHandler(routes);
+        ServletRegistrationBean<ServletHttpHandlerAdapter> registration = new ServletRegistrationBean<>(
+                new ServletHttpHandlerAdapter(httpHandler), MediaConstants.Paths.STREAM_BASE + "/*");
+        registration.setName("streamingUploadServlet");
+        registration.setAsyncSupported(true);
+        registration.setLoadOnStartup(1);
+
+        log.info("Streaming upload endpoint mounted at {}{}", MediaConstants.Paths.STREAM_BASE,
+                MediaConstants.Paths.UPLOAD);
+        return registration;
+    }
+}
@@ -0,0 +1,101 @@
+package com.aigreentick.services.storage.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.reactive.function.server.HandlerFilterFunction;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.aigreentick.services.common.dto.response.ResponseMessage;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Runs MVC interceptors in front of a route served by the reactive upload
+ * servlet, which the DispatcherServlet never sees.
+ *
+ * <p>The interceptors run on the container thread that dispatched the
+ * request, before any byte of the body is read, and the handler is called on
+ * that same thread. Once it returns, thread-locals are cleared through
+ * {@code afterConcurrentHandlingStarted}, as for async MVC handlers, and
+ * {@code afterCompletion} runs when the response completes. A rejection
+ * written by an interceptor is buffered and sent as the route's response.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class StreamingUploadInterceptorFilter implements HandlerFilterFunction<ServerResponse, ServerResponse> {
+    private final List<HandlerInterceptor> interceptors;
+
+    @Override
+    public Mono<ServerResponse> filter(ServerRequest request, HandlerFunction<ServerResponse> next) {
+        HttpServletRequest servletRequest = ServerHttpRequestDecorator.getNativeRequest(request.exchange().getRequest());
+        HttpServletResponse servletResponse = ServerHttpResponseDecorator
+                .getNativeResponse(request.exchange().getResponse());
+        // The reactive response owns the output stream, so interceptors write into a buffer
+        ContentCachingResponseWrapper interceptorResponse = new ContentCachingResponseWrapper(servletResponse);
+
+        List<HandlerInterceptor> applied = new ArrayList<>();
+        try {
+            for (HandlerInterceptor interceptor : interceptors) {
+                if (!interceptor.preHandle(servletRequest, interceptorResponse, next)) {
+                    afterCompletion(applied, servletRequest, interceptorResponse, next, null);
+                    return rejection(interceptorResponse);
+                }
+                applied.add(interceptor);
+            }
+            return next.handle(request)
+                    .doFinally(signal -> afterCompletion(applied, servletRequest, interceptorResponse, next, null));
+        } catch (IllegalArgumentException e) {
+            // e.g. a non-numeric X-User-Id header
+            afterCompletion(applied, servletRequest, interceptorResponse, next, e);
+            return ServerResponse.badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(new ResponseMessage<Void>("ERROR", e.getMessage(), null));
+        } catch (Exception e) {
+            afterCompletion(applied, servletRequest, interceptorResponse, next, e);
+            return Mono.error(e);
+        } finally {
+            for (HandlerInterceptor interceptor : applied) {
+                if (interceptor instanceof AsyncHandlerInterceptor asyncInterceptor) {
+                    asyncInterceptor.afterConcurrentHandlingStarted(servletRequest, interceptorResponse, next);
+                }
+            }
+        }
+    }
+
+    private Mono<ServerResponse> rejection(ContentCachingResponseWrapper response) {
+        ServerResponse.BodyBuilder builder = ServerResponse.status(HttpStatusCode.valueOf(response.getStatus()));
+        if (response.getContentType() != null) {
+            builder.contentType(MediaType.parseMediaType(response.getContentType()));
+        }
+        return builder.bodyValue(response.getContentAsByteArray());
+    }
+
+    /**
+     * Calls {@code afterCompletion} in reverse order, like HandlerExecutionChain:
+     * a failing callback is logged and does not skip the others.
+     */
+    private void afterCompletion(List<HandlerInterceptor> applied, HttpServletRequest request,
+            HttpServletResponse response, Object handler, Exception ex) {
+        for (int i = applied.size() - 1; i >= 0; i--) {
+            try {
+                applied.get(i).afterCompletion(request, response, handler, ex);
+            } catch (Exception e) {
+                log.error("HandlerInterceptor.afterCompletion threw exception", e);
+            }
+        }
+    }
+}
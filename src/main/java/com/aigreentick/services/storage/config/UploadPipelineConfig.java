@@ -0,0 +1,79 @@
+package com.aigreentick.services.storage.config;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Executor used by the upload pipeline to read request bodies and feed
+ * outbound uploads in parallel with the storage write.
+ *
+ * <p>Virtual threads are switched on with Spring Boot's
+ * {@code spring.threads.virtual.enabled}, which already moves Tomcat request
+ * handling and the application task executor onto them. The two beans here
+ * are the service's own, so they follow the same flag explicitly.
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class UploadPipelineConfig {
+    private final UploadPipelineProperties properties;
+    private final ExecutionModeProperties executionProperties;
+    private final Environment environment;
+
+    @Bean(name = "mediaPipelineExecutor")
+    public TaskExecutor mediaPipelineExecutor(SimpleAsyncTaskExecutorBuilder executorBuilder) {
+        if (isVirtual()) {
+            log.info("Configuring media pipeline executor on virtual threads: concurrencyLimit={}",
+                    executionProperties.getVirtualPipelineConcurrencyLimit());
+
+            // Boot's builder already has virtual threads on when the flag is set
+            return executorBuilder
+                    .threadNamePrefix("media-pipeline-")
+                    .concurrencyLimit(executionProperties.getVirtualPipelineConcurrencyLimit())
+                    .taskTerminationTimeout(Duration.ofSeconds(30))
+                    .build();
+        }
+
+        log.info("Configuring media pipeline executor: core={}, max={}, queue={}",
+                properties.getCorePoolSize(), properties.getMaxPoolSize(), properties.getQueueCapacity());
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getCorePoolSize());
+        executor.setMaxPoolSize(properties.getMaxPoolSize());
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.setThreadNamePrefix("media-pipeline-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Scheduler that reads request bodies into outbound WebClient uploads.
+     * Virtual mode avoids the bounded-elastic thread cap on concurrent uploads.
+     */
+    @Bean(name = "mediaReadScheduler", destroyMethod = "dispose")
+    public Scheduler mediaReadScheduler() {
+        if (isVirtual()) {
+            return Schedulers.fromExecutorService(Executors.newVirtualThreadPerTaskExecutor(), "media-read");
+        }
+        return Schedulers.boundedElastic();
+    }
+
+    private boolean isVirtual() {
+        return Threading.VIRTUAL.isActive(environment);
+    }
+}
@@ -0,0 +1,48 @@
+package com.aigreentick.services.storage.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Configuration properties for the streaming upload pipeline.
+ * Maps to application.yml under 'media.upload.pipeline' prefix.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "media.upload.pipeline")
+public class UploadPipelineProperties {
+    /**
+     * Size of each chunk read from the request body.
+     */
+    private int chunkSizeBytes = 64 * 1024;
+
+    /**
+     * Chunks buffered per consumer before the reader blocks (backpressure).
+     */
+    private int maxBufferedChunks = 16;
+
+    /**
+     * How long the WhatsApp branch may hold up the storage write before it is
+     * detached and the upload continues storage only. 0 waits indefinitely.
+     */
+    private long whatsappStallTimeoutMs = 5000;
+
+    /**
+     * Worker threads used for pumping request bodies and outbound uploads.
+     */
+    private int corePoolSize = 8;
+    private int maxPoolSize = 64;
+    private int queueCapacity = 0;
+
+    /**
+     * Maximum number of files accepted by one batch upload request.
+     */
+    private int batchMaxFiles = 50;
+
+    /**
+     * Files of one organisation stored in parallel by batch uploads.
+     */
+    private int batchPerOrgConcurrency = 4;
+}
@@ -1,7 +1,7 @@
 package com.aigreentick.services.storage.config;
 
 import org.springframework.stereotype.Component;
-import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
 
 import com.aigreentick.services.common.context.UserContext;
 import com.aigreentick.services.common.context.UserContextData;
@@ -15,7 +15,7 @@ import lombok.extern.slf4j.Slf4j;
  */
 @Component
 @Slf4j
-public class UserContextInterceptor implements HandlerInterceptor {
+public class UserContextInterceptor implements AsyncHandlerInterceptor {
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
@@ -40,4 +40,15 @@ public class UserContextInterceptor implements HandlerInterceptor {
             Exception ex) {
         UserContext.clear();
     }
+
+    /**
+     * Async handlers (streaming uploads) leave the request thread early; the
+     * context is set again when the result is dispatched.
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request,
+            HttpServletResponse response,
+            Object handler) {
+        UserContext.clear();
+    }
 }
@@ -0,0 +1,99 @@
+package com.aigreentick.services.storage.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reports call sites that pin a virtual thread to its carrier, typically
+ * blocking I/O inside a {@code synchronized} block or a native frame.
+ *
+ * <p>A JFR stream is opened once the application is ready and stays open, so
+ * pinning on the real upload path is caught as well as during startup. Each
+ * call site is logged once with its stack; every occurrence increments
+ * {@code media.virtual.pinned}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor {
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APP_PACKAGE = "com.aigreentick.";
+    private static final int LOGGED_FRAMES = 8;
+
+    private final ExecutionModeProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+    private RecordingStream stream;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isPinningMonitorEnabled()) {
+            return;
+        }
+
+        try {
+            stream = new RecordingStream();
+            stream.enable(PINNED_EVENT)
+                    .withThreshold(Duration.ofMillis(properties.getPinningThresholdMs()))
+                    .withStackTrace();
+            stream.onEvent(PINNED_EVENT, this::onPinned);
+            stream.startAsync();
+            log.info("Virtual thread pinning monitor started: threshold={}ms", properties.getPinningThresholdMs());
+        } catch (RuntimeException e) {
+            // JFR can be unavailable (e.g. disabled in the JVM); the service must still start
+            log.warn("Virtual thread pinning monitor unavailable: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        List<RecordedFrame> frames = event.getStackTrace() != null
+                ? event.getStackTrace().getFrames()
+                : List.of();
+        String site = frames.stream()
+                .filter(frame -> frame.getMethod().getType().getName().startsWith(APP_PACKAGE))
+                .findFirst()
+                .or(() -> frames.stream().findFirst())
+                .map(this::describe)
+                .orElse("unknown");
+
+        meterRegistry.counter("media.virtual.pinned", "site", site).increment();
+
+        if (reportedSites.add(site)) {
+            log.warn("Virtual thread pinned for {}ms at {}\n\t{}",
+                    event.getDuration().toMillis(), site,
+                    frames.stream().limit(LOGGED_FRAMES).map(this::describe)
+                            .collect(Collectors.joining("\n\t")));
+        }
+    }
+
+    private String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + ":" + frame.getLineNumber();
+    }
+}
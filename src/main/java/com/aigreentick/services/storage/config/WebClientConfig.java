@@ -8,10 +8,16 @@ import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import com.aigreentick.services.storage.client.config.GraphAuthFailureFilter;
+import com.aigreentick.services.storage.client.config.GraphRateLimitFilter;
+import com.aigreentick.services.storage.client.properties.GraphApiClientProperties;
+
 import io.netty.channel.ChannelOption;
 import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 @Configuration
 @Slf4j
@@ -28,6 +34,53 @@ public class WebClientConfig {
             .filter(logResponse());
     }
 
+    /**
+     * Connection pool dedicated to the Graph API, so its traffic neither
+     * shares nor exhausts the default global pool.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider graphApiConnectionProvider(GraphApiClientProperties properties) {
+        log.info("Configuring Graph API connection pool: maxConnections={}, pendingAcquireMaxCount={}, http2={}",
+                properties.getMaxConnections(), properties.getPendingAcquireMaxCount(), properties.isHttp2Enabled());
+
+        return ConnectionProvider.builder("graph-api")
+            .maxConnections(properties.getMaxConnections())
+            .pendingAcquireMaxCount(properties.getPendingAcquireMaxCount())
+            .pendingAcquireTimeout(Duration.ofMillis(properties.getPendingAcquireTimeoutMs()))
+            .maxIdleTime(Duration.ofMillis(properties.getMaxIdleTimeMs()))
+            .maxLifeTime(Duration.ofMillis(properties.getMaxLifeTimeMs()))
+            .evictInBackground(Duration.ofMillis(properties.getEvictInBackgroundMs()))
+            // Reuse the most recently released connection; the others go idle and are evicted
+            .lifo()
+            .metrics(properties.isMetricsEnabled())
+            .build();
+    }
+
+    /**
+     * Shared client for all Graph API calls. Built once from a copy of the
+     * common builder, so it keeps the logging filters but not the default pool,
+     * and adds per-phone-number rate limiting and eviction of rejected tokens.
+     */
+    @Bean
+    public WebClient graphApiWebClient(WebClient.Builder webClientBuilder,
+            ConnectionProvider graphApiConnectionProvider, GraphApiClientProperties properties,
+            GraphRateLimitFilter graphRateLimitFilter, GraphAuthFailureFilter graphAuthFailureFilter) {
+        HttpClient httpClient = HttpClient.create(graphApiConnectionProvider)
+            .keepAlive(true)
+            .option(ChannelOption.SO_KEEPALIVE, true)
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, properties.getConnectTimeoutMs())
+            .responseTimeout(Duration.ofMillis(properties.getResponseTimeoutMs()));
+        if (properties.isHttp2Enabled()) {
+            httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11);
+        }
+
+        return webClientBuilder.clone()
+            .clientConnector(new ReactorClientHttpConnector(httpClient))
+            .filter(graphRateLimitFilter)
+            .filter(graphAuthFailureFilter)
+            .build();
+    }
+
     private ExchangeFilterFunction logRequest() {
         return ExchangeFilterFunction.ofRequestProcessor(clientRequest -> {
             log.info("Request: {} {}", clientRequest.method(), clientRequest.url());
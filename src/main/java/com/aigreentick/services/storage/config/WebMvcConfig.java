@@ -4,6 +4,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import com.aigreentick.services.storage.constants.MediaConstants;
 import com.aigreentick.services.storage.interceptor.RateLimitInterceptor;
 
 import lombok.RequiredArgsConstructor;
@@ -17,6 +18,8 @@ import lombok.RequiredArgsConstructor;
 public class WebMvcConfig implements WebMvcConfigurer {
     private final UserContextInterceptor userContextInterceptor;
     private final RateLimitInterceptor rateLimitInterceptor;
+    private final RequestDeadlineInterceptor requestDeadlineInterceptor;
+    private final AdminAuthorizationInterceptor adminAuthorizationInterceptor;
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
@@ -29,5 +32,15 @@ public class WebMvcConfig implements WebMvcConfigurer {
                 .addPathPatterns("/api/**")
                 .excludePathPatterns("/api-docs/**", "/swagger-ui/**", "/actuator/**")
                 .order(2);
+
+        // Caller's time budget for outbound calls made by the request
+        registry.addInterceptor(requestDeadlineInterceptor)
+                .addPathPatterns("/api/**")
+                .order(3);
+
+        // Admin paths are outside /api/** and need the admin token
+        registry.addInterceptor(adminAuthorizationInterceptor)
+                .addPathPatterns(MediaConstants.Paths.Admin.BASE + "/**")
+                .order(0);
     }
 }
@@ -12,4 +12,15 @@ public class LocalStorageProperties {
     private boolean enabled = true;
     private String rootPath = "./media-uploads";
     private String baseUrl = "http://localhost:7998/api/v1/media/";
-}
\ No newline at end of file
+    
+    // Hash-prefix directory fan-out for new files; older files are moved by the shard migration
+    private boolean shardingEnabled = true;
+    private boolean shardMigrationEnabled = false;
+    private int shardMigrationBatchSize = 10000;
+    
+    // Files checked or deleted at once by existsAll and deleteAll
+    private int batchParallelism = 8;
+    
+    // Cheaper volume the lifecycle engine moves cold files to (tier ARCHIVE); unset disables it
+    private String archiveRootPath;
+}
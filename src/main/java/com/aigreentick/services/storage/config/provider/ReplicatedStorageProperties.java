@@ -0,0 +1,21 @@
+package com.aigreentick.services.storage.config.provider;
+
+import java.util.List;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "storage.providers.replicated")
+public class ReplicatedStorageProperties {
+    private boolean enabled = false;
+    private List<String> replicas = List.of("local", "s3"); // provider names, each must be enabled on its own
+    private int writeQuorum = 1; // replicas that must hold the object before an upload is acknowledged
+    private long stallTimeoutMs = 2000; // a replica holding up the upload this long is left to repair
+    private int failureThreshold = 3; // consecutive failures before a replica is read from last
+    private long failureCooldownMs = 30000;
+    private boolean repairEnabled = true; // with a write quorum below the replica count, repair is what restores full copies
+    private int repairBatchSize = 500;
+}
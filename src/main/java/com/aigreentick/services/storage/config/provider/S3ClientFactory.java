@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
@@ -14,7 +15,7 @@ import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3AsyncClientBuilder;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.S3ClientBuilder;
-import software.amazon.awssdk.transfer.s3.S3TransferManager;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 
 import java.net.URI;
 
@@ -62,11 +63,44 @@ public class S3ClientFactory {
         return builder.build();
     }
     
+    /**
+     * Shared presigner. Signing is local work, so one instance serves every
+     * request instead of resolving credentials and building a client per URL.
+     */
     @Bean
-    public S3TransferManager s3TransferManager(S3AsyncClient s3AsyncClient) {
-        return S3TransferManager.builder()
-                .s3Client(s3AsyncClient)
-                .build();
+    public S3Presigner s3Presigner() {
+        S3Presigner.Builder builder = S3Presigner.builder()
+                .region(Region.of(properties.getRegion()))
+                .credentialsProvider(getCredentialsProvider());
+        
+        // Signed URLs must point at the same endpoint as the clients
+        if (properties.getEndpoint() != null && !properties.getEndpoint().isEmpty()) {
+            builder.endpointOverride(URI.create(properties.getEndpoint()));
+        }
+        
+        return builder.build();
+    }
+    
+    /**
+     * Threads that send multipart parts. A part is only submitted while it
+     * holds a pooled buffer, so one thread per buffer is enough and the queue
+     * never overflows.
+     */
+    @Bean(name = "s3UploadExecutor")
+    public ThreadPoolTaskExecutor s3UploadExecutor() {
+        int threads = properties.getMultipartBufferPoolSize();
+        log.info("Configuring S3 upload executor: threads={}, partSize={}, maxConcurrency={}",
+                threads, properties.getMultipartPartSizeBytes(), properties.getMultipartMaxConcurrency());
+        
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(threads);
+        executor.setThreadNamePrefix("s3-upload-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
     }
     
     private AwsCredentialsProvider getCredentialsProvider() {
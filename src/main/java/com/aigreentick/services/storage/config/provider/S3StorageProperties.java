@@ -18,5 +18,13 @@ public class S3StorageProperties {
     private String cloudfrontDomain;
     private String storageClass = "INTELLIGENT_TIERING";
     private long multipartThresholdBytes = 104857600L; // 100MB
+    private long multipartPartSizeBytes = 8388608L; // 8MB; S3 requires at least 5MB for all but the last part
+    private int multipartMaxConcurrency = 4; // parts of one upload in flight at once
+    private int multipartBufferPoolSize = 16; // part buffers shared by all uploads; caps heap at pool size x part size
     private int presignedUrlExpiryMinutes = 15;
+    private boolean presignedUrlCacheEnabled = true;
+    private int presignedUrlCacheMaxEntries = 10000; // storage keys kept, least recently used dropped first
+    private long presignedUrlCacheExpiryBucketSeconds = 300; // expiries are rounded up to a multiple, so close ones share a URL
+    private double presignedUrlCacheReuseFraction = 0.2; // share of a URL's lifetime it is reused for
+    private int batchHeadConcurrency = 32; // HEAD requests in flight for one existsAll call
 }
\ No newline at end of file
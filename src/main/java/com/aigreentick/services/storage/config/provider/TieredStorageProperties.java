@@ -0,0 +1,15 @@
+package com.aigreentick.services.storage.config.provider;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "storage.providers.tiered")
+public class TieredStorageProperties {
+    private boolean enabled = false; // needs storage.providers.s3.enabled as the durable tier
+    private String cacheDir = "./media-cache";
+    private long cacheMaxBytes = 10737418240L; // 10GB
+    private double evictionLowWatermark = 0.9; // eviction stops once usage is back under this share of the maximum
+}
@@ -10,11 +10,23 @@ public class MediaConstants {
         private Fields() {
         }
         public static final String FILE = "file";
+        public static final String FILES = "files";
         public static final String STATUS = "status";
         public static final String CREATED_AT = "createdAt";
         public static final String UPDATED_AT = "updatedAt";
     }
     
+    // --- Resumable upload (tus-style) and range request headers ---
+    public static final class Headers {
+        private Headers() {
+        }
+        public static final String UPLOAD_OFFSET = "Upload-Offset";
+        public static final String UPLOAD_LENGTH = "Upload-Length";
+        public static final String OFFSET_OCTET_STREAM = "application/offset+octet-stream";
+        public static final String BYTES_UNIT = "bytes";
+        public static final String ZIP_CONTENT_TYPE = "application/zip";
+    }
+    
      // --- API Paths ---
     public static final class Paths {
         private Paths() {
@@ -22,6 +34,14 @@ public class MediaConstants {
 
         public static final String BASE = "/api/v1/media"; // base other are after this
         public static final String UPLOAD = "/upload";
+        public static final String UPLOAD_BATCH = "/upload/batch";
+        public static final String STATUS = "/{id}/status";
+        public static final String CONTENT = "/{id}/content";
+        public static final String EXPORT = "/export";
+        public static final String STREAM_BASE = "/api/v1/media/stream"; // served by the reactive upload servlet
+        public static final String RESUMABLE = "/uploads";
+        public static final String RESUMABLE_SESSION = "/uploads/{id}";
+        public static final String RESUMABLE_COMPLETE = "/uploads/{id}/complete";
 
         // --- Admin-specific paths ---
         public static final class Admin {
@@ -29,6 +49,8 @@ public class MediaConstants {
             }
 
             public static final String BASE = "/admin/v1/media";
+            public static final String PURGE = "/purge";
+            public static final String EXPORT = "/export";
         }
     }
 
@@ -45,5 +67,10 @@ public class MediaConstants {
 
         public static final String IMAGE_UPLOADED_SUCCESS = "image uploaded successfully";
         public static final String MEDIA_UPLOADED_SUCCESS = "media uploaded successfully";
+        public static final String MEDIA_STATUS_FETCHED = "media status fetched successfully";
+        public static final String MEDIA_BATCH_PROCESSED = "media batch processed";
+        public static final String UPLOAD_SESSION_CREATED = "upload session created";
+        public static final String UPLOAD_SESSION_FETCHED = "upload session fetched successfully";
+        public static final String MEDIA_PURGED = "deleted media purged";
     }
 }
\ No newline at end of file
@@ -0,0 +1,91 @@
+package com.aigreentick.services.storage.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.aigreentick.services.storage.config.AdminAuthorizationInterceptor;
+import com.aigreentick.services.storage.constants.MediaConstants;
+import com.aigreentick.services.storage.dto.response.MediaPurgeResponse;
+import com.aigreentick.services.storage.service.impl.media.MediaExportServiceImpl;
+import com.aigreentick.services.storage.service.impl.media.MediaPurgeServiceImpl;
+import com.aigreentick.services.storage.validator.MediaRequestValidator;
+
+import io.swagger.v3.oas.annotations.Operation;
+
+import com.aigreentick.services.common.dto.response.ResponseMessage;
+import com.aigreentick.services.common.dto.response.ResponseStatus;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Administrative media operations, served under the admin path. Every
+ * endpoint requires the admin token, checked by AdminAuthorizationInterceptor.
+ */
+@Slf4j
+@RestController
+@RequestMapping(MediaConstants.Paths.Admin.BASE)
+@RequiredArgsConstructor
+public class MediaAdminController {
+        private final MediaPurgeServiceImpl purgeService;
+        private final MediaExportServiceImpl exportService;
+        private final MediaRequestValidator validator;
+
+        /**
+         * Permanently removes soft-deleted media and their stored objects.
+         *
+         * @param organisationId organisation to purge; all organisations when omitted, which
+         *        only callers holding the purge-all token may do
+         * @param purgeAllAllowed set by AdminAuthorizationInterceptor for the purge-all token
+         * @return counts of purged rows and deleted objects
+         */
+        @PostMapping(value = MediaConstants.Paths.Admin.PURGE, produces = MediaType.APPLICATION_JSON_VALUE)
+        @Operation(summary = "Purge deleted media", description = "Permanently deletes soft-deleted media rows and their stored objects, using bulk storage deletes. Objects still shared with live media are kept.")
+        public ResponseEntity<ResponseMessage<MediaPurgeResponse>> purgeDeleted(
+                        @RequestParam(required = false) Long organisationId,
+                        @RequestAttribute(name = AdminAuthorizationInterceptor.PURGE_ALL_ALLOWED, required = false) Boolean purgeAllAllowed) {
+
+                validator.validatePurgeScope(organisationId, Boolean.TRUE.equals(purgeAllAllowed));
+                log.info("Purge of deleted media requested (organisation: {})", organisationId);
+                MediaPurgeResponse response = purgeService.purgeDeleted(organisationId);
+                return ResponseEntity.ok(new ResponseMessage<>(ResponseStatus.SUCCESS.name(),
+                                MediaConstants.Messages.MEDIA_PURGED, response));
+        }
+
+        /**
+         * Streams all media of an organisation as a ZIP archive, e.g. for
+         * offboarding or a compliance request.
+         *
+         * @param organisationId organisation to export
+         * @param afterId media id of the last entry already received; a full export when omitted
+         * @return ZIP archive with one entry per media file, in upload order
+         */
+        @GetMapping(value = MediaConstants.Paths.Admin.EXPORT, produces = MediaConstants.Headers.ZIP_CONTENT_TYPE)
+        @Operation(summary = "Export organisation media as ZIP", description = "Streams all media of an organisation as a ZIP archive. Resumable with afterId, the media id of the last entry received; each entry's comment carries its media id.")
+        public ResponseEntity<StreamingResponseBody> exportOrganisationMedia(
+                        @RequestParam Long organisationId,
+                        @RequestParam(required = false) Long afterId) {
+
+                long resumeAfter = validator.validateExportStart(afterId);
+
+                log.info("Export requested for organisation {} after media {}", organisationId, resumeAfter);
+                StreamingResponseBody body = out -> exportService.exportOrganisationMedia(organisationId, resumeAfter, out);
+                String filename = "media-org-" + organisationId + (resumeAfter > 0 ? "-after-" + resumeAfter : "") + ".zip";
+                return ResponseEntity.ok()
+                                .contentType(MediaType.parseMediaType(MediaConstants.Headers.ZIP_CONTENT_TYPE))
+                                .cacheControl(CacheControl.noStore())
+                                .header(HttpHeaders.CONTENT_DISPOSITION,
+                                                ContentDisposition.attachment().filename(filename).build().toString())
+                                .body(body);
+        }
+}
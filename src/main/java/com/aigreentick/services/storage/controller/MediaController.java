@@ -1,27 +1,47 @@
 package com.aigreentick.services.storage.controller;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.aigreentick.services.storage.constants.MediaConstants;
+import com.aigreentick.services.storage.dto.response.BatchUploadResponse;
+import com.aigreentick.services.storage.dto.response.MediaStatusResponse;
 import com.aigreentick.services.storage.dto.response.MediaUploadResponse;
 import com.aigreentick.services.storage.dto.response.UserMediaResponse;
+import com.aigreentick.services.storage.service.impl.media.MediaContentServiceImpl;
+import com.aigreentick.services.storage.service.impl.media.MediaContentServiceImpl.MediaContent;
+import com.aigreentick.services.storage.service.impl.media.MediaExportServiceImpl;
 import com.aigreentick.services.storage.service.impl.media.MediaOrchestratorServiceImpl;
 import com.aigreentick.services.storage.validator.MediaRequestValidator;
 
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.validation.constraints.NotBlank;
 
+import com.aigreentick.services.common.context.UserContext;
 import com.aigreentick.services.common.dto.response.ResponseMessage;
 import com.aigreentick.services.common.dto.response.ResponseStatus;
 
@@ -34,6 +54,8 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class MediaController {
         private final MediaOrchestratorServiceImpl mediaService;
+        private final MediaContentServiceImpl contentService;
+        private final MediaExportServiceImpl exportService;
         private final MediaRequestValidator validator;
 
         /**
@@ -53,6 +75,25 @@ public class MediaController {
                                 MediaConstants.Messages.MEDIA_UPLOADED_SUCCESS, response));
         }
 
+        /**
+         * Uploads several media files in one request.
+         *
+         * @param files the multipart files to upload
+         * @return ResponseEntity with one result per file; individual failures do not fail the batch
+         */
+        @PostMapping(value = MediaConstants.Paths.UPLOAD_BATCH, consumes = MediaType.MULTIPART_FORM_DATA_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+        @Operation(summary = "Upload media files in batch", description = "Uploads many media files in parallel under a per-organisation concurrency limit. Returns a result per file, including per-file failures.")
+        public ResponseEntity<ResponseMessage<BatchUploadResponse>> uploadMediaBatch(
+                        @RequestParam(MediaConstants.Fields.FILES) List<MultipartFile> files) {
+
+                validator.validateUserContext();
+
+                log.info("Batch upload request received for {} files", files.size());
+                BatchUploadResponse response = mediaService.uploadMediaBatch(files);
+                return ResponseEntity.ok(new ResponseMessage<>(ResponseStatus.SUCCESS.name(),
+                                MediaConstants.Messages.MEDIA_BATCH_PROCESSED, response));
+        }
+
         /**
          * Retrieves all media for the current user with pagination.
          *
@@ -168,6 +209,117 @@ public class MediaController {
                                 MediaConstants.Messages.MEDIA_UPLOADED_SUCCESS, mediaPage));
         }
 
+        /**
+         * Returns the WhatsApp publishing status of an uploaded media file.
+         *
+         * @param id the media ID returned by the upload endpoint
+         * @return publishing status, WhatsApp media ID once available
+         */
+        @GetMapping(MediaConstants.Paths.STATUS)
+        @Operation(summary = "Get media publish status", description = "Returns whether the media has been published to WhatsApp, with attempt count and last error")
+        public ResponseEntity<ResponseMessage<MediaStatusResponse>> getMediaStatus(@PathVariable Long id) {
+
+                validator.validateUserContext();
+
+                log.info("Fetching publish status for media: {}", id);
+                MediaStatusResponse status = mediaService.getMediaStatus(id);
+
+                return ResponseEntity.ok(new ResponseMessage<>(ResponseStatus.SUCCESS.name(),
+                                MediaConstants.Messages.MEDIA_STATUS_FETCHED, status));
+        }
+
+        /**
+         * Streams the content of a media file. Supports a single byte range
+         * ({@code Range}, guarded by {@code If-Range}) and conditional requests
+         * ({@code If-None-Match}, {@code If-Modified-Since}); a request with
+         * several ranges is answered with the whole file.
+         *
+         * @param id the media ID returned by the upload endpoint
+         * @return 200 with the whole file, 206 with the requested range, 304 or 416
+         */
+        @GetMapping(MediaConstants.Paths.CONTENT)
+        @Operation(summary = "Download media content", description = "Streams the stored file. Supports HTTP Range requests for seeking and resuming, and ETag / Last-Modified validation.")
+        public ResponseEntity<StreamingResponseBody> getMediaContent(@PathVariable Long id,
+                        @RequestHeader HttpHeaders requestHeaders, WebRequest webRequest) {
+
+                validator.validateUserContext();
+
+                MediaContent content = contentService.describe(id);
+                long lastModified = content.lastModified() != null ? content.lastModified().toEpochMilli() : -1;
+                if (webRequest.checkNotModified(content.eTag(), lastModified)) {
+                        // 304 or 412 has already been written to the response
+                        return null;
+                }
+
+                long size = content.size();
+                long start = 0;
+                long end = size - 1;
+                HttpStatus status = HttpStatus.OK;
+
+                HttpRange range = singleRange(requestHeaders);
+                if (range != null && ifRangeMatches(requestHeaders.getFirst(HttpHeaders.IF_RANGE), content)) {
+                        try {
+                                start = range.getRangeStart(size);
+                                end = range.getRangeEnd(size);
+                                status = HttpStatus.PARTIAL_CONTENT;
+                        } catch (IllegalArgumentException e) {
+                                return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                                                .header(HttpHeaders.CONTENT_RANGE, MediaConstants.Headers.BYTES_UNIT + " */" + size)
+                                                .build();
+                        }
+                }
+
+                long offset = start;
+                long length = end - start + 1;
+                log.info("Serving media {}: bytes {}-{} of {}", id, start, end, size);
+
+                ResponseEntity.BodyBuilder response = ResponseEntity.status(status)
+                                .contentType(contentType(content.contentType()))
+                                .contentLength(length)
+                                .eTag(content.eTag())
+                                .cacheControl(CacheControl.noCache().cachePrivate())
+                                .header(HttpHeaders.ACCEPT_RANGES, MediaConstants.Headers.BYTES_UNIT)
+                                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.inline()
+                                                .filename(content.filename(), StandardCharsets.UTF_8).build().toString());
+                if (lastModified >= 0) {
+                        response.lastModified(lastModified);
+                }
+                if (status == HttpStatus.PARTIAL_CONTENT) {
+                        response.header(HttpHeaders.CONTENT_RANGE,
+                                        MediaConstants.Headers.BYTES_UNIT + " " + start + "-" + end + "/" + size);
+                }
+
+                StreamingResponseBody body = out -> contentService.transfer(content.storageKey(), offset, length, out);
+                return response.body(body);
+        }
+
+        /**
+         * Streams all media of the current user as a ZIP archive, built while it
+         * is sent. An interrupted download is resumed by passing the media id of
+         * the last entry that arrived complete.
+         *
+         * @param afterId media id of the last entry already received; a full export when omitted
+         * @return ZIP archive with one entry per media file, in upload order
+         */
+        @GetMapping(value = MediaConstants.Paths.EXPORT, produces = MediaConstants.Headers.ZIP_CONTENT_TYPE)
+        @Operation(summary = "Export media as ZIP", description = "Streams all media of the current user as a ZIP archive. Resumable with afterId, the media id of the last entry received; each entry's comment carries its media id.")
+        public ResponseEntity<StreamingResponseBody> exportMedia(
+                        @RequestParam(required = false) Long afterId) {
+
+                validator.validateUserContext();
+                long resumeAfter = validator.validateExportStart(afterId);
+                Long userId = UserContext.getUserId();
+
+                log.info("Export requested for user {} after media {}", userId, resumeAfter);
+                StreamingResponseBody body = out -> exportService.exportUserMedia(userId, resumeAfter, out);
+                return ResponseEntity.ok()
+                                .contentType(MediaType.parseMediaType(MediaConstants.Headers.ZIP_CONTENT_TYPE))
+                                .cacheControl(CacheControl.noStore())
+                                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                                                .filename(exportFilename("user-" + userId, resumeAfter)).build().toString())
+                                .body(body);
+        }
+
         @GetMapping("/public-url")
         @Operation(summary = "Get public URL for media", description = "Generates a temporary public URL for accessing media by storage key")
         public ResponseEntity<ResponseMessage<String>> getPublicUrl(
@@ -188,4 +340,58 @@ public class MediaController {
                                 publicUrl));
         }
 
+        /**
+         * Returns the requested range, or null when the header is absent, malformed
+         * or asks for several ranges; all of those are served as the whole file.
+         */
+        private HttpRange singleRange(HttpHeaders requestHeaders) {
+                try {
+                        List<HttpRange> ranges = requestHeaders.getRange();
+                        return ranges.size() == 1 ? ranges.get(0) : null;
+                } catch (IllegalArgumentException e) {
+                        return null;
+                }
+        }
+
+        /**
+         * A range is only honoured if the client's copy is still current: If-Range
+         * carries either a strong ETag or the Last-Modified date it saw. If-Range
+         * uses the strong comparison, so a weak ETag on either side never matches.
+         */
+        private boolean ifRangeMatches(String ifRange, MediaContent content) {
+                if (ifRange == null) {
+                        return true;
+                }
+                if (ifRange.startsWith("W/")) {
+                        return false;
+                }
+                if (ifRange.startsWith("\"")) {
+                        return content.eTag() != null && !content.eTag().startsWith("W/")
+                                        && ifRange.equals(content.eTag());
+                }
+                if (content.lastModified() == null) {
+                        return false;
+                }
+                try {
+                        long validator = ZonedDateTime.parse(ifRange, DateTimeFormatter.RFC_1123_DATE_TIME)
+                                        .toInstant().getEpochSecond();
+                        return validator == content.lastModified().getEpochSecond();
+                } catch (DateTimeParseException e) {
+                        return false;
+                }
+        }
+
+        private String exportFilename(String owner, long resumeAfter) {
+                return "media-" + owner + (resumeAfter > 0 ? "-after-" + resumeAfter : "") + ".zip";
+        }
+
+        private MediaType contentType(String contentType) {
+                try {
+                        return contentType != null ? MediaType.parseMediaType(contentType)
+                                        : MediaType.APPLICATION_OCTET_STREAM;
+                } catch (IllegalArgumentException e) {
+                        return MediaType.APPLICATION_OCTET_STREAM;
+                }
+        }
+
 }
@@ -0,0 +1,122 @@
+package com.aigreentick.services.storage.controller;
+
+import java.util.Optional;
+
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.multipart.FilePartEvent;
+import org.springframework.http.codec.multipart.PartEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.aigreentick.services.common.context.UserContext;
+import com.aigreentick.services.common.dto.response.ResponseMessage;
+import com.aigreentick.services.common.dto.response.ResponseStatus;
+import com.aigreentick.services.storage.constants.MediaConstants;
+import com.aigreentick.services.storage.dto.response.MediaUploadResponse;
+import com.aigreentick.services.storage.exception.InvalidMediaException;
+import com.aigreentick.services.storage.exception.MediaValidationException;
+import com.aigreentick.services.storage.exception.StorageLimitExceedException;
+import com.aigreentick.services.storage.service.impl.media.MediaStreamUploadServiceImpl;
+import com.aigreentick.services.storage.validator.MediaRequestValidator;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Functional handler for the streaming upload endpoint. Multipart events are
+ * consumed as they arrive with non-blocking servlet reads, so a slow client
+ * holds a connection but no thread.
+ *
+ * <p>The endpoint runs outside the DispatcherServlet. The MVC interceptors are
+ * applied by {@link com.aigreentick.services.storage.config.StreamingUploadInterceptorFilter},
+ * so {@code UserContext} is set while this handler is called; errors are
+ * mapped here rather than by the controller advice.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MediaStreamUploadHandler {
+        private static final String SIZE_PARAM = "size";
+
+        private final MediaStreamUploadServiceImpl uploadService;
+        private final MediaRequestValidator validator;
+
+        /**
+         * Uploads the {@code file} part of a multipart request. The exact file size
+         * must be sent as the {@code size} query parameter so the quota can be
+         * checked before any byte is stored.
+         */
+        public Mono<ServerResponse> upload(ServerRequest request) {
+                Long userId;
+                Long orgId;
+                long declaredSize;
+                try {
+                        // Read on the dispatching thread, while the interceptors' context is set
+                        validator.validateUserContext();
+                        userId = UserContext.getUserId();
+                        orgId = UserContext.getOrganisationId();
+                        declaredSize = request.queryParam(SIZE_PARAM)
+                                        .map(Long::parseLong)
+                                        .orElseThrow(() -> new MediaValidationException("Query parameter 'size' is required"));
+                } catch (NumberFormatException e) {
+                        return error(HttpStatus.BAD_REQUEST, "Invalid size parameter");
+                } catch (MediaValidationException e) {
+                        return error(HttpStatus.BAD_REQUEST, e.getMessage());
+                }
+
+                log.info("Streaming upload request received: userId={}, orgId={}, size={}", userId, orgId, declaredSize);
+
+                return request.bodyToFlux(PartEvent.class)
+                                .windowUntil(PartEvent::isLast)
+                                .concatMap(part -> part.switchOnFirst((first, events) -> {
+                                        if (first.get() instanceof FilePartEvent filePart
+                                                        && MediaConstants.Fields.FILE.equals(filePart.name())) {
+                                                return uploadService.uploadMedia(filePart.filename(),
+                                                                mimeType(filePart.headers().getContentType()),
+                                                                declaredSize, userId, orgId,
+                                                                events.map(PartEvent::content));
+                                        }
+                                        // Skip any other form field
+                                        return events.doOnNext(event -> DataBufferUtils.release(event.content()))
+                                                        .then(Mono.<MediaUploadResponse>empty());
+                                }))
+                                .next()
+                                .switchIfEmpty(Mono.error(new MediaValidationException("Multipart field 'file' is missing")))
+                                .flatMap(response -> ServerResponse.ok()
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .bodyValue(new ResponseMessage<>(ResponseStatus.SUCCESS.name(),
+                                                                MediaConstants.Messages.MEDIA_UPLOADED_SUCCESS, response)))
+                                .onErrorResume(this::toErrorResponse);
+        }
+
+        private Mono<ServerResponse> toErrorResponse(Throwable e) {
+                if (e instanceof MediaValidationException || e instanceof InvalidMediaException
+                                || e instanceof IllegalArgumentException) {
+                        return error(HttpStatus.BAD_REQUEST, e.getMessage());
+                }
+                if (e instanceof StorageLimitExceedException) {
+                        return error(HttpStatus.INSUFFICIENT_STORAGE, e.getMessage());
+                }
+                if (e instanceof UnsupportedOperationException) {
+                        return error(HttpStatus.NOT_IMPLEMENTED, e.getMessage());
+                }
+                log.error("Streaming upload failed", e);
+                return error(HttpStatus.INTERNAL_SERVER_ERROR, "Media upload failed: " + e.getMessage());
+        }
+
+        private Mono<ServerResponse> error(HttpStatus status, String message) {
+                return ServerResponse.status(status)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .bodyValue(new ResponseMessage<Void>("ERROR", message, null));
+        }
+
+        private String mimeType(MediaType contentType) {
+                return Optional.ofNullable(contentType)
+                                .map(type -> type.getType() + "/" + type.getSubtype())
+                                .orElse(null);
+        }
+}
@@ -0,0 +1,163 @@
+package com.aigreentick.services.storage.controller;
+
+import java.io.IOException;
+import java.net.URI;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.aigreentick.services.storage.constants.MediaConstants;
+import com.aigreentick.services.storage.dto.request.ResumableUploadRequest;
+import com.aigreentick.services.storage.dto.response.MediaUploadResponse;
+import com.aigreentick.services.storage.dto.response.ResumableUploadResponse;
+import com.aigreentick.services.storage.exception.UploadSessionConflictException;
+import com.aigreentick.services.storage.service.impl.upload.ResumableUploadServiceImpl;
+import com.aigreentick.services.storage.validator.MediaRequestValidator;
+
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+
+import com.aigreentick.services.common.dto.response.ResponseMessage;
+import com.aigreentick.services.common.dto.response.ResponseStatus;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Resumable upload API in the style of tus: create a session, PATCH chunks at
+ * the offset reported by HEAD, then complete. Retries resend only the chunk
+ * that did not make it.
+ */
+@Slf4j
+@RestController
+@RequestMapping(MediaConstants.Paths.BASE)
+@RequiredArgsConstructor
+public class ResumableUploadController {
+        private final ResumableUploadServiceImpl uploadService;
+        private final MediaRequestValidator validator;
+
+        /**
+         * Opens a resumable upload session.
+         *
+         * @param request file name, content type and total size
+         * @return session with its chunk size; the Location header addresses it
+         */
+        @PostMapping(value = MediaConstants.Paths.RESUMABLE, consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+        @Operation(summary = "Create resumable upload", description = "Opens a session for uploading a large file in fixed-size chunks that can be retried individually.")
+        public ResponseEntity<ResponseMessage<ResumableUploadResponse>> createSession(
+                        @Valid @RequestBody ResumableUploadRequest request) {
+
+                validator.validateUserContext();
+
+                log.info("Resumable upload requested for: {} ({} bytes)", request.getFilename(), request.getSize());
+                ResumableUploadResponse session = uploadService.createSession(request);
+
+                return ResponseEntity.created(URI.create(MediaConstants.Paths.BASE + MediaConstants.Paths.RESUMABLE
+                                + "/" + session.getId()))
+                                .header(MediaConstants.Headers.UPLOAD_OFFSET, String.valueOf(session.getOffset()))
+                                .body(new ResponseMessage<>(ResponseStatus.SUCCESS.name(),
+                                                MediaConstants.Messages.UPLOAD_SESSION_CREATED, session));
+        }
+
+        /**
+         * Reports how many bytes of the session have been received.
+         *
+         * @param id the session ID
+         * @return empty body with Upload-Offset and Upload-Length headers
+         */
+        @RequestMapping(value = MediaConstants.Paths.RESUMABLE_SESSION, method = RequestMethod.HEAD)
+        @Operation(summary = "Get resumable upload offset", description = "Returns the offset the next chunk must start at in the Upload-Offset header.")
+        public ResponseEntity<Void> getOffset(@PathVariable String id) {
+
+                validator.validateUserContext();
+
+                ResumableUploadResponse session = uploadService.getSession(id);
+                return ResponseEntity.ok()
+                                .cacheControl(CacheControl.noStore())
+                                .header(MediaConstants.Headers.UPLOAD_OFFSET, String.valueOf(session.getOffset()))
+                                .header(MediaConstants.Headers.UPLOAD_LENGTH, String.valueOf(session.getLength()))
+                                .build();
+        }
+
+        /**
+         * Appends one chunk at the given offset. The body is streamed to storage
+         * without being buffered whole.
+         *
+         * @param id     the session ID
+         * @param offset offset of this chunk, as last reported by the server
+         * @return empty body with the new Upload-Offset header
+         */
+        @PatchMapping(value = MediaConstants.Paths.RESUMABLE_SESSION, consumes = MediaConstants.Headers.OFFSET_OCTET_STREAM)
+        @Operation(summary = "Upload a chunk", description = "Writes one chunk at Upload-Offset. Every chunk but the last must be exactly the session chunk size.")
+        public ResponseEntity<Void> uploadChunk(
+                        @PathVariable String id,
+                        @RequestHeader(MediaConstants.Headers.UPLOAD_OFFSET) long offset,
+                        HttpServletRequest request) throws IOException {
+
+                validator.validateUserContext();
+
+                long newOffset = uploadService.writeChunk(id, offset, request.getContentLengthLong(),
+                                request.getInputStream());
+                return ResponseEntity.noContent()
+                                .header(MediaConstants.Headers.UPLOAD_OFFSET, String.valueOf(newOffset))
+                                .build();
+        }
+
+        /**
+         * Completes the session once every byte has been received.
+         *
+         * @param id the session ID
+         * @return the stored media, as for a single-request upload
+         */
+        @PostMapping(value = MediaConstants.Paths.RESUMABLE_COMPLETE, produces = MediaType.APPLICATION_JSON_VALUE)
+        @Operation(summary = "Complete resumable upload", description = "Assembles the uploaded chunks into the stored file and records the media.")
+        public ResponseEntity<ResponseMessage<MediaUploadResponse>> completeSession(@PathVariable String id) {
+
+                validator.validateUserContext();
+
+                log.info("Completing resumable upload session: {}", id);
+                MediaUploadResponse response = uploadService.completeSession(id);
+                return ResponseEntity.ok(new ResponseMessage<>(ResponseStatus.SUCCESS.name(),
+                                MediaConstants.Messages.MEDIA_UPLOADED_SUCCESS, response));
+        }
+
+        /**
+         * Aborts the session and discards the uploaded chunks.
+         *
+         * @param id the session ID
+         */
+        @DeleteMapping(MediaConstants.Paths.RESUMABLE_SESSION)
+        @Operation(summary = "Abort resumable upload", description = "Discards an unfinished upload session and returns its quota.")
+        public ResponseEntity<Void> abortSession(@PathVariable String id) {
+
+                validator.validateUserContext();
+
+                uploadService.abortSession(id);
+                return ResponseEntity.noContent().build();
+        }
+
+        /**
+         * Offset mismatches and concurrent writes are reported with the offset
+         * the client should resume from.
+         */
+        @ExceptionHandler(UploadSessionConflictException.class)
+        public ResponseEntity<ResponseMessage<Void>> handleConflict(UploadSessionConflictException e) {
+                log.warn("Resumable upload conflict: {}", e.getMessage());
+                return ResponseEntity.status(HttpStatus.CONFLICT)
+                                .header(MediaConstants.Headers.UPLOAD_OFFSET, String.valueOf(e.getCurrentOffset()))
+                                .body(new ResponseMessage<>("ERROR", e.getMessage(), null));
+        }
+}
@@ -0,0 +1,30 @@
+package com.aigreentick.services.storage.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request DTO that opens a resumable upload session.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumableUploadRequest {
+
+    @NotBlank(message = "Filename is required")
+    private String filename;
+
+    @NotBlank(message = "Content type is required")
+    private String contentType;
+
+    /**
+     * Total file size in bytes.
+     */
+    @Positive(message = "Size must be positive")
+    private long size;
+}
@@ -0,0 +1,43 @@
+package com.aigreentick.services.storage.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one file within a batch upload.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchUploadItemResponse {
+    /**
+     * Position of the file in the request.
+     */
+    private int index;
+
+    /**
+     * Original filename provided during upload.
+     */
+    private String originalFilename;
+
+    /**
+     * Whether this file was stored and recorded.
+     */
+    private boolean success;
+
+    /**
+     * Failure reason when {@code success} is false.
+     */
+    private String error;
+
+    /**
+     * Upload details when {@code success} is true.
+     */
+    private MediaUploadResponse media;
+}
@@ -0,0 +1,22 @@
+package com.aigreentick.services.storage.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for batch media uploads; one result per file, in request order.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchUploadResponse {
+    private int total;
+    private int succeeded;
+    private int failed;
+    private List<BatchUploadItemResponse> results;
+}
@@ -0,0 +1,20 @@
+package com.aigreentick.services.storage.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for a purge of soft-deleted media.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MediaPurgeResponse {
+    private int scanned;         // soft-deleted rows looked at
+    private int purged;          // rows removed for good
+    private int objectsDeleted;  // stored objects deleted
+    private int objectsFailed;   // stored objects that could not be deleted; their rows are kept for the next run
+}
@@ -0,0 +1,47 @@
+package com.aigreentick.services.storage.dto.response;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO describing the WhatsApp publishing progress of a media row.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MediaStatusResponse {
+
+    private Long id;
+
+    /**
+     * PENDING, PUBLISHED, HANDLE_ISSUED or FAILED.
+     */
+    private String status;
+
+    /**
+     * WhatsApp media ID once published.
+     */
+    private String mediaId;
+
+    /**
+     * Graph resumable-upload handle, when the file was too large for a media ID.
+     */
+    private String uploadHandle;
+
+    /**
+     * Publish attempts made so far.
+     */
+    private Integer attempts;
+
+    private String lastError;
+
+    private LocalDateTime nextAttemptAt;
+}
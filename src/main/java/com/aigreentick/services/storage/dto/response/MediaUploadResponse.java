@@ -19,6 +19,16 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class MediaUploadResponse {
+    /**
+     * Database ID of the media row; used to poll publishing status.
+     */
+    private Long id;
+
+    /**
+     * WhatsApp publishing status (PENDING, PUBLISHED, FAILED).
+     */
+    private String status;
+
      /**
      * Publicly accessible URL of the uploaded media.
      */
@@ -0,0 +1,37 @@
+package com.aigreentick.services.storage.dto.response;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO describing the state of a resumable upload session.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumableUploadResponse {
+
+    private String id;
+
+    /**
+     * Bytes received so far; the next chunk must start here.
+     */
+    private long offset;
+
+    /**
+     * Total file size in bytes.
+     */
+    private long length;
+
+    /**
+     * Size every chunk but the last must have.
+     */
+    private long chunkSizeBytes;
+
+    private LocalDateTime expiresAt;
+}
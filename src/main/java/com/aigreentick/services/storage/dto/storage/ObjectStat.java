@@ -0,0 +1,16 @@
+package com.aigreentick.services.storage.dto.storage;
+
+import java.time.Instant;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ObjectStat {
+    private String storageKey;           // Provider-specific key/path
+    private long size;                   // Object size in bytes
+    private Instant lastModified;        // Last write time reported by the provider
+    private String eTag;                 // Provider validator, quoted as in HTTP
+    private String contentType;          // MIME type, if the provider records one
+}
@@ -0,0 +1,22 @@
+package com.aigreentick.services.storage.dto.storage;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Bytes held against an organisation's quota between the storage write and
+ * the commit of the upload.
+ */
+@Data
+@AllArgsConstructor
+public class QuotaReservation {
+    private String id;
+    private Long organisationId;
+    private long bytes;
+
+    /**
+     * False when the ledger was bypassed and the reservation only records a
+     * one-off remote check; settling it is a no-op.
+     */
+    private boolean tracked;
+}
@@ -0,0 +1,15 @@
+package com.aigreentick.services.storage.dto.storage;
+
+import java.util.List;
+
+import com.aigreentick.services.storage.enums.StorageProviderType;
+
+/**
+ * Published once every replica write of an upload has finished, when the
+ * set of replicas holding the object differs from the one the upload was
+ * acknowledged with.
+ *
+ * @param replicas replicas holding the object, in configured order
+ */
+public record ReplicaWritesSettledEvent(String storageKey, List<StorageProviderType> replicas) {
+}
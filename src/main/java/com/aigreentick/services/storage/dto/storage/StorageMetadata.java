@@ -6,7 +6,7 @@ import lombok.Builder;
 import lombok.Data;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 public class StorageMetadata {
     private String originalFilename;
     private String contentType;
@@ -15,11 +15,15 @@ public class StorageMetadata {
     private Long organisationId;
     private MediaType mediaType;
     private String fileExtension;
+    private String storageKey; // Set to store under a fixed key, e.g. the same object on several providers
     
     /**
      * Generate storage key based on organization/user hierarchy
      */
     public String generateStorageKey() {
+        if (storageKey != null) {
+            return storageKey;
+        }
         String uuid = java.util.UUID.randomUUID().toString();
         return String.format("org-%d/user-%d/%s/%s%s",
             organisationId,
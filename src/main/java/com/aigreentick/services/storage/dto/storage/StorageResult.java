@@ -1,5 +1,7 @@
 package com.aigreentick.services.storage.dto.storage;
 
+import java.util.List;
+
 import com.aigreentick.services.storage.enums.StorageProviderType;
 
 import lombok.Builder;
@@ -15,4 +17,5 @@ public class StorageResult {
     private String region;               // Geographic region
     private Long fileSize;               // File size in bytes
     private String contentType;          // MIME type
+    private List<StorageProviderType> replicas; // Providers holding a copy, for replicated storage
 }
\ No newline at end of file
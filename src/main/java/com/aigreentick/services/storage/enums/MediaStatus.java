@@ -0,0 +1,12 @@
+package com.aigreentick.services.storage.enums;
+
+/**
+ * WhatsApp publishing state of a stored media row.
+ */
+public enum MediaStatus {
+    PENDING,
+    PUBLISHED,
+    // Too large for /media: Graph issued a resumable-upload handle, which templates accept but messages cannot send
+    HANDLE_ISSUED,
+    FAILED
+}
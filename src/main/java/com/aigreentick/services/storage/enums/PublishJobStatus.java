@@ -0,0 +1,8 @@
+package com.aigreentick.services.storage.enums;
+
+public enum PublishJobStatus {
+    PENDING,
+    IN_PROGRESS,
+    COMPLETED,
+    FAILED
+}
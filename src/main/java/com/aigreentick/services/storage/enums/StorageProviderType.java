@@ -5,7 +5,9 @@ public enum StorageProviderType {
     S3("Amazon S3"),
     AZURE_BLOB("Azure Blob Storage"),
     GCS("Google Cloud Storage"),
-    MINIO("MinIO S3-Compatible");
+    MINIO("MinIO S3-Compatible"),
+    TIERED("Local Cache over Amazon S3"),
+    REPLICATED("Replicated across Providers");
     
     private final String displayName;
     
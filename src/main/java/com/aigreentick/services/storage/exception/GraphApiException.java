@@ -0,0 +1,20 @@
+package com.aigreentick.services.storage.exception;
+
+/**
+ * A Graph API call that failed in a way worth retrying: a timeout, a
+ * connection failure, a 429 or a 5xx. Thrown so Retry and CircuitBreaker
+ * see the failure; the call's fallback turns it into an error response.
+ */
+public class GraphApiException extends RuntimeException {
+
+    private final int statusCode;
+
+    public GraphApiException(String message, int statusCode, Throwable cause) {
+        super(message, cause);
+        this.statusCode = statusCode;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+}
@@ -0,0 +1,19 @@
+package com.aigreentick.services.storage.exception;
+
+/**
+ * Thrown when a resumable upload request does not match the session state,
+ * e.g. a chunk sent for the wrong offset. Carries the offset the client
+ * should resume from.
+ */
+public class UploadSessionConflictException extends RuntimeException {
+    private final long currentOffset;
+
+    public UploadSessionConflictException(String message, long currentOffset) {
+        super(message);
+        this.currentOffset = currentOffset;
+    }
+
+    public long getCurrentOffset() {
+        return currentOffset;
+    }
+}
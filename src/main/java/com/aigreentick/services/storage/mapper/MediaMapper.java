@@ -1,13 +1,19 @@
 package com.aigreentick.services.storage.mapper;
 
+import com.aigreentick.services.storage.dto.response.MediaStatusResponse;
 import com.aigreentick.services.storage.dto.response.UserMediaResponse;
 import com.aigreentick.services.storage.dto.storage.StorageResult;
 import com.aigreentick.services.storage.enums.MediaType;
+import com.aigreentick.services.storage.enums.StorageProviderType;
+import com.aigreentick.services.storage.enums.PublishJobStatus;
 import com.aigreentick.services.storage.model.Media;
+import com.aigreentick.services.storage.model.MediaPublishJob;
 import com.aigreentick.services.common.context.UserContext;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
 
 @Component
 public class MediaMapper {
@@ -33,6 +39,24 @@ public class MediaMapper {
                 .build();
     }
 
+    /**
+     * Converts Media entity and its latest publish job to MediaStatusResponse DTO.
+     */
+    public MediaStatusResponse toStatusResponse(Media media, MediaPublishJob job) {
+        MediaStatusResponse.MediaStatusResponseBuilder builder = MediaStatusResponse.builder()
+                .id(media.getId())
+                .status(media.getStatus())
+                .mediaId(media.getMediaId())
+                .uploadHandle(media.getUploadHandle());
+
+        if (job != null) {
+            builder.attempts(job.getAttempts())
+                    .lastError(job.getLastError())
+                    .nextAttemptAt(job.getStatus() == PublishJobStatus.PENDING ? job.getNextAttemptAt() : null);
+        }
+        return builder.build();
+    }
+
     /**
      * Create Media entity from StorageResult and metadata
      */
@@ -51,10 +75,21 @@ public class MediaMapper {
                 .storageBucket(storageResult.getBucket())
                 .storageKey(storageResult.getStorageKey())
                 .storageRegion(storageResult.getRegion())
+                .storageReplicas(toReplicaSet(storageResult.getReplicas()))
                 // User context
                 .userId(UserContext.getUserId())
                 .organisationId(UserContext.getOrganisationId())
                 .createdAt(uploadedAt)
                 .build();
     }
+
+    /**
+     * Comma-separated replica set as stored on the media row, or null when not replicated
+     */
+    public static String toReplicaSet(List<StorageProviderType> replicas) {
+        if (replicas == null || replicas.isEmpty()) {
+            return null;
+        }
+        return replicas.stream().map(StorageProviderType::name).collect(Collectors.joining(","));
+    }
 }
\ No newline at end of file
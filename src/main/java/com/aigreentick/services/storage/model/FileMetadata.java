@@ -1,18 +1,34 @@
 package com.aigreentick.services.storage.model;
 
+import java.time.LocalDateTime;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
 
 import com.aigreentick.services.common.model.base.JpaBaseEntity;
 
+/**
+ * One stored object, indexed by organisation and content checksum so that
+ * identical uploads share it. {@code referenceCount} is the number of live
+ * media rows pointing at the object.
+ */
 @Entity
 @Getter
 @Setter
-@Table(name = "file_metadata")
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "file_metadata",
+        uniqueConstraints = @UniqueConstraint(name = "uk_file_metadata_org_checksum",
+                columnNames = { "organisation_id", "checksum" }),
+        indexes = @Index(name = "idx_file_metadata_org_checksum", columnList = "organisation_id, checksum"))
 @SuperBuilder
 public class FileMetadata extends JpaBaseEntity {
 
@@ -37,4 +53,15 @@ public class FileMetadata extends JpaBaseEntity {
 
     private String uploaderId;
 
+    @Column(name = "organisation_id")
+    private Long organisationId;
+
+    @Column(name = "reference_count", nullable = false)
+    private int referenceCount;
+
+    // WhatsApp media ID of this content and when it was issued; Graph media IDs expire
+    private String mediaId;
+
+    private LocalDateTime mediaIdIssuedAt;
+
 }
@@ -1,5 +1,7 @@
 package com.aigreentick.services.storage.model;
 
+import java.time.LocalDateTime;
+
 import com.aigreentick.services.common.model.base.JpaBaseEntity;
 import com.aigreentick.services.storage.enums.MediaType;
 import com.aigreentick.services.storage.enums.StorageProviderType;
@@ -34,6 +36,10 @@ public class Media extends JpaBaseEntity  {
 
     private String  mediaId;
 
+    // Graph resumable-upload handle ("h") of content too large for /media; not a sendable media id
+    @Column(name = "upload_handle", length = 512)
+    private String uploadHandle;
+
     private String mediaUrl;
 
     @Enumerated(EnumType.STRING)
@@ -52,9 +58,21 @@ public class Media extends JpaBaseEntity  {
     @Column(name = "storage_region")
     private String storageRegion;
 
+    // Comma-separated providers holding a copy when storageProvider is REPLICATED, e.g. "LOCAL,S3"
+    @Column(name = "storage_replicas")
+    private String storageReplicas;
+
     // Actual path on server or storage
     private String storagePath;
 
+    // Storage tier the lifecycle engine moved the object to, e.g. STANDARD_IA or ARCHIVE; null while in the upload tier
+    @Column(name = "storage_tier")
+    private String storageTier;
+
+    // Last content download, recorded at most once per media.lifecycle.access-touch-interval-hours
+    @Column(name = "last_accessed_at")
+    private LocalDateTime lastAccessedAt;
+
     private String status; // e.g., PENDING, COMPLETED, FAILED
 
     private Long organisationId;
@@ -63,4 +81,8 @@ public class Media extends JpaBaseEntity  {
 
     private String wabaId;
 
+    // SHA-256 of the content; media rows with equal checksums share one stored object
+    @Column(length = 64)
+    private String checksum;
+
 }
@@ -0,0 +1,57 @@
+package com.aigreentick.services.storage.model;
+
+import java.time.LocalDateTime;
+
+import com.aigreentick.services.common.model.base.JpaBaseEntity;
+import com.aigreentick.services.storage.enums.PublishJobStatus;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Outbox row for pushing a stored media object to WhatsApp.
+ * Written in the same transaction as the {@link Media} row it refers to.
+ */
+@Entity
+@Table(name = "media_publish_job", indexes = {
+        @Index(name = "idx_media_publish_job_due", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_media_publish_job_media", columnList = "media_record_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+public class MediaPublishJob extends JpaBaseEntity {
+
+    @Column(name = "media_record_id", nullable = false)
+    private Long mediaRecordId;
+
+    private Long userId;
+
+    private Long organisationId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PublishJobStatus status;
+
+    private int attempts;
+
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+
+    @Column(length = 1000)
+    private String lastError;
+}
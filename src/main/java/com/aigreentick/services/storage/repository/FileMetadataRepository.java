@@ -1,10 +1,38 @@
 package com.aigreentick.services.storage.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.aigreentick.services.storage.model.FileMetadata;
 
+import jakarta.persistence.LockModeType;
+
 
 
 public interface FileMetadataRepository extends JpaRepository<FileMetadata, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT f FROM FileMetadata f WHERE f.organisationId = :organisationId AND f.checksum = :checksum")
+    Optional<FileMetadata> findByOrganisationIdAndChecksumForUpdate(@Param("organisationId") Long organisationId,
+            @Param("checksum") String checksum);
+
+    @Modifying
+    @Query("UPDATE FileMetadata f SET f.mediaId = :mediaId, f.mediaIdIssuedAt = CURRENT_TIMESTAMP "
+            + "WHERE f.organisationId = :organisationId AND f.checksum = :checksum")
+    int updateMediaId(@Param("organisationId") Long organisationId, @Param("checksum") String checksum,
+            @Param("mediaId") String mediaId);
+
+    @Modifying
+    @Query("DELETE FROM FileMetadata f WHERE f.storedFilename IN :storedFilenames AND f.referenceCount <= 0")
+    int deleteUnreferenced(@Param("storedFilenames") Collection<String> storedFilenames);
+
+    @Query("SELECT f.storedFilename FROM FileMetadata f WHERE f.storedFilename IN :storedFilenames")
+    List<String> findStoredFilenames(@Param("storedFilenames") Collection<String> storedFilenames);
 }
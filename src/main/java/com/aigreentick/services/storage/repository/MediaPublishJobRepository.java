@@ -0,0 +1,45 @@
+package com.aigreentick.services.storage.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.aigreentick.services.storage.model.MediaPublishJob;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface MediaPublishJobRepository extends JpaRepository<MediaPublishJob, Long> {
+
+    /**
+     * Locks due jobs for this dispatcher. Rows locked by another node are
+     * skipped, and IN_PROGRESS jobs whose lease expired are picked up again.
+     */
+    @Query(value = """
+        SELECT *
+        FROM media_publish_job j
+        WHERE j.status IN ('PENDING', 'IN_PROGRESS')
+          AND j.next_attempt_at <= :now
+          AND (j.locked_until IS NULL OR j.locked_until < :now)
+        ORDER BY j.next_attempt_at ASC
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+        """, nativeQuery = true)
+    List<MediaPublishJob> lockDueJobs(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Loads a job and locks its row until the transaction ends, so a lease
+     * cannot be reclaimed between checking and updating it.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT j FROM MediaPublishJob j WHERE j.id = :id")
+    Optional<MediaPublishJob> lockById(@Param("id") Long id);
+
+    Optional<MediaPublishJob> findFirstByMediaRecordIdOrderByIdDesc(Long mediaRecordId);
+}
@@ -1,15 +1,20 @@
 package com.aigreentick.services.storage.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.aigreentick.services.storage.enums.MediaType;
+import com.aigreentick.services.storage.enums.StorageProviderType;
 import com.aigreentick.services.storage.model.Media;
 
 
@@ -23,6 +28,8 @@ public interface MediaRepository extends JpaRepository<Media, Long>, MediaReposi
 
     Optional<Media> findByMediaId(String mediaId);
 
+    Optional<Media> findByIdAndUserId(Long id, Long userId);
+
     Page<Media> findByUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
 
     Page<Media> findByUserIdAndMediaTypeOrderByCreatedAtDesc(Long userId, MediaType mediaType, Pageable pageable);
@@ -32,4 +39,121 @@ public interface MediaRepository extends JpaRepository<Media, Long>, MediaReposi
     long countByUserId(Long userId);
 
     long countByUserIdAndMediaType(Long userId, MediaType mediaType);
-}
\ No newline at end of file
+
+    /**
+     * Replicated media that is not deleted and whose recorded replica set differs from the complete one, in id order after {@code afterId}
+     */
+    @Query("SELECT m FROM Media m WHERE m.storageProvider = :provider AND m.id > :afterId AND m.deleted = false "
+            + "AND (m.storageReplicas IS NULL OR m.storageReplicas <> :replicas) ORDER BY m.id")
+    List<Media> findUnderReplicated(@Param("provider") StorageProviderType provider,
+            @Param("replicas") String replicas, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Media m SET m.storageReplicas = :replicas "
+            + "WHERE m.storageKey = :storageKey AND m.storageProvider = :provider")
+    int updateStorageReplicas(@Param("storageKey") String storageKey, @Param("provider") StorageProviderType provider,
+            @Param("replicas") String replicas);
+
+    /**
+     * Soft-deleted media in id order after {@code afterId}, optionally of one organisation
+     */
+    @Query(value = """
+        SELECT *
+        FROM media m
+        WHERE m.is_deleted = true
+          AND m.id > :afterId
+          AND (:orgId IS NULL OR m.organisation_id = :orgId)
+        ORDER BY m.id ASC
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<Media> findSoftDeletedAfter(@Param("afterId") Long afterId, @Param("orgId") Long orgId,
+            @Param("limit") int limit);
+
+    /**
+     * Media of a user or an organisation that is not deleted, in id order after
+     * {@code afterId}
+     */
+    @Query(value = """
+        SELECT *
+        FROM media m
+        WHERE m.is_deleted = false
+          AND m.id > :afterId
+          AND (:userId IS NULL OR m.user_id = :userId)
+          AND (:orgId IS NULL OR m.organisation_id = :orgId)
+        ORDER BY m.id ASC
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<Media> findExportBatch(@Param("userId") Long userId, @Param("orgId") Long orgId,
+            @Param("afterId") Long afterId, @Param("limit") int limit);
+
+    /**
+     * The given storage keys that a media row which is not deleted still points at
+     */
+    @Query(value = """
+        SELECT DISTINCT m.storage_key
+        FROM media m
+        WHERE m.is_deleted = false
+          AND m.storage_key IN (:storageKeys)
+        """, nativeQuery = true)
+    List<String> findLiveStorageKeys(@Param("storageKeys") Collection<String> storageKeys);
+
+    /**
+     * Bytes stored for an organisation, counting each stored object once however many media rows share it
+     */
+    @Query(value = """
+        SELECT COALESCE(SUM(k.file_size), 0)
+        FROM (SELECT m.storage_key, MAX(m.file_size) AS file_size
+              FROM media m
+              WHERE m.is_deleted = false
+                AND m.organisation_id = :orgId
+              GROUP BY m.storage_key) k
+        """, nativeQuery = true)
+    long sumStoredBytes(@Param("orgId") Long orgId);
+
+    @Modifying
+    @Query(value = "DELETE FROM media WHERE id IN (:ids) AND is_deleted = true", nativeQuery = true)
+    int purgeSoftDeleted(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Media matching a lifecycle rule, in id order after {@code afterId}
+     */
+    @Query("SELECT m FROM Media m WHERE m.id > :afterId AND m.deleted = false "
+            + "AND m.createdAt < :createdBefore "
+            + "AND (m.lastAccessedAt IS NULL OR m.lastAccessedAt < :accessedBefore) "
+            + "AND (:mediaType IS NULL OR m.mediaType = :mediaType) "
+            + "AND ((:fromTier IS NULL AND m.storageTier IS NULL) OR m.storageTier = :fromTier) "
+            + "ORDER BY m.id")
+    List<Media> findLifecycleCandidates(@Param("afterId") Long afterId,
+            @Param("createdBefore") LocalDateTime createdBefore,
+            @Param("accessedBefore") LocalDateTime accessedBefore,
+            @Param("mediaType") MediaType mediaType,
+            @Param("fromTier") String fromTier,
+            Pageable pageable);
+
+    /**
+     * Keys among {@code storageKeys} with a live row that is too young or too
+     * recently read for a lifecycle rule; deduplicated rows share the object,
+     * so one such row keeps it in its tier.
+     */
+    @Query("SELECT DISTINCT m.storageKey FROM Media m WHERE m.storageKey IN :storageKeys AND m.deleted = false "
+            + "AND (m.createdAt >= :createdBefore OR m.lastAccessedAt >= :accessedBefore)")
+    List<String> findStorageKeysInUse(@Param("storageKeys") Collection<String> storageKeys,
+            @Param("createdBefore") LocalDateTime createdBefore,
+            @Param("accessedBefore") LocalDateTime accessedBefore);
+
+    @Modifying
+    @Query("UPDATE Media m SET m.storageTier = :tier WHERE m.storageKey IN :storageKeys")
+    int updateStorageTier(@Param("storageKeys") Collection<String> storageKeys, @Param("tier") String tier);
+
+    @Modifying
+    @Query("UPDATE Media m SET m.lastAccessedAt = :now WHERE m.id = :id "
+            + "AND (m.lastAccessedAt IS NULL OR m.lastAccessedAt < :staleBefore)")
+    int touchLastAccessed(@Param("id") Long id, @Param("now") LocalDateTime now,
+            @Param("staleBefore") LocalDateTime staleBefore);
+
+    @Modifying
+    @Query("UPDATE Media m SET m.lastAccessedAt = :now WHERE m.storageKey = :storageKey AND m.deleted = false "
+            + "AND (m.lastAccessedAt IS NULL OR m.lastAccessedAt < :staleBefore)")
+    int touchLastAccessedByStorageKey(@Param("storageKey") String storageKey, @Param("now") LocalDateTime now,
+            @Param("staleBefore") LocalDateTime staleBefore);
+}
@@ -31,9 +31,30 @@ public class MediaRepositoryImpl implements MediaRepositoryCustom {
         update.set(root.get("deleted"), true);
         update.set(root.get("deletedAt"), LocalDateTime.now());
         update.set(root.get("updatedByUserId"), deletedBy);
-        update.where(cb.equal(root.get("id"), mediaId));
+        update.where(cb.equal(root.get("id"), mediaId), cb.isFalse(root.get("deleted")));
 
-        return entityManager.createQuery(update).executeUpdate();
+        int updated = entityManager.createQuery(update).executeUpdate();
+        if (updated > 0) {
+            releaseContentReference(mediaId);
+        }
+        return updated;
+    }
+
+    /**
+     * Drops the deleted row's reference on the stored object it shares with
+     * other media of the same organisation and checksum.
+     */
+    private void releaseContentReference(Long mediaId) {
+        entityManager.createQuery("""
+                UPDATE FileMetadata f SET f.referenceCount = f.referenceCount - 1
+                WHERE f.referenceCount > 0
+                  AND EXISTS (SELECT m.id FROM Media m
+                              WHERE m.id = :mediaId
+                                AND m.organisationId = f.organisationId
+                                AND m.checksum = f.checksum)
+                """)
+                .setParameter("mediaId", mediaId)
+                .executeUpdate();
     }
     
 }
@@ -1,6 +1,9 @@
 package com.aigreentick.services.storage.schedular;
 
+import com.aigreentick.services.storage.config.ResumableUploadProperties;
 import com.aigreentick.services.storage.config.StorageProperties;
+import com.aigreentick.services.storage.config.provider.LocalStorageProperties;
+import com.aigreentick.services.storage.service.impl.storage.LocalFileSystemProviderImpl;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
@@ -11,9 +14,12 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -26,6 +32,8 @@ import java.util.stream.Stream;
 @ConditionalOnProperty(name = "file-cleanup.enabled", havingValue = "true", matchIfMissing = true)
 public class FileCleanupService {
     private final StorageProperties storageProperties;
+    private final LocalStorageProperties localStorageProperties;
+    private final ResumableUploadProperties resumableUploadProperties;
     private final MeterRegistry meterRegistry;
 
         /**
@@ -81,7 +89,45 @@ public class FileCleanupService {
     }
 
     /**
-     * Cleanup empty directories.
+     * Delete local staging files of resumable uploads whose session has expired.
+     * Runs hourly by default.
+     */
+    @Scheduled(cron = "${file-cleanup.chunked-upload-cron:0 15 * * * ?}")
+    public void cleanupStaleChunkedUploads() {
+        Path chunkedDir = Paths.get(localStorageProperties.getRootPath(), LocalFileSystemProviderImpl.CHUNKED_DIR);
+        if (!Files.exists(chunkedDir)) {
+            return;
+        }
+
+        // A part file is only written while its session is alive, so idle ones outlived their session
+        Instant cutoffTime = Instant.now().minus(resumableUploadProperties.getSessionTtlHours(), ChronoUnit.HOURS);
+        AtomicInteger deletedCount = new AtomicInteger(0);
+
+        try (Stream<Path> files = Files.list(chunkedDir)) {
+            files.filter(Files::isRegularFile)
+                 .forEach(file -> {
+                     try {
+                         if (Files.getLastModifiedTime(file).toInstant().isBefore(cutoffTime)) {
+                             Files.delete(file);
+                             deletedCount.incrementAndGet();
+                         }
+                     } catch (IOException e) {
+                         log.error("Failed to delete stale chunked upload: {}", file, e);
+                     }
+                 });
+        } catch (IOException e) {
+            log.error("Error during chunked upload cleanup", e);
+        }
+
+        if (deletedCount.get() > 0) {
+            log.info("Deleted {} stale chunked uploads", deletedCount.get());
+        }
+    }
+
+    /**
+     * Cleanup empty directories. Directories are visited children first and
+     * removed with a plain delete that fails on non-empty ones, so a branch
+     * emptied in this run goes in the same run and no directory is listed twice.
      */
     @Scheduled(cron = "${file-cleanup.directory-cleanup-cron:0 30 2 * * ?}")
     public void cleanupEmptyDirectories() {
@@ -94,30 +140,40 @@ public class FileCleanupService {
                 return;
             }
 
-            try (Stream<Path> paths = Files.walk(rootDir)) {
-                paths.filter(Files::isDirectory)
-                     .filter(this::isEmptyDirectory)
-                     .forEach(dir -> {
-                         try {
-                             Files.delete(dir);
-                             log.debug("Deleted empty directory: {}", dir);
-                         } catch (IOException e) {
-                             log.error("Failed to delete empty directory: {}", dir, e);
-                         }
-                     });
-            }
+            AtomicInteger deletedCount = new AtomicInteger(0);
+            Files.walkFileTree(rootDir, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult postVisitDirectory(Path dir, IOException error) {
+                    if (error != null) {
+                        log.error("Failed to walk directory: {}", dir, error);
+                        return FileVisitResult.CONTINUE;
+                    }
+                    if (dir.equals(rootDir)) {
+                        return FileVisitResult.CONTINUE;
+                    }
+                    try {
+                        Files.delete(dir);
+                        deletedCount.incrementAndGet();
+                        log.debug("Deleted empty directory: {}", dir);
+                    } catch (DirectoryNotEmptyException e) {
+                        // Still in use
+                    } catch (IOException e) {
+                        log.error("Failed to delete empty directory: {}", dir, e);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
 
-        } catch (IOException e) {
-            log.error("Error during empty directory cleanup", e);
-        }
-    }
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException error) {
+                    log.error("Failed to visit: {}", file, error);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+
+            log.info("Empty directory cleanup completed. Deleted: {}", deletedCount.get());
 
-    private boolean isEmptyDirectory(Path path) {
-        try (Stream<Path> entries = Files.list(path)) {
-            return entries.findAny().isEmpty();
         } catch (IOException e) {
-            log.error("Error checking if directory is empty: {}", path, e);
-            return false;
+            log.error("Error during empty directory cleanup", e);
         }
     }
 
@@ -0,0 +1,149 @@
+package com.aigreentick.services.storage.schedular;
+
+import com.aigreentick.services.storage.config.provider.LocalStorageProperties;
+import com.aigreentick.services.storage.service.impl.storage.LocalFileSystemProviderImpl;
+import com.aigreentick.services.storage.service.impl.storage.LocalPathResolver;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Moves files written before directory sharding into their sharded location,
+ * a bounded batch per run, while the service keeps serving them. The storage
+ * key does not change, so no database rows are touched; readers find a file
+ * at either location through {@link LocalPathResolver}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "storage.providers.local", name = "shard-migration-enabled", havingValue = "true")
+public class LocalShardMigrationService {
+    /**
+     * Legacy files whose sharded location already holds different content,
+     * kept under the root for inspection and skipped by later scans.
+     */
+    public static final String CONFLICTS_DIR = ".shard-conflicts";
+
+    private final LocalStorageProperties properties;
+    private final LocalPathResolver pathResolver;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Runs every ten minutes by default until no legacy files are left.
+     *
+     * @return number of files moved in this run
+     */
+    @Scheduled(cron = "${storage.providers.local.shard-migration-cron:0 */10 * * * ?}")
+    public int migrateBatch() {
+        Path root = Paths.get(properties.getRootPath()).normalize();
+        if (!Files.exists(root)) {
+            return 0;
+        }
+
+        List<Path> legacyFiles;
+        // Legacy files sit exactly at org/user/type/file; sharded ones are two levels deeper
+        try (Stream<Path> paths = Files.walk(root, LocalPathResolver.LEGACY_DEPTH)) {
+            legacyFiles = paths
+                    .filter(path -> root.relativize(path).getNameCount() == LocalPathResolver.LEGACY_DEPTH)
+                    .filter(path -> !root.relativize(path).startsWith(LocalFileSystemProviderImpl.CHUNKED_DIR))
+                    .filter(path -> !root.relativize(path).startsWith(CONFLICTS_DIR))
+                    .filter(Files::isRegularFile)
+                    .limit(properties.getShardMigrationBatchSize())
+                    .toList();
+        } catch (IOException e) {
+            log.error("Failed to scan local storage for unsharded files", e);
+            return 0;
+        }
+
+        Counter moved = meterRegistry.counter("storage.local.shard.migrated");
+        int count = 0;
+        for (Path legacy : legacyFiles) {
+            String storageKey = root.relativize(legacy).toString().replace('\\', '/');
+            if (migrate(storageKey, legacy)) {
+                moved.increment();
+                count++;
+            }
+        }
+
+        if (count > 0 || !legacyFiles.isEmpty()) {
+            log.info("Shard migration moved {} of {} unsharded files", count, legacyFiles.size());
+        }
+        return count;
+    }
+
+    private boolean migrate(String storageKey, Path legacy) {
+        Path sharded = pathResolver.shardedPath(storageKey);
+        try {
+            Files.createDirectories(sharded.getParent());
+            // Link then unlink: the file is reachable at one path or the other at every instant
+            Files.createLink(sharded, legacy);
+        } catch (FileAlreadyExistsException e) {
+            return resolveConflict(storageKey, legacy, sharded);
+        } catch (NoSuchFileException e) {
+            log.debug("File deleted before it could be migrated: {}", storageKey);
+            return false;
+        } catch (IOException | UnsupportedOperationException e) {
+            log.error("Failed to migrate file to sharded layout: {}", storageKey, e);
+            return false;
+        }
+
+        try {
+            Files.delete(legacy);
+            return true;
+        } catch (NoSuchFileException e) {
+            // Deleted through the legacy path after the link was made; the link must not bring it back
+            log.debug("File deleted while it was being migrated: {}", storageKey);
+            deleteQuietly(sharded, storageKey);
+        } catch (IOException e) {
+            log.error("Failed to remove legacy file after linking it: {}", storageKey, e);
+        }
+        return false;
+    }
+
+    /**
+     * A sharded file already exists for the key, so the legacy one is never
+     * read. A copy with the same content (or the same inode, left by an
+     * interrupted run) is removed; a different one is moved out of the scanned
+     * tree so it does not take a batch slot on every run.
+     */
+    private boolean resolveConflict(String storageKey, Path legacy, Path sharded) {
+        try {
+            if (Files.isSameFile(legacy, sharded) || Files.mismatch(legacy, sharded) == -1) {
+                Files.delete(legacy);
+                log.info("Removed legacy duplicate of sharded file: {}", storageKey);
+                return true;
+            }
+            Path conflict = Paths.get(properties.getRootPath(), CONFLICTS_DIR, storageKey).normalize();
+            Files.createDirectories(conflict.getParent());
+            Files.move(legacy, conflict, StandardCopyOption.REPLACE_EXISTING);
+            log.warn("Sharded file differs from legacy file, moved legacy file to {}: {}", CONFLICTS_DIR, storageKey);
+        } catch (NoSuchFileException e) {
+            log.debug("File deleted before its conflict could be resolved: {}", storageKey);
+        } catch (IOException e) {
+            log.error("Failed to resolve conflicting legacy file: {}", storageKey, e);
+        }
+        return false;
+    }
+
+    private void deleteQuietly(Path path, String storageKey) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.error("Failed to remove sharded link of deleted file: {}", storageKey, e);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.aigreentick.services.storage.schedular;
+
+import com.aigreentick.services.storage.config.MediaLifecycleProperties;
+import com.aigreentick.services.storage.config.MediaLifecycleProperties.Rule;
+import com.aigreentick.services.storage.exception.StorageException;
+import com.aigreentick.services.storage.model.Media;
+import com.aigreentick.services.storage.repository.MediaRepository;
+import com.aigreentick.services.storage.service.StorageProvider;
+import com.aigreentick.services.storage.service.impl.media.MediaServiceImpl;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Moves cold media to cheaper storage tiers according to
+ * {@code media.lifecycle.rules}. Each rule selects media by type, age, last
+ * download and current tier; matching rows are read in id-ordered pages and
+ * their objects moved with {@link StorageProvider#transition}. An object
+ * shared by deduplicated rows stays put while any of its rows is still young
+ * or recently read. The new tier is recorded on the rows, so the next run no
+ * longer matches them.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "media.lifecycle", name = "enabled", havingValue = "true")
+public class MediaLifecycleService {
+    private final MediaLifecycleProperties properties;
+    private final MediaRepository mediaRepository;
+    private final MediaServiceImpl mediaService;
+    private final StorageProvider storageProvider;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Runs nightly at 3 AM by default.
+     *
+     * @return number of stored objects moved in this run
+     */
+    @Scheduled(cron = "${media.lifecycle.cron:0 0 3 * * ?}")
+    public int runLifecycle() {
+        int moved = 0;
+        for (Rule rule : properties.getRules()) {
+            moved += applyRule(rule);
+        }
+        return moved;
+    }
+
+    private int applyRule(Rule rule) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime createdBefore = now.minusDays(rule.getMinAgeDays());
+        LocalDateTime accessedBefore = now.minusDays(rule.getMinIdleDays());
+        Counter transitioned = meterRegistry.counter("media.lifecycle.transitioned", "tier", rule.getToTier());
+
+        int moved = 0;
+        int failed = 0;
+        long afterId = 0;
+        for (int batchNumber = 0; batchNumber < properties.getMaxBatchesPerRun(); batchNumber++) {
+            List<Media> batch = mediaRepository.findLifecycleCandidates(afterId, createdBefore, accessedBefore,
+                    rule.getMediaType(), rule.getFromTier(), PageRequest.of(0, properties.getBatchSize()));
+            if (batch.isEmpty()) {
+                break;
+            }
+            afterId = batch.get(batch.size() - 1).getId();
+
+            // Deduplicated rows share an object; move it once, and only when every live row sharing it is cold
+            Set<String> storageKeys = new LinkedHashSet<>();
+            batch.forEach(media -> storageKeys.add(media.getStorageKey()));
+            storageKeys.remove(null);
+            if (!storageKeys.isEmpty()) {
+                storageKeys.removeAll(mediaRepository.findStorageKeysInUse(storageKeys, createdBefore, accessedBefore));
+            }
+
+            Set<String> movedKeys = new LinkedHashSet<>();
+            for (String storageKey : storageKeys) {
+                try {
+                    if (storageProvider.transition(storageKey, rule.getToTier())) {
+                        movedKeys.add(storageKey);
+                    }
+                } catch (StorageException e) {
+                    log.warn("Lifecycle transition to {} failed for {}: {}", rule.getToTier(), storageKey,
+                            e.getMessage());
+                    failed++;
+                }
+            }
+            if (storageKeys.size() > 0 && movedKeys.isEmpty() && failed == 0) {
+                log.warn("Active storage provider does not offer tier {}, skipping rule", rule.getToTier());
+                break;
+            }
+
+            mediaService.updateStorageTier(movedKeys, rule.getToTier());
+            transitioned.increment(movedKeys.size());
+            moved += movedKeys.size();
+        }
+
+        if (moved > 0 || failed > 0) {
+            log.info("Lifecycle rule {} -> {} ({}): moved {} objects, {} failed",
+                    rule.getFromTier() != null ? rule.getFromTier() : "upload tier", rule.getToTier(),
+                    rule.getMediaType() != null ? rule.getMediaType() : "all types", moved, failed);
+        }
+        return moved;
+    }
+}
@@ -0,0 +1,191 @@
+package com.aigreentick.services.storage.schedular;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.aigreentick.services.common.dto.response.FacebookApiResponse;
+import com.aigreentick.services.storage.client.dto.response.AccessTokenCredentials;
+import com.aigreentick.services.storage.client.dto.response.WhatsappMediaUploadResponseDto;
+import com.aigreentick.services.storage.client.properties.WhatsappClientProperties;
+import com.aigreentick.services.storage.client.service.impl.GraphUploadEngine;
+import com.aigreentick.services.storage.client.service.impl.UserClientAdapter;
+import com.aigreentick.services.storage.client.service.impl.WhatsappClientAdapter;
+import com.aigreentick.services.storage.config.MediaPublishProperties;
+import com.aigreentick.services.storage.model.Media;
+import com.aigreentick.services.storage.model.MediaPublishJob;
+import com.aigreentick.services.storage.service.StorageProvider;
+import com.aigreentick.services.storage.service.impl.media.MediaAccessServiceImpl;
+import com.aigreentick.services.storage.service.impl.publish.MediaPublishServiceImpl;
+import com.aigreentick.services.storage.util.FileUtils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drains the media publish outbox: streams stored objects to WhatsApp and
+ * records the resulting media IDs. Polls do not wait for the jobs they start;
+ * each claims only as many jobs as there are free slots, so at most
+ * {@code batch-size} jobs are in flight.
+ */
+@Slf4j
+@Service
+@EnableScheduling
+@ConditionalOnProperty(name = "media.publish.dispatcher-enabled", havingValue = "true", matchIfMissing = true)
+public class MediaPublishDispatcher {
+    private final MediaPublishServiceImpl publishService;
+    private final StorageProvider storageProvider;
+    private final WhatsappClientAdapter whatsappClient;
+    private final GraphUploadEngine graphUploadEngine;
+    private final WhatsappClientProperties whatsappProperties;
+    private final UserClientAdapter userClient;
+    private final MediaAccessServiceImpl accessService;
+    private final MediaPublishProperties properties;
+    private final TaskExecutor pipelineExecutor;
+    private final MeterRegistry meterRegistry;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public MediaPublishDispatcher(MediaPublishServiceImpl publishService,
+            StorageProvider storageProvider,
+            WhatsappClientAdapter whatsappClient,
+            GraphUploadEngine graphUploadEngine,
+            WhatsappClientProperties whatsappProperties,
+            UserClientAdapter userClient,
+            MediaAccessServiceImpl accessService,
+            MediaPublishProperties properties,
+            @Qualifier("mediaPipelineExecutor") TaskExecutor pipelineExecutor,
+            MeterRegistry meterRegistry) {
+        this.publishService = publishService;
+        this.storageProvider = storageProvider;
+        this.whatsappClient = whatsappClient;
+        this.graphUploadEngine = graphUploadEngine;
+        this.whatsappProperties = whatsappProperties;
+        this.userClient = userClient;
+        this.accessService = accessService;
+        this.properties = properties;
+        this.pipelineExecutor = pipelineExecutor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Scheduled(fixedDelayString = "${media.publish.poll-interval-ms:2000}")
+    public void dispatch() {
+        int freeSlots = properties.getBatchSize() - inFlight.get();
+        if (freeSlots <= 0) {
+            return;
+        }
+        List<MediaPublishJob> jobs = publishService.claimDueJobs(freeSlots);
+        if (jobs.isEmpty()) {
+            return;
+        }
+        log.debug("Dispatching {} media publish jobs", jobs.size());
+
+        for (int i = 0; i < jobs.size(); i++) {
+            MediaPublishJob job = jobs.get(i);
+            inFlight.incrementAndGet();
+            try {
+                CompletableFuture.runAsync(() -> publish(job), pipelineExecutor)
+                        .whenComplete((result, ex) -> {
+                            inFlight.decrementAndGet();
+                            if (ex != null) {
+                                log.error("Publish job {} failed unexpectedly", job.getId(), ex);
+                            }
+                        });
+            } catch (RejectedExecutionException e) {
+                inFlight.decrementAndGet();
+                List<MediaPublishJob> unstarted = List.copyOf(jobs.subList(i, jobs.size()));
+                log.warn("Upload pipeline saturated, releasing {} claimed publish jobs", unstarted.size());
+                publishService.releaseClaims(unstarted);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Jobs started by this node that have not finished yet.
+     */
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    private void publish(MediaPublishJob job) {
+        Media media = publishService.findMedia(job.getMediaRecordId()).orElse(null);
+        if (media == null) {
+            publishService.markSkipped(job, "Media record no longer exists");
+            return;
+        }
+        accessService.recordAccess(media.getId());
+
+        try {
+            AccessTokenCredentials credentials = userClient.getPhoneNumberIdAccessToken(job.getUserId());
+
+            if (media.getFileSize() != null && media.getFileSize() > whatsappProperties.getResumableThresholdBytes()) {
+                publishResumable(job, media, credentials);
+                return;
+            }
+
+            FacebookApiResponse<WhatsappMediaUploadResponseDto> response;
+            try (InputStream content = storageProvider.retrieve(media.getStorageKey())) {
+                response = whatsappClient.uploadMediaToFacebook(
+                        content,
+                        FileUtils.sanitizeFilename(media.getOriginalFilename()),
+                        media.getMimeType(),
+                        media.getFileSize() != null ? media.getFileSize() : -1,
+                        credentials.getId(),
+                        credentials.getAccessToken());
+            }
+
+            if (!response.isSuccess()) {
+                fail(job, "Graph API error " + response.getStatusCode() + ": " + response.getErrorMessage());
+                return;
+            }
+
+            publishService.markPublished(job, response.getData().getId());
+            meterRegistry.counter("media.publish.jobs", "outcome", "published").increment();
+
+        } catch (Exception e) {
+            fail(job, e.getMessage());
+        }
+    }
+
+    /**
+     * Too large for a single {@code /media} request: spools the object to a
+     * local file so the engine can send it in ranged, resumable chunks.
+     */
+    private void publishResumable(MediaPublishJob job, Media media, AccessTokenCredentials credentials)
+            throws Exception {
+        Path spool = Files.createTempFile("graph-upload-", ".part");
+        try {
+            storageProvider.download(media.getStorageKey(), spool);
+
+            GraphUploadEngine.GraphUploadResult result = graphUploadEngine.upload(spool,
+                    FileUtils.sanitizeFilename(media.getOriginalFilename()), media.getMimeType(), credentials);
+
+            // Above the threshold the engine finishes a resumable session, whose handle is not a media ID
+            if (result.mediaId() != null) {
+                publishService.markPublished(job, result.mediaId());
+                meterRegistry.counter("media.publish.jobs", "outcome", "published").increment();
+            } else {
+                publishService.markHandleIssued(job, result.handle());
+                meterRegistry.counter("media.publish.jobs", "outcome", "handle_issued").increment();
+            }
+        } finally {
+            Files.deleteIfExists(spool);
+        }
+    }
+
+    private void fail(MediaPublishJob job, String error) {
+        meterRegistry.counter("media.publish.jobs", "outcome", "failed").increment();
+        publishService.markAttemptFailed(job, error);
+    }
+}
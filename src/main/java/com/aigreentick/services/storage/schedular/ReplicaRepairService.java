@@ -0,0 +1,105 @@
+package com.aigreentick.services.storage.schedular;
+
+import com.aigreentick.services.storage.config.provider.ReplicatedStorageProperties;
+import com.aigreentick.services.storage.dto.storage.ReplicaWritesSettledEvent;
+import com.aigreentick.services.storage.dto.storage.StorageMetadata;
+import com.aigreentick.services.storage.enums.StorageProviderType;
+import com.aigreentick.services.storage.mapper.MediaMapper;
+import com.aigreentick.services.storage.model.Media;
+import com.aigreentick.services.storage.repository.MediaRepository;
+import com.aigreentick.services.storage.service.impl.storage.ReplicatedStorageProvider;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Copies replicated media to the replicas that missed the upload, because
+ * they fell behind, failed, or were added to the replica list later. Walks
+ * the under-replicated rows in id order, a bounded batch per run, and records
+ * the replica set each row ends up with. Replica writes that finish after
+ * the upload was acknowledged are recorded as they settle.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "storage.providers.replicated", name = "enabled", havingValue = "true")
+public class ReplicaRepairService {
+    private final ReplicatedStorageProperties properties;
+    private final ReplicatedStorageProvider replicatedStorageProvider;
+    private final MediaRepository mediaRepository;
+    private final MeterRegistry meterRegistry;
+
+    // Rows that cannot be repaired yet are skipped until the walk wraps around
+    private long lastRepairedId;
+
+    /**
+     * Runs every five minutes by default.
+     *
+     * @return number of media rows now fully replicated
+     */
+    @Scheduled(cron = "${storage.providers.replicated.repair-cron:0 */5 * * * ?}")
+    public synchronized int repairBatch() {
+        if (!properties.isRepairEnabled()) {
+            return 0;
+        }
+        String complete = MediaMapper.toReplicaSet(replicatedStorageProvider.replicaTypes());
+        List<Media> batch = mediaRepository.findUnderReplicated(StorageProviderType.REPLICATED, complete,
+                lastRepairedId, PageRequest.of(0, properties.getRepairBatchSize()));
+        if (batch.isEmpty()) {
+            lastRepairedId = 0;
+            return 0;
+        }
+
+        Counter repaired = meterRegistry.counter("storage.replica.repaired");
+        int count = 0;
+        for (Media media : batch) {
+            lastRepairedId = media.getId();
+            String replicas = MediaMapper.toReplicaSet(replicatedStorageProvider.repair(metadataOf(media)));
+            if (replicas != null && !replicas.equals(media.getStorageReplicas())) {
+                media.setStorageReplicas(replicas);
+                mediaRepository.save(media);
+            }
+            if (complete.equals(replicas)) {
+                repaired.increment();
+                count++;
+            }
+        }
+
+        log.info("Replica repair completed {} of {} under-replicated media", count, batch.size());
+        return count;
+    }
+
+    /**
+     * Records the replicas that hold an object once its background writes
+     * finished. A row committed after this runs keeps the acknowledged set
+     * and is completed by the next repair run.
+     */
+    @EventListener
+    @Transactional
+    public void onReplicaWritesSettled(ReplicaWritesSettledEvent event) {
+        int updated = mediaRepository.updateStorageReplicas(event.storageKey(), StorageProviderType.REPLICATED,
+                MediaMapper.toReplicaSet(event.replicas()));
+        log.debug("Recorded replicas {} of {} on {} media rows", event.replicas(), event.storageKey(), updated);
+    }
+
+    private StorageMetadata metadataOf(Media media) {
+        return StorageMetadata.builder()
+                .storageKey(media.getStorageKey())
+                .originalFilename(media.getOriginalFilename())
+                .contentType(media.getMimeType())
+                .fileSize(media.getFileSize())
+                .userId(media.getUserId())
+                .organisationId(media.getOrganisationId())
+                .mediaType(media.getMediaType())
+                .build();
+    }
+}
@@ -0,0 +1,35 @@
+package com.aigreentick.services.storage.schedular;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.aigreentick.services.storage.config.ResumableUploadProperties;
+import com.aigreentick.services.storage.service.impl.upload.ResumableUploadServiceImpl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Aborts the provider uploads of resumable sessions that expired without
+ * being completed or aborted, so S3 does not keep (and bill) their parts.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "media.upload.resumable", name = "sweeper-enabled", havingValue = "true", matchIfMissing = true)
+public class UploadSessionSweeper {
+    private final ResumableUploadServiceImpl uploadService;
+    private final ResumableUploadProperties properties;
+
+    @Scheduled(cron = "${media.upload.resumable.sweep-cron:0 */10 * * * ?}")
+    public void abortExpiredSessions() {
+        int aborted;
+        do {
+            aborted = uploadService.abortExpiredSessions(properties.getSweepBatchSize());
+            if (aborted > 0) {
+                log.info("Aborted {} expired resumable uploads", aborted);
+            }
+        } while (aborted == properties.getSweepBatchSize());
+    }
+}
@@ -0,0 +1,39 @@
+package com.aigreentick.services.storage.service;
+
+import org.springframework.core.io.buffer.DataBuffer;
+
+import com.aigreentick.services.storage.dto.storage.StorageMetadata;
+import com.aigreentick.services.storage.dto.storage.StorageResult;
+import com.aigreentick.services.storage.enums.StorageProviderType;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link StorageProvider}. Content arrives as a
+ * stream of buffers and no thread is held while waiting on the client or the
+ * backing store.
+ */
+public interface ReactiveStorageProvider {
+
+    /**
+     * Save streamed content to storage
+     * @param content file content; every buffer is released by the provider
+     * @param metadata file metadata, {@code fileSize} must be the exact content length
+     * @return storage result with location details, or a StorageException signal
+     */
+    Mono<StorageResult> save(Flux<DataBuffer> content, StorageMetadata metadata);
+
+    /**
+     * Delete file from storage
+     * @param storageKey unique key identifying the file
+     * @return true if deleted, or a StorageException signal
+     */
+    Mono<Boolean> delete(String storageKey);
+
+    /**
+     * Get storage provider type
+     * @return provider type enum
+     */
+    StorageProviderType getProviderType();
+}
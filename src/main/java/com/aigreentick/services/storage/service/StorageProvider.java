@@ -1,9 +1,22 @@
 package com.aigreentick.services.storage.service;
 
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 
+import com.aigreentick.services.storage.dto.storage.ObjectStat;
 import com.aigreentick.services.storage.dto.storage.StorageMetadata;
 import com.aigreentick.services.storage.dto.storage.StorageResult;
 import com.aigreentick.services.storage.enums.StorageProviderType;
@@ -28,6 +41,61 @@ public interface StorageProvider {
      */
     InputStream retrieve(String storageKey) throws StorageException;
     
+    /**
+     * Retrieve a byte range of a file from storage
+     * @param storageKey unique key identifying the file
+     * @param offset first byte to return
+     * @param length number of bytes to return
+     * @return input stream of exactly the requested range
+     * @throws StorageException if retrieval fails
+     */
+    InputStream retrieveRange(String storageKey, long offset, long length) throws StorageException;
+
+    /**
+     * Copy a byte range of a file to a channel. Providers that can hand the
+     * bytes to the channel without copying them through the heap override this.
+     * @param target channel to write to; not closed
+     * @return number of bytes written
+     * @throws StorageException if retrieval fails
+     * @throws IOException if writing to the target fails
+     */
+    default long transferRange(String storageKey, long offset, long length, WritableByteChannel target)
+            throws StorageException, IOException {
+        try (ReadableByteChannel source = Channels.newChannel(retrieveRange(storageKey, offset, length))) {
+            ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+            long written = 0;
+            while (source.read(buffer) >= 0) {
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    written += target.write(buffer);
+                }
+                buffer.clear();
+            }
+            return written;
+        }
+    }
+
+    /**
+     * Copy a whole file to a local path, replacing it if present. Providers
+     * that can copy without passing the bytes through the heap override this.
+     * @param target local file to write
+     * @throws StorageException if retrieval fails
+     * @throws IOException if writing the target fails
+     */
+    default void download(String storageKey, Path target) throws StorageException, IOException {
+        try (InputStream content = retrieve(storageKey)) {
+            Files.copy(content, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Read size, modification time and validator of a file without its content
+     * @param storageKey unique key identifying the file
+     * @return file attributes
+     * @throws StorageException if the file does not exist or cannot be read
+     */
+    ObjectStat stat(String storageKey) throws StorageException;
+    
     /**
      * Delete file from storage
      * @param storageKey unique key identifying the file
@@ -43,6 +111,52 @@ public interface StorageProvider {
      */
     boolean exists(String storageKey);
     
+    /**
+     * Delete several files. Keys that do not exist count as deleted. Providers
+     * with a bulk or parallel delete override this.
+     * @param storageKeys keys identifying the files
+     * @return keys that could not be deleted; empty when every file is gone
+     */
+    default Set<String> deleteAll(Collection<String> storageKeys) {
+        Set<String> failed = new LinkedHashSet<>();
+        for (String storageKey : storageKeys) {
+            try {
+                delete(storageKey);
+            } catch (StorageException e) {
+                failed.add(storageKey);
+            }
+        }
+        return failed;
+    }
+    
+    /**
+     * Check which of several files exist. Providers that can check keys in
+     * parallel override this.
+     * @param storageKeys keys identifying the files
+     * @return the keys that exist
+     */
+    default Set<String> existsAll(Collection<String> storageKeys) {
+        Set<String> existing = new LinkedHashSet<>();
+        for (String storageKey : storageKeys) {
+            if (exists(storageKey)) {
+                existing.add(storageKey);
+            }
+        }
+        return existing;
+    }
+    
+    /**
+     * Move a file to another storage tier under the same key, e.g. a cheaper
+     * S3 storage class or an archive volume. Reads keep working unchanged.
+     * @param tier provider-specific tier name
+     * @return true if the file is now in that tier, false if the provider
+     *         does not offer it
+     * @throws StorageException if the move fails
+     */
+    default boolean transition(String storageKey, String tier) throws StorageException {
+        return false;
+    }
+    
     /**
      * Get public URL for file access
      * @param storageKey unique key identifying the file
@@ -51,6 +165,42 @@ public interface StorageProvider {
      */
     String getPublicUrl(String storageKey, Duration expiry);
     
+    /**
+     * Start a chunked upload whose parts arrive over several requests
+     * @param storageKey key the completed file will be stored under
+     * @param metadata file metadata, {@code fileSize} is the total length
+     * @return provider upload id, passed to every later chunk call
+     * @throws StorageException if the upload cannot be started
+     */
+    String initiateChunkedUpload(String storageKey, StorageMetadata metadata) throws StorageException;
+
+    /**
+     * Write one part of a chunked upload. Rewriting a part replaces it, so a
+     * failed part can simply be sent again.
+     * @param partNumber 1-based part index
+     * @param offset byte offset of the part within the file
+     * @param content part content, exactly {@code length} bytes
+     * @return provider token for the part, passed back on completion
+     * @throws StorageException if the part cannot be written
+     */
+    String writeChunk(String storageKey, String uploadId, int partNumber, long offset,
+            InputStream content, long length) throws StorageException;
+
+    /**
+     * Assemble the written parts into the final file
+     * @param partTokens tokens returned by {@link #writeChunk}, ordered by part number
+     * @return storage result with location details
+     * @throws StorageException if the parts cannot be assembled
+     */
+    StorageResult completeChunkedUpload(String storageKey, String uploadId, List<String> partTokens,
+            StorageMetadata metadata) throws StorageException;
+
+    /**
+     * Discard a chunked upload and everything written for it
+     * @throws StorageException if the upload cannot be discarded
+     */
+    void abortChunkedUpload(String storageKey, String uploadId) throws StorageException;
+    
     /**
      * Get storage provider type
      * @return provider type enum
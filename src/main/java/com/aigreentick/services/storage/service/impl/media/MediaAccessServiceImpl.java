@@ -0,0 +1,57 @@
+package com.aigreentick.services.storage.service.impl.media;
+
+import java.time.Duration;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import com.aigreentick.services.storage.config.MediaLifecycleProperties;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Records reads of stored media for the lifecycle engine: downloads,
+ * public and presigned URLs handed out, and WhatsApp publishes. Nothing is
+ * written while lifecycle rules are disabled, and a failed write never
+ * fails the read it records.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MediaAccessServiceImpl {
+    private final MediaServiceImpl mediaService;
+    private final MediaLifecycleProperties lifecycleProperties;
+
+    /**
+     * Records a read of one media row.
+     */
+    public void recordAccess(Long mediaId) {
+        if (!lifecycleProperties.isEnabled() || mediaId == null) {
+            return;
+        }
+        try {
+            mediaService.recordAccess(mediaId, touchInterval());
+        } catch (DataAccessException e) {
+            log.warn("Failed to record access to media {}: {}", mediaId, e.getMessage());
+        }
+    }
+
+    /**
+     * Records a read of a stored object on every live row pointing at it.
+     */
+    public void recordAccess(String storageKey) {
+        if (!lifecycleProperties.isEnabled() || storageKey == null) {
+            return;
+        }
+        try {
+            mediaService.recordAccess(storageKey, touchInterval());
+        } catch (DataAccessException e) {
+            log.warn("Failed to record access to {}: {}", storageKey, e.getMessage());
+        }
+    }
+
+    private Duration touchInterval() {
+        return Duration.ofHours(lifecycleProperties.getAccessTouchIntervalHours());
+    }
+}
@@ -0,0 +1,58 @@
+package com.aigreentick.services.storage.service.impl.media;
+
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.aigreentick.services.storage.model.Media;
+import com.aigreentick.services.storage.service.impl.publish.MediaPublishServiceImpl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Commit phase of the upload pipeline. Holds a database connection only for
+ * the inserts, after all storage and network I/O has finished.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MediaCommitServiceImpl {
+    private final MediaServiceImpl mediaService;
+    private final MediaPublishServiceImpl publishService;
+    private final MediaDedupServiceImpl dedupService;
+
+    /**
+     * Persists the media row and, when requested, its publish outbox row atomically.
+     * Duplicate content is pointed at the existing object first; no publish job is
+     * queued when that object's WhatsApp media ID can be reused.
+     */
+    @Transactional
+    public Media commit(Media media, boolean enqueuePublish) {
+        dedupService.register(media);
+        mediaService.save(media);
+        if (enqueuePublish && media.getMediaId() == null) {
+            publishService.enqueue(media);
+        }
+        log.debug("Committed media {} (publish job: {})", media.getId(), enqueuePublish);
+        return media;
+    }
+
+    /**
+     * Persists a batch of media rows, and their publish outbox rows when
+     * requested, in a single transaction.
+     */
+    @Transactional
+    public List<Media> commitAll(List<Media> media, boolean enqueuePublish) {
+        media.forEach(dedupService::register);
+        List<Media> saved = mediaService.saveBatch(media);
+        if (enqueuePublish) {
+            publishService.enqueueAll(saved.stream()
+                    .filter(item -> item.getMediaId() == null)
+                    .toList());
+        }
+        log.debug("Committed {} media rows (publish jobs: {})", saved.size(), enqueuePublish);
+        return saved;
+    }
+}
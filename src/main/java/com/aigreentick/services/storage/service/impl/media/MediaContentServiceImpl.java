@@ -0,0 +1,74 @@
+package com.aigreentick.services.storage.service.impl.media;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.time.Instant;
+
+import org.springframework.stereotype.Service;
+
+import com.aigreentick.services.common.context.UserContext;
+import com.aigreentick.services.storage.dto.storage.ObjectStat;
+import com.aigreentick.services.storage.exception.MediaNotFoundException;
+import com.aigreentick.services.storage.model.Media;
+import com.aigreentick.services.storage.service.StorageProvider;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Serves stored media content for download. The media row is resolved and
+ * the object's attributes read up front, so the controller can answer
+ * conditional and range requests before any content is fetched.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MediaContentServiceImpl {
+    private final MediaServiceImpl mediaService;
+    private final StorageProvider storageProvider;
+    private final MediaAccessServiceImpl accessService;
+
+    /**
+     * What is needed to answer a download request for one media file.
+     *
+     * @param eTag quoted strong validator
+     */
+    public record MediaContent(String storageKey, String filename, String contentType, long size,
+            Instant lastModified, String eTag) {
+    }
+
+    /**
+     * Resolves a media file of the current user without reading its content.
+     */
+    public MediaContent describe(Long id) {
+        Media media = mediaService.findByIdAndUserId(id, UserContext.getUserId())
+                .orElseThrow(() -> new MediaNotFoundException("Media not found: " + id));
+        ObjectStat stat = storageProvider.stat(media.getStorageKey());
+        accessService.recordAccess(media.getId());
+
+        // The content hash survives re-uploads and provider moves, unlike provider ETags
+        String eTag = media.getChecksum() != null ? "\"" + media.getChecksum() + "\"" : stat.getETag();
+        String contentType = media.getMimeType() != null ? media.getMimeType() : stat.getContentType();
+
+        return new MediaContent(media.getStorageKey(), media.getOriginalFilename(), contentType,
+                stat.getSize(), stat.getLastModified(), eTag);
+    }
+
+    /**
+     * Writes {@code length} bytes starting at {@code offset} to the response.
+     *
+     * @throws IOException if the object ended early; Content-Length is already
+     *         committed, so the response must be aborted rather than completed short
+     */
+    public void transfer(String storageKey, long offset, long length, OutputStream out) throws IOException {
+        if (length <= 0) {
+            return;
+        }
+        long written = storageProvider.transferRange(storageKey, offset, length, Channels.newChannel(out));
+        if (written < length) {
+            log.error("Short read serving storageKey={}: {} of {} bytes", storageKey, written, length);
+            throw new IOException("Short read serving " + storageKey + ": " + written + " of " + length + " bytes");
+        }
+    }
+}
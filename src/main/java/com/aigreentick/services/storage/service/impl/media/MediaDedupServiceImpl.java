@@ -0,0 +1,131 @@
+package com.aigreentick.services.storage.service.impl.media;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.aigreentick.services.storage.config.MediaDedupProperties;
+import com.aigreentick.services.storage.enums.MediaStatus;
+import com.aigreentick.services.storage.model.FileMetadata;
+import com.aigreentick.services.storage.model.Media;
+import com.aigreentick.services.storage.repository.FileMetadataRepository;
+import com.aigreentick.services.storage.repository.MediaRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per-organisation digest index over stored objects, kept in
+ * {@link FileMetadata}. Uploads are hashed while they stream to storage; on
+ * commit, content that is already stored is pointed at the existing object.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MediaDedupServiceImpl {
+    private final FileMetadataRepository fileMetadataRepository;
+    private final MediaRepository mediaRepository;
+    private final MediaDedupProperties properties;
+
+    /**
+     * Registers the media's content in the digest index. When the organisation
+     * already stores the same bytes, the media is repointed at that object
+     * (and given its WhatsApp media ID while still valid) and the caller must
+     * delete the object it just wrote. Runs inside the commit transaction; the
+     * index row is locked so concurrent duplicates serialise on it.
+     *
+     * @return true if the media now references a previously stored object
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean register(Media media) {
+        if (!properties.isEnabled() || media.getChecksum() == null || media.getOrganisationId() == null) {
+            return false;
+        }
+
+        Optional<FileMetadata> existing = fileMetadataRepository
+                .findByOrganisationIdAndChecksumForUpdate(media.getOrganisationId(), media.getChecksum());
+        if (existing.isEmpty()) {
+            fileMetadataRepository.save(newEntry(media));
+            return false;
+        }
+
+        FileMetadata entry = existing.get();
+        entry.setReferenceCount(entry.getReferenceCount() + 1);
+
+        media.setStorageKey(entry.getStoredFilename());
+        media.setStoredFilename(entry.getStoredFilename());
+        media.setMediaUrl(entry.getStoragePath());
+
+        if (media.getMediaId() == null && hasReusableMediaId(entry)) {
+            media.setMediaId(entry.getMediaId());
+            media.setStatus(MediaStatus.PUBLISHED.name());
+        } else if (media.getMediaId() != null && !hasReusableMediaId(entry)) {
+            entry.setMediaId(media.getMediaId());
+            entry.setMediaIdIssuedAt(LocalDateTime.now());
+        }
+
+        log.info("Duplicate content for org {}: reusing {} (references={}, whatsappMediaId reused={})",
+                media.getOrganisationId(), entry.getStoredFilename(), entry.getReferenceCount(),
+                media.getMediaId() != null && media.getMediaId().equals(entry.getMediaId()));
+        return true;
+    }
+
+    /**
+     * Remembers the WhatsApp media ID issued for the media's content so later
+     * duplicates can skip the Graph API upload.
+     */
+    @Transactional
+    public void recordWhatsappMediaId(Media media) {
+        if (media.getChecksum() == null || media.getMediaId() == null) {
+            return;
+        }
+        fileMetadataRepository.updateMediaId(media.getOrganisationId(), media.getChecksum(), media.getMediaId());
+    }
+
+    /**
+     * Drops the index entries of stored objects that no media row references
+     * any more, so no new upload can be pointed at them, and returns the keys
+     * whose objects are now safe to delete.
+     */
+    @Transactional
+    public Set<String> releaseForPurge(Collection<String> storageKeys) {
+        Set<String> releasable = new LinkedHashSet<>(storageKeys);
+        if (releasable.isEmpty()) {
+            return releasable;
+        }
+        fileMetadataRepository.deleteUnreferenced(releasable);
+        // Entries left behind gained a reference since the rows were deleted
+        fileMetadataRepository.findStoredFilenames(releasable).forEach(releasable::remove);
+        mediaRepository.findLiveStorageKeys(releasable).forEach(releasable::remove);
+        return releasable;
+    }
+
+    private boolean hasReusableMediaId(FileMetadata entry) {
+        return entry.getMediaId() != null
+                && entry.getMediaIdIssuedAt() != null
+                && entry.getMediaIdIssuedAt()
+                        .isAfter(LocalDateTime.now().minusHours(properties.getWhatsappMediaIdTtlHours()));
+    }
+
+    private FileMetadata newEntry(Media media) {
+        return FileMetadata.builder()
+                .organisationId(media.getOrganisationId())
+                .checksum(media.getChecksum())
+                .storedFilename(media.getStorageKey())
+                .storagePath(media.getMediaUrl())
+                .originalFilename(media.getOriginalFilename())
+                .contentType(media.getMimeType())
+                .sizeInBytes(media.getFileSize() != null ? media.getFileSize() : 0)
+                .uploaderId(media.getUserId() != null ? String.valueOf(media.getUserId()) : null)
+                .referenceCount(1)
+                .mediaId(media.getMediaId())
+                .mediaIdIssuedAt(media.getMediaId() != null ? LocalDateTime.now() : null)
+                .build();
+    }
+}
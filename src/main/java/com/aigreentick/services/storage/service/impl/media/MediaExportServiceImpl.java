@@ -0,0 +1,266 @@
+package com.aigreentick.services.storage.service.impl.media;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.springframework.stereotype.Service;
+
+import com.aigreentick.services.storage.config.MediaExportProperties;
+import com.aigreentick.services.storage.model.Media;
+import com.aigreentick.services.storage.repository.MediaRepository;
+import com.aigreentick.services.storage.service.StorageProvider;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Streams the media of a user or an organisation as a ZIP archive built
+ * while it is sent. Entries are written in media id order, one per media
+ * row, while the next few objects are already being fetched from storage.
+ * Only the head of each prefetched object is held in memory, so an export
+ * of any size runs in constant memory.
+ *
+ * <p>An interrupted export is resumed by requesting it again after the id of
+ * the last media that arrived complete; every entry carries its media id in
+ * its comment and its name. Resuming reads on from that id, so media added
+ * or deleted meanwhile neither repeats nor drops entries. An object that
+ * cannot be read is exported as a short {@code .error.txt} entry in its
+ * place.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MediaExportServiceImpl {
+    private final MediaRepository mediaRepository;
+    private final StorageProvider storageProvider;
+    private final MediaExportProperties properties;
+
+    /**
+     * Writes the archive of one user's media to {@code out}.
+     *
+     * @param afterId id of the last media already delivered; 0 for a full export
+     * @return number of entries written
+     */
+    public int exportUserMedia(Long userId, long afterId, OutputStream out) throws IOException {
+        log.info("Exporting media of user {} after media {}", userId, afterId);
+        return export(new MediaCursor(userId, null, afterId), out);
+    }
+
+    /**
+     * Writes the archive of one organisation's media to {@code out}.
+     *
+     * @param afterId id of the last media already delivered; 0 for a full export
+     * @return number of entries written
+     */
+    public int exportOrganisationMedia(Long organisationId, long afterId, OutputStream out) throws IOException {
+        log.info("Exporting media of organisation {} after media {}", organisationId, afterId);
+        return export(new MediaCursor(null, organisationId, afterId), out);
+    }
+
+    private int export(MediaCursor cursor, OutputStream out) throws IOException {
+        Deque<Future<Prefetched>> window = new ArrayDeque<>();
+        int entries = 0;
+        Long lastMediaId = null;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            try {
+                ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(out, 64 * 1024));
+                fillWindow(window, cursor, executor);
+                while (!window.isEmpty()) {
+                    Prefetched next = await(window.poll());
+                    fillWindow(window, cursor, executor);
+                    writeEntry(zip, next);
+                    entries++;
+                    lastMediaId = next.media().getId();
+                }
+                // Writes the central directory; the servlet stream itself is closed by the container
+                zip.finish();
+                zip.flush();
+            } finally {
+                discard(window);
+            }
+        }
+
+        log.info("Export finished: {} entries, last media {}", entries, lastMediaId);
+        return entries;
+    }
+
+    private void fillWindow(Deque<Future<Prefetched>> window, MediaCursor cursor, ExecutorService executor) {
+        while (window.size() < Math.max(1, properties.getPrefetchWindow()) && cursor.hasNext()) {
+            Media media = cursor.next();
+            window.add(executor.submit(() -> prefetch(media)));
+        }
+    }
+
+    /**
+     * Opens the object and reads its head, so storage latency overlaps with
+     * writing the entries before it.
+     */
+    private Prefetched prefetch(Media media) {
+        InputStream in = null;
+        try {
+            in = storageProvider.retrieve(media.getStorageKey());
+            byte[] head = in.readNBytes(properties.getPrefetchBytes());
+            return new Prefetched(media, new SequenceInputStream(new ByteArrayInputStream(head), in), null);
+        } catch (IOException | RuntimeException e) {
+            closeQuietly(in);
+            return new Prefetched(media, null, e);
+        }
+    }
+
+    private void writeEntry(ZipOutputStream zip, Prefetched prefetched) throws IOException {
+        Media media = prefetched.media();
+        String name = entryName(media);
+        try (InputStream content = prefetched.content()) {
+            if (content == null) {
+                log.warn("Export entry for media {} could not be read: {}", media.getId(),
+                        prefetched.failure().getMessage());
+                zip.setLevel(Deflater.DEFAULT_COMPRESSION);
+                zip.putNextEntry(entry(name + ".error.txt", media));
+                zip.write(("Media " + media.getId() + " could not be read from storage: "
+                        + prefetched.failure().getMessage()).getBytes(StandardCharsets.UTF_8));
+            } else {
+                // Level 0 emits stored deflate blocks, which need no CRC up front, unlike STORED entries
+                zip.setLevel(isCompressed(media.getMimeType()) ? Deflater.NO_COMPRESSION
+                        : Deflater.DEFAULT_COMPRESSION);
+                zip.putNextEntry(entry(name, media));
+                content.transferTo(zip);
+            }
+            zip.closeEntry();
+        }
+    }
+
+    private ZipEntry entry(String name, Media media) {
+        ZipEntry entry = new ZipEntry(name);
+        entry.setComment("media " + media.getId());
+        if (media.getCreatedAt() != null) {
+            entry.setTimeLocal(media.getCreatedAt());
+        }
+        return entry;
+    }
+
+    /**
+     * {@code <type>/<id>_<filename>}; the id keeps names unique within the archive.
+     */
+    private String entryName(Media media) {
+        String type = media.getMediaType() != null ? media.getMediaType().name().toLowerCase(Locale.ROOT) : "other";
+        String filename = media.getOriginalFilename() != null ? media.getOriginalFilename()
+                : media.getStoredFilename();
+        if (filename == null || filename.isBlank()) {
+            filename = "file";
+        }
+        // Filenames come from clients; keep them from escaping their directory when extracted
+        filename = filename.replaceAll("[/\\\\:]", "_").replace("..", "_");
+        return type + "/" + media.getId() + "_" + filename;
+    }
+
+    private boolean isCompressed(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        String normalized = contentType.toLowerCase(Locale.ROOT);
+        return properties.getStoredContentTypes().stream().anyMatch(normalized::startsWith);
+    }
+
+    private Prefetched await(Future<Prefetched> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Export interrupted");
+        } catch (ExecutionException e) {
+            // prefetch() reports failures in its result
+            throw new IllegalStateException("Prefetch failed unexpectedly", e.getCause());
+        }
+    }
+
+    /**
+     * Closes the objects already opened for entries that will not be written,
+     * e.g. after the client went away.
+     */
+    private void discard(Deque<Future<Prefetched>> window) {
+        for (Future<Prefetched> future : window) {
+            try {
+                closeQuietly(future.get().content());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+            } catch (ExecutionException e) {
+                // Nothing was opened
+            }
+        }
+        window.clear();
+    }
+
+    private void closeQuietly(InputStream in) {
+        if (in == null) {
+            return;
+        }
+        try {
+            in.close();
+        } catch (IOException e) {
+            log.debug("Failed to close export source: {}", e.getMessage());
+        }
+    }
+
+    private record Prefetched(Media media, InputStream content, Exception failure) {
+    }
+
+    /**
+     * Media rows of the export in id order, read a batch at a time, each
+     * batch continuing after the last id seen.
+     */
+    private class MediaCursor implements Iterator<Media> {
+        private final Long userId;
+        private final Long organisationId;
+        private long afterId;
+        private Iterator<Media> batch = List.<Media>of().iterator();
+        private boolean exhausted;
+
+        MediaCursor(Long userId, Long organisationId, long afterId) {
+            this.userId = userId;
+            this.organisationId = organisationId;
+            this.afterId = afterId;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!batch.hasNext() && !exhausted) {
+                List<Media> rows = mediaRepository.findExportBatch(userId, organisationId, afterId,
+                        properties.getBatchSize());
+                exhausted = rows.size() < properties.getBatchSize();
+                if (!rows.isEmpty()) {
+                    afterId = rows.get(rows.size() - 1).getId();
+                }
+                batch = rows.iterator();
+            }
+            return batch.hasNext();
+        }
+
+        @Override
+        public Media next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return batch.next();
+        }
+    }
+}
@@ -4,36 +4,62 @@ import com.aigreentick.services.storage.client.dto.response.AccessTokenCredentia
 import com.aigreentick.services.storage.client.dto.response.WhatsappMediaUploadResponseDto;
 import com.aigreentick.services.storage.client.service.impl.UserClientAdapter;
 import com.aigreentick.services.storage.client.service.impl.WhatsappClientAdapter;
+import com.aigreentick.services.storage.config.MediaPublishProperties;
+import com.aigreentick.services.storage.config.UploadPipelineProperties;
+import com.aigreentick.services.storage.dto.response.BatchUploadItemResponse;
+import com.aigreentick.services.storage.dto.response.BatchUploadResponse;
+import com.aigreentick.services.storage.dto.response.MediaStatusResponse;
 import com.aigreentick.services.storage.dto.response.MediaUploadResponse;
 import com.aigreentick.services.storage.dto.response.UserMediaResponse;
+import com.aigreentick.services.storage.dto.storage.QuotaReservation;
 import com.aigreentick.services.storage.dto.storage.StorageMetadata;
 import com.aigreentick.services.storage.dto.storage.StorageResult;
+import com.aigreentick.services.storage.enums.MediaStatus;
 import com.aigreentick.services.storage.enums.MediaType;
+import com.aigreentick.services.storage.exception.MediaNotFoundException;
 import com.aigreentick.services.storage.exception.MediaUploadException;
 import com.aigreentick.services.storage.exception.MediaValidationException;
 import com.aigreentick.services.storage.mapper.MediaMapper;
 import com.aigreentick.services.storage.model.Media;
+import com.aigreentick.services.storage.model.MediaPublishJob;
 import com.aigreentick.services.storage.service.StorageProvider;
+import com.aigreentick.services.storage.service.impl.publish.MediaPublishServiceImpl;
+import com.aigreentick.services.storage.service.impl.quota.StorageQuotaServiceImpl;
 import com.aigreentick.services.storage.util.FileUtils;
-import com.aigreentick.services.storage.validator.ClientValidator;
+import com.aigreentick.services.storage.util.RequestDeadline;
+import com.aigreentick.services.storage.util.StreamTee;
 import com.aigreentick.services.storage.validator.MediaValidator;
 import com.aigreentick.services.common.context.UserContext;
+import com.aigreentick.services.common.context.UserContextData;
 import com.aigreentick.services.common.dto.response.FacebookApiResponse;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.DigestInputStream;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
 
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class MediaOrchestratorServiceImpl {
     
     private final StorageProvider storageProvider;
@@ -41,92 +67,173 @@ public class MediaOrchestratorServiceImpl {
     private final MediaMapper mediaMapper;
     private final UserClientAdapter userClient;
     private final MediaServiceImpl mediaService;
-    private final ClientValidator clientValidator;
+    private final MediaCommitServiceImpl mediaCommitService;
+    private final StorageQuotaServiceImpl quotaService;
     private final MediaValidator mediaValidator;
+    private final MediaPublishServiceImpl publishService;
+    private final MediaAccessServiceImpl accessService;
+    private final MediaPublishProperties publishProperties;
+    private final UploadPipelineProperties pipelineProperties;
+    private final TaskExecutor pipelineExecutor;
+    private final Map<Long, OrganisationPermits> organisationPermits = new ConcurrentHashMap<>();
+
+    public MediaOrchestratorServiceImpl(StorageProvider storageProvider,
+            WhatsappClientAdapter whatsappClient,
+            MediaMapper mediaMapper,
+            UserClientAdapter userClient,
+            MediaServiceImpl mediaService,
+            MediaCommitServiceImpl mediaCommitService,
+            StorageQuotaServiceImpl quotaService,
+            MediaValidator mediaValidator,
+            MediaPublishServiceImpl publishService,
+            MediaAccessServiceImpl accessService,
+            MediaPublishProperties publishProperties,
+            UploadPipelineProperties pipelineProperties,
+            @Qualifier("mediaPipelineExecutor") TaskExecutor pipelineExecutor) {
+        this.storageProvider = storageProvider;
+        this.whatsappClient = whatsappClient;
+        this.mediaMapper = mediaMapper;
+        this.userClient = userClient;
+        this.mediaService = mediaService;
+        this.mediaCommitService = mediaCommitService;
+        this.quotaService = quotaService;
+        this.mediaValidator = mediaValidator;
+        this.publishService = publishService;
+        this.accessService = accessService;
+        this.publishProperties = publishProperties;
+        this.pipelineProperties = pipelineProperties;
+        this.pipelineExecutor = pipelineExecutor;
+    }
 
     /**
      * Orchestrates media upload to storage provider and Facebook/WhatsApp.
+     * Not transactional: storage and Graph API I/O run without a database
+     * connection, and only the final inserts run in a short transaction.
      */
-    @Transactional
     public MediaUploadResponse uploadMedia(MultipartFile multipart) {
         validateMultipartFile(multipart);
 
-        File tempFile = null;
-
+        QuotaReservation reservation = null;
         try {
-            // Validate file size against quota
-            clientValidator.validateStorageInfo(multipart.getSize());
-
-            // Determine media type
-            String contentType = multipart.getContentType();
-            MediaType mediaType = mediaValidator.detectMediaType(contentType);
-
-            // Build storage metadata
-            StorageMetadata metadata = StorageMetadata.builder()
-                    .originalFilename(multipart.getOriginalFilename())
-                    .contentType(contentType)
-                    .fileSize(multipart.getSize())
-                    .userId(UserContext.getUserId())
-                    .organisationId(UserContext.getOrganisationId())
-                    .mediaType(mediaType)
-                    .fileExtension(extractFileExtension(multipart.getOriginalFilename()))
-                    .build();
-
-            // Upload to storage provider (S3/Local/etc)
-            log.info("Uploading media to storage provider: {}", storageProvider.getProviderType());
-            StorageResult storageResult = storageProvider.save(multipart.getInputStream(), metadata);
-
-            // Create Media entity
-            Media media = mediaMapper.toEntity(
-                    storageResult,
-                    multipart.getOriginalFilename(),
-                    mediaType,
-                    contentType,
-                    multipart.getSize(),
-                    LocalDateTime.now()
-            );
-
-            // Optional: Upload to Facebook/WhatsApp
-            String whatsappMediaId = null;
-            try {
-                tempFile = FileUtils.convertMultipartToFile(multipart);
-                MediaUploadResponse whatsappResponse = uploadToFacebook(tempFile, metadata);
-                if (whatsappResponse != null && whatsappResponse.getMediaId() != null) {
-                    whatsappMediaId = whatsappResponse.getMediaId();
-                    media.setMediaId(whatsappMediaId);
-                }
-            } catch (Exception e) {
-                log.warn("Failed to upload to WhatsApp, continuing with storage only: {}", e.getMessage());
-            }
+            // Hold the file size against the organisation quota until commit
+            reservation = quotaService.reserve(UserContext.getOrganisationId(), multipart.getSize());
 
-            // Save to database
-            mediaService.save(media);
+            boolean inline = publishProperties.getMode() == MediaPublishProperties.Mode.INLINE;
+            AccessTokenCredentials credentials = inline ? resolveWhatsappCredentials() : null;
+            StagedUpload staged = stageUpload(multipart, inline, credentials);
+
+            // Commit phase; async mode records the publish job in the same transaction
+            commitOrCompensate(staged.media(), staged.storageResult(), !inline);
+            settleQuota(reservation, staged);
 
             log.info("Media upload completed successfully: storageKey={}, provider={}", 
-                     storageResult.getStorageKey(), 
-                     storageResult.getProvider());
-
-            return MediaUploadResponse.builder()
-                    .url(storageResult.getPublicUrl())
-                    .originalFilename(multipart.getOriginalFilename())
-                    .storedFilename(storageResult.getStorageKey())
-                    .mediaType(mediaType)
-                    .contentType(contentType)
-                    .mediaId(whatsappMediaId)
-                    .fileSizeBytes(multipart.getSize())
-                    .uploadedAt(LocalDateTime.now())
-                    .build();
+                     staged.storageResult().getStorageKey(), 
+                     staged.storageResult().getProvider());
+
+            return toUploadResponse(staged);
 
         } catch (Exception e) {
+            quotaService.release(reservation);
             log.error("Failed to upload media: {}", e.getMessage(), e);
             throw new MediaUploadException("Media upload failed: " + e.getMessage(), e);
-        } finally {
-            FileUtils.deleteQuietly(tempFile);
         }
     }
 
+    /**
+     * Uploads several files in one request. Each accepted file reserves its
+     * own quota, so a batch larger than the remaining quota stores the files
+     * that fit and reports the rest as failed. Files are stored in parallel
+     * with at most {@code batch-per-org-concurrency} in flight per
+     * organisation, then all rows are committed in one transaction. A file
+     * that fails validation, quota or storage is reported in its own result
+     * and does not fail the batch.
+     */
+    public BatchUploadResponse uploadMediaBatch(List<MultipartFile> files) {
+        if (files == null || files.isEmpty()) {
+            throw new MediaValidationException("Batch contains no files");
+        }
+        if (files.size() > pipelineProperties.getBatchMaxFiles()) {
+            throw new MediaValidationException("Batch exceeds the maximum of "
+                    + pipelineProperties.getBatchMaxFiles() + " files");
+        }
+
+        Long userId = UserContext.getUserId();
+        Long organisationId = UserContext.getOrganisationId();
+        BatchUploadItemResponse[] results = new BatchUploadItemResponse[files.size()];
+        QuotaReservation[] reservations = new QuotaReservation[files.size()];
+
+        // Validate and reserve every part up front so rejected files cost no I/O
+        List<Integer> accepted = new ArrayList<>();
+        for (int i = 0; i < files.size(); i++) {
+            MultipartFile file = files.get(i);
+            try {
+                validateMultipartFile(file);
+                mediaValidator.detectMediaType(file.getContentType());
+                reservations[i] = quotaService.reserve(organisationId, file.getSize());
+                accepted.add(i);
+            } catch (RuntimeException e) {
+                results[i] = failedItem(i, file, e);
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            List<StagedUpload> staged;
+            try {
+                boolean inline = publishProperties.getMode() == MediaPublishProperties.Mode.INLINE;
+                AccessTokenCredentials credentials = inline ? resolveWhatsappCredentials() : null;
+                staged = stageBatch(files, accepted, results, inline, credentials, userId, organisationId);
+                if (!staged.isEmpty()) {
+                    commitBatchOrCompensate(staged, !inline);
+                }
+            } catch (RuntimeException e) {
+                accepted.forEach(index -> quotaService.release(reservations[index]));
+                throw e;
+            }
+
+            // Only newly stored files consume quota; reservations of failed files are returned
+            staged.forEach(upload -> settleQuota(reservations[upload.index()], upload));
+            accepted.stream()
+                    .filter(index -> results[index] != null)
+                    .forEach(index -> quotaService.release(reservations[index]));
+
+            staged.forEach(upload -> results[upload.index()] = BatchUploadItemResponse.builder()
+                    .index(upload.index())
+                    .originalFilename(upload.file().getOriginalFilename())
+                    .success(true)
+                    .media(toUploadResponse(upload))
+                    .build());
+        }
+
+        List<BatchUploadItemResponse> items = Arrays.asList(results);
+        int succeeded = (int) items.stream().filter(BatchUploadItemResponse::isSuccess).count();
+        log.info("Batch upload completed: total={}, succeeded={}, failed={}",
+                items.size(), succeeded, items.size() - succeeded);
+
+        return BatchUploadResponse.builder()
+                .total(items.size())
+                .succeeded(succeeded)
+                .failed(items.size() - succeeded)
+                .results(items)
+                .build();
+    }
+
+    /**
+     * Returns the WhatsApp publishing progress of a media row owned by the current user.
+     */
+    @Transactional(readOnly = true)
+    public MediaStatusResponse getMediaStatus(Long id) {
+        Long userId = UserContext.getUserId();
+        Media media = mediaService.findByIdAndUserId(id, userId)
+                .orElseThrow(() -> new MediaNotFoundException("Media not found: " + id));
+        MediaPublishJob job = publishService.findLatestJob(id).orElse(null);
+        return mediaMapper.toStatusResponse(media, job);
+    }
+
     public String getPublicUrl(String storageKey, Duration duration){
-        return storageProvider.getPublicUrl(storageKey, duration);
+        String url = storageProvider.getPublicUrl(storageKey, duration);
+        // Whoever holds the URL reads the object directly from storage
+        accessService.recordAccess(storageKey);
+        return url;
     }
 
     @Transactional(readOnly = true)
@@ -169,26 +276,396 @@ public class MediaOrchestratorServiceImpl {
 
     // Helper methods
 
-    private MediaUploadResponse uploadToFacebook(File file, StorageMetadata metadata) {
-        AccessTokenCredentials accessTokenCredentials = userClient
-                .getPhoneNumberIdAccessToken(UserContext.getUserId());
+    /**
+     * Storage phase for one file: stores it (teeing to WhatsApp in inline mode)
+     * and builds the entity that the commit phase will insert.
+     */
+    private StagedUpload stageUpload(MultipartFile multipart, boolean inline,
+            AccessTokenCredentials credentials) throws IOException {
+        return stageUpload(-1, multipart, inline, credentials);
+    }
+
+    private StagedUpload stageUpload(int index, MultipartFile multipart, boolean inline,
+            AccessTokenCredentials credentials) throws IOException {
+        // Determine media type
+        String contentType = multipart.getContentType();
+        MediaType mediaType = mediaValidator.detectMediaType(contentType);
+
+        // Build storage metadata
+        StorageMetadata metadata = StorageMetadata.builder()
+                .originalFilename(multipart.getOriginalFilename())
+                .contentType(contentType)
+                .fileSize(multipart.getSize())
+                .userId(UserContext.getUserId())
+                .organisationId(UserContext.getOrganisationId())
+                .mediaType(mediaType)
+                .fileExtension(extractFileExtension(multipart.getOriginalFilename()))
+                .build();
 
-        FacebookApiResponse<WhatsappMediaUploadResponseDto> response = whatsappClient
-                .uploadMediaToFacebook(
-                        file,
-                        metadata.getContentType(),
-                        accessTokenCredentials.getId(),
-                        accessTokenCredentials.getAccessToken()
-                );
+        // Upload to storage provider (S3/Local/etc); inline mode also tees the body to WhatsApp
+        log.info("Uploading media to storage provider: {} (publish mode: {})",
+                 storageProvider.getProviderType(), publishProperties.getMode());
+        TeeUploadResult uploadResult = inline
+                ? teeUpload(multipart, metadata, credentials)
+                : storeOnly(multipart, metadata);
+
+        // Create Media entity
+        Media media = mediaMapper.toEntity(
+                uploadResult.storageResult(),
+                multipart.getOriginalFilename(),
+                mediaType,
+                contentType,
+                multipart.getSize(),
+                LocalDateTime.now()
+        );
+        media.setMediaId(uploadResult.whatsappMediaId());
+        media.setChecksum(uploadResult.checksum());
+        media.setStatus(resolveStatus(inline, uploadResult.whatsappMediaId()).name());
+
+        return new StagedUpload(index, multipart, media, uploadResult.storageResult());
+    }
 
-        if (!response.isSuccess()) {
-            throw new MediaUploadException(response.getErrorMessage(), response.getStatusCode());
+    /**
+     * Runs the storage phase of the accepted files on the pipeline executor.
+     * The calling thread takes an organisation permit before submitting each
+     * file, so pipeline threads never block on the limit; a rejected task runs
+     * on the calling thread instead.
+     */
+    private List<StagedUpload> stageBatch(List<MultipartFile> files, List<Integer> accepted,
+            BatchUploadItemResponse[] results, boolean inline, AccessTokenCredentials credentials,
+            Long userId, Long organisationId) {
+        Semaphore permits = acquireOrganisationPermits(organisationId);
+        try {
+            Map<Integer, CompletableFuture<StagedUpload>> futures = new LinkedHashMap<>();
+            for (int index : accepted) {
+                MultipartFile file = files.get(index);
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    results[index] = failedItem(index, file, new MediaUploadException("Batch upload interrupted"));
+                    continue;
+                }
+
+                Supplier<StagedUpload> task = RequestDeadline.propagate(() -> withUserContext(userId, organisationId, () -> {
+                    try {
+                        return stageUpload(index, file, inline, credentials);
+                    } catch (IOException e) {
+                        throw new MediaUploadException("Failed to read uploaded file", e);
+                    }
+                }));
+
+                CompletableFuture<StagedUpload> future;
+                try {
+                    future = CompletableFuture.supplyAsync(task, pipelineExecutor);
+                } catch (RejectedExecutionException e) {
+                    future = runOnCaller(task);
+                }
+                futures.put(index, future.whenComplete((upload, error) -> permits.release()));
+            }
+
+            List<StagedUpload> staged = new ArrayList<>();
+            futures.forEach((index, future) -> {
+                try {
+                    staged.add(future.join());
+                } catch (CompletionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    log.warn("Batch item {} failed: {}", index, cause.getMessage());
+                    results[index] = failedItem(index, files.get(index), cause);
+                }
+            });
+            return staged;
+        } finally {
+            releaseOrganisationPermits(organisationId);
         }
+    }
+
+    /**
+     * Returns the organisation's permit pool, creating it for the first
+     * running batch. Pools are only kept while a batch of the organisation
+     * is running, so the map holds active organisations only.
+     */
+    private Semaphore acquireOrganisationPermits(Long organisationId) {
+        return organisationPermits.compute(organisationId, (id, current) -> {
+            OrganisationPermits entry = current != null ? current
+                    : new OrganisationPermits(new Semaphore(pipelineProperties.getBatchPerOrgConcurrency()));
+            entry.batches++;
+            return entry;
+        }).semaphore;
+    }
 
-        String mediaId = response.getData().getId();
+    private void releaseOrganisationPermits(Long organisationId) {
+        organisationPermits.computeIfPresent(organisationId,
+                (id, entry) -> --entry.batches == 0 ? null : entry);
+    }
+
+    /**
+     * Number of organisations with a batch in progress.
+     */
+    int activeOrganisations() {
+        return organisationPermits.size();
+    }
 
+    private CompletableFuture<StagedUpload> runOnCaller(Supplier<StagedUpload> task) {
+        try {
+            return CompletableFuture.completedFuture(task.get());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Runs {@code action} with the given user context and then restores
+     * whatever context the thread had, so it is safe on pool and caller threads.
+     */
+    private <T> T withUserContext(Long userId, Long organisationId, Supplier<T> action) {
+        Long previousUserId = UserContext.getUserId();
+        Long previousOrganisationId = UserContext.getOrganisationId();
+        UserContext.set(new UserContextData(userId, organisationId));
+        try {
+            return action.get();
+        } finally {
+            if (previousUserId == null && previousOrganisationId == null) {
+                UserContext.clear();
+            } else {
+                UserContext.set(new UserContextData(previousUserId, previousOrganisationId));
+            }
+        }
+    }
+
+    /**
+     * Reads the multipart body once and feeds the storage provider (on the
+     * calling thread) and the WhatsApp upload (on the pipeline executor) at the
+     * same time. A WhatsApp failure, or a WhatsApp upload falling behind for
+     * longer than the stall timeout, detaches its branch without affecting the
+     * storage write; a storage failure aborts both.
+     */
+    private TeeUploadResult teeUpload(MultipartFile multipart, StorageMetadata metadata,
+            AccessTokenCredentials credentials) throws IOException {
+        try (InputStream source = multipart.getInputStream()) {
+            if (credentials == null) {
+                return saveHashed(source, metadata);
+            }
+
+            StreamTee tee = new StreamTee(source, 2,
+                    pipelineProperties.getChunkSizeBytes(),
+                    pipelineProperties.getMaxBufferedChunks());
+            if (pipelineProperties.getWhatsappStallTimeoutMs() > 0) {
+                tee.stallTimeout(1, Duration.ofMillis(pipelineProperties.getWhatsappStallTimeoutMs()));
+            }
+            InputStream storageBranch = tee.branch(0);
+            InputStream whatsappBranch = tee.branch(1);
+
+            try {
+                tee.start(pipelineExecutor);
+            } catch (RejectedExecutionException e) {
+                log.warn("Upload pipeline saturated, skipping WhatsApp upload for this request");
+                return saveHashed(source, metadata);
+            }
+
+            CompletableFuture<String> whatsappFuture;
+            try {
+                whatsappFuture = CompletableFuture.supplyAsync(RequestDeadline.propagate(
+                        () -> uploadToFacebook(whatsappBranch, metadata, credentials)), pipelineExecutor);
+            } catch (RejectedExecutionException e) {
+                log.warn("Upload pipeline saturated, skipping WhatsApp upload for this request");
+                whatsappBranch.close();
+                whatsappFuture = CompletableFuture.completedFuture(null);
+            }
+
+            TeeUploadResult stored;
+            try {
+                stored = saveHashed(storageBranch, metadata);
+            } catch (IOException | RuntimeException e) {
+                tee.close();
+                whatsappFuture.cancel(true);
+                throw e;
+            } finally {
+                // Providers may stop before EOF; detach so the pump never waits on this branch
+                storageBranch.close();
+            }
+
+            return new TeeUploadResult(stored.storageResult(), awaitWhatsappMediaId(whatsappFuture),
+                    stored.checksum());
+        }
+    }
+
+    /**
+     * Runs the commit phase and deletes the stored object if it fails, so a
+     * rolled-back upload does not leave an orphan in the storage provider.
+     */
+    private void commitOrCompensate(Media media, StorageResult storageResult, boolean enqueuePublish) {
+        try {
+            mediaCommitService.commit(media, enqueuePublish);
+        } catch (RuntimeException e) {
+            log.error("Commit failed for storageKey={}, deleting stored object", storageResult.getStorageKey());
+            compensateStorageWrite(storageResult.getStorageKey());
+            throw e;
+        }
+        discardIfDeduplicated(media, storageResult);
+    }
+
+    private void commitBatchOrCompensate(List<StagedUpload> staged, boolean enqueuePublish) {
+        try {
+            mediaCommitService.commitAll(staged.stream().map(StagedUpload::media).toList(), enqueuePublish);
+        } catch (RuntimeException e) {
+            log.error("Batch commit failed for {} files, deleting stored objects", staged.size());
+            staged.forEach(upload -> compensateStorageWrite(upload.storageResult().getStorageKey()));
+            throw new MediaUploadException("Batch upload failed: " + e.getMessage(), e);
+        }
+        staged.forEach(upload -> discardIfDeduplicated(upload.media(), upload.storageResult()));
+    }
+
+    /**
+     * Deletes the object just written when the commit pointed the media at an
+     * identical object already stored for the organisation.
+     */
+    private void discardIfDeduplicated(Media media, StorageResult storageResult) {
+        if (!isDeduplicated(media, storageResult)) {
+            return;
+        }
+        log.info("Duplicate content, keeping {} and deleting {}", media.getStorageKey(), storageResult.getStorageKey());
+        compensateStorageWrite(storageResult.getStorageKey());
+    }
+
+    private boolean isDeduplicated(Media media, StorageResult storageResult) {
+        return !storageResult.getStorageKey().equals(media.getStorageKey());
+    }
+
+    /**
+     * Charges the reservation for a new object, or returns it when the commit
+     * pointed the media at an object whose bytes are already counted.
+     */
+    private void settleQuota(QuotaReservation reservation, StagedUpload upload) {
+        if (isDeduplicated(upload.media(), upload.storageResult())) {
+            quotaService.release(reservation);
+        } else {
+            quotaService.commit(reservation);
+        }
+    }
+
+    private void compensateStorageWrite(String storageKey) {
+        try {
+            storageProvider.delete(storageKey);
+        } catch (Exception e) {
+            log.error("Compensating delete failed, object left orphaned: storageKey={}", storageKey, e);
+        }
+    }
+
+    private TeeUploadResult storeOnly(MultipartFile multipart, StorageMetadata metadata) throws IOException {
+        try (InputStream source = multipart.getInputStream()) {
+            return saveHashed(source, metadata);
+        }
+    }
+
+    /**
+     * Saves the content while computing its SHA-256 in the same pass. The
+     * checksum is left null if the provider stopped before the end of the
+     * stream, so partially hashed content is never deduplicated.
+     */
+    private TeeUploadResult saveHashed(InputStream content, StorageMetadata metadata) throws IOException {
+        DigestInputStream hashing = new DigestInputStream(content, FileUtils.newSha256Digest());
+        StorageResult storageResult = storageProvider.save(hashing, metadata);
+        String checksum;
+        try {
+            checksum = hashing.read() == -1 ? FileUtils.toHexChecksum(hashing.getMessageDigest()) : null;
+        } catch (IOException e) {
+            // The source failed after the provider stopped reading; the stored object is not trusted
+            compensateStorageWrite(storageResult.getStorageKey());
+            throw e;
+        }
+        return new TeeUploadResult(storageResult, null, checksum);
+    }
+
+    private MediaStatus resolveStatus(boolean inline, String whatsappMediaId) {
+        if (!inline) {
+            return MediaStatus.PENDING;
+        }
+        return whatsappMediaId != null ? MediaStatus.PUBLISHED : MediaStatus.FAILED;
+    }
+
+    private AccessTokenCredentials resolveWhatsappCredentials() {
+        try {
+            return userClient.getPhoneNumberIdAccessToken(UserContext.getUserId());
+        } catch (Exception e) {
+            log.warn("Failed to resolve WhatsApp credentials, continuing with storage only: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private String awaitWhatsappMediaId(CompletableFuture<String> whatsappFuture) {
+        try {
+            return whatsappFuture.join();
+        } catch (Exception e) {
+            log.warn("Failed to upload to WhatsApp, continuing with storage only: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private String uploadToFacebook(InputStream content, StorageMetadata metadata,
+            AccessTokenCredentials accessTokenCredentials) {
+        try (content) {
+            FacebookApiResponse<WhatsappMediaUploadResponseDto> response = whatsappClient
+                    .uploadMediaToFacebook(
+                            content,
+                            FileUtils.sanitizeFilename(metadata.getOriginalFilename()),
+                            metadata.getContentType(),
+                            metadata.getFileSize() != null ? metadata.getFileSize() : -1,
+                            accessTokenCredentials.getId(),
+                            accessTokenCredentials.getAccessToken()
+                    );
+
+            if (!response.isSuccess()) {
+                throw new MediaUploadException(response.getErrorMessage(), response.getStatusCode());
+            }
+
+            return response.getData().getId();
+        } catch (IOException e) {
+            throw new MediaUploadException("Failed to stream media to WhatsApp", e);
+        }
+    }
+
+    private record TeeUploadResult(StorageResult storageResult, String whatsappMediaId, String checksum) {
+    }
+
+    private record StagedUpload(int index, MultipartFile file, Media media, StorageResult storageResult) {
+    }
+
+    /**
+     * Permit pool of one organisation and the number of batches using it;
+     * only mutated inside the map's compute functions.
+     */
+    private static final class OrganisationPermits {
+        private final Semaphore semaphore;
+        private int batches;
+
+        private OrganisationPermits(Semaphore semaphore) {
+            this.semaphore = semaphore;
+        }
+    }
+
+    private MediaUploadResponse toUploadResponse(StagedUpload staged) {
+        Media media = staged.media();
         return MediaUploadResponse.builder()
-                .mediaId(mediaId)
+                .id(media.getId())
+                .status(media.getStatus())
+                .url(media.getMediaUrl())
+                .originalFilename(staged.file().getOriginalFilename())
+                .storedFilename(media.getStorageKey())
+                .mediaType(media.getMediaType())
+                .contentType(media.getMimeType())
+                .mediaId(media.getMediaId())
+                .fileSizeBytes(staged.file().getSize())
+                .uploadedAt(media.getCreatedAt())
+                .build();
+    }
+
+    private BatchUploadItemResponse failedItem(int index, MultipartFile file, Throwable error) {
+        return BatchUploadItemResponse.builder()
+                .index(index)
+                .originalFilename(file != null ? file.getOriginalFilename() : null)
+                .success(false)
+                .error(error.getMessage())
                 .build();
     }
 
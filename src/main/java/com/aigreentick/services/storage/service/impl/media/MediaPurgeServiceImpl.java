@@ -0,0 +1,104 @@
+package com.aigreentick.services.storage.service.impl.media;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+
+import com.aigreentick.services.storage.config.MediaPurgeProperties;
+import com.aigreentick.services.storage.dto.response.MediaPurgeResponse;
+import com.aigreentick.services.storage.model.Media;
+import com.aigreentick.services.storage.repository.MediaRepository;
+import com.aigreentick.services.storage.service.StorageProvider;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Permanently removes soft-deleted media, e.g. when an organisation is
+ * offboarded. Works through the rows in id order, a batch at a time, and
+ * deletes each batch's stored objects with one bulk storage call. Objects
+ * still shared with live media through deduplication are kept.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MediaPurgeServiceImpl {
+    private final MediaRepository mediaRepository;
+    private final MediaServiceImpl mediaService;
+    private final MediaDedupServiceImpl dedupService;
+    private final StorageProvider storageProvider;
+    private final MediaPurgeProperties properties;
+
+    /**
+     * Purges soft-deleted media of one organisation, or of all organisations
+     * when {@code organisationId} is null. Rows whose object could not be
+     * deleted stay soft-deleted and are retried by the next purge.
+     */
+    public MediaPurgeResponse purgeDeleted(Long organisationId) {
+        log.info("Purging soft-deleted media (organisation: {})", organisationId != null ? organisationId : "all");
+
+        int scanned = 0;
+        int purged = 0;
+        int objectsDeleted = 0;
+        int objectsFailed = 0;
+        long afterId = 0;
+        while (true) {
+            List<Media> batch = mediaRepository.findSoftDeletedAfter(afterId, organisationId,
+                    properties.getBatchSize());
+            if (batch.isEmpty()) {
+                break;
+            }
+            afterId = batch.get(batch.size() - 1).getId();
+            scanned += batch.size();
+
+            Set<String> storageKeys = batch.stream()
+                    .map(Media::getStorageKey)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+            Set<String> releasable = dedupService.releaseForPurge(storageKeys);
+            Set<String> failed = deleteObjects(releasable);
+            objectsDeleted += releasable.size() - failed.size();
+            objectsFailed += failed.size();
+
+            List<Long> purgeable = batch.stream()
+                    .filter(media -> media.getStorageKey() == null || !failed.contains(media.getStorageKey()))
+                    .map(Media::getId)
+                    .toList();
+            purged += mediaService.purgeSoftDeleted(purgeable);
+        }
+
+        log.info("Purge finished: scanned={}, purged={}, objectsDeleted={}, objectsFailed={}",
+                scanned, purged, objectsDeleted, objectsFailed);
+        return MediaPurgeResponse.builder()
+                .scanned(scanned)
+                .purged(purged)
+                .objectsDeleted(objectsDeleted)
+                .objectsFailed(objectsFailed)
+                .build();
+    }
+
+    /**
+     * Deletes the objects and returns the keys still stored afterwards. A key
+     * reported as failed whose object is gone anyway, e.g. removed before an
+     * error or already missing on one replica, does not hold its rows back.
+     */
+    private Set<String> deleteObjects(Set<String> storageKeys) {
+        if (storageKeys.isEmpty()) {
+            return Set.of();
+        }
+        Set<String> failed = storageProvider.deleteAll(storageKeys);
+        if (failed.isEmpty()) {
+            return failed;
+        }
+        Set<String> stillStored = storageProvider.existsAll(failed);
+        if (stillStored.size() < failed.size()) {
+            log.info("{} of {} failed deletes left no object behind", failed.size() - stillStored.size(),
+                    failed.size());
+        }
+        return stillStored;
+    }
+}
@@ -1,5 +1,9 @@
 package com.aigreentick.services.storage.service.impl.media;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.cache.annotation.CacheEvict;
@@ -14,6 +18,7 @@ import com.aigreentick.services.storage.enums.MediaType;
 import com.aigreentick.services.storage.exception.MediaNotFoundException;
 import com.aigreentick.services.storage.model.Media;
 import com.aigreentick.services.storage.repository.MediaRepository;
+import com.aigreentick.services.storage.service.impl.quota.StorageQuotaServiceImpl;
 
 
 import com.aigreentick.services.common.service.base.jpa.JpaBaseService;
@@ -26,6 +31,7 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class MediaServiceImpl extends JpaBaseService<Media, Long> {
     private final MediaRepository mediaRepository;
+    private final StorageQuotaServiceImpl quotaService;
 
     /**
      * Finds media by stored filename.
@@ -46,6 +52,23 @@ public class MediaServiceImpl extends JpaBaseService<Media, Long> {
         return mediaRepository.findByMediaId(mediaId);
     }
 
+    /**
+     * Inserts several media rows with one repository call.
+     */
+    @Transactional
+    public List<Media> saveBatch(List<Media> media) {
+        log.debug("Saving {} media rows", media.size());
+        return mediaRepository.saveAll(media);
+    }
+
+    /**
+     * Finds a media row only if it belongs to the given user.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Media> findByIdAndUserId(Long id, Long userId) {
+        return mediaRepository.findByIdAndUserId(id, userId);
+    }
+
     @Transactional(readOnly = true)
     public Page<Media> findByUserId(Long userId, Pageable pageable) {
         log.info("Fetching media for user ID: {} with pagination", userId);
@@ -82,11 +105,64 @@ public class MediaServiceImpl extends JpaBaseService<Media, Long> {
         mediaRepository.delete(media);
     }
 
+    /**
+     * Soft-deletes a media row. Its bytes go back to the organisation quota
+     * once no other live row shares the stored object.
+     */
     @Transactional
     public void softDeleteById(Long mediaId, Long deletedBy) {
+        Media media = mediaRepository.findById(mediaId)
+                .orElseThrow(() -> new MediaNotFoundException("Media not found: " + mediaId));
         if (mediaRepository.softDeleteById(mediaId, deletedBy) == 0) {
             throw new MediaNotFoundException("Media not found: " + mediaId);
         }
+        if (media.getStorageKey() != null && media.getFileSize() != null
+                && mediaRepository.findLiveStorageKeys(List.of(media.getStorageKey())).isEmpty()) {
+            quotaService.releaseUsage(media.getOrganisationId(), media.getFileSize());
+        }
+    }
+
+    /**
+     * Removes soft-deleted rows for good; rows that are not soft-deleted are left alone.
+     */
+    @Transactional
+    public int purgeSoftDeleted(Collection<Long> mediaIds) {
+        if (mediaIds.isEmpty()) {
+            return 0;
+        }
+        return mediaRepository.purgeSoftDeleted(mediaIds);
+    }
+
+    /**
+     * Records a download for the lifecycle engine. The row is written only
+     * when its last access is older than {@code touchInterval}, so hot media
+     * cost one update per interval rather than one per download.
+     */
+    @Transactional
+    public void recordAccess(Long mediaId, Duration touchInterval) {
+        LocalDateTime now = LocalDateTime.now();
+        mediaRepository.touchLastAccessed(mediaId, now, now.minus(touchInterval));
+    }
+
+    /**
+     * Records a read of a stored object, e.g. a URL handed out for it, on
+     * every live media row pointing at it.
+     */
+    @Transactional
+    public void recordAccess(String storageKey, Duration touchInterval) {
+        LocalDateTime now = LocalDateTime.now();
+        mediaRepository.touchLastAccessedByStorageKey(storageKey, now, now.minus(touchInterval));
+    }
+
+    /**
+     * Records the tier of stored objects on every media row pointing at them.
+     */
+    @Transactional
+    public int updateStorageTier(Collection<String> storageKeys, String tier) {
+        if (storageKeys.isEmpty()) {
+            return 0;
+        }
+        return mediaRepository.updateStorageTier(storageKeys, tier);
     }
 
     @Transactional(readOnly = true)
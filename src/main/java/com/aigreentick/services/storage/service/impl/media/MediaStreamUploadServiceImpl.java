@@ -0,0 +1,212 @@
+package com.aigreentick.services.storage.service.impl.media;
+
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Service;
+
+import com.aigreentick.services.common.context.UserContext;
+import com.aigreentick.services.common.context.UserContextData;
+import com.aigreentick.services.storage.dto.response.MediaUploadResponse;
+import com.aigreentick.services.storage.dto.storage.QuotaReservation;
+import com.aigreentick.services.storage.dto.storage.StorageMetadata;
+import com.aigreentick.services.storage.dto.storage.StorageResult;
+import com.aigreentick.services.storage.enums.MediaStatus;
+import com.aigreentick.services.storage.enums.MediaType;
+import com.aigreentick.services.storage.exception.MediaValidationException;
+import com.aigreentick.services.storage.mapper.MediaMapper;
+import com.aigreentick.services.storage.model.Media;
+import com.aigreentick.services.storage.service.ReactiveStorageProvider;
+import com.aigreentick.services.storage.service.impl.quota.StorageQuotaServiceImpl;
+import com.aigreentick.services.storage.util.FileUtils;
+import com.aigreentick.services.storage.validator.MediaValidator;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Streaming counterpart of {@link MediaOrchestratorServiceImpl#uploadMedia}.
+ * Runs the same validation, quota check and commit phase, but the body is
+ * consumed as it arrives and no thread is parked on a slow client.
+ * WhatsApp publishing always goes through the outbox.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MediaStreamUploadServiceImpl {
+    private final ReactiveStorageProvider storageProvider;
+    private final MediaMapper mediaMapper;
+    private final MediaCommitServiceImpl mediaCommitService;
+    private final StorageQuotaServiceImpl quotaService;
+    private final MediaValidator mediaValidator;
+
+    /**
+     * Validates the declared file, streams its content to storage and commits the media row.
+     *
+     * @param declaredSize exact byte length announced by the client, used for the quota check
+     *                     up front and enforced against the bytes actually received
+     */
+    public Mono<MediaUploadResponse> uploadMedia(String filename, String contentType, long declaredSize,
+            Long userId, Long organisationId, Flux<DataBuffer> content) {
+
+        return Mono.fromRunnable(() -> mediaValidator.validateUpload(filename, contentType, declaredSize))
+                // Quota reservation may fall back to a blocking organisation service call,
+                // which forwards the user context of the thread it runs on
+                .then(Mono.fromCallable(() -> withUserContext(userId, organisationId,
+                                () -> quotaService.reserve(organisationId, declaredSize)))
+                        .subscribeOn(Schedulers.boundedElastic()))
+                .flatMap(reservation -> Mono.defer(() -> {
+                            MediaType mediaType = mediaValidator.detectMediaType(contentType);
+                            StorageMetadata metadata = StorageMetadata.builder()
+                                    .originalFilename(filename)
+                                    .contentType(contentType)
+                                    .fileSize(declaredSize)
+                                    .userId(userId)
+                                    .organisationId(organisationId)
+                                    .mediaType(mediaType)
+                                    .fileExtension(extractFileExtension(filename))
+                                    .build();
+
+                            MessageDigest digest = FileUtils.newSha256Digest();
+                            Flux<DataBuffer> hashed = enforceDeclaredSize(content, declaredSize)
+                                    .doOnNext(buffer -> updateDigest(digest, buffer));
+
+                            log.info("Streaming media to storage provider: {}", storageProvider.getProviderType());
+                            return storageProvider.save(hashed, metadata)
+                                    .flatMap(storageResult -> commit(storageResult, metadata,
+                                            FileUtils.toHexChecksum(digest), reservation));
+                        })
+                        // Settling an already settled reservation is a no-op
+                        .doOnError(e -> settle(reservation, false))
+                        .doOnCancel(() -> settle(reservation, false)))
+                .doOnError(e -> log.error("Streaming upload failed for {}: {}", filename, e.getMessage()));
+    }
+
+    private Mono<MediaUploadResponse> commit(StorageResult storageResult, StorageMetadata metadata, String checksum,
+            QuotaReservation reservation) {
+        LocalDateTime uploadedAt = LocalDateTime.now();
+        Media media = mediaMapper.toEntity(
+                storageResult,
+                metadata.getOriginalFilename(),
+                metadata.getMediaType(),
+                metadata.getContentType(),
+                metadata.getFileSize(),
+                uploadedAt
+        );
+        media.setUserId(metadata.getUserId());
+        media.setOrganisationId(metadata.getOrganisationId());
+        media.setStatus(MediaStatus.PENDING.name());
+        media.setChecksum(checksum);
+
+        return Mono.fromCallable(() -> mediaCommitService.commit(media, true))
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorResume(e -> {
+                    log.error("Commit failed for storageKey={}, deleting stored object", storageResult.getStorageKey());
+                    return storageProvider.delete(storageResult.getStorageKey())
+                            .onErrorResume(deleteError -> {
+                                log.error("Compensating delete failed, object left orphaned: storageKey={}",
+                                        storageResult.getStorageKey(), deleteError);
+                                return Mono.just(false);
+                            })
+                            .then(Mono.error(e));
+                })
+                // A deduplicated upload adds no stored bytes, so its reservation is returned
+                .doOnNext(saved -> settle(reservation, !isDeduplicated(saved, storageResult)))
+                .flatMap(saved -> discardIfDeduplicated(saved, storageResult).thenReturn(saved))
+                .map(saved -> MediaUploadResponse.builder()
+                        .id(saved.getId())
+                        .status(saved.getStatus())
+                        .url(saved.getMediaUrl())
+                        .originalFilename(metadata.getOriginalFilename())
+                        .storedFilename(saved.getStorageKey())
+                        .mediaType(metadata.getMediaType())
+                        .contentType(metadata.getContentType())
+                        .fileSizeBytes(metadata.getFileSize())
+                        .uploadedAt(uploadedAt)
+                        .build());
+    }
+
+    /**
+     * Deletes the object just written when the commit pointed the media at an
+     * identical object already stored for the organisation.
+     */
+    private Mono<Boolean> discardIfDeduplicated(Media saved, StorageResult storageResult) {
+        if (!isDeduplicated(saved, storageResult)) {
+            return Mono.just(false);
+        }
+        log.info("Duplicate content, keeping {} and deleting {}", saved.getStorageKey(), storageResult.getStorageKey());
+        return storageProvider.delete(storageResult.getStorageKey())
+                .onErrorResume(e -> {
+                    log.error("Failed to delete duplicate object, left orphaned: storageKey={}",
+                            storageResult.getStorageKey(), e);
+                    return Mono.just(false);
+                });
+    }
+
+    private boolean isDeduplicated(Media saved, StorageResult storageResult) {
+        return !storageResult.getStorageKey().equals(saved.getStorageKey());
+    }
+
+    private void updateDigest(MessageDigest digest, DataBuffer buffer) {
+        try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+            // Duplicated views, so the provider still sees the full readable range
+            iterator.forEachRemaining(digest::update);
+        }
+    }
+
+    /**
+     * Fails the stream as soon as it exceeds the declared size, or at completion
+     * if it fell short, so the quota check cannot be bypassed.
+     */
+    private Flux<DataBuffer> enforceDeclaredSize(Flux<DataBuffer> content, long declaredSize) {
+        return Flux.defer(() -> {
+            AtomicLong received = new AtomicLong();
+            return content.<DataBuffer>handle((buffer, sink) -> {
+                if (received.addAndGet(buffer.readableByteCount()) > declaredSize) {
+                    DataBufferUtils.release(buffer);
+                    sink.error(new MediaValidationException(
+                            "Upload is larger than the declared size of " + declaredSize + " bytes"));
+                    return;
+                }
+                sink.next(buffer);
+            }).concatWith(Mono.defer(() -> received.get() == declaredSize
+                    ? Mono.empty()
+                    : Mono.error(new MediaValidationException(
+                            "Upload ended after " + received.get() + " of " + declaredSize + " declared bytes"))));
+        });
+    }
+
+    private void settle(QuotaReservation reservation, boolean stored) {
+        // Settling is a short Redis script; keep it off the I/O threads all the same
+        Schedulers.boundedElastic().schedule(() -> {
+            if (stored) {
+                quotaService.commit(reservation);
+            } else {
+                quotaService.release(reservation);
+            }
+        });
+    }
+
+    private <T> T withUserContext(Long userId, Long organisationId, Supplier<T> action) {
+        UserContext.set(new UserContextData(userId, organisationId));
+        try {
+            return action.get();
+        } finally {
+            UserContext.clear();
+        }
+    }
+
+    private String extractFileExtension(String filename) {
+        if (filename == null || !filename.contains(".")) {
+            return "";
+        }
+        return filename.substring(filename.lastIndexOf("."));
+    }
+}
@@ -0,0 +1,224 @@
+package com.aigreentick.services.storage.service.impl.publish;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.aigreentick.services.storage.config.MediaPublishProperties;
+import com.aigreentick.services.storage.enums.MediaStatus;
+import com.aigreentick.services.storage.enums.PublishJobStatus;
+import com.aigreentick.services.storage.model.Media;
+import com.aigreentick.services.storage.model.MediaPublishJob;
+import com.aigreentick.services.storage.repository.MediaPublishJobRepository;
+import com.aigreentick.services.storage.repository.MediaRepository;
+import com.aigreentick.services.storage.service.impl.media.MediaDedupServiceImpl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Outbox operations for WhatsApp publishing. Every method here is a short
+ * transaction; the Graph API call itself runs outside of them.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MediaPublishServiceImpl {
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final MediaPublishJobRepository jobRepository;
+    private final MediaRepository mediaRepository;
+    private final MediaPublishProperties properties;
+    private final MediaDedupServiceImpl dedupService;
+
+    /**
+     * Records a publish job for the given media. Must run in the transaction
+     * that saves the media row so both commit or neither does.
+     */
+    @Transactional
+    public MediaPublishJob enqueue(Media media) {
+        MediaPublishJob saved = jobRepository.save(newJob(media));
+        log.debug("Enqueued publish job {} for media {}", saved.getId(), media.getId());
+        return saved;
+    }
+
+    /**
+     * Records publish jobs for several media rows; same transaction rule as {@link #enqueue}.
+     */
+    @Transactional
+    public List<MediaPublishJob> enqueueAll(List<Media> media) {
+        List<MediaPublishJob> saved = jobRepository.saveAll(media.stream().map(this::newJob).toList());
+        log.debug("Enqueued {} publish jobs", saved.size());
+        return saved;
+    }
+
+    /**
+     * Claims up to {@code limit} due jobs by leasing them to this node. The
+     * returned {@code lockedUntil} identifies the claim: completions are only
+     * recorded while the job still carries it.
+     */
+    @Transactional
+    public List<MediaPublishJob> claimDueJobs(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<MediaPublishJob> jobs = jobRepository.lockDueJobs(now, limit);
+        // Whole seconds, so the value read back compares equal whatever the column precision
+        LocalDateTime leaseEnd = now.plusSeconds(properties.getLeaseSeconds()).truncatedTo(ChronoUnit.SECONDS);
+        for (MediaPublishJob job : jobs) {
+            job.setStatus(PublishJobStatus.IN_PROGRESS);
+            job.setLockedUntil(leaseEnd);
+        }
+        return jobRepository.saveAll(jobs);
+    }
+
+    /**
+     * Hands claimed jobs that were never started back to the outbox, without
+     * counting an attempt, so they do not wait for their lease to expire.
+     */
+    @Transactional
+    public void releaseClaims(List<MediaPublishJob> claimed) {
+        for (MediaPublishJob claim : claimed) {
+            findOwned(claim).ifPresent(job -> {
+                job.setStatus(PublishJobStatus.PENDING);
+                job.setLockedUntil(null);
+            });
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Media> findMedia(Long mediaRecordId) {
+        return mediaRepository.findById(mediaRecordId);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<MediaPublishJob> findLatestJob(Long mediaRecordId) {
+        return jobRepository.findFirstByMediaRecordIdOrderByIdDesc(mediaRecordId);
+    }
+
+    @Transactional
+    public void markPublished(MediaPublishJob claimed, String whatsappMediaId) {
+        MediaPublishJob job = findOwned(claimed).orElse(null);
+        if (job == null) {
+            return;
+        }
+        job.setStatus(PublishJobStatus.COMPLETED);
+        job.setAttempts(job.getAttempts() + 1);
+        job.setLockedUntil(null);
+        job.setLastError(null);
+
+        mediaRepository.findById(job.getMediaRecordId()).ifPresent(media -> {
+            media.setMediaId(whatsappMediaId);
+            media.setStatus(MediaStatus.PUBLISHED.name());
+            dedupService.recordWhatsappMediaId(media);
+        });
+        log.info("Publish job {} completed, media {} -> whatsappMediaId={}",
+                job.getId(), job.getMediaRecordId(), whatsappMediaId);
+    }
+
+    /**
+     * Completes a job whose file was too large for {@code /media}. The
+     * resumable-upload handle is kept apart from the media ID: templates
+     * accept it, messages cannot send it.
+     */
+    @Transactional
+    public void markHandleIssued(MediaPublishJob claimed, String uploadHandle) {
+        MediaPublishJob job = findOwned(claimed).orElse(null);
+        if (job == null) {
+            return;
+        }
+        job.setStatus(PublishJobStatus.COMPLETED);
+        job.setAttempts(job.getAttempts() + 1);
+        job.setLockedUntil(null);
+        job.setLastError(null);
+
+        mediaRepository.findById(job.getMediaRecordId()).ifPresent(media -> {
+            media.setUploadHandle(uploadHandle);
+            media.setStatus(MediaStatus.HANDLE_ISSUED.name());
+        });
+        log.info("Publish job {} completed with an upload handle for media {}", job.getId(), job.getMediaRecordId());
+    }
+
+    /**
+     * Records a failed attempt and schedules a retry with exponential backoff,
+     * or gives up once the attempt budget is spent.
+     */
+    @Transactional
+    public void markAttemptFailed(MediaPublishJob claimed, String error) {
+        MediaPublishJob job = findOwned(claimed).orElse(null);
+        if (job == null) {
+            return;
+        }
+        int attempts = job.getAttempts() + 1;
+        job.setAttempts(attempts);
+        job.setLockedUntil(null);
+        job.setLastError(truncate(error));
+
+        if (attempts >= properties.getMaxAttempts()) {
+            job.setStatus(PublishJobStatus.FAILED);
+            mediaRepository.findById(job.getMediaRecordId())
+                    .ifPresent(media -> media.setStatus(MediaStatus.FAILED.name()));
+            log.warn("Publish job {} failed permanently after {} attempts: {}", job.getId(), attempts, error);
+            return;
+        }
+
+        job.setStatus(PublishJobStatus.PENDING);
+        job.setNextAttemptAt(LocalDateTime.now().plus(backoff(attempts)));
+        log.warn("Publish job {} attempt {} failed, retrying at {}: {}",
+                job.getId(), attempts, job.getNextAttemptAt(), error);
+    }
+
+    /**
+     * Closes a job whose media no longer needs publishing (e.g. deleted).
+     */
+    @Transactional
+    public void markSkipped(MediaPublishJob claimed, String reason) {
+        findOwned(claimed).ifPresent(job -> {
+            job.setStatus(PublishJobStatus.COMPLETED);
+            job.setLockedUntil(null);
+            job.setLastError(truncate(reason));
+        });
+    }
+
+    /**
+     * The job, locked, if it is still leased under {@code claimed}'s claim.
+     * Empty when the lease expired and the job was reclaimed or finished
+     * elsewhere; a late completion must not overwrite that outcome.
+     */
+    private Optional<MediaPublishJob> findOwned(MediaPublishJob claimed) {
+        Optional<MediaPublishJob> job = jobRepository.lockById(claimed.getId())
+                .filter(current -> current.getStatus() == PublishJobStatus.IN_PROGRESS
+                        && Objects.equals(current.getLockedUntil(), claimed.getLockedUntil()));
+        if (job.isEmpty()) {
+            log.warn("Ignoring stale result of publish job {}, its lease was lost", claimed.getId());
+        }
+        return job;
+    }
+
+    private Duration backoff(int attempts) {
+        long delay = properties.getInitialBackoffMs() << Math.min(attempts - 1, 20);
+        return Duration.ofMillis(Math.min(delay, properties.getMaxBackoffMs()));
+    }
+
+    private String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private MediaPublishJob newJob(Media media) {
+        return MediaPublishJob.builder()
+                .mediaRecordId(media.getId())
+                .userId(media.getUserId())
+                .organisationId(media.getOrganisationId())
+                .status(PublishJobStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,268 @@
+package com.aigreentick.services.storage.service.impl.quota;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import com.aigreentick.services.storage.client.dto.response.StorageInfo;
+import com.aigreentick.services.storage.client.service.impl.OrganisationClientAdapter;
+import com.aigreentick.services.storage.config.StorageQuotaProperties;
+import com.aigreentick.services.storage.dto.storage.QuotaReservation;
+import com.aigreentick.services.storage.exception.StorageLimitExceedException;
+import com.aigreentick.services.storage.repository.MediaRepository;
+import com.aigreentick.services.storage.validator.ClientValidator;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per-organisation storage quota ledger kept in Redis.
+ *
+ * <p>Each organisation has a hash with {@code limit}, {@code used},
+ * {@code reserved} and {@code syncedAt}, plus a hash of open reservations.
+ * Reserve and settle are single Lua scripts, so concurrent uploads on any
+ * node cannot overshoot the quota. The ledger is reconciled when it is older
+ * than the reconcile interval: the limit comes from the organisation service,
+ * {@code used} is recomputed from this service's media rows, and
+ * reservations that were never settled are dropped.
+ *
+ * <p>If Redis is unavailable, reservations fall back to the remote check in
+ * {@link ClientValidator}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StorageQuotaServiceImpl {
+    private static final String KEY_PREFIX = "storage:quota:";
+    private static final String OK = "OK";
+    private static final String FULL = "FULL";
+    private static final String MISSING = "MISSING";
+
+    // KEYS: ledger, reservations. ARGV: bytes, reservation id, expires-at millis
+    private static final RedisScript<String> RESERVE_SCRIPT = new DefaultRedisScript<>("""
+            local limit = redis.call('HGET', KEYS[1], 'limit')
+            if not limit then return 'MISSING' end
+            local used = tonumber(redis.call('HGET', KEYS[1], 'used') or '0')
+            local reserved = tonumber(redis.call('HGET', KEYS[1], 'reserved') or '0')
+            local remaining = tonumber(limit) - used - reserved
+            local bytes = tonumber(ARGV[1])
+            if bytes > remaining then return 'FULL:' .. remaining end
+            redis.call('HINCRBY', KEYS[1], 'reserved', bytes)
+            redis.call('HSET', KEYS[2], ARGV[2], ARGV[1] .. ':' .. ARGV[3])
+            return 'OK:' .. (remaining - bytes)
+            """, String.class);
+
+    // KEYS: ledger, reservations. ARGV: reservation id, bytes actually stored
+    private static final RedisScript<Long> SETTLE_SCRIPT = new DefaultRedisScript<>("""
+            local entry = redis.call('HGET', KEYS[2], ARGV[1])
+            if not entry then return 0 end
+            redis.call('HDEL', KEYS[2], ARGV[1])
+            if redis.call('HEXISTS', KEYS[1], 'limit') == 0 then return 0 end
+            local reserved = tonumber(string.match(entry, '^(%d+)'))
+            redis.call('HINCRBY', KEYS[1], 'reserved', -reserved)
+            redis.call('HINCRBY', KEYS[1], 'used', tonumber(ARGV[2]))
+            return 1
+            """, Long.class);
+
+    // KEYS: reservations. ARGV: reservation id, expires-at millis
+    private static final RedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>("""
+            local entry = redis.call('HGET', KEYS[1], ARGV[1])
+            if not entry then return 0 end
+            redis.call('HSET', KEYS[1], ARGV[1], string.match(entry, '^(%d+)') .. ':' .. ARGV[2])
+            return 1
+            """, Long.class);
+
+    // KEYS: ledger. ARGV: bytes freed
+    private static final RedisScript<Long> RELEASE_USAGE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('HEXISTS', KEYS[1], 'limit') == 0 then return 0 end
+            local used = tonumber(redis.call('HGET', KEYS[1], 'used') or '0')
+            local freed = math.min(used, tonumber(ARGV[1]))
+            redis.call('HINCRBY', KEYS[1], 'used', -freed)
+            return freed
+            """, Long.class);
+
+    // KEYS: ledger, reservations. ARGV: limit, used, now millis
+    private static final RedisScript<Long> RECONCILE_SCRIPT = new DefaultRedisScript<>("""
+            local reserved = 0
+            local entries = redis.call('HGETALL', KEYS[2])
+            for i = 1, #entries, 2 do
+              local bytes, expiresAt = string.match(entries[i + 1], '^(%d+):(%d+)$')
+              if tonumber(expiresAt) < tonumber(ARGV[3]) then
+                redis.call('HDEL', KEYS[2], entries[i])
+              else
+                reserved = reserved + tonumber(bytes)
+              end
+            end
+            redis.call('HSET', KEYS[1], 'limit', ARGV[1], 'used', ARGV[2], 'reserved', reserved, 'syncedAt', ARGV[3])
+            return reserved
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final OrganisationClientAdapter organisationClient;
+    private final ClientValidator clientValidator;
+    private final StorageQuotaProperties properties;
+    private final MediaRepository mediaRepository;
+
+    /**
+     * Holds {@code bytes} against the organisation's quota.
+     *
+     * @throws StorageLimitExceedException if the quota cannot fit the reservation
+     */
+    public QuotaReservation reserve(Long organisationId, long bytes) {
+        return reserve(organisationId, bytes, Duration.ofSeconds(properties.getReservationTtlSeconds()));
+    }
+
+    /**
+     * Holds {@code bytes} against the organisation's quota for {@code ttl}
+     * instead of the configured reservation TTL. Used by uploads that stay
+     * open longer, such as resumable sessions.
+     *
+     * @throws StorageLimitExceedException if the quota cannot fit the reservation
+     */
+    public QuotaReservation reserve(Long organisationId, long bytes, Duration ttl) {
+        if (!properties.isLedgerEnabled() || organisationId == null) {
+            return checkRemotely(organisationId, bytes);
+        }
+
+        QuotaReservation reservation = new QuotaReservation(UUID.randomUUID().toString(), organisationId, bytes, true);
+        try {
+            if (isStale(organisationId)) {
+                reconcile(organisationId);
+            }
+
+            String outcome = runReserve(reservation, ttl);
+            if (MISSING.equals(outcome)) {
+                reconcile(organisationId);
+                outcome = runReserve(reservation, ttl);
+            }
+
+            if (outcome.startsWith(FULL)) {
+                throw new StorageLimitExceedException("Storage of organisation full only remaining " + remainder(outcome));
+            }
+            if (!outcome.startsWith(OK)) {
+                throw new IllegalStateException("Unexpected quota ledger reply: " + outcome);
+            }
+
+            log.debug("Reserved {} bytes for org {}, remaining {}", bytes, organisationId, remainder(outcome));
+            return reservation;
+
+        } catch (DataAccessException e) {
+            log.warn("Quota ledger unavailable, falling back to organisation service: {}", e.getMessage());
+            return checkRemotely(organisationId, bytes);
+        }
+    }
+
+    /**
+     * Converts the whole reservation into used storage.
+     */
+    public void commit(QuotaReservation reservation) {
+        settle(reservation, reservation.getBytes());
+    }
+
+    /**
+     * Returns the whole reservation to the quota.
+     */
+    public void release(QuotaReservation reservation) {
+        settle(reservation, 0);
+    }
+
+    /**
+     * Pushes the expiry of an open reservation to {@code ttl} from now, so
+     * it outlives reconciles for as long as its upload is active.
+     */
+    public void renew(QuotaReservation reservation, Duration ttl) {
+        if (reservation == null || !reservation.isTracked()) {
+            return;
+        }
+        try {
+            redisTemplate.execute(RENEW_SCRIPT, List.of(keys(reservation.getOrganisationId()).get(1)),
+                    reservation.getId(), String.valueOf(System.currentTimeMillis() + ttl.toMillis()));
+        } catch (DataAccessException e) {
+            log.warn("Failed to renew quota reservation {}: {}", reservation.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the bytes of a deleted stored object to the quota.
+     */
+    public void releaseUsage(Long organisationId, long bytes) {
+        if (!properties.isLedgerEnabled() || organisationId == null || bytes <= 0) {
+            return;
+        }
+        try {
+            redisTemplate.execute(RELEASE_USAGE_SCRIPT, List.of(ledgerKey(organisationId)), String.valueOf(bytes));
+        } catch (DataAccessException e) {
+            // The next reconcile recomputes usage from the media rows
+            log.warn("Failed to release {} bytes for org {}: {}", bytes, organisationId, e.getMessage());
+        }
+    }
+
+    /**
+     * Refreshes the limit from the organisation service, recomputes usage
+     * from the media rows and drops expired reservations. Usage is counted
+     * locally because the organisation service does not see uploads
+     * committed through this ledger.
+     */
+    public void reconcile(Long organisationId) {
+        StorageInfo info = organisationClient.getStorageInfo();
+        long used = mediaRepository.sumStoredBytes(organisationId);
+        Long reserved = redisTemplate.execute(RECONCILE_SCRIPT, keys(organisationId),
+                String.valueOf(info.getMaxStorage()),
+                String.valueOf(used),
+                String.valueOf(System.currentTimeMillis()));
+        log.info("Reconciled quota ledger for org {}: limit={}, used={}, reserved={}",
+                organisationId, info.getMaxStorage(), used, reserved);
+    }
+
+    private void settle(QuotaReservation reservation, long storedBytes) {
+        if (reservation == null || !reservation.isTracked()) {
+            return;
+        }
+        try {
+            redisTemplate.execute(SETTLE_SCRIPT, keys(reservation.getOrganisationId()),
+                    reservation.getId(), String.valueOf(storedBytes));
+        } catch (DataAccessException e) {
+            // The reservation expires and the next reconcile restores exact totals
+            log.warn("Failed to settle quota reservation {}: {}", reservation.getId(), e.getMessage());
+        }
+    }
+
+    private String runReserve(QuotaReservation reservation, Duration ttl) {
+        long expiresAt = System.currentTimeMillis() + ttl.toMillis();
+        return redisTemplate.execute(RESERVE_SCRIPT, keys(reservation.getOrganisationId()),
+                String.valueOf(reservation.getBytes()), reservation.getId(), String.valueOf(expiresAt));
+    }
+
+    private boolean isStale(Long organisationId) {
+        Object syncedAt = redisTemplate.opsForHash().get(ledgerKey(organisationId), "syncedAt");
+        if (syncedAt == null) {
+            return true;
+        }
+        long age = System.currentTimeMillis() - Long.parseLong(syncedAt.toString());
+        return age > Duration.ofSeconds(properties.getReconcileIntervalSeconds()).toMillis();
+    }
+
+    private QuotaReservation checkRemotely(Long organisationId, long bytes) {
+        clientValidator.validateStorageInfo(bytes);
+        return new QuotaReservation(null, organisationId, bytes, false);
+    }
+
+    private String remainder(String outcome) {
+        return outcome.substring(outcome.indexOf(':') + 1);
+    }
+
+    private List<String> keys(Long organisationId) {
+        return List.of(ledgerKey(organisationId), ledgerKey(organisationId) + ":reservations");
+    }
+
+    private String ledgerKey(Long organisationId) {
+        // Hash tag keeps both keys of an organisation on one cluster slot
+        return KEY_PREFIX + "{org-" + organisationId + "}";
+    }
+}
@@ -0,0 +1,131 @@
+package com.aigreentick.services.storage.service.impl.storage;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Copies everything read from the wrapped stream into a cache file. A failed
+ * cache write only stops the copy; the reader never sees it. Whether the copy
+ * is complete, and so worth keeping, is up to the owner.
+ */
+@Slf4j
+final class CachingInputStream extends FilterInputStream {
+    private final Path file;
+    private final OutputStream copy;
+    private final Consumer<CachingInputStream> onClose;
+    private long bytesRead;
+    private boolean reachedEnd;
+    private boolean copyFailed;
+    private boolean closed;
+
+    CachingInputStream(InputStream source, Path file, Consumer<CachingInputStream> onClose) throws IOException {
+        super(source);
+        this.file = file;
+        this.copy = new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024);
+        this.onClose = onClose;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b < 0) {
+            reachedEnd = true;
+        } else {
+            bytesRead++;
+            if (!copyFailed) {
+                try {
+                    copy.write(b);
+                } catch (IOException e) {
+                    failCopy(e);
+                }
+            }
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int read = super.read(buffer, offset, length);
+        if (read < 0) {
+            reachedEnd = true;
+        } else if (read > 0) {
+            bytesRead += read;
+            if (!copyFailed) {
+                try {
+                    copy.write(buffer, offset, read);
+                } catch (IOException e) {
+                    failCopy(e);
+                }
+            }
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        // Skipped bytes would leave a hole in the copy
+        copyFailed = true;
+        return super.skip(n);
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            super.close();
+        } finally {
+            closeCopy();
+            if (onClose != null) {
+                onClose.accept(this);
+            }
+        }
+    }
+
+    /**
+     * Flushes and closes the cache file; safe to call more than once.
+     */
+    void closeCopy() {
+        try {
+            copy.close();
+        } catch (IOException e) {
+            failCopy(e);
+        }
+    }
+
+    Path file() {
+        return file;
+    }
+
+    long bytesRead() {
+        return bytesRead;
+    }
+
+    boolean reachedEnd() {
+        return reachedEnd;
+    }
+
+    boolean copyFailed() {
+        return copyFailed;
+    }
+
+    private void failCopy(IOException e) {
+        log.warn("Cache copy failed, serving without caching: {}", file, e);
+        copyFailed = true;
+    }
+}
@@ -0,0 +1,399 @@
+package com.aigreentick.services.storage.service.impl.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.aigreentick.services.storage.config.provider.TieredStorageProperties;
+import com.aigreentick.services.storage.dto.storage.ObjectStat;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Size-bounded LRU cache of objects on local disk, the hot tier of
+ * {@link TieredStorageProvider}. Files are filled while the object streams
+ * past (on upload or on a remote read) and only become visible once complete.
+ * When the cache grows past its maximum, a background task evicts the least
+ * recently used files down to the low watermark. Files enter and leave the
+ * cache directory only under the index lock, so a commit and an eviction of
+ * the same key cannot interleave; evicted files are renamed away under the
+ * lock and unlinked after it.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "storage.providers.tiered", name = "enabled", havingValue = "true")
+public class LocalDiskCache {
+    private static final String TMP_DIR = ".tmp";
+
+    /**
+     * A cached object; {@code stat} holds the remote attributes once known.
+     */
+    private record Entry(long size, ObjectStat stat) {
+    }
+
+    /**
+     * A fill started by a remote read; revoked when the key is deleted before
+     * the fill commits, so the deleted object is not cached again.
+     */
+    private static final class ReadFill {
+        private boolean revoked;
+    }
+
+    private final TieredStorageProperties properties;
+    private final Path root;
+    private final Map<String, Entry> entries = new LinkedHashMap<>(1024, 0.75f, true);
+    // Guarded by entries, like the index
+    private final Map<String, List<ReadFill>> readFills = new HashMap<>();
+    private final AtomicLong usedBytes = new AtomicLong();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final ExecutorService evictionExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "disk-cache-eviction");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public LocalDiskCache(TieredStorageProperties properties) {
+        this.properties = properties;
+        this.root = Paths.get(properties.getCacheDir()).toAbsolutePath().normalize();
+    }
+
+    /**
+     * Rebuilds the index from disk, oldest files first, and drops partial files.
+     */
+    @PostConstruct
+    void loadIndex() throws IOException {
+        Path tmp = root.resolve(TMP_DIR);
+        Files.createDirectories(tmp);
+        try (Stream<Path> leftovers = Files.list(tmp)) {
+            leftovers.forEach(this::deleteQuietly);
+        }
+
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(root)) {
+            files = new ArrayList<>(paths.filter(path -> !path.startsWith(tmp))
+                    .filter(Files::isRegularFile)
+                    .toList());
+        }
+        files.sort(Comparator.comparing(this::lastModifiedMillis));
+
+        synchronized (entries) {
+            for (Path file : files) {
+                long size = sizeOf(file);
+                entries.put(root.relativize(file).toString().replace('\\', '/'), new Entry(size, null));
+                usedBytes.addAndGet(size);
+            }
+        }
+        log.info("Disk cache loaded: dir={}, objects={}, bytes={}", root, files.size(), usedBytes.get());
+        scheduleEvictionIfFull();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        evictionExecutor.shutdownNow();
+    }
+
+    /**
+     * Opens the cached file of the key and marks it recently used, or returns null.
+     */
+    public InputStream open(String storageKey) {
+        if (!touch(storageKey)) {
+            return null;
+        }
+        try {
+            return Files.newInputStream(pathOf(storageKey));
+        } catch (NoSuchFileException e) {
+            // Evicted between the lookup and the open
+            return null;
+        } catch (IOException e) {
+            log.warn("Failed to open cached object, falling back to remote: {}", storageKey, e);
+            return null;
+        }
+    }
+
+    /**
+     * Path of the cached file of the key if present, marking it recently used.
+     */
+    public Path lookup(String storageKey) {
+        return touch(storageKey) ? pathOf(storageKey) : null;
+    }
+
+    public boolean contains(String storageKey) {
+        synchronized (entries) {
+            return entries.containsKey(storageKey);
+        }
+    }
+
+    /**
+     * Remote attributes recorded for a cached object, or null.
+     */
+    public ObjectStat stat(String storageKey) {
+        synchronized (entries) {
+            Entry entry = entries.get(storageKey);
+            return entry != null ? entry.stat() : null;
+        }
+    }
+
+    public void recordStat(String storageKey, ObjectStat stat) {
+        synchronized (entries) {
+            entries.computeIfPresent(storageKey, (key, entry) -> new Entry(entry.size(), stat));
+        }
+    }
+
+    /**
+     * Wraps a stream so that reading it fills a temporary cache file, to be
+     * passed to {@link #commit} or {@link #discard}. Returns null if no
+     * temporary file can be created.
+     */
+    public CachingInputStream fill(InputStream source) {
+        return fill(source, null);
+    }
+
+    /**
+     * Like {@link #fill(InputStream)}, but the file is cached under the key
+     * as soon as the reader closes the stream after reading it to the end.
+     * The fill is registered before the source is opened, so an
+     * {@link #evict} of the key from then on keeps it out of the cache.
+     */
+    public InputStream fillOnRead(String storageKey, Supplier<InputStream> source, ObjectStat stat) {
+        ReadFill readFill = new ReadFill();
+        synchronized (entries) {
+            readFills.computeIfAbsent(storageKey, key -> new ArrayList<>()).add(readFill);
+        }
+
+        InputStream remote;
+        try {
+            remote = source.get();
+        } catch (RuntimeException e) {
+            endReadFill(storageKey, readFill);
+            throw e;
+        }
+        CachingInputStream caching = fill(remote, tee -> {
+            if (tee.reachedEnd()) {
+                commit(tee, storageKey, stat, readFill);
+            } else {
+                discard(tee);
+            }
+            endReadFill(storageKey, readFill);
+        });
+        if (caching == null) {
+            endReadFill(storageKey, readFill);
+            return remote;
+        }
+        return caching;
+    }
+
+    /**
+     * Moves a complete temporary file into the cache under the key.
+     */
+    public void commit(CachingInputStream tee, String storageKey, ObjectStat stat) {
+        commit(tee, storageKey, stat, null);
+    }
+
+    public void discard(CachingInputStream tee) {
+        tee.closeCopy();
+        deleteQuietly(tee.file());
+    }
+
+    /**
+     * Drops the key because the object was deleted, including read fills of
+     * it still in progress.
+     */
+    public void evict(String storageKey) {
+        Entry removed;
+        Path detached = null;
+        synchronized (entries) {
+            removed = entries.remove(storageKey);
+            List<ReadFill> pending = readFills.remove(storageKey);
+            if (pending != null) {
+                pending.forEach(readFill -> readFill.revoked = true);
+            }
+            if (removed != null) {
+                detached = detach(storageKey);
+            }
+        }
+        if (removed != null) {
+            usedBytes.addAndGet(-removed.size());
+            deleteQuietly(detached);
+        }
+    }
+
+    public long usedBytes() {
+        return usedBytes.get();
+    }
+
+    private void commit(CachingInputStream tee, String storageKey, ObjectStat stat, ReadFill readFill) {
+        tee.closeCopy();
+        if (tee.copyFailed()) {
+            discard(tee);
+            return;
+        }
+        try {
+            Path target = pathOf(storageKey);
+            Files.createDirectories(target.getParent());
+
+            boolean revoked;
+            synchronized (entries) {
+                revoked = readFill != null && readFill.revoked;
+                if (!revoked) {
+                    // A rename within the cache volume; cheap enough to order under the lock
+                    Files.move(tee.file(), target, StandardCopyOption.REPLACE_EXISTING,
+                            StandardCopyOption.ATOMIC_MOVE);
+                    Entry previous = entries.put(storageKey, new Entry(tee.bytesRead(), stat));
+                    usedBytes.addAndGet(tee.bytesRead() - (previous != null ? previous.size() : 0));
+                }
+            }
+            if (revoked) {
+                log.debug("Object deleted while it was being cached, dropping the copy: {}", storageKey);
+                discard(tee);
+                return;
+            }
+            scheduleEvictionIfFull();
+        } catch (IOException e) {
+            log.warn("Failed to add object to disk cache: {}", storageKey, e);
+            discard(tee);
+        }
+    }
+
+    private void endReadFill(String storageKey, ReadFill readFill) {
+        synchronized (entries) {
+            readFills.computeIfPresent(storageKey, (key, pending) -> {
+                pending.remove(readFill);
+                return pending.isEmpty() ? null : pending;
+            });
+        }
+    }
+
+    /**
+     * Renames the cached file of the key out of the cache directory, so a later
+     * commit of the same key is never the file that gets deleted. Called under
+     * the index lock; returns the file to delete once the lock is released.
+     */
+    private Path detach(String storageKey) {
+        Path detached = root.resolve(TMP_DIR).resolve(UUID.randomUUID() + ".evicted");
+        try {
+            Files.move(pathOf(storageKey), detached, StandardCopyOption.ATOMIC_MOVE);
+            return detached;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            log.warn("Failed to detach cache file, deleting in place: {}", storageKey, e);
+            deleteQuietly(pathOf(storageKey));
+            return null;
+        }
+    }
+
+    private CachingInputStream fill(InputStream source, Consumer<CachingInputStream> onClose) {
+        try {
+            Path file = root.resolve(TMP_DIR).resolve(UUID.randomUUID() + ".part");
+            return new CachingInputStream(source, file, onClose);
+        } catch (IOException e) {
+            log.warn("Failed to create cache file, continuing without caching", e);
+            return null;
+        }
+    }
+
+    private boolean touch(String storageKey) {
+        synchronized (entries) {
+            // get() on an access-ordered map moves the entry to the most recent end
+            return entries.get(storageKey) != null;
+        }
+    }
+
+    private void scheduleEvictionIfFull() {
+        if (usedBytes.get() <= properties.getCacheMaxBytes() || !evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            evictionExecutor.execute(() -> {
+                try {
+                    evictToLowWatermark();
+                } finally {
+                    evicting.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            evicting.set(false);
+            log.warn("Failed to schedule disk cache eviction", e);
+        }
+    }
+
+    private void evictToLowWatermark() {
+        long target = (long) (properties.getCacheMaxBytes() * properties.getEvictionLowWatermark());
+        int evicted = 0;
+        while (usedBytes.get() > target) {
+            Entry entry;
+            Path detached;
+            synchronized (entries) {
+                Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+                if (!iterator.hasNext()) {
+                    break;
+                }
+                Map.Entry<String, Entry> next = iterator.next();
+                entry = next.getValue();
+                iterator.remove();
+                detached = detach(next.getKey());
+            }
+            usedBytes.addAndGet(-entry.size());
+            // Open readers keep their file handle; the unlinked file goes once they close
+            deleteQuietly(detached);
+            evicted++;
+        }
+        log.info("Disk cache eviction removed {} objects, {} bytes in use", evicted, usedBytes.get());
+    }
+
+    private Path pathOf(String storageKey) {
+        return root.resolve(storageKey).normalize();
+    }
+
+    private long sizeOf(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private long lastModifiedMillis(Path file) {
+        try {
+            return Files.readAttributes(file, BasicFileAttributes.class).lastModifiedTime().toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete cache file: {}", file, e);
+        }
+    }
+}
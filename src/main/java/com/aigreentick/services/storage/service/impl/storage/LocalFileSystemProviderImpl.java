@@ -7,18 +7,32 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 import com.aigreentick.services.storage.config.provider.LocalStorageProperties;
+import com.aigreentick.services.storage.dto.storage.ObjectStat;
 import com.aigreentick.services.storage.dto.storage.StorageMetadata;
 import com.aigreentick.services.storage.dto.storage.StorageResult;
 import com.aigreentick.services.storage.enums.StorageProviderType;
 import com.aigreentick.services.storage.exception.StorageException;
 import com.aigreentick.services.storage.service.StorageProvider;
+import com.aigreentick.services.storage.util.BoundedInputStream;
+import com.aigreentick.services.storage.util.ParallelKeys;
 
 import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 
 @Slf4j
 @Component
@@ -26,13 +40,25 @@ import java.time.Duration;
 @ConditionalOnProperty(prefix = "storage.providers.local", name = "enabled", havingValue = "true")
 public class LocalFileSystemProviderImpl implements StorageProvider {
     
+    /**
+     * Staging directory for chunked uploads in progress, under the root path.
+     */
+    public static final String CHUNKED_DIR = ".chunked";
+    
+    /**
+     * Lifecycle tiers: the archive volume, and the primary root to move files back.
+     */
+    public static final String ARCHIVE_TIER = "ARCHIVE";
+    public static final String STANDARD_TIER = "STANDARD";
+    
     private final LocalStorageProperties properties;
+    private final LocalPathResolver pathResolver;
     
     @Override
     public StorageResult save(InputStream inputStream, StorageMetadata metadata) throws StorageException {
         try {
             String storageKey = metadata.generateStorageKey();
-            Path filePath = resolveFilePath(storageKey);
+            Path filePath = pathResolver.resolve(storageKey);
             
             // Create directories if they don't exist
             Files.createDirectories(filePath.getParent());
@@ -63,18 +89,103 @@ public class LocalFileSystemProviderImpl implements StorageProvider {
         try {
             Path filePath = resolveFilePath(storageKey);
             
-            if (!Files.exists(filePath)) {
-                throw new StorageException("File not found: " + storageKey, StorageProviderType.LOCAL, storageKey);
-            }
-            
-            return new FileInputStream(filePath.toFile());
+            return Files.newInputStream(filePath);
             
+        } catch (NoSuchFileException e) {
+            throw new StorageException("File not found: " + storageKey, e, StorageProviderType.LOCAL, storageKey);
         } catch (IOException e) {
             log.error("Failed to retrieve file from local storage: {}", storageKey, e);
             throw new StorageException("Failed to retrieve file", e, StorageProviderType.LOCAL, storageKey);
         }
     }
     
+    @Override
+    public InputStream retrieveRange(String storageKey, long offset, long length) throws StorageException {
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(resolveFilePath(storageKey), StandardOpenOption.READ);
+            channel.position(offset);
+            return new BoundedInputStream(Channels.newInputStream(channel), length);
+            
+        } catch (NoSuchFileException e) {
+            throw new StorageException("File not found: " + storageKey, e, StorageProviderType.LOCAL, storageKey);
+        } catch (IOException e) {
+            closeQuietly(channel);
+            log.error("Failed to retrieve range of file from local storage: {}", storageKey, e);
+            throw new StorageException("Failed to retrieve file", e, StorageProviderType.LOCAL, storageKey);
+        }
+    }
+    
+    @Override
+    public long transferRange(String storageKey, long offset, long length, WritableByteChannel target)
+            throws StorageException, IOException {
+        Path filePath = resolveFilePath(storageKey);
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(filePath, StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            throw new StorageException("File not found: " + storageKey, e, StorageProviderType.LOCAL, storageKey);
+        }
+        
+        // transferTo lets the kernel move the bytes when the target allows it
+        try (channel) {
+            long written = 0;
+            while (written < length) {
+                long transferred = channel.transferTo(offset + written, length - written, target);
+                if (transferred <= 0) {
+                    break;
+                }
+                written += transferred;
+            }
+            return written;
+        }
+    }
+    
+    @Override
+    public void download(String storageKey, Path target) throws StorageException, IOException {
+        FileChannel source;
+        try {
+            source = FileChannel.open(resolveFilePath(storageKey), StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            throw new StorageException("File not found: " + storageKey, e, StorageProviderType.LOCAL, storageKey);
+        }
+        
+        // File to file: the copy stays in the kernel
+        try (source; FileChannel destination = FileChannel.open(target, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long size = source.size();
+            long copied = 0;
+            while (copied < size) {
+                long transferred = source.transferTo(copied, size - copied, destination);
+                if (transferred <= 0) {
+                    break;
+                }
+                copied += transferred;
+            }
+        }
+    }
+    
+    @Override
+    public ObjectStat stat(String storageKey) throws StorageException {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(resolveFilePath(storageKey), BasicFileAttributes.class);
+            long modifiedMillis = attributes.lastModifiedTime().toMillis();
+            
+            return ObjectStat.builder()
+                    .storageKey(storageKey)
+                    .size(attributes.size())
+                    .lastModified(attributes.lastModifiedTime().toInstant())
+                    .eTag("\"" + Long.toHexString(attributes.size()) + "-" + Long.toHexString(modifiedMillis) + "\"")
+                    .build();
+            
+        } catch (NoSuchFileException e) {
+            throw new StorageException("File not found: " + storageKey, e, StorageProviderType.LOCAL, storageKey);
+        } catch (IOException e) {
+            log.error("Failed to read attributes of file in local storage: {}", storageKey, e);
+            throw new StorageException("Failed to read file attributes", e, StorageProviderType.LOCAL, storageKey);
+        }
+    }
+    
     @Override
     public boolean delete(String storageKey) throws StorageException {
         try {
@@ -101,18 +212,190 @@ public class LocalFileSystemProviderImpl implements StorageProvider {
         return Files.exists(filePath);
     }
     
+    @Override
+    public boolean transition(String storageKey, String tier) throws StorageException {
+        Path target;
+        if (ARCHIVE_TIER.equalsIgnoreCase(tier) && properties.getArchiveRootPath() != null) {
+            target = pathResolver.archivePath(storageKey);
+        } else if (STANDARD_TIER.equalsIgnoreCase(tier)) {
+            target = pathResolver.resolve(storageKey);
+        } else {
+            return false;
+        }
+        
+        Path source = resolveFilePath(storageKey);
+        if (source.equals(target)) {
+            return true;
+        }
+        try {
+            Files.createDirectories(target.getParent());
+            // The archive is usually another volume, where a move is a copy; readers keep using the source until it is gone
+            Path partial = target.resolveSibling(target.getFileName() + ".part");
+            Files.copy(source, partial, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES);
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (NoSuchFileException e) {
+            throw new StorageException("File not found: " + storageKey, e, StorageProviderType.LOCAL, storageKey);
+        } catch (IOException e) {
+            log.error("Failed to move file to tier {}: {}", tier, storageKey, e);
+            throw new StorageException("Failed to move file to tier " + tier, e, StorageProviderType.LOCAL, storageKey);
+        }
+
+        try {
+            Files.delete(source);
+        } catch (NoSuchFileException e) {
+            // Deleted while it was copied; the copy must not bring the object back
+            log.info("File deleted during move to tier {}, dropping the copy: {}", tier, storageKey);
+            try {
+                Files.deleteIfExists(target);
+            } catch (IOException cleanupFailure) {
+                log.error("Failed to drop tier copy of deleted file: {}", target, cleanupFailure);
+            }
+            throw new StorageException("File not found: " + storageKey, e, StorageProviderType.LOCAL, storageKey);
+        } catch (IOException e) {
+            log.error("Failed to remove source after move to tier {}: {}", tier, storageKey, e);
+            throw new StorageException("Failed to move file to tier " + tier, e, StorageProviderType.LOCAL, storageKey);
+        }
+        log.info("File moved to tier {}: {}", tier, storageKey);
+        return true;
+    }
+    
+    @Override
+    public Set<String> deleteAll(Collection<String> storageKeys) {
+        Set<String> failed = ParallelKeys.filter(storageKeys, properties.getBatchParallelism(), storageKey -> {
+            try {
+                Files.deleteIfExists(resolveFilePath(storageKey));
+                    return false;
+            } catch (IOException | RuntimeException e) {
+                log.error("Failed to delete file from local storage: {}", storageKey, e);
+                return true;
+            }
+        });
+        log.info("Batch delete from local storage: {} keys, {} failed", storageKeys.size(), failed.size());
+        return failed;
+    }
+    
+    @Override
+    public Set<String> existsAll(Collection<String> storageKeys) {
+        return ParallelKeys.filter(storageKeys, properties.getBatchParallelism(), this::exists);
+    }
+    
     @Override
     public String getPublicUrl(String storageKey, Duration expiry) {
         // Local storage doesn't support expiring URLs
         return properties.getBaseUrl() + storageKey;
     }
     
+    @Override
+    public String initiateChunkedUpload(String storageKey, StorageMetadata metadata) throws StorageException {
+        try {
+            String uploadId = UUID.randomUUID().toString();
+            Path partPath = resolveChunkedPath(uploadId);
+            Files.createDirectories(partPath.getParent());
+            Files.createFile(partPath);
+
+            log.info("Chunked upload started: key={}, uploadId={}", storageKey, uploadId);
+            return uploadId;
+
+        } catch (IOException e) {
+            log.error("Failed to start chunked upload for: {}", storageKey, e);
+            throw new StorageException("Failed to start chunked upload", e, StorageProviderType.LOCAL, storageKey);
+        }
+    }
+    
+    @Override
+    public String writeChunk(String storageKey, String uploadId, int partNumber, long offset,
+            InputStream content, long length) throws StorageException {
+        try (FileChannel channel = FileChannel.open(resolveChunkedPath(uploadId), StandardOpenOption.WRITE);
+             ReadableByteChannel source = Channels.newChannel(content)) {
+
+            // Positional write: a resent part overwrites whatever a failed attempt left behind
+            long written = 0;
+            while (written < length) {
+                long transferred = channel.transferFrom(source, offset + written, length - written);
+                if (transferred <= 0) {
+                    break;
+                }
+                written += transferred;
+            }
+
+            if (written != length) {
+                throw new StorageException("Part " + partNumber + " ended after " + written + " of "
+                        + length + " bytes", StorageProviderType.LOCAL, storageKey);
+            }
+            return String.valueOf(written);
+
+        } catch (IOException e) {
+            log.error("Failed to write part {} of: {}", partNumber, storageKey, e);
+            throw new StorageException("Failed to write part " + partNumber, e, StorageProviderType.LOCAL, storageKey);
+        }
+    }
+    
+    @Override
+    public StorageResult completeChunkedUpload(String storageKey, String uploadId, List<String> partTokens,
+            StorageMetadata metadata) throws StorageException {
+        try {
+            Path partPath = resolveChunkedPath(uploadId);
+            long size = Files.size(partPath);
+            if (size != metadata.getFileSize()) {
+                throw new StorageException("Chunked upload has " + size + " of " + metadata.getFileSize()
+                        + " bytes", StorageProviderType.LOCAL, storageKey);
+            }
+
+            Path filePath = pathResolver.resolve(storageKey);
+            Files.createDirectories(filePath.getParent());
+            Files.move(partPath, filePath, StandardCopyOption.REPLACE_EXISTING);
+
+            log.info("Chunked upload completed: key={}, parts={}", storageKey, partTokens.size());
+
+            return StorageResult.builder()
+                    .storageKey(storageKey)
+                    .publicUrl(properties.getBaseUrl() + storageKey)
+                    .provider(StorageProviderType.LOCAL)
+                    .bucket(properties.getRootPath())
+                    .region("local")
+                    .fileSize(metadata.getFileSize())
+                    .contentType(metadata.getContentType())
+                    .build();
+
+        } catch (IOException e) {
+            log.error("Failed to complete chunked upload for: {}", storageKey, e);
+            throw new StorageException("Failed to complete chunked upload", e, StorageProviderType.LOCAL, storageKey);
+        }
+    }
+    
+    @Override
+    public void abortChunkedUpload(String storageKey, String uploadId) throws StorageException {
+        try {
+            Files.deleteIfExists(resolveChunkedPath(uploadId));
+            log.info("Chunked upload aborted: key={}, uploadId={}", storageKey, uploadId);
+
+        } catch (IOException e) {
+            log.error("Failed to abort chunked upload for: {}", storageKey, e);
+            throw new StorageException("Failed to abort chunked upload", e, StorageProviderType.LOCAL, storageKey);
+        }
+    }
+    
     @Override
     public StorageProviderType getProviderType() {
         return StorageProviderType.LOCAL;
     }
     
     private Path resolveFilePath(String storageKey) {
-        return Paths.get(properties.getRootPath(), storageKey).normalize();
+        return pathResolver.resolveExisting(storageKey);
+    }
+    
+    private void closeQuietly(Closeable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            log.debug("Failed to close {}", closeable, e);
+        }
+    }
+    
+    private Path resolveChunkedPath(String uploadId) {
+        return Paths.get(properties.getRootPath(), CHUNKED_DIR, uploadId + ".part").normalize();
     }
 }
\ No newline at end of file
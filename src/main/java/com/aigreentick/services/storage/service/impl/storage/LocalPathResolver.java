@@ -0,0 +1,97 @@
+package com.aigreentick.services.storage.service.impl.storage;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.zip.CRC32;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.aigreentick.services.storage.config.provider.LocalStorageProperties;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Maps storage keys to files under the local root. Keys keep their
+ * {@code org-N/user-M/<type>/<file>} form; on disk the file is placed two
+ * hash-prefix levels below the type directory
+ * ({@code org-N/user-M/<type>/3f/a9/<file>}), so no directory grows past a
+ * few hundred entries. Files written before sharding stay at the key's
+ * literal path and are still found until the migration has moved them.
+ * Files moved to the archive volume keep the sharded layout under its root.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "storage.providers.local", name = "enabled", havingValue = "true")
+public class LocalPathResolver {
+    /**
+     * Depth below the root of a file in the unsharded layout.
+     */
+    public static final int LEGACY_DEPTH = 4;
+
+    private final LocalStorageProperties properties;
+
+    /**
+     * Path a new file for the key is written to.
+     */
+    public Path resolve(String storageKey) {
+        return properties.isShardingEnabled() ? shardedPath(storageKey) : legacyPath(storageKey);
+    }
+
+    /**
+     * Path an existing file for the key is read from: the sharded location,
+     * else the legacy one, else the archive volume, else {@link #resolve} so
+     * "not found" is reported against the current layout.
+     */
+    public Path resolveExisting(String storageKey) {
+        Path sharded = shardedPath(storageKey);
+        if (Files.exists(sharded)) {
+            return sharded;
+        }
+        Path legacy = legacyPath(storageKey);
+        if (Files.exists(legacy)) {
+            return legacy;
+        }
+        if (properties.getArchiveRootPath() != null) {
+            Path archived = archivePath(storageKey);
+            if (Files.exists(archived)) {
+                return archived;
+            }
+        }
+        return resolve(storageKey);
+    }
+
+    public Path legacyPath(String storageKey) {
+        return Paths.get(properties.getRootPath(), storageKey).normalize();
+    }
+
+    public Path shardedPath(String storageKey) {
+        return shardedPath(properties.getRootPath(), storageKey);
+    }
+
+    /**
+     * Path of the key on the archive volume; requires {@code archive-root-path}.
+     */
+    public Path archivePath(String storageKey) {
+        return shardedPath(properties.getArchiveRootPath(), storageKey);
+    }
+
+    private Path shardedPath(String root, String storageKey) {
+        int slash = storageKey.lastIndexOf('/');
+        String directory = slash >= 0 ? storageKey.substring(0, slash) : "";
+        String filename = storageKey.substring(slash + 1);
+        return Paths.get(root, directory, shardPrefix(filename), filename).normalize();
+    }
+
+    /**
+     * Two levels of 256 buckets from a CRC32 of the file name.
+     */
+    static String shardPrefix(String filename) {
+        CRC32 crc = new CRC32();
+        crc.update(filename.getBytes(StandardCharsets.UTF_8));
+        long hash = crc.getValue();
+        return String.format("%02x/%02x", (hash >>> 8) & 0xff, hash & 0xff);
+    }
+}
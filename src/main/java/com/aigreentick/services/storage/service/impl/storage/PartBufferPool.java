@@ -0,0 +1,36 @@
+package com.aigreentick.services.storage.service.impl.storage;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Fixed number of equally sized part buffers shared by concurrent multipart
+ * uploads. Buffers are allocated on first use and reused afterwards; a reader
+ * that finds none free waits, which throttles it to the upload rate.
+ */
+final class PartBufferPool {
+    private final int partSize;
+    private final Semaphore available;
+    private final Queue<byte[]> free = new ConcurrentLinkedQueue<>();
+
+    PartBufferPool(int partSize, int buffers) {
+        this.partSize = partSize;
+        this.available = new Semaphore(buffers);
+    }
+
+    byte[] acquire() throws InterruptedException {
+        available.acquire();
+        byte[] buffer = free.poll();
+        return buffer != null ? buffer : new byte[partSize];
+    }
+
+    void release(byte[] buffer) {
+        free.offer(buffer);
+        available.release();
+    }
+
+    int partSize() {
+        return partSize;
+    }
+}
@@ -0,0 +1,98 @@
+package com.aigreentick.services.storage.service.impl.storage;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.aigreentick.services.storage.config.provider.S3StorageProperties;
+
+/**
+ * In-memory cache of presigned GET URLs, keyed by storage key and expiry
+ * bucket. Requested expiries are rounded up to a multiple of
+ * {@code presigned-url-cache-expiry-bucket-seconds} and URLs are signed for
+ * the rounded expiry, so callers asking for close expiries share one URL.
+ * An entry is reused for the first {@code reuse-fraction} of its lifetime,
+ * so a caller always gets a URL close to the validity it asked for.
+ *
+ * <p>At most {@code max-entries} storage keys are kept; the least recently
+ * used one is dropped when a new key is added.
+ */
+@Component
+@ConditionalOnProperty(prefix = "storage.providers.s3", name = "enabled", havingValue = "true")
+public class PresignedUrlCache {
+    private record Entry(String url, long reuseUntilMillis) {
+    }
+
+    private final S3StorageProperties properties;
+    private final LongSupplier clock;
+    // Access-ordered, guarded by itself: URLs of each storage key by expiry bucket in seconds
+    private final Map<String, Map<Long, Entry>> entries;
+
+    public PresignedUrlCache(S3StorageProperties properties) {
+        this(properties, System::currentTimeMillis);
+    }
+
+    PresignedUrlCache(S3StorageProperties properties, LongSupplier clock) {
+        this.properties = properties;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Map<Long, Entry>> eldest) {
+                return size() > properties.getPresignedUrlCacheMaxEntries();
+            }
+        };
+    }
+
+    /**
+     * Returns a cached URL for the key and expiry bucket, or signs a new one.
+     *
+     * @param signer signs the key for the given expiry, which is {@code expiry}
+     *               rounded up to its bucket
+     */
+    public String get(String storageKey, Duration expiry, Function<Duration, String> signer) {
+        if (!properties.isPresignedUrlCacheEnabled()) {
+            return signer.apply(expiry);
+        }
+
+        long bucketSeconds = bucketSeconds(expiry);
+        long now = clock.getAsLong();
+        synchronized (entries) {
+            Map<Long, Entry> urls = entries.get(storageKey);
+            Entry cached = urls != null ? urls.get(bucketSeconds) : null;
+            if (cached != null && now < cached.reuseUntilMillis()) {
+                return cached.url();
+            }
+        }
+
+        // Signed outside the lock; concurrent misses may both sign and the last one is kept
+        Duration signedExpiry = Duration.ofSeconds(bucketSeconds);
+        String url = signer.apply(signedExpiry);
+        long reuseMillis = (long) (signedExpiry.toMillis() * properties.getPresignedUrlCacheReuseFraction());
+        synchronized (entries) {
+            entries.computeIfAbsent(storageKey, key -> new HashMap<>(2))
+                    .put(bucketSeconds, new Entry(url, now + reuseMillis));
+        }
+        return url;
+    }
+
+    /**
+     * Drops every cached URL of a storage key, e.g. once the object is deleted.
+     */
+    public void invalidate(String storageKey) {
+        synchronized (entries) {
+            entries.remove(storageKey);
+        }
+    }
+
+    private long bucketSeconds(Duration expiry) {
+        long bucket = Math.max(1, properties.getPresignedUrlCacheExpiryBucketSeconds());
+        long seconds = Math.max(1, (expiry.toMillis() + 999) / 1000);
+        return (seconds + bucket - 1) / bucket * bucket;
+    }
+}
@@ -0,0 +1,74 @@
+package com.aigreentick.services.storage.service.impl.storage;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Component;
+
+import com.aigreentick.services.storage.config.provider.LocalStorageProperties;
+import com.aigreentick.services.storage.dto.storage.StorageMetadata;
+import com.aigreentick.services.storage.dto.storage.StorageResult;
+import com.aigreentick.services.storage.enums.StorageProviderType;
+import com.aigreentick.services.storage.exception.StorageException;
+import com.aigreentick.services.storage.service.ReactiveStorageProvider;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes streamed buffers through an {@code AsynchronousFileChannel}, so no
+ * thread waits on the client while the file is being written.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "storage.providers.local", name = "enabled", havingValue = "true")
+public class ReactiveLocalStorageProvider implements ReactiveStorageProvider {
+
+    private final LocalStorageProperties properties;
+    private final LocalPathResolver pathResolver;
+
+    @Override
+    public Mono<StorageResult> save(Flux<DataBuffer> content, StorageMetadata metadata) {
+        String storageKey = metadata.generateStorageKey();
+        Path filePath = pathResolver.resolve(storageKey);
+
+        return Mono.fromCallable(() -> Files.createDirectories(filePath.getParent()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then(DataBufferUtils.write(content, filePath,
+                        StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE))
+                .doOnSuccess(ignored -> log.info("File streamed to local storage: {}", storageKey))
+                .then(Mono.fromSupplier(() -> StorageResult.builder()
+                        .storageKey(storageKey)
+                        .publicUrl(properties.getBaseUrl() + storageKey)
+                        .provider(StorageProviderType.LOCAL)
+                        .bucket(properties.getRootPath())
+                        .region("local")
+                        .fileSize(metadata.getFileSize())
+                        .contentType(metadata.getContentType())
+                        .build()))
+                .onErrorResume(e -> delete(storageKey)
+                        .onErrorResume(ignored -> Mono.just(false))
+                        .then(Mono.error(new StorageException("Failed to stream file to local storage", e,
+                                StorageProviderType.LOCAL, storageKey))));
+    }
+
+    @Override
+    public Mono<Boolean> delete(String storageKey) {
+        return Mono.fromCallable(() -> Files.deleteIfExists(pathResolver.resolveExisting(storageKey)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorMap(e -> new StorageException("Failed to delete file", e, StorageProviderType.LOCAL, storageKey));
+    }
+
+    @Override
+    public StorageProviderType getProviderType() {
+        return StorageProviderType.LOCAL;
+    }
+}
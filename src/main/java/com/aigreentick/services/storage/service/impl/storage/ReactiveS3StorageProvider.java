@@ -0,0 +1,101 @@
+package com.aigreentick.services.storage.service.impl.storage;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Component;
+
+import com.aigreentick.services.storage.config.provider.S3StorageProperties;
+import com.aigreentick.services.storage.dto.storage.StorageMetadata;
+import com.aigreentick.services.storage.dto.storage.StorageResult;
+import com.aigreentick.services.storage.enums.StorageProviderType;
+import com.aigreentick.services.storage.exception.StorageException;
+import com.aigreentick.services.storage.service.ReactiveStorageProvider;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.ObjectCannedACL;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Streams request buffers straight into a single PutObject on the async S3
+ * client. The SDK pulls buffers as it sends them, so client upload speed is
+ * throttled by S3 and nothing is staged on disk or heap.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "storage.providers.s3", name = "enabled", havingValue = "true")
+public class ReactiveS3StorageProvider implements ReactiveStorageProvider {
+
+    private final S3AsyncClient s3AsyncClient;
+    private final S3StorageProvider s3StorageProvider;
+    private final S3StorageProperties properties;
+
+    @Override
+    public Mono<StorageResult> save(Flux<DataBuffer> content, StorageMetadata metadata) {
+        String storageKey = metadata.generateStorageKey();
+
+        PutObjectRequest putRequest = PutObjectRequest.builder()
+                .bucket(properties.getBucket())
+                .key(storageKey)
+                .contentType(metadata.getContentType())
+                .contentLength(metadata.getFileSize())
+                .storageClass(properties.getStorageClass())
+                .acl(ObjectCannedACL.PRIVATE)
+                .metadata(s3StorageProvider.buildMetadata(metadata))
+                .build();
+
+        AsyncRequestBody body = AsyncRequestBody.fromPublisher(content.map(this::toByteBuffer));
+
+        return Mono.fromFuture(() -> s3AsyncClient.putObject(putRequest, body))
+                .doOnSuccess(response -> log.info("File streamed to S3: bucket={}, key={}",
+                        properties.getBucket(), storageKey))
+                .map(response -> StorageResult.builder()
+                        .storageKey(storageKey)
+                        .publicUrl(s3StorageProvider.getPublicUrl(storageKey, null))
+                        .provider(StorageProviderType.S3)
+                        .bucket(properties.getBucket())
+                        .region(properties.getRegion())
+                        .fileSize(metadata.getFileSize())
+                        .contentType(metadata.getContentType())
+                        .build())
+                .onErrorMap(e -> !(e instanceof StorageException),
+                        e -> new StorageException("Failed to stream file to S3", e, StorageProviderType.S3, storageKey));
+    }
+
+    @Override
+    public Mono<Boolean> delete(String storageKey) {
+        DeleteObjectRequest deleteRequest = DeleteObjectRequest.builder()
+                .bucket(properties.getBucket())
+                .key(storageKey)
+                .build();
+
+        return Mono.fromFuture(() -> s3AsyncClient.deleteObject(deleteRequest))
+                .doOnSuccess(response -> log.info("File deleted from S3: {}", storageKey))
+                .thenReturn(true)
+                .onErrorMap(e -> new StorageException("Failed to delete file from S3", e, StorageProviderType.S3, storageKey));
+    }
+
+    @Override
+    public StorageProviderType getProviderType() {
+        return StorageProviderType.S3;
+    }
+
+    private ByteBuffer toByteBuffer(DataBuffer dataBuffer) {
+        try {
+            byte[] bytes = new byte[dataBuffer.readableByteCount()];
+            dataBuffer.read(bytes);
+            return ByteBuffer.wrap(bytes);
+        } finally {
+            DataBufferUtils.release(dataBuffer);
+        }
+    }
+}
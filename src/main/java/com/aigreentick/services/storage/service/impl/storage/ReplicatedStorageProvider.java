@@ -0,0 +1,527 @@
+package com.aigreentick.services.storage.service.impl.storage;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.aigreentick.services.storage.config.UploadPipelineProperties;
+import com.aigreentick.services.storage.config.provider.ReplicatedStorageProperties;
+import com.aigreentick.services.storage.dto.storage.ObjectStat;
+import com.aigreentick.services.storage.dto.storage.ReplicaWritesSettledEvent;
+import com.aigreentick.services.storage.dto.storage.StorageMetadata;
+import com.aigreentick.services.storage.dto.storage.StorageResult;
+import com.aigreentick.services.storage.enums.StorageProviderType;
+import com.aigreentick.services.storage.exception.StorageException;
+import com.aigreentick.services.storage.service.StorageProvider;
+import com.aigreentick.services.storage.util.StreamTee;
+
+import jakarta.annotation.PreDestroy;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps every object on several providers, e.g. local NAS and S3. Uploads are
+ * read once and streamed to all replicas in parallel; the upload is
+ * acknowledged as soon as {@code write-quorum} replicas hold it and the rest
+ * finish in the background. A replica that falls behind is detached and
+ * later filled in by the repair job. Reads go to the fastest healthy replica
+ * and fail over to the others. Select it with
+ * {@code storage.active-provider=replicated}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "storage.providers.replicated", name = "enabled", havingValue = "true")
+public class ReplicatedStorageProvider implements StorageProvider {
+    private static final double LATENCY_SMOOTHING = 0.2;
+
+    private final ReplicatedStorageProperties properties;
+    private final UploadPipelineProperties pipelineProperties;
+    // Resolved lazily: the active provider bean is built from the same list this provider belongs to
+    private final ObjectProvider<StorageProvider> storageProviders;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private volatile List<Replica> replicas;
+
+    /**
+     * Fails startup on a replica list that names a disabled provider.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    void validateReplicas() {
+        log.info("Replicated storage over {} with write quorum {}",
+                replicaTypes(), properties.getWriteQuorum());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    @Override
+    public StorageResult save(InputStream inputStream, StorageMetadata metadata) throws StorageException {
+        List<Replica> targets = replicas();
+        String storageKey = metadata.generateStorageKey();
+        StorageMetadata replicaMetadata = metadata.toBuilder().storageKey(storageKey).build();
+
+        StreamTee tee = new StreamTee(inputStream, targets.size(),
+                pipelineProperties.getChunkSizeBytes(),
+                pipelineProperties.getMaxBufferedChunks(),
+                Duration.ofMillis(properties.getStallTimeoutMs()));
+        Quorum quorum = new Quorum(properties.getWriteQuorum(), targets.size());
+
+        List<CompletableFuture<StorageResult>> writes = new ArrayList<>(targets.size());
+        for (int i = 0; i < targets.size(); i++) {
+            Replica replica = targets.get(i);
+            InputStream branch = tee.branch(i);
+            CompletableFuture<StorageResult> write = CompletableFuture.supplyAsync(
+                    () -> write(replica, branch, replicaMetadata), executor);
+            write.whenComplete((result, error) -> quorum.record(error));
+            writes.add(write);
+        }
+        tee.start(executor);
+
+        try {
+            quorum.reached().get();
+            // The caller may hash or close the source once this returns
+            tee.drained().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abandon(tee, targets, writes, storageKey);
+            throw new StorageException("Interrupted while replicating file", e, StorageProviderType.REPLICATED,
+                    storageKey);
+        } catch (ExecutionException e) {
+            abandon(tee, targets, writes, storageKey);
+            throw new StorageException("Write quorum not reached for " + storageKey, e.getCause(),
+                    StorageProviderType.REPLICATED, storageKey);
+        }
+
+        StorageResult result = replicatedResult(storageKey, targets, writes);
+        log.info("File replicated: key={}, replicas={}", storageKey, result.getReplicas());
+        if (result.getReplicas().size() < targets.size()) {
+            recordWhenSettled(storageKey, targets, writes, result.getReplicas());
+        }
+        return result;
+    }
+
+    @Override
+    public InputStream retrieve(String storageKey) throws StorageException {
+        return readFromFastest(storageKey, provider -> provider.retrieve(storageKey));
+    }
+
+    @Override
+    public InputStream retrieveRange(String storageKey, long offset, long length) throws StorageException {
+        return readFromFastest(storageKey, provider -> provider.retrieveRange(storageKey, offset, length));
+    }
+
+    @Override
+    public ObjectStat stat(String storageKey) throws StorageException {
+        return readFromFastest(storageKey, provider -> provider.stat(storageKey));
+    }
+
+    @Override
+    public boolean delete(String storageKey) throws StorageException {
+        boolean deleted = false;
+        StorageException failure = null;
+        for (Replica replica : replicas()) {
+            try {
+                deleted |= replica.provider().delete(storageKey);
+            } catch (StorageException e) {
+                log.warn("Failed to delete {} from replica {}", storageKey, replica.type(), e);
+                failure = e;
+            }
+        }
+        if (!deleted && failure != null) {
+            throw new StorageException("Failed to delete file from any replica", failure,
+                    StorageProviderType.REPLICATED, storageKey);
+        }
+        return deleted;
+    }
+
+    @Override
+    public boolean exists(String storageKey) {
+        return replicas().stream().anyMatch(replica -> replica.provider().exists(storageKey));
+    }
+
+    /**
+     * Moves every replica that offers the tier; the others keep their copy as is.
+     */
+    @Override
+    public boolean transition(String storageKey, String tier) throws StorageException {
+        boolean moved = false;
+        for (Replica replica : replicas()) {
+            moved |= replica.provider().transition(storageKey, tier);
+        }
+        return moved;
+    }
+
+    /**
+     * A key counts as failed while any replica still holds it.
+     */
+    @Override
+    public Set<String> deleteAll(Collection<String> storageKeys) {
+        Set<String> failed = new LinkedHashSet<>();
+        for (Replica replica : replicas()) {
+            failed.addAll(replica.provider().deleteAll(storageKeys));
+        }
+        return failed;
+    }
+
+    @Override
+    public Set<String> existsAll(Collection<String> storageKeys) {
+        Set<String> existing = new LinkedHashSet<>();
+        Set<String> remaining = new LinkedHashSet<>(storageKeys);
+        for (Replica replica : ranked()) {
+            if (remaining.isEmpty()) {
+                break;
+            }
+            Set<String> found = replica.provider().existsAll(remaining);
+            existing.addAll(found);
+            remaining.removeAll(found);
+        }
+        return existing;
+    }
+
+    @Override
+    public String getPublicUrl(String storageKey, Duration expiry) {
+        List<Replica> ranked = ranked();
+        Replica holder = ranked.stream()
+                .filter(replica -> replica.provider().exists(storageKey))
+                .findFirst()
+                .orElse(ranked.get(0));
+        return holder.provider().getPublicUrl(storageKey, expiry);
+    }
+
+    /**
+     * Chunked uploads are assembled on the first replica only; the repair job
+     * copies them to the others.
+     */
+    @Override
+    public String initiateChunkedUpload(String storageKey, StorageMetadata metadata) throws StorageException {
+        return primary().provider().initiateChunkedUpload(storageKey, metadata);
+    }
+
+    @Override
+    public String writeChunk(String storageKey, String uploadId, int partNumber, long offset,
+            InputStream content, long length) throws StorageException {
+        return primary().provider().writeChunk(storageKey, uploadId, partNumber, offset, content, length);
+    }
+
+    @Override
+    public StorageResult completeChunkedUpload(String storageKey, String uploadId, List<String> partTokens,
+            StorageMetadata metadata) throws StorageException {
+        Replica primary = primary();
+        StorageResult result = primary.provider().completeChunkedUpload(storageKey, uploadId, partTokens, metadata);
+        result.setProvider(StorageProviderType.REPLICATED);
+        result.setReplicas(List.of(primary.type()));
+        return result;
+    }
+
+    @Override
+    public void abortChunkedUpload(String storageKey, String uploadId) throws StorageException {
+        primary().provider().abortChunkedUpload(storageKey, uploadId);
+    }
+
+    @Override
+    public StorageProviderType getProviderType() {
+        return StorageProviderType.REPLICATED;
+    }
+
+    /**
+     * Configured replicas, in configured order.
+     */
+    public List<StorageProviderType> replicaTypes() {
+        return replicas().stream().map(Replica::type).toList();
+    }
+
+    /**
+     * Copies an object to every replica that does not hold it.
+     * @param metadata metadata of the object, with {@code storageKey} set
+     * @return replicas holding the object afterwards, in configured order
+     */
+    public List<StorageProviderType> repair(StorageMetadata metadata) {
+        String storageKey = metadata.getStorageKey();
+        List<Replica> holding = new ArrayList<>();
+        List<Replica> missing = new ArrayList<>();
+        for (Replica replica : ranked()) {
+            (replica.provider().exists(storageKey) ? holding : missing).add(replica);
+        }
+        if (holding.isEmpty()) {
+            log.error("No replica holds {}, cannot repair", storageKey);
+            return List.of();
+        }
+
+        Replica source = holding.get(0);
+        for (Replica target : missing) {
+            try (InputStream content = source.provider().retrieve(storageKey)) {
+                target.provider().save(content, metadata);
+                holding.add(target);
+                log.info("Repaired replica {} of {} from {}", target.type(), storageKey, source.type());
+            } catch (StorageException | IOException e) {
+                log.warn("Failed to repair replica {} of {}", target.type(), storageKey, e);
+            }
+        }
+        return replicas().stream().filter(holding::contains).map(Replica::type).toList();
+    }
+
+    private StorageResult write(Replica replica, InputStream branch, StorageMetadata metadata) {
+        try {
+            StorageResult result = replica.provider().save(branch, metadata);
+            replica.succeeded();
+            return result;
+        } catch (RuntimeException e) {
+            replica.failed(properties.getFailureThreshold(), properties.getFailureCooldownMs());
+            log.warn("Replica {} did not store {}: {}", replica.type(), metadata.getStorageKey(), e.getMessage());
+            throw e;
+        } finally {
+            closeQuietly(branch);
+        }
+    }
+
+    /**
+     * Stops feeding the replicas and, once the writes settle, removes the
+     * copies that made it so a failed upload leaves nothing behind.
+     */
+    private void abandon(StreamTee tee, List<Replica> targets, List<CompletableFuture<StorageResult>> writes,
+            String storageKey) {
+        tee.close();
+        CompletableFuture.allOf(writes.toArray(CompletableFuture[]::new)).whenComplete((ignored, error) -> {
+            for (int i = 0; i < writes.size(); i++) {
+                if (writes.get(i).state() == Future.State.SUCCESS) {
+                    try {
+                        targets.get(i).provider().delete(storageKey);
+                    } catch (StorageException e) {
+                        log.warn("Failed to remove partial replica {} of {}", targets.get(i).type(), storageKey, e);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * The upload was acknowledged before every replica finished; once they
+     * all have, announces the replicas that ended up holding the object if
+     * late writes changed that set.
+     */
+    private void recordWhenSettled(String storageKey, List<Replica> targets,
+            List<CompletableFuture<StorageResult>> writes, List<StorageProviderType> acknowledged) {
+        log.warn("File {} acknowledged on {} of {} replicas", storageKey, acknowledged.size(), targets.size());
+        CompletableFuture.allOf(writes.toArray(CompletableFuture[]::new)).whenComplete((ignored, error) -> {
+            List<StorageProviderType> settled = stored(targets, writes);
+            if (!settled.equals(acknowledged)) {
+                eventPublisher.publishEvent(new ReplicaWritesSettledEvent(storageKey, settled));
+            }
+        });
+    }
+
+    private List<StorageProviderType> stored(List<Replica> targets, List<CompletableFuture<StorageResult>> writes) {
+        List<StorageProviderType> stored = new ArrayList<>();
+        for (int i = 0; i < writes.size(); i++) {
+            if (writes.get(i).state() == Future.State.SUCCESS) {
+                stored.add(targets.get(i).type());
+            }
+        }
+        return stored;
+    }
+
+    private StorageResult replicatedResult(String storageKey, List<Replica> targets,
+            List<CompletableFuture<StorageResult>> writes) {
+        List<StorageProviderType> stored = stored(targets, writes);
+        StorageResult first = writes.stream()
+                .filter(write -> write.state() == Future.State.SUCCESS)
+                .findFirst()
+                .map(CompletableFuture::resultNow)
+                .orElseThrow();
+        return StorageResult.builder()
+                .storageKey(storageKey)
+                .publicUrl(first.getPublicUrl())
+                .provider(StorageProviderType.REPLICATED)
+                .bucket(first.getBucket())
+                .region(first.getRegion())
+                .fileSize(first.getFileSize())
+                .contentType(first.getContentType())
+                .replicas(stored)
+                .build();
+    }
+
+    /**
+     * Runs a read against replicas from fastest to slowest, failing over on
+     * errors. Unhealthy replicas are tried last rather than skipped.
+     */
+    private <T> T readFromFastest(String storageKey, Function<StorageProvider, T> read) {
+        StorageException lastFailure = null;
+        for (Replica replica : ranked()) {
+            long started = System.nanoTime();
+            try {
+                T result = read.apply(replica.provider());
+                replica.succeeded(System.nanoTime() - started);
+                return result;
+            } catch (StorageException e) {
+                replica.failed(properties.getFailureThreshold(), properties.getFailureCooldownMs());
+                log.debug("Replica {} could not serve {}: {}", replica.type(), storageKey, e.getMessage());
+                lastFailure = e;
+            }
+        }
+        throw new StorageException("File not available on any replica: " + storageKey, lastFailure,
+                StorageProviderType.REPLICATED, storageKey);
+    }
+
+    private List<Replica> ranked() {
+        long now = System.currentTimeMillis();
+        return replicas().stream()
+                .sorted(Comparator.comparing((Replica replica) -> !replica.healthy(now))
+                        .thenComparingDouble(Replica::latencyMillis))
+                .toList();
+    }
+
+    private Replica primary() {
+        return replicas().get(0);
+    }
+
+    private List<Replica> replicas() {
+        List<Replica> resolved = replicas;
+        if (resolved == null) {
+            synchronized (this) {
+                resolved = replicas;
+                if (resolved == null) {
+                    resolved = resolveReplicas();
+                    replicas = resolved;
+                }
+            }
+        }
+        return resolved;
+    }
+
+    private List<Replica> resolveReplicas() {
+        Map<String, StorageProvider> available = storageProviders.orderedStream()
+                .filter(provider -> provider.getProviderType() != StorageProviderType.REPLICATED)
+                .collect(Collectors.toMap(
+                        provider -> provider.getProviderType().name().toLowerCase(),
+                        Function.identity(),
+                        (first, second) -> first));
+
+        List<Replica> resolved = new ArrayList<>();
+        for (String name : properties.getReplicas()) {
+            StorageProvider provider = available.get(name.toLowerCase());
+            if (provider == null) {
+                log.error("Replica provider '{}' not found. Available providers: {}", name, available.keySet());
+                throw new IllegalStateException("Replica provider not configured: " + name);
+            }
+            resolved.add(new Replica(provider));
+        }
+        if (properties.getWriteQuorum() < 1 || properties.getWriteQuorum() > resolved.size()) {
+            throw new IllegalStateException("Write quorum must be between 1 and " + resolved.size()
+                    + ", was " + properties.getWriteQuorum());
+        }
+        return List.copyOf(resolved);
+    }
+
+    private void closeQuietly(InputStream stream) {
+        try {
+            stream.close();
+        } catch (IOException e) {
+            log.debug("Failed to close replica stream", e);
+        }
+    }
+
+    /**
+     * Completes once enough writes succeeded, or fails once too many failed
+     * for that to happen.
+     */
+    private static final class Quorum {
+        private final int required;
+        private final int total;
+        private final AtomicInteger succeeded = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final CompletableFuture<Void> reached = new CompletableFuture<>();
+
+        Quorum(int required, int total) {
+            this.required = required;
+            this.total = total;
+        }
+
+        void record(Throwable error) {
+            if (error == null) {
+                if (succeeded.incrementAndGet() >= required) {
+                    reached.complete(null);
+                }
+            } else if (failed.incrementAndGet() > total - required) {
+                reached.completeExceptionally(error instanceof CompletionException ? error.getCause() : error);
+            }
+        }
+
+        CompletableFuture<Void> reached() {
+            return reached;
+        }
+    }
+
+    /**
+     * A replica with its smoothed read latency and failure streak.
+     */
+    private static final class Replica {
+        private final StorageProvider provider;
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private volatile double latencyMillis;
+        private volatile long unhealthyUntilMillis;
+
+        Replica(StorageProvider provider) {
+            this.provider = provider;
+        }
+
+        StorageProvider provider() {
+            return provider;
+        }
+
+        StorageProviderType type() {
+            return provider.getProviderType();
+        }
+
+        double latencyMillis() {
+            return latencyMillis;
+        }
+
+        boolean healthy(long nowMillis) {
+            return nowMillis >= unhealthyUntilMillis;
+        }
+
+        void succeeded() {
+            consecutiveFailures.set(0);
+            unhealthyUntilMillis = 0;
+        }
+
+        void succeeded(long latencyNanos) {
+            succeeded();
+            double sample = latencyNanos / 1_000_000.0;
+            double current = latencyMillis;
+            latencyMillis = current == 0 ? sample : current + LATENCY_SMOOTHING * (sample - current);
+        }
+
+        void failed(int threshold, long cooldownMillis) {
+            if (consecutiveFailures.incrementAndGet() >= threshold) {
+                unhealthyUntilMillis = System.currentTimeMillis() + cooldownMillis;
+            }
+        }
+    }
+}
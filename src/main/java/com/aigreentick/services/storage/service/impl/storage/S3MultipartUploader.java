@@ -0,0 +1,220 @@
+package com.aigreentick.services.storage.service.impl.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.aigreentick.services.storage.config.provider.S3StorageProperties;
+
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.ObjectCannedACL;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+
+/**
+ * Streams an object of known or unknown length to S3 in parallel parts.
+ * The stream is read on the calling thread into pooled part buffers, and up
+ * to {@code multipart-max-concurrency} parts per upload are sent on the
+ * shared upload executor. A stream that fits in one part is sent as a single
+ * PutObject, so short bodies of unknown length pay no multipart overhead.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "storage.providers.s3", name = "enabled", havingValue = "true")
+public class S3MultipartUploader {
+    private static final String PART_CONTENT_TYPE = "application/octet-stream";
+
+    private final S3Client s3Client;
+    private final S3StorageProperties properties;
+    private final Executor uploadExecutor;
+    private final PartBufferPool bufferPool;
+
+    public S3MultipartUploader(S3Client s3Client, S3StorageProperties properties,
+            @Qualifier("s3UploadExecutor") Executor uploadExecutor) {
+        this.s3Client = s3Client;
+        this.properties = properties;
+        this.uploadExecutor = uploadExecutor;
+        this.bufferPool = new PartBufferPool(Math.toIntExact(properties.getMultipartPartSizeBytes()),
+                properties.getMultipartBufferPoolSize());
+    }
+
+    /**
+     * Uploads the stream to the key until end of stream.
+     *
+     * @return number of bytes stored
+     */
+    public long upload(String storageKey, InputStream content, String contentType, Map<String, String> metadata)
+            throws IOException, InterruptedException {
+        byte[] first = bufferPool.acquire();
+        int firstLength;
+        try {
+            firstLength = content.readNBytes(first, 0, first.length);
+        } catch (IOException e) {
+            bufferPool.release(first);
+            throw e;
+        }
+
+        if (firstLength < bufferPool.partSize()) {
+            try {
+                putSingle(storageKey, first, firstLength, contentType, metadata);
+                return firstLength;
+            } finally {
+                bufferPool.release(first);
+            }
+        }
+
+        String uploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                .bucket(properties.getBucket())
+                .key(storageKey)
+                .contentType(contentType)
+                .acl(ObjectCannedACL.PRIVATE)
+                .storageClass(properties.getStorageClass())
+                .metadata(metadata)
+                .build()).uploadId();
+
+        Semaphore inFlight = new Semaphore(properties.getMultipartMaxConcurrency());
+        List<CompletableFuture<CompletedPart>> parts = new ArrayList<>();
+        try {
+            byte[] buffer = first;
+            int length = firstLength;
+            long total = 0;
+
+            while (true) {
+                try {
+                    inFlight.acquire();
+                } catch (InterruptedException e) {
+                    bufferPool.release(buffer);
+                    throw e;
+                }
+                parts.add(sendPart(storageKey, uploadId, parts.size() + 1, buffer, length, inFlight));
+                total += length;
+                if (length < bufferPool.partSize()) {
+                    break;
+                }
+                failFast(parts);
+
+                buffer = bufferPool.acquire();
+                try {
+                    length = content.readNBytes(buffer, 0, buffer.length);
+                } catch (IOException e) {
+                    bufferPool.release(buffer);
+                    throw e;
+                }
+                if (length == 0) {
+                    bufferPool.release(buffer);
+                    break;
+                }
+            }
+
+            List<CompletedPart> completed = parts.stream().map(CompletableFuture::join).toList();
+            s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(properties.getBucket())
+                    .key(storageKey)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(completed).build())
+                    .build());
+
+            log.info("Multipart upload completed: key={}, parts={}, bytes={}", storageKey, completed.size(), total);
+            return total;
+
+        } catch (CompletionException e) {
+            abort(storageKey, uploadId, parts);
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        } catch (Exception e) {
+            abort(storageKey, uploadId, parts);
+            throw e;
+        }
+    }
+
+    private void putSingle(String storageKey, byte[] buffer, int length, String contentType,
+            Map<String, String> metadata) {
+        PutObjectRequest putRequest = PutObjectRequest.builder()
+                .bucket(properties.getBucket())
+                .key(storageKey)
+                .contentType(contentType)
+                .contentLength((long) length)
+                .storageClass(properties.getStorageClass())
+                .acl(ObjectCannedACL.PRIVATE)
+                .metadata(metadata)
+                .build();
+
+        s3Client.putObject(putRequest,
+                RequestBody.fromContentProvider(() -> new ByteArrayInputStream(buffer, 0, length), length, contentType));
+    }
+
+    private CompletableFuture<CompletedPart> sendPart(String storageKey, String uploadId, int partNumber,
+            byte[] buffer, int length, Semaphore inFlight) {
+        CompletableFuture<CompletedPart> part;
+        try {
+            part = CompletableFuture.supplyAsync(() -> {
+                // A content provider, unlike fromBytes, re-reads the pooled buffer on retry without copying it
+                UploadPartRequest partRequest = UploadPartRequest.builder()
+                        .bucket(properties.getBucket())
+                        .key(storageKey)
+                        .uploadId(uploadId)
+                        .partNumber(partNumber)
+                        .contentLength((long) length)
+                        .build();
+                UploadPartResponse response = s3Client.uploadPart(partRequest,
+                        RequestBody.fromContentProvider(() -> new ByteArrayInputStream(buffer, 0, length), length,
+                                PART_CONTENT_TYPE));
+                return CompletedPart.builder().partNumber(partNumber).eTag(response.eTag()).build();
+            }, uploadExecutor);
+        } catch (RuntimeException e) {
+            bufferPool.release(buffer);
+            inFlight.release();
+            throw e;
+        }
+        return part.whenComplete((completed, error) -> {
+            bufferPool.release(buffer);
+            inFlight.release();
+        });
+    }
+
+    /**
+     * Stops reading as soon as any part has failed instead of at the end.
+     */
+    private void failFast(List<CompletableFuture<CompletedPart>> parts) {
+        for (CompletableFuture<CompletedPart> part : parts) {
+            if (part.isCompletedExceptionally()) {
+                part.join();
+            }
+        }
+    }
+
+    private void abort(String storageKey, String uploadId, List<CompletableFuture<CompletedPart>> parts) {
+        // Parts still in flight would otherwise land after the abort and be billed as orphans
+        CompletableFuture.allOf(parts.toArray(CompletableFuture[]::new)).handle((ignored, error) -> null).join();
+        try {
+            s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(properties.getBucket())
+                    .key(storageKey)
+                    .uploadId(uploadId)
+                    .build());
+            log.warn("Multipart upload aborted: key={}, uploadId={}", storageKey, uploadId);
+        } catch (Exception e) {
+            log.error("Failed to abort multipart upload, parts left for the bucket lifecycle rule: key={}, uploadId={}",
+                    storageKey, uploadId, e);
+        }
+    }
+
+}
@@ -6,49 +6,61 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 import com.aigreentick.services.storage.config.provider.S3StorageProperties;
+import com.aigreentick.services.storage.dto.storage.ObjectStat;
 import com.aigreentick.services.storage.dto.storage.StorageMetadata;
 import com.aigreentick.services.storage.dto.storage.StorageResult;
 import com.aigreentick.services.storage.enums.StorageProviderType;
 import com.aigreentick.services.storage.exception.StorageException;
 import com.aigreentick.services.storage.service.StorageProvider;
+import com.aigreentick.services.storage.util.ParallelKeys;
 
-import software.amazon.awssdk.core.async.AsyncRequestBody;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.*;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
 import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
-import software.amazon.awssdk.transfer.s3.S3TransferManager;
-import software.amazon.awssdk.transfer.s3.model.CompletedUpload;
-import software.amazon.awssdk.transfer.s3.model.Upload;
-import software.amazon.awssdk.transfer.s3.model.UploadRequest;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 @ConditionalOnProperty(prefix = "storage.providers.s3", name = "enabled", havingValue = "true")
 public class S3StorageProvider implements StorageProvider {
+    private static final int DELETE_OBJECTS_MAX_KEYS = 1000;
+    // Classes that serve GETs directly; GLACIER and DEEP_ARCHIVE need a restore first
+    private static final Set<String> INSTANT_RETRIEVAL_CLASSES = Set.of(
+            "STANDARD", "STANDARD_IA", "ONEZONE_IA", "INTELLIGENT_TIERING", "GLACIER_IR");
 
     private final S3Client s3Client;
-    private final S3TransferManager transferManager;
+    private final S3MultipartUploader multipartUploader;
     private final S3StorageProperties properties;
+    private final S3Presigner s3Presigner;
+    private final PresignedUrlCache presignedUrlCache;
 
     @Override
     public StorageResult save(InputStream inputStream, StorageMetadata metadata) throws StorageException {
         try {
             String storageKey = metadata.generateStorageKey();
 
-            // Determine upload strategy based on file size
-            if (metadata.getFileSize() < properties.getMultipartThresholdBytes()) {
+            // Determine upload strategy based on file size; a stream of unknown length is sent in parts
+            Long declaredSize = metadata.getFileSize();
+            long storedBytes;
+            if (declaredSize != null && declaredSize >= 0 && declaredSize < properties.getMultipartThresholdBytes()) {
                 uploadSmallFile(inputStream, storageKey, metadata);
+                storedBytes = declaredSize;
             } else {
-                uploadLargeFile(inputStream, storageKey, metadata);
+                storedBytes = uploadLargeFile(inputStream, storageKey, metadata);
             }
 
             log.info("File uploaded to S3: bucket={}, key={}", properties.getBucket(), storageKey);
@@ -59,10 +71,13 @@ public class S3StorageProvider implements StorageProvider {
                     .provider(StorageProviderType.S3)
                     .bucket(properties.getBucket())
                     .region(properties.getRegion())
-                    .fileSize(metadata.getFileSize())
+                    .fileSize(storedBytes)
                     .contentType(metadata.getContentType())
                     .build();
 
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StorageException("Interrupted while uploading file to S3", e, StorageProviderType.S3);
         } catch (Exception e) {
             log.error("Failed to upload file to S3", e);
             throw new StorageException("Failed to upload file to S3", e, StorageProviderType.S3);
@@ -85,33 +100,41 @@ public class S3StorageProvider implements StorageProvider {
         s3Client.putObject(putRequest, RequestBody.fromInputStream(inputStream, metadata.getFileSize()));
     }
 
-    private void uploadLargeFile(InputStream inputStream, String storageKey, StorageMetadata metadata) {
-        Map<String, String> metadataMap = buildMetadata(metadata);
+    private long uploadLargeFile(InputStream inputStream, String storageKey, StorageMetadata metadata)
+            throws IOException, InterruptedException {
+        return multipartUploader.upload(storageKey, inputStream, metadata.getContentType(), buildMetadata(metadata));
+    }
 
-        UploadRequest uploadRequest = UploadRequest.builder()
-                .putObjectRequest(req -> req
-                        .bucket(properties.getBucket())
-                        .key(storageKey)
-                        .contentType(metadata.getContentType())
-                        .acl(ObjectCannedACL.PRIVATE)
-                        .storageClass(properties.getStorageClass())
-                        .metadata(metadataMap))
-                .requestBody(AsyncRequestBody.fromInputStream(inputStream, metadata.getFileSize(), null))
-                .build();
+    @Override
+    public InputStream retrieve(String storageKey) throws StorageException {
+        try {
+            GetObjectRequest getRequest = GetObjectRequest.builder()
+                    .bucket(properties.getBucket())
+                    .key(storageKey)
+                    .build();
 
-        Upload upload = transferManager.upload(uploadRequest);
-        @SuppressWarnings("unused")
-        CompletedUpload completed = upload.completionFuture().join();
+            return s3Client.getObject(getRequest);
 
-        log.info("Multipart upload completed for key: {}", storageKey);
+        } catch (NoSuchKeyException e) {
+            log.error("File not found in S3: {}", storageKey);
+            throw new StorageException("File not found in S3: " + storageKey, e, StorageProviderType.S3, storageKey);
+        } catch (Exception e) {
+            log.error("Failed to retrieve file from S3: {}", storageKey, e);
+            throw new StorageException("Failed to retrieve file from S3", e, StorageProviderType.S3, storageKey);
+        }
     }
 
     @Override
-    public InputStream retrieve(String storageKey) throws StorageException {
+    public InputStream retrieveRange(String storageKey, long offset, long length) throws StorageException {
+        // "bytes=0--1" is not a range S3 can answer; an empty range needs no request
+        if (length <= 0) {
+            return InputStream.nullInputStream();
+        }
         try {
             GetObjectRequest getRequest = GetObjectRequest.builder()
                     .bucket(properties.getBucket())
                     .key(storageKey)
+                    .range("bytes=" + offset + "-" + (offset + length - 1))
                     .build();
 
             return s3Client.getObject(getRequest);
@@ -120,11 +143,35 @@ public class S3StorageProvider implements StorageProvider {
             log.error("File not found in S3: {}", storageKey);
             throw new StorageException("File not found in S3: " + storageKey, e, StorageProviderType.S3, storageKey);
         } catch (Exception e) {
-            log.error("Failed to retrieve file from S3: {}", storageKey, e);
+            log.error("Failed to retrieve range of file from S3: {}", storageKey, e);
             throw new StorageException("Failed to retrieve file from S3", e, StorageProviderType.S3, storageKey);
         }
     }
 
+    @Override
+    public ObjectStat stat(String storageKey) throws StorageException {
+        try {
+            HeadObjectResponse head = s3Client.headObject(HeadObjectRequest.builder()
+                    .bucket(properties.getBucket())
+                    .key(storageKey)
+                    .build());
+
+            return ObjectStat.builder()
+                    .storageKey(storageKey)
+                    .size(head.contentLength())
+                    .lastModified(head.lastModified())
+                    .eTag(head.eTag())
+                    .contentType(head.contentType())
+                    .build();
+
+        } catch (NoSuchKeyException e) {
+            throw new StorageException("File not found in S3: " + storageKey, e, StorageProviderType.S3, storageKey);
+        } catch (Exception e) {
+            log.error("Failed to read attributes of file in S3: {}", storageKey, e);
+            throw new StorageException("Failed to read file attributes from S3", e, StorageProviderType.S3, storageKey);
+        }
+    }
+
     @Override
     public boolean delete(String storageKey) throws StorageException {
         try {
@@ -134,6 +181,7 @@ public class S3StorageProvider implements StorageProvider {
                     .build();
 
             s3Client.deleteObject(deleteRequest);
+            presignedUrlCache.invalidate(storageKey);
             log.info("File deleted from S3: {}", storageKey);
             return true;
 
@@ -143,6 +191,81 @@ public class S3StorageProvider implements StorageProvider {
         }
     }
 
+    /**
+     * Rewrites the object onto itself with the new storage class. Only
+     * instant-retrieval classes are offered, so reads need no restore step.
+     * CopyObject is limited to 5GB; larger objects fail and stay in place.
+     */
+    @Override
+    public boolean transition(String storageKey, String tier) throws StorageException {
+        if (!INSTANT_RETRIEVAL_CLASSES.contains(tier)) {
+            log.warn("Storage class {} is not instantly retrievable, leaving {} in place", tier, storageKey);
+            return false;
+        }
+        try {
+            CopyObjectRequest copyRequest = CopyObjectRequest.builder()
+                    .sourceBucket(properties.getBucket())
+                    .sourceKey(storageKey)
+                    .destinationBucket(properties.getBucket())
+                    .destinationKey(storageKey)
+                    .storageClass(tier)
+                    .metadataDirective(MetadataDirective.COPY)
+                    .acl(ObjectCannedACL.PRIVATE)
+                    .build();
+
+            s3Client.copyObject(copyRequest);
+            log.info("File moved to storage class {}: {}", tier, storageKey);
+            return true;
+
+        } catch (NoSuchKeyException e) {
+            throw new StorageException("File not found in S3: " + storageKey, e, StorageProviderType.S3, storageKey);
+        } catch (Exception e) {
+            log.error("Failed to change storage class of {} to {}", storageKey, tier, e);
+            throw new StorageException("Failed to change storage class in S3", e, StorageProviderType.S3, storageKey);
+        }
+    }
+
+    /**
+     * Deletes with DeleteObjects, up to 1000 keys per request.
+     */
+    @Override
+    public Set<String> deleteAll(Collection<String> storageKeys) {
+        List<String> keys = List.copyOf(new LinkedHashSet<>(storageKeys));
+        Set<String> failed = new LinkedHashSet<>();
+        for (int from = 0; from < keys.size(); from += DELETE_OBJECTS_MAX_KEYS) {
+            List<String> batch = keys.subList(from, Math.min(from + DELETE_OBJECTS_MAX_KEYS, keys.size()));
+            try {
+                DeleteObjectsRequest deleteRequest = DeleteObjectsRequest.builder()
+                        .bucket(properties.getBucket())
+                        .delete(Delete.builder()
+                                .objects(batch.stream()
+                                        .map(key -> ObjectIdentifier.builder().key(key).build())
+                                        .toList())
+                                .quiet(true)
+                                .build())
+                        .build();
+
+                // Quiet mode reports only the keys that failed
+                DeleteObjectsResponse response = s3Client.deleteObjects(deleteRequest);
+                for (S3Error error : response.errors()) {
+                    log.error("Failed to delete file from S3: {} ({}: {})", error.key(), error.code(), error.message());
+                    failed.add(error.key());
+                }
+            } catch (Exception e) {
+                log.error("Failed to delete batch of {} files from S3", batch.size(), e);
+                failed.addAll(batch);
+            }
+            batch.forEach(presignedUrlCache::invalidate);
+        }
+        log.info("Batch delete from S3: {} keys, {} failed", keys.size(), failed.size());
+        return failed;
+    }
+
+    @Override
+    public Set<String> existsAll(Collection<String> storageKeys) {
+        return ParallelKeys.filter(storageKeys, properties.getBatchHeadConcurrency(), this::exists);
+    }
+
     @Override
     public boolean exists(String storageKey) {
         try {
@@ -170,6 +293,100 @@ public class S3StorageProvider implements StorageProvider {
         return generatePublicUrl(storageKey);
     }
 
+    @Override
+    public String initiateChunkedUpload(String storageKey, StorageMetadata metadata) throws StorageException {
+        try {
+            CreateMultipartUploadRequest createRequest = CreateMultipartUploadRequest.builder()
+                    .bucket(properties.getBucket())
+                    .key(storageKey)
+                    .contentType(metadata.getContentType())
+                    .storageClass(properties.getStorageClass())
+                    .acl(ObjectCannedACL.PRIVATE)
+                    .metadata(buildMetadata(metadata))
+                    .build();
+
+            String uploadId = s3Client.createMultipartUpload(createRequest).uploadId();
+            log.info("Multipart upload started: key={}, uploadId={}", storageKey, uploadId);
+            return uploadId;
+
+        } catch (Exception e) {
+            log.error("Failed to start multipart upload for: {}", storageKey, e);
+            throw new StorageException("Failed to start multipart upload", e, StorageProviderType.S3, storageKey);
+        }
+    }
+
+    @Override
+    public String writeChunk(String storageKey, String uploadId, int partNumber, long offset,
+            InputStream content, long length) throws StorageException {
+        try {
+            UploadPartRequest partRequest = UploadPartRequest.builder()
+                    .bucket(properties.getBucket())
+                    .key(storageKey)
+                    .uploadId(uploadId)
+                    .partNumber(partNumber)
+                    .contentLength(length)
+                    .build();
+
+            // Streams straight from the request body; the SDK buffers at most its mark limit for retries
+            return s3Client.uploadPart(partRequest, RequestBody.fromInputStream(content, length)).eTag();
+
+        } catch (Exception e) {
+            log.error("Failed to upload part {} of: {}", partNumber, storageKey, e);
+            throw new StorageException("Failed to upload part " + partNumber, e, StorageProviderType.S3, storageKey);
+        }
+    }
+
+    @Override
+    public StorageResult completeChunkedUpload(String storageKey, String uploadId, List<String> partTokens,
+            StorageMetadata metadata) throws StorageException {
+        try {
+            List<CompletedPart> parts = new ArrayList<>(partTokens.size());
+            for (int i = 0; i < partTokens.size(); i++) {
+                parts.add(CompletedPart.builder().partNumber(i + 1).eTag(partTokens.get(i)).build());
+            }
+
+            CompleteMultipartUploadRequest completeRequest = CompleteMultipartUploadRequest.builder()
+                    .bucket(properties.getBucket())
+                    .key(storageKey)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                    .build();
+
+            s3Client.completeMultipartUpload(completeRequest);
+            log.info("Multipart upload completed: key={}, parts={}", storageKey, parts.size());
+
+            return StorageResult.builder()
+                    .storageKey(storageKey)
+                    .publicUrl(generatePublicUrl(storageKey))
+                    .provider(StorageProviderType.S3)
+                    .bucket(properties.getBucket())
+                    .region(properties.getRegion())
+                    .fileSize(metadata.getFileSize())
+                    .contentType(metadata.getContentType())
+                    .build();
+
+        } catch (Exception e) {
+            log.error("Failed to complete multipart upload for: {}", storageKey, e);
+            throw new StorageException("Failed to complete multipart upload", e, StorageProviderType.S3, storageKey);
+        }
+    }
+
+    @Override
+    public void abortChunkedUpload(String storageKey, String uploadId) throws StorageException {
+        try {
+            s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(properties.getBucket())
+                    .key(storageKey)
+                    .uploadId(uploadId)
+                    .build());
+            log.info("Multipart upload aborted: key={}, uploadId={}", storageKey, uploadId);
+
+        } catch (Exception e) {
+            log.error("Failed to abort multipart upload for: {}", storageKey, e);
+            throw new StorageException("Failed to abort multipart upload", e, StorageProviderType.S3, storageKey);
+        }
+    }
+
     @Override
     public StorageProviderType getProviderType() {
         return StorageProviderType.S3;
@@ -190,22 +407,8 @@ public class S3StorageProvider implements StorageProvider {
     }
 
     private String generatePresignedUrl(String storageKey, Duration expiry) {
-        try (S3Presigner presigner = S3Presigner.builder()
-                .region(software.amazon.awssdk.regions.Region.of(properties.getRegion()))
-                .build()) {
-
-            GetObjectRequest getRequest = GetObjectRequest.builder()
-                    .bucket(properties.getBucket())
-                    .key(storageKey)
-                    .build();
-
-            GetObjectPresignRequest presignRequest = GetObjectPresignRequest.builder()
-                    .signatureDuration(expiry)
-                    .getObjectRequest(getRequest)
-                    .build();
-
-            PresignedGetObjectRequest presignedRequest = presigner.presignGetObject(presignRequest);
-            return presignedRequest.url().toString();
+        try {
+            return presignedUrlCache.get(storageKey, expiry, signedExpiry -> presign(storageKey, signedExpiry));
 
         } catch (Exception e) {
             log.error("Failed to generate presigned URL for: {}", storageKey, e);
@@ -213,7 +416,22 @@ public class S3StorageProvider implements StorageProvider {
         }
     }
 
-    private Map<String, String> buildMetadata(StorageMetadata metadata) {
+    private String presign(String storageKey, Duration expiry) {
+        GetObjectRequest getRequest = GetObjectRequest.builder()
+                .bucket(properties.getBucket())
+                .key(storageKey)
+                .build();
+
+        GetObjectPresignRequest presignRequest = GetObjectPresignRequest.builder()
+                .signatureDuration(expiry)
+                .getObjectRequest(getRequest)
+                .build();
+
+        PresignedGetObjectRequest presignedRequest = s3Presigner.presignGetObject(presignRequest);
+        return presignedRequest.url().toString();
+    }
+
+    Map<String, String> buildMetadata(StorageMetadata metadata) {
         Map<String, String> metadataMap = new HashMap<>();
         metadataMap.put("original-filename", metadata.getOriginalFilename());
         metadataMap.put("user-id", String.valueOf(metadata.getUserId()));
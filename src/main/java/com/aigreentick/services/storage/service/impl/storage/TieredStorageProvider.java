@@ -0,0 +1,236 @@
+package com.aigreentick.services.storage.service.impl.storage;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.aigreentick.services.storage.dto.storage.ObjectStat;
+import com.aigreentick.services.storage.dto.storage.StorageMetadata;
+import com.aigreentick.services.storage.dto.storage.StorageResult;
+import com.aigreentick.services.storage.enums.StorageProviderType;
+import com.aigreentick.services.storage.exception.StorageException;
+import com.aigreentick.services.storage.service.StorageProvider;
+import com.aigreentick.services.storage.util.BoundedInputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * S3 as the durable tier with a local disk cache in front of it. Uploads are
+ * written through to S3 and copied into the cache in the same pass; reads are
+ * served from the cache when the object is there, otherwise from S3 while the
+ * cache is filled for the next reader. Select it with
+ * {@code storage.active-provider=tiered}; stored objects are recorded as S3.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "storage.providers.tiered", name = "enabled", havingValue = "true")
+public class TieredStorageProvider implements StorageProvider {
+
+    private final S3StorageProvider remote;
+    private final LocalDiskCache cache;
+
+    @Override
+    public StorageResult save(InputStream inputStream, StorageMetadata metadata) throws StorageException {
+        CachingInputStream tee = cache.fill(inputStream);
+        if (tee == null) {
+            return remote.save(inputStream, metadata);
+        }
+
+        StorageResult result;
+        try {
+            result = remote.save(tee, metadata);
+        } catch (RuntimeException e) {
+            cache.discard(tee);
+            throw e;
+        }
+
+        // The provider may stop at the declared length; only a full copy is cached
+        if (result.getFileSize() != null && tee.bytesRead() == result.getFileSize()) {
+            cache.commit(tee, result.getStorageKey(), null);
+        } else {
+            cache.discard(tee);
+        }
+        return result;
+    }
+
+    @Override
+    public InputStream retrieve(String storageKey) throws StorageException {
+        InputStream cached = cache.open(storageKey);
+        if (cached != null) {
+            return cached;
+        }
+        return cache.fillOnRead(storageKey, () -> remote.retrieve(storageKey), null);
+    }
+
+    @Override
+    public InputStream retrieveRange(String storageKey, long offset, long length) throws StorageException {
+        Path cached = cache.lookup(storageKey);
+        if (cached != null) {
+            FileChannel channel = null;
+            try {
+                channel = FileChannel.open(cached, StandardOpenOption.READ);
+                channel.position(offset);
+                return new BoundedInputStream(Channels.newInputStream(channel), length);
+            } catch (NoSuchFileException e) {
+                log.debug("Cached object evicted before read, using remote: {}", storageKey);
+            } catch (IOException e) {
+                log.warn("Failed to read cached object, using remote: {}", storageKey, e);
+                closeQuietly(channel);
+            }
+        }
+        // A partial read cannot fill the cache
+        return remote.retrieveRange(storageKey, offset, length);
+    }
+
+    @Override
+    public long transferRange(String storageKey, long offset, long length, WritableByteChannel target)
+            throws StorageException, IOException {
+        Path cached = cache.lookup(storageKey);
+        if (cached != null) {
+            FileChannel channel;
+            try {
+                channel = FileChannel.open(cached, StandardOpenOption.READ);
+            } catch (NoSuchFileException e) {
+                return StorageProvider.super.transferRange(storageKey, offset, length, target);
+            }
+            try (channel) {
+                long written = 0;
+                while (written < length) {
+                    long transferred = channel.transferTo(offset + written, length - written, target);
+                    if (transferred <= 0) {
+                        break;
+                    }
+                    written += transferred;
+                }
+                return written;
+            }
+        }
+        return StorageProvider.super.transferRange(storageKey, offset, length, target);
+    }
+
+    @Override
+    public void download(String storageKey, Path target) throws StorageException, IOException {
+        Path cached = cache.lookup(storageKey);
+        if (cached != null) {
+            try {
+                Files.copy(cached, target, StandardCopyOption.REPLACE_EXISTING);
+                return;
+            } catch (NoSuchFileException e) {
+                log.debug("Cached object evicted before copy, using remote: {}", storageKey);
+            }
+        }
+        StorageProvider.super.download(storageKey, target);
+    }
+
+    @Override
+    public ObjectStat stat(String storageKey) throws StorageException {
+        ObjectStat cached = cache.stat(storageKey);
+        if (cached != null) {
+            return cached;
+        }
+        // Remote attributes keep validators identical whichever tier serves the bytes
+        ObjectStat stat = remote.stat(storageKey);
+        cache.recordStat(storageKey, stat);
+        return stat;
+    }
+
+    @Override
+    public boolean delete(String storageKey) throws StorageException {
+        cache.evict(storageKey);
+        return remote.delete(storageKey);
+    }
+
+    @Override
+    public boolean exists(String storageKey) {
+        return cache.contains(storageKey) || remote.exists(storageKey);
+    }
+
+    /**
+     * Tiers apply to the S3 copy; the cache keeps hot objects regardless.
+     */
+    @Override
+    public boolean transition(String storageKey, String tier) throws StorageException {
+        return remote.transition(storageKey, tier);
+    }
+
+    @Override
+    public Set<String> deleteAll(Collection<String> storageKeys) {
+        storageKeys.forEach(cache::evict);
+        return remote.deleteAll(storageKeys);
+    }
+
+    @Override
+    public Set<String> existsAll(Collection<String> storageKeys) {
+        Set<String> existing = new LinkedHashSet<>();
+        List<String> uncached = new ArrayList<>();
+        for (String storageKey : storageKeys) {
+            if (cache.contains(storageKey)) {
+                existing.add(storageKey);
+            } else {
+                uncached.add(storageKey);
+            }
+        }
+        existing.addAll(remote.existsAll(uncached));
+        return existing;
+    }
+
+    @Override
+    public String getPublicUrl(String storageKey, Duration expiry) {
+        return remote.getPublicUrl(storageKey, expiry);
+    }
+
+    @Override
+    public String initiateChunkedUpload(String storageKey, StorageMetadata metadata) throws StorageException {
+        return remote.initiateChunkedUpload(storageKey, metadata);
+    }
+
+    @Override
+    public String writeChunk(String storageKey, String uploadId, int partNumber, long offset,
+            InputStream content, long length) throws StorageException {
+        return remote.writeChunk(storageKey, uploadId, partNumber, offset, content, length);
+    }
+
+    @Override
+    public StorageResult completeChunkedUpload(String storageKey, String uploadId, List<String> partTokens,
+            StorageMetadata metadata) throws StorageException {
+        return remote.completeChunkedUpload(storageKey, uploadId, partTokens, metadata);
+    }
+
+    @Override
+    public void abortChunkedUpload(String storageKey, String uploadId) throws StorageException {
+        remote.abortChunkedUpload(storageKey, uploadId);
+    }
+
+    @Override
+    public StorageProviderType getProviderType() {
+        return StorageProviderType.TIERED;
+    }
+
+    private void closeQuietly(FileChannel channel) {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.debug("Failed to close cached object channel", e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.aigreentick.services.storage.service.impl.storage;
+
+import org.springframework.core.io.buffer.DataBuffer;
+
+import com.aigreentick.services.storage.dto.storage.StorageMetadata;
+import com.aigreentick.services.storage.dto.storage.StorageResult;
+import com.aigreentick.services.storage.enums.StorageProviderType;
+import com.aigreentick.services.storage.service.ReactiveStorageProvider;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Stands in for a provider with no streaming variant. Its guarantees (write
+ * quorum and repair, or the local cache tier) would be lost by writing to a
+ * single backing store, so streamed uploads are refused instead and the
+ * streaming endpoint answers 501.
+ */
+@RequiredArgsConstructor
+public class UnsupportedReactiveStorageProvider implements ReactiveStorageProvider {
+
+    private final StorageProviderType providerType;
+
+    @Override
+    public Mono<StorageResult> save(Flux<DataBuffer> content, StorageMetadata metadata) {
+        return Mono.error(unsupported());
+    }
+
+    @Override
+    public Mono<Boolean> delete(String storageKey) {
+        return Mono.error(unsupported());
+    }
+
+    @Override
+    public StorageProviderType getProviderType() {
+        return providerType;
+    }
+
+    private UnsupportedOperationException unsupported() {
+        return new UnsupportedOperationException("Streaming uploads are not supported by the "
+                + providerType + " storage provider; use the multipart upload endpoint");
+    }
+}
@@ -6,6 +6,7 @@ import com.aigreentick.services.storage.enums.MediaType;
 import com.aigreentick.services.storage.exception.MediaUploadException;
 import com.aigreentick.services.storage.exception.StorageException;
 import com.aigreentick.services.storage.service.StorageProvider;
+import com.aigreentick.services.storage.service.impl.media.MediaAccessServiceImpl;
 import com.aigreentick.services.storage.validator.MediaValidator;
 import com.aigreentick.services.common.context.UserContext;
 import lombok.RequiredArgsConstructor;
@@ -26,6 +27,7 @@ public class MediaUploadServiceImpl {
     
     private final StorageProvider storageProvider;
     private final MediaValidator mediaValidator;
+    private final MediaAccessServiceImpl accessService;
     
     public MediaUploadResponse uploadMedia(MultipartFile file) {
         log.info("Starting media upload for file: {} using provider: {}", 
@@ -106,7 +108,9 @@ public class MediaUploadServiceImpl {
     }
 
     public String getPublicUrl(String storageKey, java.time.Duration expiry) {
-        return storageProvider.getPublicUrl(storageKey, expiry);
+        String url = storageProvider.getPublicUrl(storageKey, expiry);
+        accessService.recordAccess(storageKey);
+        return url;
     }
 
     private String extractFileExtension(String filename) {
@@ -0,0 +1,478 @@
+package com.aigreentick.services.storage.service.impl.upload;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import com.aigreentick.services.common.context.UserContext;
+import com.aigreentick.services.storage.config.ResumableUploadProperties;
+import com.aigreentick.services.storage.dto.request.ResumableUploadRequest;
+import com.aigreentick.services.storage.dto.response.MediaUploadResponse;
+import com.aigreentick.services.storage.dto.response.ResumableUploadResponse;
+import com.aigreentick.services.storage.dto.storage.QuotaReservation;
+import com.aigreentick.services.storage.dto.storage.StorageMetadata;
+import com.aigreentick.services.storage.dto.storage.StorageResult;
+import com.aigreentick.services.storage.enums.MediaStatus;
+import com.aigreentick.services.storage.enums.MediaType;
+import com.aigreentick.services.storage.exception.MediaNotFoundException;
+import com.aigreentick.services.storage.exception.MediaUploadException;
+import com.aigreentick.services.storage.exception.MediaValidationException;
+import com.aigreentick.services.storage.exception.UploadSessionConflictException;
+import com.aigreentick.services.storage.mapper.MediaMapper;
+import com.aigreentick.services.storage.model.Media;
+import com.aigreentick.services.storage.service.StorageProvider;
+import com.aigreentick.services.storage.service.impl.media.MediaCommitServiceImpl;
+import com.aigreentick.services.storage.service.impl.quota.StorageQuotaServiceImpl;
+import com.aigreentick.services.storage.util.FileUtils;
+import com.aigreentick.services.storage.validator.MediaValidator;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Resumable upload sessions: create, send fixed-size chunks at the current
+ * offset, query the offset, then complete. A dropped connection costs at
+ * most the chunk in flight, and the server holds no more than one chunk's
+ * worth of buffering per request.
+ *
+ * <p>Session state lives in a Redis hash so any node can serve the next
+ * chunk. Each chunk is written as one part of a provider chunked upload
+ * (an S3 multipart part, or a positional write to a local staging file)
+ * and the offset only advances once the part is stored.
+ *
+ * <p>The quota reservation lives as long as the session and is renewed with
+ * it on every chunk. Sessions are also indexed by expiry, so the provider
+ * upload of a session that Redis expired can still be aborted.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ResumableUploadServiceImpl {
+    private static final String KEY_PREFIX = "upload:session:";
+    private static final String EXPIRY_INDEX = "upload:sessions:expiry";
+    private static final String UPLOAD_INDEX = "upload:sessions:uploads";
+
+    // KEYS: session, parts. ARGV: expected offset, new offset, part number, part token, ttl seconds
+    private static final RedisScript<Long> ADVANCE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('HGET', KEYS[1], 'offset') ~= ARGV[1] then return -1 end
+            redis.call('HSET', KEYS[1], 'offset', ARGV[2])
+            redis.call('HSET', KEYS[2], ARGV[3], ARGV[4])
+            redis.call('EXPIRE', KEYS[1], ARGV[5])
+            redis.call('EXPIRE', KEYS[2], ARGV[5])
+            return tonumber(ARGV[2])
+            """, Long.class);
+
+    // KEYS: lock. ARGV: owner token
+    private static final RedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final StorageProvider storageProvider;
+    private final MediaMapper mediaMapper;
+    private final MediaCommitServiceImpl mediaCommitService;
+    private final StorageQuotaServiceImpl quotaService;
+    private final MediaValidator mediaValidator;
+    private final ResumableUploadProperties properties;
+
+    /**
+     * Opens a session for the declared file and holds its size against the
+     * organisation quota until the session completes or is aborted.
+     */
+    public ResumableUploadResponse createSession(ResumableUploadRequest request) {
+        MediaType mediaType = mediaValidator.validateResumableUpload(
+                request.getFilename(), request.getContentType(), request.getSize());
+
+        Long userId = UserContext.getUserId();
+        Long organisationId = UserContext.getOrganisationId();
+        QuotaReservation reservation = quotaService.reserve(organisationId, request.getSize(), sessionTtl());
+
+        StorageMetadata metadata = StorageMetadata.builder()
+                .originalFilename(request.getFilename())
+                .contentType(request.getContentType())
+                .fileSize(request.getSize())
+                .userId(userId)
+                .organisationId(organisationId)
+                .mediaType(mediaType)
+                .fileExtension(extractFileExtension(request.getFilename()))
+                .build();
+        String storageKey = metadata.generateStorageKey();
+
+        String uploadId = null;
+        try {
+            uploadId = storageProvider.initiateChunkedUpload(storageKey, metadata);
+
+            String id = UUID.randomUUID().toString();
+            Map<String, String> fields = new HashMap<>();
+            fields.put("userId", String.valueOf(userId));
+            fields.put("organisationId", String.valueOf(organisationId));
+            fields.put("filename", request.getFilename());
+            fields.put("contentType", request.getContentType());
+            fields.put("mediaType", mediaType.name());
+            fields.put("size", String.valueOf(request.getSize()));
+            fields.put("chunkSize", String.valueOf(properties.getChunkSizeBytes()));
+            fields.put("storageKey", storageKey);
+            fields.put("uploadId", uploadId);
+            fields.put("offset", "0");
+            fields.put("reservationId", reservation.getId() != null ? reservation.getId() : "");
+            fields.put("reservationTracked", String.valueOf(reservation.isTracked()));
+
+            redisTemplate.opsForHash().putAll(sessionKey(id), fields);
+            redisTemplate.expire(sessionKey(id), sessionTtl());
+            redisTemplate.opsForHash().put(UPLOAD_INDEX, id, storageKey + "|" + uploadId);
+            scheduleExpiry(id);
+
+            log.info("Resumable upload session {} created: file={}, size={}, storageKey={}",
+                    id, request.getFilename(), request.getSize(), storageKey);
+            return toResponse(id, 0, request.getSize());
+
+        } catch (RuntimeException e) {
+            quotaService.release(reservation);
+            if (uploadId != null) {
+                abortQuietly(storageKey, uploadId);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the offset the next chunk must start at.
+     */
+    public ResumableUploadResponse getSession(String id) {
+        Session session = loadSession(id);
+        return toResponse(id, session.offset(), session.size());
+    }
+
+    /**
+     * Stores one chunk of the session and advances its offset.
+     *
+     * @param offset        offset the client believes it is at; must equal the session offset
+     * @param contentLength exact chunk length, the chunk size or whatever remains of the file
+     * @return the new session offset
+     * @throws UploadSessionConflictException if the offset is stale or another chunk is in flight
+     */
+    public long writeChunk(String id, long offset, long contentLength, InputStream content) {
+        Session session = loadSession(id);
+
+        if (offset != session.offset()) {
+            throw new UploadSessionConflictException("Upload-Offset " + offset
+                    + " does not match the session offset " + session.offset(), session.offset());
+        }
+        long expected = Math.min(session.chunkSize(), session.size() - session.offset());
+        if (expected == 0) {
+            throw new UploadSessionConflictException("All bytes already received, complete the upload",
+                    session.offset());
+        }
+        if (contentLength != expected) {
+            throw new MediaValidationException("Chunk at offset " + offset + " must be exactly "
+                    + expected + " bytes, got " + contentLength);
+        }
+
+        String lockToken = acquireLock(id, session.offset());
+        try {
+            int partNumber = (int) (session.offset() / session.chunkSize()) + 1;
+            String partToken = storageProvider.writeChunk(session.storageKey(), session.uploadId(),
+                    partNumber, session.offset(), content, expected);
+
+            long newOffset = session.offset() + expected;
+            Long advanced = redisTemplate.execute(ADVANCE_SCRIPT, List.of(sessionKey(id), partsKey(id)),
+                    String.valueOf(session.offset()), String.valueOf(newOffset), String.valueOf(partNumber),
+                    partToken, String.valueOf(sessionTtl().toSeconds()));
+            if (advanced == null || advanced < 0) {
+                // Only possible if the write lock expired mid-chunk and another request moved on
+                Session current = loadSession(id);
+                throw new UploadSessionConflictException("Session offset moved during the write",
+                        current.offset());
+            }
+
+            scheduleExpiry(id);
+            quotaService.renew(session.reservation(), sessionTtl());
+
+            log.debug("Session {} received part {} ({} bytes), offset {}/{}",
+                    id, partNumber, expected, newOffset, session.size());
+            return newOffset;
+
+        } finally {
+            releaseLock(id, lockToken);
+        }
+    }
+
+    /**
+     * Assembles the received chunks into the stored file and commits the media row.
+     *
+     * @throws UploadSessionConflictException if bytes are still missing
+     */
+    public MediaUploadResponse completeSession(String id) {
+        Session session = loadSession(id);
+        if (session.offset() != session.size()) {
+            throw new UploadSessionConflictException("Upload is incomplete: " + session.offset()
+                    + " of " + session.size() + " bytes received", session.offset());
+        }
+
+        String lockToken = acquireLock(id, session.offset());
+        try {
+            List<String> partTokens = redisTemplate.<String, String>opsForHash().entries(partsKey(id))
+                    .entrySet().stream()
+                    .sorted(Comparator.comparingInt(entry -> Integer.parseInt(entry.getKey())))
+                    .map(Map.Entry::getValue)
+                    .toList();
+
+            StorageMetadata metadata = session.toMetadata();
+            StorageResult storageResult = storageProvider.completeChunkedUpload(
+                    session.storageKey(), session.uploadId(), partTokens, metadata);
+
+            LocalDateTime uploadedAt = LocalDateTime.now();
+            Media media = mediaMapper.toEntity(storageResult, session.filename(), session.mediaType(),
+                    session.contentType(), session.size(), uploadedAt);
+            media.setUserId(session.userId());
+            media.setOrganisationId(session.organisationId());
+            media.setStatus(MediaStatus.PENDING.name());
+            media.setChecksum(checksumOf(storageResult.getStorageKey()));
+
+            try {
+                mediaCommitService.commit(media, true);
+            } catch (RuntimeException e) {
+                log.error("Commit failed for storageKey={}, deleting stored object", storageResult.getStorageKey());
+                deleteQuietly(storageResult.getStorageKey());
+                quotaService.release(session.reservation());
+                deleteSession(id);
+                throw new MediaUploadException("Media upload failed: " + e.getMessage(), e);
+            }
+
+            if (storageResult.getStorageKey().equals(media.getStorageKey())) {
+                quotaService.commit(session.reservation());
+            } else {
+                // Same content is already stored for the organisation and counted against its quota
+                log.info("Duplicate content, keeping {} and deleting {}", media.getStorageKey(),
+                        storageResult.getStorageKey());
+                deleteQuietly(storageResult.getStorageKey());
+                quotaService.release(session.reservation());
+            }
+            deleteSession(id);
+            log.info("Resumable upload session {} completed: storageKey={}, parts={}",
+                    id, storageResult.getStorageKey(), partTokens.size());
+
+            return MediaUploadResponse.builder()
+                    .id(media.getId())
+                    .status(media.getStatus())
+                    .url(media.getMediaUrl())
+                    .originalFilename(session.filename())
+                    .storedFilename(media.getStorageKey())
+                    .mediaType(session.mediaType())
+                    .contentType(session.contentType())
+                    .fileSizeBytes(session.size())
+                    .uploadedAt(uploadedAt)
+                    .build();
+
+        } finally {
+            releaseLock(id, lockToken);
+        }
+    }
+
+    /**
+     * Discards the session and everything uploaded for it.
+     */
+    public void abortSession(String id) {
+        Session session = loadSession(id);
+        String lockToken = acquireLock(id, session.offset());
+        try {
+            storageProvider.abortChunkedUpload(session.storageKey(), session.uploadId());
+            quotaService.release(session.reservation());
+            deleteSession(id);
+            log.info("Resumable upload session {} aborted at offset {}/{}", id, session.offset(), session.size());
+        } finally {
+            releaseLock(id, lockToken);
+        }
+    }
+
+    /**
+     * Aborts the provider uploads of sessions that expired in Redis, up to
+     * {@code limit} of them. Completed and aborted sessions are already out of
+     * the index; a session renewed since it was indexed is left alone.
+     *
+     * @return number of provider uploads aborted
+     */
+    public int abortExpiredSessions(int limit) {
+        Set<String> due = redisTemplate.opsForZSet()
+                .rangeByScore(EXPIRY_INDEX, 0, System.currentTimeMillis(), 0, limit);
+        if (due == null || due.isEmpty()) {
+            return 0;
+        }
+
+        int aborted = 0;
+        for (String id : due) {
+            if (Boolean.TRUE.equals(redisTemplate.hasKey(sessionKey(id)))) {
+                continue;
+            }
+            // Removing the index entry claims the session, so only one node aborts it
+            Long claimed = redisTemplate.opsForZSet().remove(EXPIRY_INDEX, id);
+            if (claimed == null || claimed == 0) {
+                continue;
+            }
+            Object upload = redisTemplate.opsForHash().get(UPLOAD_INDEX, id);
+            redisTemplate.opsForHash().delete(UPLOAD_INDEX, id);
+            if (upload == null) {
+                continue;
+            }
+
+            String[] parts = upload.toString().split("\\|", 2);
+            abortQuietly(parts[0], parts[1]);
+            aborted++;
+            log.info("Aborted provider upload of expired session {}: storageKey={}", id, parts[0]);
+        }
+        return aborted;
+    }
+
+    private Session loadSession(String id) {
+        Map<String, String> fields = redisTemplate.<String, String>opsForHash().entries(sessionKey(id));
+        // Sessions of other users are reported as missing rather than forbidden
+        if (fields.isEmpty() || !String.valueOf(UserContext.getUserId()).equals(fields.get("userId"))) {
+            throw new MediaNotFoundException("Upload session not found: " + id);
+        }
+        return Session.from(fields);
+    }
+
+    private String acquireLock(String id, long offset) {
+        String token = UUID.randomUUID().toString();
+        Boolean acquired = redisTemplate.opsForValue()
+                .setIfAbsent(lockKey(id), token, Duration.ofSeconds(properties.getWriteLockSeconds()));
+        if (!Boolean.TRUE.equals(acquired)) {
+            throw new UploadSessionConflictException("Another request is writing to this upload session", offset);
+        }
+        return token;
+    }
+
+    private void releaseLock(String id, String token) {
+        redisTemplate.execute(UNLOCK_SCRIPT, List.of(lockKey(id)), token);
+    }
+
+    private void deleteSession(String id) {
+        redisTemplate.delete(List.of(sessionKey(id), partsKey(id)));
+        redisTemplate.opsForZSet().remove(EXPIRY_INDEX, id);
+        redisTemplate.opsForHash().delete(UPLOAD_INDEX, id);
+    }
+
+    private void scheduleExpiry(String id) {
+        redisTemplate.opsForZSet().add(EXPIRY_INDEX, id, System.currentTimeMillis() + sessionTtl().toMillis());
+    }
+
+    /**
+     * SHA-256 of the assembled object, used to deduplicate it. Chunks may be
+     * written by different nodes, so the object is hashed once it is complete;
+     * null if it cannot be read, in which case it is simply not deduplicated.
+     */
+    private String checksumOf(String storageKey) {
+        MessageDigest digest = FileUtils.newSha256Digest();
+        try (InputStream stored = new DigestInputStream(storageProvider.retrieve(storageKey), digest)) {
+            stored.transferTo(OutputStream.nullOutputStream());
+            return FileUtils.toHexChecksum(digest);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to checksum {}, storing without deduplication: {}", storageKey, e.getMessage());
+            return null;
+        }
+    }
+
+    private void abortQuietly(String storageKey, String uploadId) {
+        try {
+            storageProvider.abortChunkedUpload(storageKey, uploadId);
+        } catch (Exception e) {
+            log.error("Failed to abort chunked upload, parts left behind: storageKey={}", storageKey, e);
+        }
+    }
+
+    private void deleteQuietly(String storageKey) {
+        try {
+            storageProvider.delete(storageKey);
+        } catch (Exception e) {
+            log.error("Compensating delete failed, object left orphaned: storageKey={}", storageKey, e);
+        }
+    }
+
+    private ResumableUploadResponse toResponse(String id, long offset, long size) {
+        Long ttlSeconds = redisTemplate.getExpire(sessionKey(id));
+        return ResumableUploadResponse.builder()
+                .id(id)
+                .offset(offset)
+                .length(size)
+                .chunkSizeBytes(properties.getChunkSizeBytes())
+                .expiresAt(ttlSeconds != null && ttlSeconds > 0 ? LocalDateTime.now().plusSeconds(ttlSeconds) : null)
+                .build();
+    }
+
+    private Duration sessionTtl() {
+        return Duration.ofHours(properties.getSessionTtlHours());
+    }
+
+    // Hash tag keeps all keys of a session on one cluster slot for the scripts
+    private String sessionKey(String id) {
+        return KEY_PREFIX + "{" + id + "}";
+    }
+
+    private String partsKey(String id) {
+        return sessionKey(id) + ":parts";
+    }
+
+    private String lockKey(String id) {
+        return sessionKey(id) + ":lock";
+    }
+
+    private String extractFileExtension(String filename) {
+        if (filename == null || !filename.contains(".")) {
+            return "";
+        }
+        return filename.substring(filename.lastIndexOf("."));
+    }
+
+    private record Session(Long userId, Long organisationId, String filename, String contentType,
+            MediaType mediaType, long size, long chunkSize, String storageKey, String uploadId, long offset,
+            String reservationId, boolean reservationTracked) {
+
+        static Session from(Map<String, String> fields) {
+            return new Session(
+                    Long.valueOf(fields.get("userId")),
+                    "null".equals(fields.get("organisationId")) ? null : Long.valueOf(fields.get("organisationId")),
+                    fields.get("filename"),
+                    fields.get("contentType"),
+                    MediaType.valueOf(fields.get("mediaType")),
+                    Long.parseLong(fields.get("size")),
+                    Long.parseLong(fields.get("chunkSize")),
+                    fields.get("storageKey"),
+                    fields.get("uploadId"),
+                    Long.parseLong(fields.get("offset")),
+                    fields.get("reservationId"),
+                    Boolean.parseBoolean(fields.get("reservationTracked")));
+        }
+
+        QuotaReservation reservation() {
+            return new QuotaReservation(reservationId.isEmpty() ? null : reservationId,
+                    organisationId, size, reservationTracked);
+        }
+
+        StorageMetadata toMetadata() {
+            return StorageMetadata.builder()
+                    .originalFilename(filename)
+                    .contentType(contentType)
+                    .fileSize(size)
+                    .userId(userId)
+                    .organisationId(organisationId)
+                    .mediaType(mediaType)
+                    .build();
+        }
+    }
+}
@@ -4,6 +4,9 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 
 import org.springframework.web.multipart.MultipartFile;
 
@@ -145,6 +148,30 @@ public class FileUtils {
         return filename;
     }
 
+    /**
+     * Create a SHA-256 digest for content checksums.
+     * 
+     * @return a fresh, unshared digest instance
+     */
+    public static MessageDigest newSha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every JRE is required to provide SHA-256
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Finish a digest and render it as lowercase hex.
+     * 
+     * @param digest the digest that has seen all content
+     * @return hex checksum string
+     */
+    public static String toHexChecksum(MessageDigest digest) {
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
     /**
      * Determine MIME type of a file.
      * 
@@ -0,0 +1,54 @@
+package com.aigreentick.services.storage.util;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Predicate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs a blocking per-key call over a batch of storage keys on virtual
+ * threads, with a bounded number of calls in flight. Used by the batch
+ * operations of storage providers that have no native bulk API.
+ */
+@Slf4j
+public final class ParallelKeys {
+
+    private ParallelKeys() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Tests every distinct key, at most {@code parallelism} at a time, and
+     * returns once all tests have finished.
+     *
+     * @param test per-key call; a key whose test throws is treated as not matching
+     * @return keys the test accepted
+     */
+    public static Set<String> filter(Collection<String> keys, int parallelism, Predicate<String> test) {
+        Set<String> matched = ConcurrentHashMap.newKeySet();
+        Semaphore permits = new Semaphore(Math.max(1, parallelism));
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (String key : new LinkedHashSet<>(keys)) {
+                permits.acquireUninterruptibly();
+                executor.execute(() -> {
+                    try {
+                        if (test.test(key)) {
+                            matched.add(key);
+                        }
+                    } catch (RuntimeException e) {
+                        log.warn("Batch call failed for key {}: {}", key, e.getMessage());
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        }
+        return matched;
+    }
+}
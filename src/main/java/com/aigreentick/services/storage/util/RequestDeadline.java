@@ -0,0 +1,61 @@
+package com.aigreentick.services.storage.util;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Supplier;
+
+/**
+ * Deadline of the request the current thread is working for, taken from
+ * the caller's time budget. Outbound calls shorten their own timeouts to
+ * the time that is left, so they give up when the caller has stopped
+ * waiting anyway. Threads working without an incoming request have no
+ * deadline.
+ */
+public final class RequestDeadline {
+    private static final ThreadLocal<Instant> DEADLINE = new ThreadLocal<>();
+
+    private RequestDeadline() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    public static void set(Instant deadline) {
+        DEADLINE.set(deadline);
+    }
+
+    public static Instant get() {
+        return DEADLINE.get();
+    }
+
+    public static void clear() {
+        DEADLINE.remove();
+    }
+
+    /**
+     * Time left until the deadline, negative once it has passed; null without a deadline.
+     */
+    public static Duration remaining() {
+        Instant deadline = DEADLINE.get();
+        return deadline != null ? Duration.between(Instant.now(), deadline) : null;
+    }
+
+    /**
+     * Wraps {@code action} to run under the deadline of the calling thread,
+     * for work handed to another thread.
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> action) {
+        Instant deadline = DEADLINE.get();
+        return () -> {
+            Instant previous = DEADLINE.get();
+            DEADLINE.set(deadline);
+            try {
+                return action.get();
+            } finally {
+                if (previous == null) {
+                    DEADLINE.remove();
+                } else {
+                    DEADLINE.set(previous);
+                }
+            }
+        };
+    }
+}
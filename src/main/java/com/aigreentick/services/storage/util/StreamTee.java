@@ -0,0 +1,274 @@
+package com.aigreentick.services.storage.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reads a source stream exactly once and fans the bytes out to several
+ * consumer streams.
+ *
+ * <p>Each branch owns a bounded queue of chunks. The pump blocks while any
+ * live branch is full, so the slowest consumer sets the pace and memory stays
+ * at {@code branches * maxBufferedChunks * chunkSize}. Closing a branch
+ * detaches it: the pump stops feeding it and the remaining branches carry on.
+ * With a stall timeout, a branch whose queue stays full for longer is
+ * detached the same way, so one slow consumer cannot hold up the others.
+ */
+@Slf4j
+public final class StreamTee implements Closeable {
+
+    private static final long OFFER_POLL_MS = 50;
+
+    private final InputStream source;
+    private final int chunkSize;
+    private final List<Branch> branches;
+    private final AtomicBoolean started = new AtomicBoolean(false);
+    private final CompletableFuture<Void> drained = new CompletableFuture<>();
+
+    public StreamTee(InputStream source, int branchCount, int chunkSize, int maxBufferedChunks) {
+        this(source, branchCount, chunkSize, maxBufferedChunks, null);
+    }
+
+    /**
+     * @param stallTimeout how long a branch may keep the pump waiting before
+     *        it is detached; null waits for the slowest branch indefinitely
+     */
+    public StreamTee(InputStream source, int branchCount, int chunkSize, int maxBufferedChunks,
+            Duration stallTimeout) {
+        if (branchCount < 1) {
+            throw new IllegalArgumentException("At least one branch is required");
+        }
+        if (chunkSize <= 0 || maxBufferedChunks <= 0) {
+            throw new IllegalArgumentException("Chunk size and buffered chunk count must be positive");
+        }
+        this.source = source;
+        this.chunkSize = chunkSize;
+
+        long stallTimeoutNanos = stallTimeout != null ? stallTimeout.toNanos() : 0;
+        List<Branch> created = new ArrayList<>(branchCount);
+        for (int i = 0; i < branchCount; i++) {
+            created.add(new Branch(maxBufferedChunks, stallTimeoutNanos));
+        }
+        this.branches = Collections.unmodifiableList(created);
+    }
+
+    /**
+     * Returns the consumer stream for the given branch index.
+     */
+    public InputStream branch(int index) {
+        return branches.get(index);
+    }
+
+    /**
+     * Sets the stall timeout of one branch, overriding the one given to the
+     * constructor. Must be called before {@link #start}.
+     *
+     * @param stallTimeout how long the branch may keep the pump waiting before
+     *        it is detached; null waits for it indefinitely
+     */
+    public void stallTimeout(int index, Duration stallTimeout) {
+        if (started.get()) {
+            throw new IllegalStateException("StreamTee already started");
+        }
+        branches.get(index).stallTimeoutNanos = stallTimeout != null ? stallTimeout.toNanos() : 0;
+    }
+
+    /**
+     * Completes once the pump has stopped reading the source, whether at its
+     * end, on a read failure or because every branch detached.
+     */
+    public CompletableFuture<Void> drained() {
+        return drained;
+    }
+
+    /**
+     * Starts pumping the source on the given executor.
+     *
+     * @throws java.util.concurrent.RejectedExecutionException if the executor
+     *         refuses the task; no bytes have been read from the source in that case
+     */
+    public void start(Executor executor) {
+        if (!started.compareAndSet(false, true)) {
+            throw new IllegalStateException("StreamTee already started");
+        }
+        try {
+            executor.execute(this::pump);
+        } catch (RuntimeException e) {
+            started.set(false);
+            throw e;
+        }
+    }
+
+    /**
+     * Detaches every branch, which stops the pump at its next chunk.
+     */
+    @Override
+    public void close() {
+        branches.forEach(Branch::close);
+    }
+
+    private void pump() {
+        try (InputStream in = source) {
+            while (true) {
+                byte[] buffer = new byte[chunkSize];
+                int read = in.readNBytes(buffer, 0, chunkSize);
+                if (read == 0) {
+                    break;
+                }
+                if (!publish(Chunk.data(buffer, read))) {
+                    log.debug("All tee branches detached, stopping pump");
+                    return;
+                }
+                if (read < chunkSize) {
+                    break;
+                }
+            }
+            publish(Chunk.EOF);
+        } catch (IOException e) {
+            log.warn("Tee source read failed: {}", e.getMessage());
+            publish(Chunk.failure(e));
+        } finally {
+            drained.complete(null);
+        }
+    }
+
+    /**
+     * Hands a chunk to every live branch, blocking on full queues.
+     *
+     * @return false once no branch is attached any more
+     */
+    private boolean publish(Chunk chunk) {
+        boolean delivered = false;
+        for (Branch branch : branches) {
+            try {
+                if (branch.offer(chunk)) {
+                    delivered = true;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                return false;
+            }
+        }
+        return delivered;
+    }
+
+    private record Chunk(byte[] data, int length, IOException error) {
+        static final Chunk EOF = new Chunk(new byte[0], -1, null);
+        static final Chunk DETACHED = new Chunk(new byte[0], -1, null);
+
+        static Chunk data(byte[] data, int length) {
+            return new Chunk(data, length, null);
+        }
+
+        static Chunk failure(IOException error) {
+            return new Chunk(new byte[0], -1, error);
+        }
+
+        boolean isTerminal() {
+            return length < 0;
+        }
+    }
+
+    private static final class Branch extends InputStream {
+        private final BlockingQueue<Chunk> queue;
+        private long stallTimeoutNanos;
+        private volatile boolean detached;
+        private volatile boolean stalled;
+        private Chunk current;
+        private int position;
+
+        Branch(int capacity, long stallTimeoutNanos) {
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.stallTimeoutNanos = stallTimeoutNanos;
+        }
+
+        boolean offer(Chunk chunk) throws InterruptedException {
+            long waitingSince = System.nanoTime();
+            while (!detached) {
+                if (queue.offer(chunk, OFFER_POLL_MS, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+                if (stallTimeoutNanos > 0 && System.nanoTime() - waitingSince > stallTimeoutNanos) {
+                    stalled = true;
+                    close();
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            int n = read(single, 0, 1);
+            return n < 0 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (!fill()) {
+                return -1;
+            }
+            int n = Math.min(len, current.length() - position);
+            System.arraycopy(current.data(), position, b, off, n);
+            position += n;
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return current == null || current.isTerminal() ? 0 : current.length() - position;
+        }
+
+        @Override
+        public void close() {
+            detached = true;
+            queue.clear();
+            // Wakes a reader blocked on the empty queue
+            queue.offer(Chunk.DETACHED);
+        }
+
+        private boolean fill() throws IOException {
+            while (current == null || (!current.isTerminal() && position >= current.length())) {
+                if (detached) {
+                    throw detachedException();
+                }
+                try {
+                    current = queue.take();
+                    position = 0;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for tee data");
+                }
+            }
+            if (current == Chunk.DETACHED) {
+                throw detachedException();
+            }
+            if (current.error() != null) {
+                throw new IOException("Tee source failed", current.error());
+            }
+            return !current.isTerminal();
+        }
+
+        private IOException detachedException() {
+            return new IOException(stalled ? "Tee branch fell behind and was detached" : "Tee branch is closed");
+        }
+    }
+}
@@ -52,6 +52,38 @@ public class MediaRequestValidator {
         return PageRequest.of(page, size);
     }
 
+    /**
+     * Validates the scope of a purge: a purge across all organisations needs
+     * a caller that is explicitly allowed to run one.
+     *
+     * @param organisationId organisation to purge, or null for all organisations
+     * @param purgeAllAllowed whether the caller may purge all organisations
+     * @throws MediaValidationException if no organisation is given and the caller may not purge all
+     */
+    public void validatePurgeScope(Long organisationId, boolean purgeAllAllowed) {
+        if (organisationId == null && !purgeAllAllowed) {
+            log.warn("Purge without organisation requested by a caller not allowed to purge all organisations");
+            throw new MediaValidationException("organisationId is required");
+        }
+    }
+
+    /**
+     * Validates the media id an export resumes after.
+     *
+     * @param afterId id of the last media already delivered, or null to start at the beginning
+     * @return validated media id, 0 for a full export
+     */
+    public long validateExportStart(Long afterId) {
+        if (afterId == null) {
+            return 0;
+        }
+        if (afterId < 0) {
+            log.warn("Invalid export resume id requested: {}", afterId);
+            throw new MediaValidationException("Export resume id must be >= 0");
+        }
+        return afterId;
+    }
+
     /**
      * Validates that user context is available and valid.
      *
@@ -28,16 +28,54 @@ public class MediaValidator {
             throw new InvalidMediaException("File is empty or null");
         }
 
-        validateFileSize(file);
-        validateContentType(file);
-        validateFilename(file);
+        validateUpload(file.getOriginalFilename(), file.getContentType(), file.getSize());
+    }
+
+    /**
+     * Validates a file described by its part headers, before its body is read.
+     * Shared by the multipart and streaming upload endpoints.
+     *
+     * @throws InvalidMediaException if validation fails
+     */
+    public void validateUpload(String filename, String contentType, long size) {
+        if (size <= 0) {
+            throw new InvalidMediaException("File is empty or null");
+        }
+
+        validateFileSize(size);
+        validateContentType(contentType);
+        validateFilename(filename);
+    }
+
+    /**
+     * Validates a resumable upload when its session is created. The file never
+     * passes through a single request, so it is capped by its media type's
+     * limit (100 MB for documents) instead of the per-request upload limit.
+     *
+     * @return the detected media type
+     * @throws InvalidMediaException if validation fails
+     */
+    public MediaType validateResumableUpload(String filename, String contentType, long size) {
+        if (size <= 0) {
+            throw new InvalidMediaException("File is empty or null");
+        }
+
+        validateContentType(contentType);
+        validateFilename(filename);
+
+        MediaType mediaType = detectMediaType(contentType);
+        if (size > mediaType.getMaxBytes()) {
+            throw new InvalidMediaException(
+                    String.format("%s files are limited to %d bytes", mediaType.name(), mediaType.getMaxBytes()));
+        }
+        return mediaType;
     }
 
     /**
      * Validates the file size.
      */
-    private void validateFileSize(MultipartFile file) {
-        if (file.getSize() > properties.getUploadMaxSize()) {
+    private void validateFileSize(long size) {
+        if (size > properties.getUploadMaxSize()) {
             throw new InvalidMediaException(
                     String.format("File size exceeds maximum allowed size of %d bytes", properties.getUploadMaxSize()));
         }
@@ -46,9 +84,7 @@ public class MediaValidator {
     /**
      * Validates the content type (MIME type).
      */
-    private void validateContentType(MultipartFile file) {
-        String contentType = file.getContentType();
-
+    private void validateContentType(String contentType) {
         if (contentType == null || contentType.isEmpty()) {
             throw new InvalidMediaException("Content type is missing");
         }
@@ -70,9 +106,7 @@ public class MediaValidator {
     /**
      * Validates the filename for security concerns.
      */
-    private void validateFilename(MultipartFile file) {
-        String filename = file.getOriginalFilename();
-
+    private void validateFilename(String filename) {
         if (filename == null || filename.isEmpty()) {
             throw new InvalidMediaException("Filename is missing");
         }
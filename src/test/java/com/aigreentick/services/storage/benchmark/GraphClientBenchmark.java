@@ -0,0 +1,128 @@
+package com.aigreentick.services.storage.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.aigreentick.services.storage.client.config.GraphAuthFailureFilter;
+import com.aigreentick.services.storage.client.config.GraphRateLimitFilter;
+import com.aigreentick.services.storage.client.properties.GraphApiClientProperties;
+import com.aigreentick.services.storage.client.properties.GraphRateLimitProperties;
+import com.aigreentick.services.storage.client.properties.UserClientProperties;
+import com.aigreentick.services.storage.client.service.impl.UserClientAdapter;
+import com.aigreentick.services.storage.config.WebClientConfig;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.netty.channel.ChannelOption;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Graph API call throughput against a local stub under high concurrency:
+ * a WebClient built per call from a bare {@code HttpClient.create()} (the
+ * previous behaviour) and the shared, pooled Graph API client.
+ *
+ * <p>Run with {@code mvn test-compile} and then
+ * {@code java -cp target/test-classes:<test classpath> com.aigreentick.services.storage.benchmark.GraphClientBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(128)
+@Fork(1)
+public class GraphClientBenchmark {
+    private static final byte[] RESPONSE = "{\"id\":\"media-1\"}".getBytes(StandardCharsets.UTF_8);
+
+    private HttpServer server;
+    private String url;
+    private WebClient.Builder perCallBuilder;
+    private ConnectionProvider connectionProvider;
+    private WebClient sharedClient;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.createContext("/", GraphClientBenchmark::respond);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+        url = "http://127.0.0.1:" + server.getAddress().getPort() + "/v23.0/123/media";
+
+        perCallBuilder = WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create()
+                        .responseTimeout(Duration.ofSeconds(5))
+                        .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 2000)));
+
+        GraphApiClientProperties properties = new GraphApiClientProperties();
+        properties.setMetricsEnabled(false);
+        WebClientConfig config = new WebClientConfig();
+        connectionProvider = config.graphApiConnectionProvider(properties);
+        sharedClient = config.graphApiWebClient(WebClient.builder(), connectionProvider, properties,
+                new GraphRateLimitFilter(new GraphRateLimitProperties()),
+                new GraphAuthFailureFilter(new UserClientAdapter(new UserClientProperties(),
+                        BulkheadRegistry.ofDefaults())));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        connectionProvider.dispose();
+        server.stop(0);
+    }
+
+    @Benchmark
+    public String clientPerCall() {
+        return call(perCallBuilder.build());
+    }
+
+    @Benchmark
+    public String sharedPooledClient() {
+        return call(sharedClient);
+    }
+
+    private String call(WebClient client) {
+        return client.post()
+                .uri(url)
+                .retrieve()
+                .bodyToMono(String.class)
+                .block();
+    }
+
+    private static void respond(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, RESPONSE.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(RESPONSE);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(GraphClientBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,117 @@
+package com.aigreentick.services.storage.benchmark;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.aigreentick.services.storage.config.provider.S3StorageProperties;
+import com.aigreentick.services.storage.service.impl.storage.PresignedUrlCache;
+
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
+
+/**
+ * Presigned URL throughput: a presigner built per call (the previous
+ * behaviour), one shared presigner, and the shared presigner behind
+ * {@link PresignedUrlCache}. Signing is local, so no S3 endpoint is needed.
+ *
+ * <p>Run with {@code mvn test-compile} and then
+ * {@code java -cp target/test-classes:<test classpath> com.aigreentick.services.storage.benchmark.PresignBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PresignBenchmark {
+    private static final String BUCKET = "media-bench";
+    private static final Duration EXPIRY = Duration.ofHours(1);
+    private static final StaticCredentialsProvider CREDENTIALS =
+            StaticCredentialsProvider.create(AwsBasicCredentials.create("AKIDEXAMPLE", "secret"));
+
+    private S3Presigner sharedPresigner;
+    private PresignedUrlCache cache;
+    private String[] keys;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sharedPresigner = newPresigner();
+
+        S3StorageProperties properties = new S3StorageProperties();
+        cache = new PresignedUrlCache(properties);
+
+        // A working set of hot objects, as seen by repeated public-url requests
+        keys = new String[256];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = "org-1/user-1/image/" + i + ".jpg";
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sharedPresigner.close();
+    }
+
+    @Benchmark
+    public String presignerPerCall() {
+        try (S3Presigner presigner = newPresigner()) {
+            return presign(presigner, nextKey(), EXPIRY);
+        }
+    }
+
+    @Benchmark
+    public String sharedPresigner() {
+        return presign(sharedPresigner, nextKey(), EXPIRY);
+    }
+
+    @Benchmark
+    public String sharedPresignerWithCache() {
+        String key = nextKey();
+        return cache.get(key, EXPIRY, expiry -> presign(sharedPresigner, key, expiry));
+    }
+
+    private String nextKey() {
+        next = (next + 1) % keys.length;
+        return keys[next];
+    }
+
+    private static S3Presigner newPresigner() {
+        return S3Presigner.builder()
+                .region(Region.US_EAST_1)
+                .credentialsProvider(CREDENTIALS)
+                .build();
+    }
+
+    private static String presign(S3Presigner presigner, String key, Duration expiry) {
+        GetObjectPresignRequest request = GetObjectPresignRequest.builder()
+                .signatureDuration(expiry)
+                .getObjectRequest(GetObjectRequest.builder().bucket(BUCKET).key(key).build())
+                .build();
+        return presigner.presignGetObject(request).url().toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PresignBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,126 @@
+package com.aigreentick.services.storage.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.testcontainers.containers.localstack.LocalStackContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import com.aigreentick.services.storage.config.provider.S3StorageProperties;
+import com.aigreentick.services.storage.service.impl.storage.S3MultipartUploader;
+
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+
+/**
+ * Multipart upload throughput against LocalStack, per part size and
+ * per-upload concurrency. The {@code megabytes} counter is reported per
+ * second, i.e. as MB/s. Needs a local Docker daemon.
+ *
+ * <p>Run with {@code mvn test-compile} and then
+ * {@code java -cp target/test-classes:<test classpath> com.aigreentick.services.storage.benchmark.S3UploadBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class S3UploadBenchmark {
+    private static final String BUCKET = "media-bench";
+    private static final int OBJECT_SIZE = 128 * 1024 * 1024;
+
+    @Param({ "5242880", "8388608", "16777216", "33554432" })
+    public long partSizeBytes;
+
+    @Param({ "2", "4", "8" })
+    public int maxConcurrency;
+
+    private LocalStackContainer localStack;
+    private S3Client s3Client;
+    private ExecutorService executor;
+    private S3MultipartUploader uploader;
+    private byte[] payload;
+
+    /**
+     * Bytes uploaded, reported by JMH as a rate.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Transferred {
+        public double megabytes;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        localStack = new LocalStackContainer(DockerImageName.parse("localstack/localstack:3.0"))
+                .withServices(LocalStackContainer.Service.S3);
+        localStack.start();
+
+        s3Client = S3Client.builder()
+                .endpointOverride(localStack.getEndpoint())
+                .region(Region.of(localStack.getRegion()))
+                .credentialsProvider(StaticCredentialsProvider.create(
+                        AwsBasicCredentials.create(localStack.getAccessKey(), localStack.getSecretKey())))
+                .forcePathStyle(true)
+                .build();
+        s3Client.createBucket(req -> req.bucket(BUCKET));
+
+        S3StorageProperties properties = new S3StorageProperties();
+        properties.setBucket(BUCKET);
+        properties.setStorageClass("STANDARD");
+        properties.setMultipartPartSizeBytes(partSizeBytes);
+        properties.setMultipartMaxConcurrency(maxConcurrency);
+        properties.setMultipartBufferPoolSize(maxConcurrency + 1);
+
+        executor = Executors.newFixedThreadPool(properties.getMultipartBufferPoolSize());
+        uploader = new S3MultipartUploader(s3Client, properties, executor);
+
+        payload = new byte[OBJECT_SIZE];
+        new Random(42).nextBytes(payload);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+        s3Client.close();
+        localStack.stop();
+    }
+
+    @Benchmark
+    public long upload(Transferred transferred) throws Exception {
+        String key = "bench/" + UUID.randomUUID() + ".bin";
+        long stored = uploader.upload(key, new ByteArrayInputStream(payload), "application/octet-stream", Map.of());
+        transferred.megabytes += stored / (1024.0 * 1024.0);
+        s3Client.deleteObject(req -> req.bucket(BUCKET).key(key));
+        return stored;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(S3UploadBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,131 @@
+package com.aigreentick.services.storage.client.config;
+
+import com.aigreentick.services.storage.client.properties.GraphRateLimitProperties;
+
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for GraphRateLimitFilter.
+ */
+class GraphRateLimitFilterTest {
+
+    private GraphRateLimitProperties properties;
+    private GraphRateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new GraphRateLimitProperties();
+        properties.setInitialLimitPerSecond(20);
+        filter = new GraphRateLimitFilter(properties);
+    }
+
+    @Test
+    void filter_WhenGraphReturns429_ShouldCutOnlyThatPhoneNumbersRate() {
+        // Given
+        ExchangeFunction throttled = request -> Mono.just(ClientResponse.create(HttpStatus.TOO_MANY_REQUESTS).build());
+        ExchangeFunction healthy = request -> Mono.just(ClientResponse.create(HttpStatus.OK).build());
+
+        // When
+        filter.filter(request("111"), throttled).block();
+        filter.filter(request("111"), throttled).block();
+        filter.filter(request("222"), healthy).block();
+
+        // Then
+        assertThat(filter.currentLimit("111")).isEqualTo(10);
+        assertThat(filter.currentLimit("222")).isEqualTo(21);
+    }
+
+    @Test
+    void filter_WhenBusinessUsageIsAboveWatermark_ShouldLowerRate() {
+        // Given
+        String usage = "{\"102290129340398\":[{\"type\":\"whatsapp_business_management\","
+                + "\"call_count\":12,\"total_cputime\":90,\"total_time\":30,\"estimated_time_to_regain_access\":0}]}";
+        ExchangeFunction busy = request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                .header(GraphRateLimitFilter.BUSINESS_USAGE_HEADER, usage).build());
+
+        // When
+        filter.filter(request("111"), busy).block();
+
+        // Then
+        assertThat(GraphRateLimitFilter.parseBusinessUsage(usage).percent()).isEqualTo(90);
+        assertThat(filter.currentLimit("111")).isEqualTo(10);
+    }
+
+    @Test
+    void filter_WhenGraphReportsThrottlingErrorCodeIn400_ShouldLowerRateAndKeepBody() {
+        // Given
+        String error = "{\"error\":{\"message\":\"(#80007) Rate limit issues\",\"type\":\"OAuthException\","
+                + "\"code\":80007,\"fbtrace_id\":\"A1\"}}";
+        ExchangeFunction throttled = request -> Mono.just(ClientResponse.create(HttpStatus.BAD_REQUEST)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(error)
+                .build());
+
+        // When
+        ClientResponse response = filter.filter(request("111"), throttled).block();
+
+        // Then
+        assertThat(filter.currentLimit("111")).isEqualTo(10);
+        assertThat(response.bodyToMono(String.class).block()).isEqualTo(error);
+    }
+
+    @Test
+    void filter_WhenGraphReturnsOtherClientError_ShouldKeepRate() {
+        // Given
+        ExchangeFunction invalid = request -> Mono.just(ClientResponse.create(HttpStatus.BAD_REQUEST)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body("{\"error\":{\"message\":\"Invalid parameter\",\"code\":100}}")
+                .build());
+
+        // When
+        filter.filter(request("111"), invalid).block();
+
+        // Then
+        assertThat(GraphRateLimitFilter.parseErrorCode("not json")).isZero();
+        assertThat(filter.currentLimit("111")).isEqualTo(20);
+    }
+
+    @Test
+    void filter_WhenNoPermitFreesUpWithinMaxWait_ShouldRejectWithoutCallingGraph() {
+        // Given
+        properties.setInitialLimitPerSecond(1);
+        properties.setMaxWaitMs(0);
+        properties.setAdditiveIncrease(0);
+        AtomicInteger calls = new AtomicInteger();
+        ExchangeFunction graph = request -> {
+            calls.incrementAndGet();
+            return Mono.just(ClientResponse.create(HttpStatus.OK).build());
+        };
+
+        // When
+        filter.filter(request("111"), graph).block();
+
+        // Then
+        assertThatThrownBy(() -> filter.filter(request("111"), graph).block())
+                .isInstanceOf(RequestNotPermitted.class);
+        assertThat(calls).hasValue(1);
+    }
+
+    private ClientRequest request(String phoneNumberId) {
+        return ClientRequest.create(HttpMethod.POST, URI.create("http://graph.local/v23.0/" + phoneNumberId + "/media"))
+                .attribute(GraphRateLimitFilter.PHONE_NUMBER_ID, phoneNumberId)
+                .build();
+    }
+}
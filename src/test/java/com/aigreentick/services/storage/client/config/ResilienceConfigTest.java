@@ -0,0 +1,111 @@
+package com.aigreentick.services.storage.client.config;
+
+import com.aigreentick.services.storage.client.properties.ResilienceProperties;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Bulkhead isolation tests for ResilienceConfig, against a Graph API stub
+ * that has slowed down.
+ */
+class ResilienceConfigTest {
+    private static final int REQUEST_THREADS = 8;
+    private static final long GRAPH_DELAY_MS = 2000;
+
+    private HttpServer server;
+    private String graphUrl;
+    private ExecutorService requestThreads;
+    private SimpleMeterRegistry meterRegistry;
+    private Bulkhead graphBulkhead;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", ResilienceConfigTest::respondSlowly);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+        graphUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/v23.0/123/media";
+
+        ResilienceProperties properties = new ResilienceProperties();
+        properties.setGraphBulkheadMaxConcurrentCalls(2);
+        properties.setGraphBulkheadMaxWaitMs(0);
+        meterRegistry = new SimpleMeterRegistry();
+        graphBulkhead = new ResilienceConfig(properties).bulkheadRegistry(meterRegistry)
+                .bulkhead(ResilienceConfig.GRAPH_BULKHEAD);
+
+        // Stands in for the servlet container's request threads
+        requestThreads = Executors.newFixedThreadPool(REQUEST_THREADS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        requestThreads.shutdownNow();
+        server.stop(0);
+    }
+
+    @Test
+    void graphBulkhead_WhenGraphIsSlowAndSaturated_ShouldKeepListingLatencyFlat() throws Exception {
+        // Given
+        WebClient graph = WebClient.create();
+        AtomicInteger rejected = new AtomicInteger();
+
+        // When - far more Graph calls than request threads, then listing requests behind them
+        for (int i = 0; i < 40; i++) {
+            requestThreads.submit(() -> {
+                try {
+                    graphBulkhead.executeSupplier(() -> graph.post().uri(graphUrl)
+                            .retrieve().bodyToMono(String.class).block());
+                } catch (BulkheadFullException e) {
+                    rejected.incrementAndGet();
+                }
+            });
+        }
+        List<Future<Long>> listings = new ArrayList<>();
+        for (int i = 0; i < REQUEST_THREADS; i++) {
+            long submitted = System.nanoTime();
+            listings.add(requestThreads.submit(() -> System.nanoTime() - submitted));
+        }
+
+        // Then - listings never wait for Graph; without the bulkhead they would queue for ~10s
+        for (Future<Long> listing : listings) {
+            assertThat(Duration.ofNanos(listing.get(GRAPH_DELAY_MS, TimeUnit.MILLISECONDS)))
+                    .isLessThan(Duration.ofMillis(500));
+        }
+        assertThat(rejected).hasValue(38);
+        assertThat(meterRegistry.get("resilience4j.bulkhead.available.concurrent.calls")
+                .tag("name", ResilienceConfig.GRAPH_BULKHEAD).gauge().value()).isZero();
+    }
+
+    private static void respondSlowly(HttpExchange exchange) throws IOException {
+        try {
+            Thread.sleep(GRAPH_DELAY_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        exchange.getRequestBody().readAllBytes();
+        exchange.sendResponseHeaders(200, -1);
+        exchange.close();
+    }
+}
@@ -0,0 +1,76 @@
+package com.aigreentick.services.storage.client.service.impl;
+
+import com.aigreentick.services.storage.client.properties.GraphDeadlineProperties;
+import com.aigreentick.services.storage.util.RequestDeadline;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for GraphCallPolicy.
+ */
+class GraphCallPolicyTest {
+
+    private GraphDeadlineProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private GraphCallPolicy policy;
+
+    @BeforeEach
+    void setUp() {
+        properties = new GraphDeadlineProperties();
+        properties.setBaseTimeoutMs(5000);
+        properties.setMinThroughputBytesPerSecond(1024 * 1024);
+        meterRegistry = new SimpleMeterRegistry();
+        policy = new GraphCallPolicy(properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestDeadline.clear();
+    }
+
+    @Test
+    void timeoutFor_WhenBodyIsLarge_ShouldGrowWithSizeButStayWithinRequestDeadline() {
+        // Given
+        long tenMegabytes = 10L * 1024 * 1024;
+
+        // When
+        Duration withoutDeadline = policy.timeoutFor(tenMegabytes);
+        RequestDeadline.set(Instant.now().plusSeconds(3));
+        Duration withDeadline = policy.timeoutFor(tenMegabytes);
+
+        // Then
+        assertThat(withoutDeadline).isEqualTo(Duration.ofSeconds(15));
+        assertThat(withDeadline).isPositive().isLessThanOrEqualTo(Duration.ofSeconds(3));
+    }
+
+    @Test
+    void hedged_WhenFirstAttemptIsSlow_ShouldReturnSecondAttemptsAnswer() {
+        // Given
+        properties.setHedgeDefaultDelayMs(50);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When
+        String result = policy.hedged("upload_offset", Duration.ofSeconds(5), () -> attempts.incrementAndGet() == 1
+                ? Mono.delay(Duration.ofSeconds(3)).thenReturn("slow")
+                : Mono.just("fast"))
+                .block();
+
+        // Then
+        assertThat(result).isEqualTo("fast");
+        assertThat(attempts).hasValue(2);
+        assertThat(meterRegistry.counter("graph.api.hedge", "operation", "upload_offset", "event", "hedge_won")
+                .count()).isEqualTo(1);
+    }
+}
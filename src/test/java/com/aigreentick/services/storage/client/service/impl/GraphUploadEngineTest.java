@@ -0,0 +1,185 @@
+package com.aigreentick.services.storage.client.service.impl;
+
+import com.aigreentick.services.storage.client.dto.response.AccessTokenCredentials;
+import com.aigreentick.services.storage.client.properties.GraphDeadlineProperties;
+import com.aigreentick.services.storage.client.properties.WhatsappClientProperties;
+import com.aigreentick.services.storage.exception.MediaUploadException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import reactor.core.scheduler.Schedulers;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests GraphUploadEngine against a local mock of the Graph upload endpoints.
+ */
+class GraphUploadEngineTest {
+
+    private static final String API_VERSION = "v23.0";
+    private static final String SESSION_ID = "upload:session-1";
+    private static final int CHUNK_SIZE = 4096;
+
+    @TempDir
+    Path tempDir;
+
+    private HttpServer server;
+    private MockGraph graph;
+    private GraphUploadEngine engine;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        graph = new MockGraph();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", graph::handle);
+        server.start();
+
+        WhatsappClientProperties properties = new WhatsappClientProperties();
+        properties.setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort());
+        properties.setApiVersion(API_VERSION);
+        properties.setAppId("app-1");
+        properties.setResumableThresholdBytes(1024);
+        properties.setResumableChunkSizeBytes(CHUNK_SIZE);
+
+        WhatsappClientAdapter client = new WhatsappClientAdapter(
+                WebClient.create(), properties, Schedulers.boundedElastic(),
+                new GraphCallPolicy(new GraphDeadlineProperties(), new SimpleMeterRegistry()));
+        engine = new GraphUploadEngine(client, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void upload_WhenChunkFailsMidway_ShouldResumeFromGraphOffsetAndSendOnlyMissingBytes() throws Exception {
+        // Given - the second chunk is cut off after 1000 bytes
+        byte[] content = randomBytes(10_000);
+        Path file = Files.write(tempDir.resolve("report.pdf"), content);
+        graph.failRequest = 2;
+        graph.acceptedBeforeFailure = 1000;
+
+        // When
+        GraphUploadEngine.GraphUploadResult result = engine.upload(file, "report.pdf", "application/pdf",
+                new AccessTokenCredentials("phone-1", "token"));
+
+        // Then
+        assertThat(result.handle()).isEqualTo("handle-1");
+        assertThat(graph.received.toByteArray()).isEqualTo(content);
+        // One query to resume, one to finish the session
+        assertThat(graph.offsetQueries).isEqualTo(2);
+
+        long resumedAt = CHUNK_SIZE + 1000;
+        List<long[]> afterFailure = graph.chunks.subList(2, graph.chunks.size());
+        assertThat(afterFailure.get(0)[0]).isEqualTo(resumedAt);
+        assertThat(afterFailure.stream().mapToLong(chunk -> chunk[1]).sum())
+            .isEqualTo(content.length - resumedAt);
+    }
+
+    @Test
+    void upload_WhenLastChunkCarriesNoHandle_ShouldFail() throws Exception {
+        // Given
+        Path file = Files.write(tempDir.resolve("report.pdf"), randomBytes(10_000));
+        graph.handle = null;
+
+        // When / Then
+        assertThatThrownBy(() -> engine.upload(file, "report.pdf", "application/pdf",
+                new AccessTokenCredentials("phone-1", "token")))
+            .isInstanceOf(MediaUploadException.class)
+            .hasMessageContaining("no handle");
+    }
+
+    @Test
+    void upload_WhenFileIsBelowThreshold_ShouldUseSimpleMediaEndpoint() throws Exception {
+        // Given
+        Path file = Files.write(tempDir.resolve("photo.jpg"), randomBytes(512));
+
+        // When
+        GraphUploadEngine.GraphUploadResult result = engine.upload(file, "photo.jpg", "image/jpeg",
+                new AccessTokenCredentials("phone-1", "token"));
+
+        // Then
+        assertThat(result.mediaId()).isEqualTo("media-1");
+        assertThat(graph.chunks).isEmpty();
+    }
+
+    private byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random(42).nextBytes(bytes);
+        return bytes;
+    }
+
+    /**
+     * Minimal Graph API: /media, upload session creation, chunk appends and offset queries.
+     */
+    private static class MockGraph {
+        final ByteArrayOutputStream received = new ByteArrayOutputStream();
+        final List<long[]> chunks = new ArrayList<>();
+        int offsetQueries;
+        long fileLength;
+        int failRequest = -1;
+        int acceptedBeforeFailure;
+        String handle = "handle-1";
+
+        synchronized void handle(HttpExchange exchange) throws IOException {
+            String path = exchange.getRequestURI().getPath();
+            byte[] body = exchange.getRequestBody().readAllBytes();
+
+            if (path.endsWith("/media")) {
+                respond(exchange, 200, "{\"id\":\"media-1\"}");
+            } else if (path.endsWith("/app-1/uploads")) {
+                fileLength = Long.parseLong(exchange.getRequestURI().getQuery()
+                        .replaceAll(".*file_length=(\\d+).*", "$1"));
+                respond(exchange, 200, "{\"id\":\"" + SESSION_ID + "\"}");
+            } else if (path.endsWith("/" + SESSION_ID) && "GET".equals(exchange.getRequestMethod())) {
+                offsetQueries++;
+                respond(exchange, 200, "{\"id\":\"" + SESSION_ID + "\",\"file_offset\":\"" + received.size() + "\"}");
+            } else if (path.endsWith("/" + SESSION_ID)) {
+                long offset = Long.parseLong(exchange.getRequestHeaders().getFirst("file_offset"));
+                if (offset != received.size()) {
+                    respond(exchange, 400, "{\"error\":\"offset mismatch\"}");
+                    return;
+                }
+                chunks.add(new long[] { offset, body.length });
+                if (chunks.size() == failRequest) {
+                    received.write(body, 0, acceptedBeforeFailure);
+                    respond(exchange, 500, "{\"error\":\"connection reset\"}");
+                    return;
+                }
+                received.write(body, 0, body.length);
+                // The handle only comes back once the whole file has arrived
+                respond(exchange, 200, received.size() == fileLength && handle != null
+                        ? "{\"h\":\"" + handle + "\"}" : "{}");
+            } else {
+                respond(exchange, 404, "{}");
+            }
+        }
+
+        private void respond(HttpExchange exchange, int status, String json) throws IOException {
+            byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, bytes.length);
+            exchange.getResponseBody().write(bytes);
+            exchange.close();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.aigreentick.services.storage.client.service.impl;
+
+import com.aigreentick.services.storage.client.dto.response.AccessTokenCredentials;
+import com.aigreentick.services.storage.client.properties.UserClientProperties;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for the credential cache of UserClientAdapter.
+ */
+class UserClientAdapterTest {
+
+    private final AtomicInteger lookups = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private UserClientAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        adapter = new UserClientAdapter(new UserClientProperties(), BulkheadRegistry.ofDefaults()) {
+            @Override
+            AccessTokenCredentials fetchPhoneNumberIdAccessToken(Long userId) {
+                int lookup = lookups.incrementAndGet();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return new AccessTokenCredentials("phone-" + userId, "token-" + lookup);
+            }
+        };
+    }
+
+    @Test
+    void getPhoneNumberIdAccessToken_WhenCalledConcurrently_ShouldShareOneLookup() throws Exception {
+        // Given
+        List<Future<AccessTokenCredentials>> results = new ArrayList<>();
+
+        // When
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 16; i++) {
+                results.add(executor.submit(() -> adapter.getPhoneNumberIdAccessToken(1L)));
+            }
+            Thread.sleep(100);
+            release.countDown();
+        }
+
+        // Then
+        assertThat(lookups).hasValue(1);
+        for (Future<AccessTokenCredentials> result : results) {
+            assertThat(result.get().getAccessToken()).isEqualTo("token-1");
+        }
+        assertThat(adapter.getPhoneNumberIdAccessToken(1L).getAccessToken()).isEqualTo("token-1");
+        assertThat(lookups).hasValue(1);
+    }
+
+    @Test
+    void invalidateAccessToken_WhenTokenWasRejected_ShouldLookUpFreshCredentials() {
+        // Given
+        release.countDown();
+        String rejected = adapter.getPhoneNumberIdAccessToken(1L).getAccessToken();
+
+        // When
+        adapter.invalidateAccessToken(rejected);
+
+        // Then
+        assertThat(adapter.getPhoneNumberIdAccessToken(1L).getAccessToken()).isEqualTo("token-2");
+        assertThat(lookups).hasValue(2);
+    }
+}
@@ -0,0 +1,170 @@
+package com.aigreentick.services.storage.client.service.impl;
+
+import com.aigreentick.services.common.dto.response.FacebookApiResponse;
+import com.aigreentick.services.storage.client.dto.response.UploadOffsetResponse;
+import com.aigreentick.services.storage.client.properties.GraphDeadlineProperties;
+import com.aigreentick.services.storage.client.properties.WhatsappClientProperties;
+import com.aigreentick.services.storage.exception.GraphApiException;
+import com.aigreentick.services.storage.util.RequestDeadline;
+import com.sun.net.httpserver.HttpServer;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
+import io.github.resilience4j.retry.annotation.Retry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for WhatsappClientAdapter.
+ */
+class WhatsappClientAdapterTest {
+
+    private HttpServer server;
+    private int status;
+    private WhatsappClientAdapter client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            byte[] body = (status == 200 ? "{\"id\":\"upload:1\",\"file_offset\":\"42\"}"
+                    : "{\"error\":{\"message\":\"failed\",\"code\":1}}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+
+        WhatsappClientProperties properties = new WhatsappClientProperties();
+        properties.setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort());
+        properties.setApiVersion("v23.0");
+        client = new WhatsappClientAdapter(WebClient.create(), properties, Schedulers.boundedElastic(),
+                new GraphCallPolicy(new GraphDeadlineProperties(), new SimpleMeterRegistry()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestDeadline.clear();
+        server.stop(0);
+    }
+
+    @Test
+    void getUploadOffset_WhenGraphAnswers_ShouldReturnOffset() {
+        // Given
+        status = 200;
+
+        // When
+        FacebookApiResponse<UploadOffsetResponse> response = client.getUploadOffset("upload:1", "token");
+
+        // Then
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(response.getData().getFileOffset()).isEqualTo("42");
+    }
+
+    @Test
+    void getUploadOffset_WhenGraphFailsWith5xx_ShouldThrowForRetry() {
+        // Given
+        status = 503;
+
+        // When / Then
+        assertThatThrownBy(() -> client.getUploadOffset("upload:1", "token"))
+                .isInstanceOf(GraphApiException.class)
+                .satisfies(e -> assertThat(((GraphApiException) e).getStatusCode()).isEqualTo(503));
+    }
+
+    @Test
+    void getUploadOffset_WhenRequestIsInvalid_ShouldReturnErrorWithoutRetry() {
+        // Given
+        status = 400;
+
+        // When
+        FacebookApiResponse<UploadOffsetResponse> response = client.getUploadOffset("upload:1", "token");
+
+        // Then
+        assertThat(response.isSuccess()).isFalse();
+        assertThat(response.getStatusCode()).isEqualTo(400);
+    }
+
+    @Test
+    void getUploadOffset_WhenDeadlineHasPassed_ShouldReturn504() {
+        // Given
+        RequestDeadline.set(Instant.now().minusSeconds(1));
+
+        // When
+        FacebookApiResponse<UploadOffsetResponse> response = client.getUploadOffset("upload:1", "token");
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(504);
+    }
+
+    @Test
+    void resilienceAnnotations_ShouldNameFallbacksMatchingTheirMethods() {
+        // Given
+        List<String> mismatches = new ArrayList<>();
+
+        // When
+        for (Method method : WhatsappClientAdapter.class.getDeclaredMethods()) {
+            if (!Modifier.isPublic(method.getModifiers())) {
+                continue;
+            }
+            Retry retry = method.getAnnotation(Retry.class);
+            CircuitBreaker circuitBreaker = method.getAnnotation(CircuitBreaker.class);
+            RateLimiter rateLimiter = method.getAnnotation(RateLimiter.class);
+            Bulkhead bulkhead = method.getAnnotation(Bulkhead.class);
+            if (retry != null) {
+                checkFallback(method, retry.fallbackMethod(), Throwable.class, mismatches);
+            }
+            if (circuitBreaker != null && retry == null) {
+                checkFallback(method, circuitBreaker.fallbackMethod(), Throwable.class, mismatches);
+            }
+            if (rateLimiter != null) {
+                checkFallback(method, rateLimiter.fallbackMethod(), RequestNotPermitted.class, mismatches);
+            }
+            if (bulkhead != null) {
+                checkFallback(method, bulkhead.fallbackMethod(), BulkheadFullException.class, mismatches);
+            }
+        }
+
+        // Then
+        assertThat(mismatches).isEmpty();
+    }
+
+    /**
+     * The fallback must take the method's parameters plus exactly {@code exceptionType},
+     * so it handles its own failures and lets others reach the outer aspects.
+     */
+    private void checkFallback(Method method, String fallbackName, Class<?> exceptionType, List<String> mismatches) {
+        Class<?>[] expected = Arrays.copyOf(method.getParameterTypes(), method.getParameterCount() + 1);
+        expected[expected.length - 1] = exceptionType;
+        try {
+            Method fallback = WhatsappClientAdapter.class.getDeclaredMethod(fallbackName, expected);
+            if (!method.getReturnType().isAssignableFrom(fallback.getReturnType())) {
+                mismatches.add(method.getName() + " -> " + fallbackName + " returns " + fallback.getReturnType());
+            }
+        } catch (NoSuchMethodException e) {
+            mismatches.add(method.getName() + " -> " + fallbackName + "(..., " + exceptionType.getSimpleName() + ")");
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.aigreentick.services.storage.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for AdminAuthorizationInterceptor.
+ */
+class AdminAuthorizationInterceptorTest {
+
+    private MediaAdminProperties properties;
+    private AdminAuthorizationInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        properties = new MediaAdminProperties();
+        properties.setToken("admin-secret");
+        properties.setPurgeAllToken("purge-all-secret");
+        interceptor = new AdminAuthorizationInterceptor(properties);
+    }
+
+    @Test
+    void preHandle_WhenTokenIsMissing_ShouldRejectWith403() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/admin/v1/media/purge");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        boolean proceed = interceptor.preHandle(request, response, null);
+
+        // Then
+        assertThat(proceed).isFalse();
+        assertThat(response.getStatus()).isEqualTo(403);
+        assertThat(response.getContentAsString()).contains("\"status\":\"ERROR\"");
+    }
+
+    @Test
+    void preHandle_WhenNoTokenIsConfigured_ShouldRejectEveryCaller() throws Exception {
+        // Given
+        properties.setToken(null);
+        properties.setPurgeAllToken(null);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/admin/v1/media/purge");
+        request.addHeader(AdminAuthorizationInterceptor.TOKEN_HEADER, "");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        boolean proceed = interceptor.preHandle(request, response, null);
+
+        // Then
+        assertThat(proceed).isFalse();
+        assertThat(response.getStatus()).isEqualTo(403);
+    }
+
+    @Test
+    void preHandle_WhenAdminTokenMatches_ShouldProceedWithoutPurgeAll() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/admin/v1/media/purge");
+        request.addHeader(AdminAuthorizationInterceptor.TOKEN_HEADER, "admin-secret");
+
+        // When
+        boolean proceed = interceptor.preHandle(request, new MockHttpServletResponse(), null);
+
+        // Then
+        assertThat(proceed).isTrue();
+        assertThat(request.getAttribute(AdminAuthorizationInterceptor.PURGE_ALL_ALLOWED)).isNull();
+    }
+
+    @Test
+    void preHandle_WhenPurgeAllTokenMatches_ShouldAllowPurgeOfAllOrganisations() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/admin/v1/media/purge");
+        request.addHeader(AdminAuthorizationInterceptor.TOKEN_HEADER, "purge-all-secret");
+
+        // When
+        boolean proceed = interceptor.preHandle(request, new MockHttpServletResponse(), null);
+
+        // Then
+        assertThat(proceed).isTrue();
+        assertThat(request.getAttribute(AdminAuthorizationInterceptor.PURGE_ALL_ALLOWED)).isEqualTo(Boolean.TRUE);
+    }
+
+    @Test
+    void preHandle_WhenExportIsRequestedWithoutToken_ShouldRejectWith403() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/admin/v1/media/export");
+        request.addParameter("organisationId", "9");
+        request.addHeader(AdminAuthorizationInterceptor.TOKEN_HEADER, "wrong-secret");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        boolean proceed = interceptor.preHandle(request, response, null);
+
+        // Then
+        assertThat(proceed).isFalse();
+        assertThat(response.getStatus()).isEqualTo(403);
+    }
+}
@@ -0,0 +1,81 @@
+package com.aigreentick.services.storage.config;
+
+import com.aigreentick.services.storage.client.properties.GraphDeadlineProperties;
+import com.aigreentick.services.storage.util.RequestDeadline;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for RequestDeadlineInterceptor.
+ */
+class RequestDeadlineInterceptorTest {
+
+    private GraphDeadlineProperties properties;
+    private RequestDeadlineInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        properties = new GraphDeadlineProperties();
+        properties.setMaxRequestTimeoutMs(60_000);
+        interceptor = new RequestDeadlineInterceptor(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestDeadline.clear();
+    }
+
+    @Test
+    void preHandle_WhenBudgetIsAboveMaximum_ShouldClampDeadline() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(RequestDeadlineInterceptor.TIMEOUT_HEADER, String.valueOf(Long.MAX_VALUE));
+
+        // When
+        boolean proceed = interceptor.preHandle(request, new MockHttpServletResponse(), null);
+
+        // Then
+        assertThat(proceed).isTrue();
+        assertThat(RequestDeadline.remaining()).isBetween(Duration.ofSeconds(59), Duration.ofSeconds(60));
+    }
+
+    @Test
+    void preHandle_WhenBudgetIsNegative_ShouldRejectWith400() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(RequestDeadlineInterceptor.TIMEOUT_HEADER, "-5");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        boolean proceed = interceptor.preHandle(request, response, null);
+
+        // Then
+        assertThat(proceed).isFalse();
+        assertThat(response.getStatus()).isEqualTo(400);
+        assertThat(response.getContentAsString()).contains(RequestDeadlineInterceptor.TIMEOUT_HEADER);
+        assertThat(RequestDeadline.get()).isNull();
+    }
+
+    @Test
+    void preHandle_WhenBudgetOverflowsLong_ShouldRejectWith400() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(RequestDeadlineInterceptor.TIMEOUT_HEADER, "99999999999999999999999");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        boolean proceed = interceptor.preHandle(request, response, null);
+
+        // Then
+        assertThat(proceed).isFalse();
+        assertThat(response.getStatus()).isEqualTo(400);
+    }
+}
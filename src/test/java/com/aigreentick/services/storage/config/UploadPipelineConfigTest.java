@@ -0,0 +1,93 @@
+package com.aigreentick.services.storage.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.context.ConfigurationPropertiesAutoConfiguration;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.task.TaskExecutor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for UploadPipelineConfig, run against Spring Boot's own
+ * virtual-thread switch.
+ */
+class UploadPipelineConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(
+                    ConfigurationPropertiesAutoConfiguration.class, TaskExecutionAutoConfiguration.class))
+            .withUserConfiguration(UploadPipelineConfig.class, UploadPipelineProperties.class,
+                    ExecutionModeProperties.class);
+
+    @Test
+    void mediaPipelineExecutor_WhenVirtualThreadsAreEnabled_ShouldRunTasksOnVirtualThreads() {
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=true").run(context -> {
+            // Given
+            TaskExecutor executor = context.getBean("mediaPipelineExecutor", TaskExecutor.class);
+
+            // When
+            Thread thread = runOn(executor);
+
+            // Then
+            assertThat(thread.isVirtual()).isTrue();
+            assertThat(thread.getName()).startsWith("media-pipeline-");
+        });
+    }
+
+    @Test
+    void mediaPipelineExecutor_WhenVirtualThreadsAreDisabled_ShouldRunTasksOnPlatformThreads() {
+        contextRunner.run(context -> {
+            // Given
+            TaskExecutor executor = context.getBean("mediaPipelineExecutor", TaskExecutor.class);
+
+            // When
+            Thread thread = runOn(executor);
+
+            // Then
+            assertThat(thread.isVirtual()).isFalse();
+            assertThat(thread.getName()).startsWith("media-pipeline-");
+        });
+    }
+
+    @Test
+    void mediaReadScheduler_WhenVirtualThreadsAreEnabled_ShouldReadOnVirtualThreads() {
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=true").run(context -> {
+            // Given
+            Scheduler scheduler = context.getBean("mediaReadScheduler", Scheduler.class);
+
+            // When
+            Thread thread = Mono.fromCallable(Thread::currentThread).subscribeOn(scheduler).block();
+
+            // Then
+            assertThat(thread.isVirtual()).isTrue();
+        });
+    }
+
+    @Test
+    void mediaReadScheduler_WhenVirtualThreadsAreDisabled_ShouldReadOnPlatformThreads() {
+        contextRunner.run(context -> {
+            // Given
+            Scheduler scheduler = context.getBean("mediaReadScheduler", Scheduler.class);
+
+            // When
+            Thread thread = Mono.fromCallable(Thread::currentThread).subscribeOn(scheduler).block();
+
+            // Then
+            assertThat(thread.isVirtual()).isFalse();
+        });
+    }
+
+    private Thread runOn(TaskExecutor executor) throws Exception {
+        CompletableFuture<Thread> ran = new CompletableFuture<>();
+        executor.execute(() -> ran.complete(Thread.currentThread()));
+        return ran.get(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,203 @@
+package com.aigreentick.services.storage.controller;
+
+import com.aigreentick.services.storage.config.PaginationProperties;
+import com.aigreentick.services.storage.config.UserContextInterceptor;
+import com.aigreentick.services.storage.service.impl.media.MediaContentServiceImpl;
+import com.aigreentick.services.storage.service.impl.media.MediaContentServiceImpl.MediaContent;
+import com.aigreentick.services.storage.service.impl.media.MediaExportServiceImpl;
+import com.aigreentick.services.storage.service.impl.media.MediaOrchestratorServiceImpl;
+import com.aigreentick.services.storage.validator.MediaRequestValidator;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for the range and conditional handling of the media content endpoint.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class MediaContentControllerTest {
+    private static final String URL = "/api/v1/media/5/content";
+    private static final String KEY = "org-1/user-1/video/clip.mp4";
+    private static final String ETAG = "\"abc123\"";
+    private static final Instant LAST_MODIFIED = Instant.parse("2024-05-01T10:15:30Z");
+    private static final byte[] BYTES = "0123456789".getBytes(StandardCharsets.US_ASCII);
+
+    @Mock
+    private MediaOrchestratorServiceImpl mediaService;
+    @Mock
+    private MediaContentServiceImpl contentService;
+    @Mock
+    private MediaExportServiceImpl exportService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MediaController controller = new MediaController(mediaService, contentService, exportService,
+                new MediaRequestValidator(new PaginationProperties()));
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .addInterceptors(new UserContextInterceptor())
+                .build();
+
+        when(contentService.describe(5L)).thenReturn(new MediaContent(KEY, "clip.mp4", "video/mp4",
+                BYTES.length, LAST_MODIFIED, ETAG));
+        doAnswer(inv -> {
+            long offset = inv.getArgument(1);
+            long length = inv.getArgument(2);
+            OutputStream out = inv.getArgument(3);
+            out.write(Arrays.copyOfRange(BYTES, (int) offset, (int) (offset + length)));
+            return null;
+        }).when(contentService).transfer(eq(KEY), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void getMediaContent_WhenNoRangeIsRequested_ShouldStreamWholeFile() throws Exception {
+        // When
+        MockHttpServletResponse response = stream(HttpHeaders.EMPTY);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(ETAG);
+        assertThat(response.getContentAsByteArray()).isEqualTo(BYTES);
+    }
+
+    @Test
+    void getMediaContent_WhenSingleRangeIsRequested_ShouldReturnPartialContent() throws Exception {
+        // Given
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RANGE, "bytes=2-5");
+
+        // When
+        MockHttpServletResponse response = stream(headers);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 2-5/10");
+        assertThat(response.getContentLengthLong()).isEqualTo(4);
+        assertThat(response.getContentAsString()).isEqualTo("2345");
+    }
+
+    @Test
+    void getMediaContent_WhenIfRangeMatchesStrongETag_ShouldHonourRange() throws Exception {
+        // Given
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RANGE, "bytes=8-");
+        headers.set(HttpHeaders.IF_RANGE, ETAG);
+
+        // When
+        MockHttpServletResponse response = stream(headers);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsString()).isEqualTo("89");
+    }
+
+    @Test
+    void getMediaContent_WhenIfRangeMatchesLastModified_ShouldHonourRange() throws Exception {
+        // Given
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RANGE, "bytes=0-0");
+        headers.set(HttpHeaders.IF_RANGE, "Wed, 01 May 2024 10:15:30 GMT");
+
+        // When
+        MockHttpServletResponse response = stream(headers);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsString()).isEqualTo("0");
+    }
+
+    @Test
+    void getMediaContent_WhenIfRangeETagIsStale_ShouldReturnWholeFile() throws Exception {
+        // Given
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RANGE, "bytes=2-5");
+        headers.set(HttpHeaders.IF_RANGE, "\"older\"");
+
+        // When
+        MockHttpServletResponse response = stream(headers);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isNull();
+        assertThat(response.getContentAsByteArray()).isEqualTo(BYTES);
+    }
+
+    @Test
+    void getMediaContent_WhenIfRangeIsWeakETag_ShouldReturnWholeFile() throws Exception {
+        // Given - If-Range uses the strong comparison, so W/ never matches
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RANGE, "bytes=2-5");
+        headers.set(HttpHeaders.IF_RANGE, "W/" + ETAG);
+
+        // When
+        MockHttpServletResponse response = stream(headers);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsByteArray()).isEqualTo(BYTES);
+    }
+
+    @Test
+    void getMediaContent_WhenIfNoneMatchIsCurrent_ShouldReturnNotModified() throws Exception {
+        // When / Then
+        mockMvc.perform(get(URL)
+                        .header("X-User-Id", "1")
+                        .header("X-Org-Id", "1")
+                        .header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG));
+        verify(contentService, never()).transfer(anyString(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void getMediaContent_WhenRangeStartsPastEnd_ShouldReturnRangeNotSatisfiable() throws Exception {
+        // When / Then
+        mockMvc.perform(get(URL)
+                        .header("X-User-Id", "1")
+                        .header("X-Org-Id", "1")
+                        .header(HttpHeaders.RANGE, "bytes=10-20"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10"));
+        verify(contentService, never()).transfer(anyString(), anyLong(), anyLong(), any());
+    }
+
+    private MockHttpServletResponse stream(HttpHeaders headers) throws Exception {
+        MvcResult result = mockMvc.perform(get(URL)
+                        .header("X-User-Id", "1")
+                        .header("X-Org-Id", "1")
+                        .headers(headers))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult(5000);
+        return result.getResponse();
+    }
+}
@@ -26,11 +26,12 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -46,6 +47,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @SpringBootTest // ✅ ONLY THIS
 @AutoConfigureMockMvc // ✅ To use MockMvc
 @ActiveProfiles("test")
+@TestPropertySource(properties = "media.publish.dispatcher-enabled=false")
 @Slf4j
 class MediaControllerIntegrationTest {
 
@@ -125,7 +127,7 @@ class MediaControllerIntegrationTest {
         whatsappResponse.setId("test-media-id-123");
 
         when(whatsappClientAdapter.uploadMediaToFacebook(
-                any(File.class), anyString(), anyString(), anyString()))
+                any(InputStream.class), anyString(), anyString(), anyLong(), anyString(), anyString()))
                 .thenReturn(FacebookApiResponse.success(whatsappResponse, 200));
 
          when(mediaUploadService.uploadMedia(any(MultipartFile.class)))
@@ -187,7 +189,8 @@ class MediaControllerIntegrationTest {
                 .andExpect(jsonPath("$.data.storedFilename").exists())
                 .andExpect(jsonPath("$.data.mediaType").value("IMAGE"))
                 .andExpect(jsonPath("$.data.contentType").value("image/jpeg"))
-                .andExpect(jsonPath("$.data.mediaId").value("test-media-id-123"))
+                .andExpect(jsonPath("$.data.status").value("PENDING"))
+                .andExpect(jsonPath("$.data.mediaId").doesNotExist())
                 .andExpect(jsonPath("$.data.fileSizeBytes").exists());
 
         log.info("Upload test completed successfully");
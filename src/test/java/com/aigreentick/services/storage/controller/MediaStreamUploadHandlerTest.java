@@ -0,0 +1,136 @@
+package com.aigreentick.services.storage.controller;
+
+import com.aigreentick.services.common.context.UserContext;
+import com.aigreentick.services.common.context.UserContextData;
+import com.aigreentick.services.storage.config.PaginationProperties;
+import com.aigreentick.services.storage.dto.response.MediaUploadResponse;
+import com.aigreentick.services.storage.service.impl.media.MediaStreamUploadServiceImpl;
+import com.aigreentick.services.storage.validator.MediaRequestValidator;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.multipart.FilePartEvent;
+import org.springframework.http.codec.multipart.FormPartEvent;
+import org.springframework.http.codec.multipart.PartEvent;
+import org.springframework.mock.web.reactive.function.server.MockServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MediaStreamUploadHandler.
+ */
+@ExtendWith(MockitoExtension.class)
+class MediaStreamUploadHandlerTest {
+
+    @Mock
+    private MediaStreamUploadServiceImpl uploadService;
+
+    private MediaStreamUploadHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        handler = new MediaStreamUploadHandler(uploadService, new MediaRequestValidator(new PaginationProperties()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        UserContext.clear();
+    }
+
+    @Test
+    void upload_WhenFilePartFollowsOtherFields_ShouldStreamItWithInterceptorContext() {
+        // Given - the interceptor filter set the context on the dispatching thread
+        UserContext.set(new UserContextData(7L, 9L));
+        byte[] body = "fake png bytes".getBytes();
+        AtomicReference<byte[]> received = new AtomicReference<>();
+        when(uploadService.uploadMedia(eq("photo.png"), eq("image/png"), eq((long) body.length), eq(7L), eq(9L),
+                any())).thenAnswer(inv -> {
+                    Flux<DataBuffer> content = inv.getArgument(5);
+                    return DataBufferUtils.join(content).map(buffer -> {
+                        byte[] bytes = new byte[buffer.readableByteCount()];
+                        buffer.read(bytes);
+                        DataBufferUtils.release(buffer);
+                        received.set(bytes);
+                        return MediaUploadResponse.builder().id(42L).originalFilename("photo.png").build();
+                    });
+                });
+
+        // When
+        ServerResponse response = handler.upload(request(String.valueOf(body.length), Flux.<PartEvent>concat(
+                FormPartEvent.create("caption", "holiday"),
+                FilePartEvent.create("file", "photo.png", MediaType.IMAGE_PNG,
+                        Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body))))))
+                .block();
+
+        // Then
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(received.get()).isEqualTo(body);
+    }
+
+    @Test
+    void upload_WhenUserContextIsMissing_ShouldRejectBeforeReadingBody() {
+        // When
+        ServerResponse response = handler.upload(
+                request("3", Flux.<PartEvent>error(new AssertionError("body was read")))).block();
+
+        // Then
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verify(uploadService, never()).uploadMedia(anyString(), anyString(), anyLong(), any(), any(), any());
+    }
+
+    @Test
+    void upload_WhenFilePartIsMissing_ShouldRejectWith400() {
+        // Given
+        UserContext.set(new UserContextData(7L, 9L));
+
+        // When
+        ServerResponse response = handler.upload(
+                request("3", Flux.<PartEvent>from(FormPartEvent.create("caption", "x")))).block();
+
+        // Then
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void upload_WhenProviderCannotStream_ShouldRejectWith501() {
+        // Given - e.g. the replicated provider, which has no streaming variant
+        UserContext.set(new UserContextData(7L, 9L));
+        when(uploadService.uploadMedia(anyString(), anyString(), anyLong(), any(), any(), any()))
+                .thenReturn(Mono.error(new UnsupportedOperationException("Streaming uploads are not supported")));
+
+        // When
+        ServerResponse response = handler.upload(request("3", Flux.<PartEvent>from(
+                FilePartEvent.create("file", "photo.png", MediaType.IMAGE_PNG,
+                        Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(new byte[3]))))))
+                .block();
+
+        // Then
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.NOT_IMPLEMENTED);
+    }
+
+    private MockServerRequest request(String size, Flux<PartEvent> parts) {
+        return MockServerRequest.builder()
+                .queryParam("size", size)
+                .body(parts);
+    }
+}
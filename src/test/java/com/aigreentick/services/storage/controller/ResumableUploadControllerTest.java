@@ -0,0 +1,154 @@
+package com.aigreentick.services.storage.controller;
+
+import com.aigreentick.services.storage.config.PaginationProperties;
+import com.aigreentick.services.storage.config.UserContextInterceptor;
+import com.aigreentick.services.storage.dto.response.MediaUploadResponse;
+import com.aigreentick.services.storage.dto.response.ResumableUploadResponse;
+import com.aigreentick.services.storage.exception.UploadSessionConflictException;
+import com.aigreentick.services.storage.service.impl.upload.ResumableUploadServiceImpl;
+import com.aigreentick.services.storage.validator.MediaRequestValidator;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit tests for ResumableUploadController.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ResumableUploadControllerTest {
+    private static final String URL = "/api/v1/media/uploads";
+
+    @Mock
+    private ResumableUploadServiceImpl uploadService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ResumableUploadController controller = new ResumableUploadController(uploadService,
+                new MediaRequestValidator(new PaginationProperties()));
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .addInterceptors(new UserContextInterceptor())
+                .build();
+    }
+
+    @Test
+    void createSession_WhenRequestIsValid_ShouldReturnLocationAndOffset() throws Exception {
+        // Given
+        when(uploadService.createSession(any())).thenReturn(session(0));
+
+        // When / Then
+        mockMvc.perform(post(URL)
+                        .header("X-User-Id", "1")
+                        .header("X-Org-Id", "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"filename\":\"video.mp4\",\"contentType\":\"video/mp4\",\"size\":20}"))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Location", URL + "/s-1"))
+                .andExpect(header().string("Upload-Offset", "0"))
+                .andExpect(jsonPath("$.data.chunkSizeBytes").value(8));
+    }
+
+    @Test
+    void createSession_WhenSizeIsMissing_ShouldRejectRequest() throws Exception {
+        // When / Then
+        mockMvc.perform(post(URL)
+                        .header("X-User-Id", "1")
+                        .header("X-Org-Id", "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"filename\":\"video.mp4\",\"contentType\":\"video/mp4\"}"))
+                .andExpect(status().isBadRequest());
+        verify(uploadService, never()).createSession(any());
+    }
+
+    @Test
+    void getOffset_WhenSessionExists_ShouldReportOffsetAndLength() throws Exception {
+        // Given
+        when(uploadService.getSession("s-1")).thenReturn(session(8));
+
+        // When / Then
+        mockMvc.perform(head(URL + "/s-1")
+                        .header("X-User-Id", "1")
+                        .header("X-Org-Id", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Upload-Offset", "8"))
+                .andExpect(header().string("Upload-Length", "20"))
+                .andExpect(header().string("Cache-Control", "no-store"));
+    }
+
+    @Test
+    void uploadChunk_WhenOffsetMatches_ShouldReturnNewOffset() throws Exception {
+        // Given
+        when(uploadService.writeChunk(eq("s-1"), eq(0L), eq(8L), any())).thenReturn(8L);
+
+        // When / Then
+        mockMvc.perform(patch(URL + "/s-1")
+                        .header("X-User-Id", "1")
+                        .header("X-Org-Id", "1")
+                        .header("Upload-Offset", "0")
+                        .contentType("application/offset+octet-stream")
+                        .content(new byte[8]))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string("Upload-Offset", "8"));
+    }
+
+    @Test
+    void uploadChunk_WhenOffsetIsStale_ShouldReturnConflictWithCurrentOffset() throws Exception {
+        // Given
+        when(uploadService.writeChunk(eq("s-1"), eq(0L), eq(8L), any()))
+                .thenThrow(new UploadSessionConflictException("Upload-Offset 0 does not match the session offset 8", 8));
+
+        // When / Then
+        mockMvc.perform(patch(URL + "/s-1")
+                        .header("X-User-Id", "1")
+                        .header("X-Org-Id", "1")
+                        .header("Upload-Offset", "0")
+                        .contentType("application/offset+octet-stream")
+                        .content(new byte[8]))
+                .andExpect(status().isConflict())
+                .andExpect(header().string("Upload-Offset", "8"));
+    }
+
+    @Test
+    void completeSession_WhenAllBytesArrived_ShouldReturnStoredMedia() throws Exception {
+        // Given
+        when(uploadService.completeSession("s-1")).thenReturn(MediaUploadResponse.builder()
+                .id(42L)
+                .originalFilename("video.mp4")
+                .build());
+
+        // When / Then
+        mockMvc.perform(post(URL + "/s-1/complete")
+                        .header("X-User-Id", "1")
+                        .header("X-Org-Id", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SUCCESS"))
+                .andExpect(jsonPath("$.data.id").value(42));
+    }
+
+    private ResumableUploadResponse session(long offset) {
+        return ResumableUploadResponse.builder()
+                .id("s-1")
+                .offset(offset)
+                .length(20)
+                .chunkSizeBytes(8)
+                .build();
+    }
+}
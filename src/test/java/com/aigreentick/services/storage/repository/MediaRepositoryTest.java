@@ -0,0 +1,73 @@
+package com.aigreentick.services.storage.repository;
+
+import com.aigreentick.services.storage.enums.StorageProviderType;
+import com.aigreentick.services.storage.model.Media;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Repository tests for MediaRepository queries against an embedded database.
+ */
+@DataJpaTest
+class MediaRepositoryTest {
+
+    @Autowired
+    private MediaRepository mediaRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void findUnderReplicated_WhenMediaIsDeleted_ShouldSkipIt() {
+        // Given
+        Media live = mediaRepository.save(replicated("org-1/user-1/image/live.jpg", "LOCAL"));
+        Media deleted = mediaRepository.save(replicated("org-1/user-1/image/deleted.jpg", "LOCAL"));
+        mediaRepository.save(replicated("org-1/user-1/image/complete.jpg", "LOCAL,S3"));
+        entityManager.flush();
+        mediaRepository.softDeleteById(deleted.getId(), 1L);
+        entityManager.clear();
+
+        // When
+        List<Media> underReplicated = mediaRepository.findUnderReplicated(StorageProviderType.REPLICATED,
+                "LOCAL,S3", 0L, PageRequest.of(0, 10));
+
+        // Then
+        assertThat(underReplicated).extracting(Media::getId).containsExactly(live.getId());
+    }
+
+    @Test
+    void updateStorageReplicas_WhenLateWritesSettle_ShouldRecordReplicasOnRowsOfTheKey() {
+        // Given
+        Media media = mediaRepository.save(replicated("org-1/user-1/image/late.jpg", "LOCAL"));
+        entityManager.flush();
+
+        // When
+        int updated = mediaRepository.updateStorageReplicas("org-1/user-1/image/late.jpg",
+                StorageProviderType.REPLICATED, "LOCAL,S3");
+        entityManager.clear();
+
+        // Then
+        assertThat(updated).isEqualTo(1);
+        assertThat(mediaRepository.findById(media.getId())).get()
+                .extracting(Media::getStorageReplicas).isEqualTo("LOCAL,S3");
+    }
+
+    private Media replicated(String storageKey, String replicas) {
+        return Media.builder()
+                .originalFilename("a.jpg")
+                .storageKey(storageKey)
+                .storageProvider(StorageProviderType.REPLICATED)
+                .storageReplicas(replicas)
+                .organisationId(1L)
+                .userId(1L)
+                .build();
+    }
+}
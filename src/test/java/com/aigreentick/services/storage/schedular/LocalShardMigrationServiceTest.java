@@ -0,0 +1,90 @@
+package com.aigreentick.services.storage.schedular;
+
+import com.aigreentick.services.storage.config.provider.LocalStorageProperties;
+import com.aigreentick.services.storage.service.impl.storage.LocalPathResolver;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for LocalShardMigrationService.
+ */
+class LocalShardMigrationServiceTest {
+
+    private static final String LEGACY_KEY = "org-1/user-1/image/legacy.jpg";
+    private static final String SHARDED_KEY = "org-1/user-1/image/sharded.jpg";
+
+    @TempDir
+    Path rootPath;
+
+    private LocalPathResolver pathResolver;
+    private LocalShardMigrationService migrationService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        LocalStorageProperties properties = new LocalStorageProperties();
+        properties.setRootPath(rootPath.toString());
+        pathResolver = new LocalPathResolver(properties);
+        migrationService = new LocalShardMigrationService(properties, pathResolver, new SimpleMeterRegistry());
+
+        write(pathResolver.legacyPath(LEGACY_KEY), "old");
+        write(pathResolver.shardedPath(SHARDED_KEY), "new");
+    }
+
+    @Test
+    void migrateBatch_WhenLegacyFilesExist_ShouldMoveOnlyThemUnderTheirKeys() throws Exception {
+        // When
+        int moved = migrationService.migrateBatch();
+
+        // Then
+        assertThat(moved).isEqualTo(1);
+        assertThat(pathResolver.legacyPath(LEGACY_KEY)).doesNotExist();
+        assertThat(pathResolver.resolveExisting(LEGACY_KEY)).isEqualTo(pathResolver.shardedPath(LEGACY_KEY));
+        assertThat(Files.readString(pathResolver.resolveExisting(LEGACY_KEY))).isEqualTo("old");
+        assertThat(Files.readString(pathResolver.resolveExisting(SHARDED_KEY))).isEqualTo("new");
+        assertThat(migrationService.migrateBatch()).isZero();
+    }
+
+    @Test
+    void migrateBatch_WhenShardedCopyHasSameContent_ShouldRemoveLegacyDuplicate() throws Exception {
+        // Given - an earlier run linked the file but did not get to unlink the legacy path
+        write(pathResolver.legacyPath(SHARDED_KEY), "new");
+
+        // When
+        migrationService.migrateBatch();
+
+        // Then
+        assertThat(pathResolver.legacyPath(SHARDED_KEY)).doesNotExist();
+        assertThat(Files.readString(pathResolver.resolveExisting(SHARDED_KEY))).isEqualTo("new");
+        assertThat(migrationService.migrateBatch()).isZero();
+    }
+
+    @Test
+    void migrateBatch_WhenShardedCopyDiffers_ShouldSetLegacyAsideAndNotRescanIt() throws Exception {
+        // Given
+        write(pathResolver.legacyPath(SHARDED_KEY), "stale");
+
+        // When
+        migrationService.migrateBatch();
+
+        // Then - the sharded file still wins and the legacy one is kept out of the scanned tree
+        assertThat(pathResolver.legacyPath(SHARDED_KEY)).doesNotExist();
+        assertThat(Files.readString(rootPath.resolve(LocalShardMigrationService.CONFLICTS_DIR).resolve(SHARDED_KEY)))
+                .isEqualTo("stale");
+        assertThat(Files.readString(pathResolver.resolveExisting(SHARDED_KEY))).isEqualTo("new");
+        assertThat(migrationService.migrateBatch()).isZero();
+    }
+
+    private void write(Path path, String content) throws Exception {
+        Files.createDirectories(path.getParent());
+        Files.writeString(path, content);
+    }
+}
@@ -0,0 +1,119 @@
+package com.aigreentick.services.storage.schedular;
+
+import com.aigreentick.services.storage.config.MediaLifecycleProperties;
+import com.aigreentick.services.storage.enums.StorageProviderType;
+import com.aigreentick.services.storage.exception.StorageException;
+import com.aigreentick.services.storage.model.Media;
+import com.aigreentick.services.storage.repository.MediaRepository;
+import com.aigreentick.services.storage.service.StorageProvider;
+import com.aigreentick.services.storage.service.impl.media.MediaServiceImpl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MediaLifecycleService.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class MediaLifecycleServiceTest {
+
+    @Mock
+    private MediaRepository mediaRepository;
+    @Mock
+    private MediaServiceImpl mediaService;
+    @Mock
+    private StorageProvider storageProvider;
+
+    private MediaLifecycleService lifecycleService;
+
+    @BeforeEach
+    void setUp() {
+        MediaLifecycleProperties.Rule rule = new MediaLifecycleProperties.Rule();
+        rule.setMinAgeDays(30);
+        rule.setMinIdleDays(30);
+        rule.setToTier("ARCHIVE");
+        MediaLifecycleProperties properties = new MediaLifecycleProperties();
+        properties.setEnabled(true);
+        properties.setRules(List.of(rule));
+        lifecycleService = new MediaLifecycleService(properties, mediaRepository, mediaService, storageProvider,
+                new SimpleMeterRegistry());
+        when(mediaRepository.findStorageKeysInUse(anyCollection(), any(), any())).thenReturn(List.of());
+    }
+
+    @Test
+    void runLifecycle_WhenDeduplicatedRowsShareColdObject_ShouldMoveItOnce() {
+        // Given
+        candidates(media(1L, "org-1/a.png"), media(2L, "org-1/a.png"));
+        when(storageProvider.transition("org-1/a.png", "ARCHIVE")).thenReturn(true);
+
+        // When
+        int moved = lifecycleService.runLifecycle();
+
+        // Then
+        assertThat(moved).isEqualTo(1);
+        verify(storageProvider, times(1)).transition("org-1/a.png", "ARCHIVE");
+        verify(mediaService).updateStorageTier(Set.of("org-1/a.png"), "ARCHIVE");
+    }
+
+    @Test
+    void runLifecycle_WhenAnotherRowOfSharedObjectIsStillInUse_ShouldLeaveObjectInItsTier() {
+        // Given - a.png was deduplicated into a recent upload; b.png is cold everywhere
+        candidates(media(1L, "org-1/a.png"), media(2L, "org-1/b.png"));
+        when(mediaRepository.findStorageKeysInUse(anyCollection(), any(), any())).thenReturn(List.of("org-1/a.png"));
+        when(storageProvider.transition("org-1/b.png", "ARCHIVE")).thenReturn(true);
+
+        // When
+        int moved = lifecycleService.runLifecycle();
+
+        // Then
+        assertThat(moved).isEqualTo(1);
+        verify(storageProvider, never()).transition(eq("org-1/a.png"), anyString());
+        verify(mediaService).updateStorageTier(Set.of("org-1/b.png"), "ARCHIVE");
+    }
+
+    @Test
+    void runLifecycle_WhenTransitionFails_ShouldNotRecordTier() {
+        // Given - the object was deleted while it was being moved
+        candidates(media(1L, "org-1/a.png"));
+        when(storageProvider.transition("org-1/a.png", "ARCHIVE"))
+                .thenThrow(new StorageException("File not found: org-1/a.png", StorageProviderType.LOCAL));
+
+        // When
+        int moved = lifecycleService.runLifecycle();
+
+        // Then
+        assertThat(moved).isZero();
+        verify(mediaService).updateStorageTier(Set.of(), "ARCHIVE");
+    }
+
+    private void candidates(Media... batch) {
+        when(mediaRepository.findLifecycleCandidates(anyLong(), any(), any(), any(), any(), any()))
+                .thenReturn(List.of(batch), List.of());
+    }
+
+    private Media media(Long id, String storageKey) {
+        return Media.builder()
+                .id(id)
+                .storageKey(storageKey)
+                .build();
+    }
+}
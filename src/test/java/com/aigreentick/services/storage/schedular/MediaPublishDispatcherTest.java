@@ -0,0 +1,221 @@
+package com.aigreentick.services.storage.schedular;
+
+import com.aigreentick.services.common.dto.response.FacebookApiResponse;
+import com.aigreentick.services.storage.client.dto.response.AccessTokenCredentials;
+import com.aigreentick.services.storage.client.dto.response.WhatsappMediaUploadResponseDto;
+import com.aigreentick.services.storage.client.properties.WhatsappClientProperties;
+import com.aigreentick.services.storage.client.service.impl.GraphUploadEngine;
+import com.aigreentick.services.storage.client.service.impl.UserClientAdapter;
+import com.aigreentick.services.storage.client.service.impl.WhatsappClientAdapter;
+import com.aigreentick.services.storage.config.MediaPublishProperties;
+import com.aigreentick.services.storage.enums.PublishJobStatus;
+import com.aigreentick.services.storage.exception.MediaUploadException;
+import com.aigreentick.services.storage.model.Media;
+import com.aigreentick.services.storage.model.MediaPublishJob;
+import com.aigreentick.services.storage.service.StorageProvider;
+import com.aigreentick.services.storage.service.impl.media.MediaAccessServiceImpl;
+import com.aigreentick.services.storage.service.impl.publish.MediaPublishServiceImpl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MediaPublishDispatcher.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class MediaPublishDispatcherTest {
+
+    @Mock
+    private MediaPublishServiceImpl publishService;
+    @Mock
+    private StorageProvider storageProvider;
+    @Mock
+    private WhatsappClientAdapter whatsappClient;
+    @Mock
+    private GraphUploadEngine graphUploadEngine;
+    @Mock
+    private UserClientAdapter userClient;
+    @Mock
+    private MediaAccessServiceImpl accessService;
+
+    private MediaPublishProperties properties;
+    private WhatsappClientProperties whatsappProperties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new MediaPublishProperties();
+        properties.setBatchSize(3);
+        whatsappProperties = new WhatsappClientProperties();
+        whatsappProperties.setResumableThresholdBytes(1024);
+
+        when(userClient.getPhoneNumberIdAccessToken(anyLong()))
+                .thenReturn(new AccessTokenCredentials("phone-1", "token-1"));
+        when(publishService.findMedia(anyLong())).thenAnswer(inv -> Optional.of(media(inv.getArgument(0), 100L)));
+    }
+
+    @Test
+    void dispatch_WhenUploadSucceeds_ShouldRecordWhatsappMediaId() throws Exception {
+        // Given
+        when(publishService.claimDueJobs(3)).thenReturn(List.of(job(1L)));
+        when(storageProvider.retrieve(anyString())).thenReturn(new ByteArrayInputStream(new byte[100]));
+        when(whatsappClient.uploadMediaToFacebook(any(InputStream.class), anyString(), anyString(), anyLong(),
+                anyString(), anyString())).thenReturn(FacebookApiResponse.success(uploadResponse("wa-1"), 200));
+
+        // When
+        dispatcher(new SyncTaskExecutor()).dispatch();
+
+        // Then
+        verify(publishService).markPublished(argThat(job -> job.getId() == 1L), eq("wa-1"));
+    }
+
+    @Test
+    void dispatch_WhenMediaExceedsResumableThreshold_ShouldRecordHandleApartFromMediaId() throws Exception {
+        // Given - 2 KB is above the 1 KB threshold
+        when(publishService.claimDueJobs(3)).thenReturn(List.of(job(1L)));
+        when(publishService.findMedia(1L)).thenReturn(Optional.of(media(1L, 2048L)));
+        List<Path> spools = new ArrayList<>();
+        when(graphUploadEngine.upload(any(Path.class), anyString(), anyString(), any())).thenAnswer(inv -> {
+            Path spool = inv.getArgument(0);
+            spools.add(spool);
+            assertThat(spool).exists();
+            return new GraphUploadEngine.GraphUploadResult(null, "4::aGFuZGxl");
+        });
+
+        // When
+        dispatcher(new SyncTaskExecutor()).dispatch();
+
+        // Then
+        verify(storageProvider).download(eq("org-1/user-1/document/report.pdf"), any(Path.class));
+        verify(publishService).markHandleIssued(argThat(job -> job.getId() == 1L), eq("4::aGFuZGxl"));
+        verify(publishService, never()).markPublished(any(), anyString());
+        verify(whatsappClient, never()).uploadMediaToFacebook(any(InputStream.class), anyString(), anyString(),
+                anyLong(), anyString(), anyString());
+        assertThat(spools).singleElement().satisfies(spool -> assertThat(spool).doesNotExist());
+    }
+
+    @Test
+    void dispatch_WhenResumableUploadFails_ShouldRecordFailedAttempt() throws Exception {
+        // Given
+        when(publishService.claimDueJobs(3)).thenReturn(List.of(job(1L)));
+        when(publishService.findMedia(1L)).thenReturn(Optional.of(media(1L, 2048L)));
+        when(graphUploadEngine.upload(any(Path.class), anyString(), anyString(), any()))
+                .thenThrow(new MediaUploadException("Graph returned no handle for completed upload session s-1"));
+
+        // When
+        dispatcher(new SyncTaskExecutor()).dispatch();
+
+        // Then
+        verify(publishService).markAttemptFailed(argThat(job -> job.getId() == 1L), contains("no handle"));
+        verify(publishService, never()).markPublished(any(), anyString());
+    }
+
+    @Test
+    void dispatch_WhenExecutorRejects_ShouldReleaseUnstartedClaims() {
+        // Given
+        when(publishService.claimDueJobs(3)).thenReturn(List.of(job(1L), job(2L)));
+        TaskExecutor full = task -> {
+            throw new TaskRejectedException("Pipeline saturated");
+        };
+        MediaPublishDispatcher dispatcher = dispatcher(full);
+
+        // When
+        dispatcher.dispatch();
+
+        // Then
+        verify(publishService).releaseClaims(argThat(jobs ->
+                jobs.stream().map(MediaPublishJob::getId).toList().equals(List.of(1L, 2L))));
+        verify(publishService, never()).markAttemptFailed(any(), anyString());
+        assertThat(dispatcher.inFlight()).isZero();
+    }
+
+    @Test
+    void dispatch_WhenJobsAreStillRunning_ShouldReturnWithoutWaitingAndClaimOnlyFreeSlots() {
+        // Given - the executor holds tasks instead of running them
+        List<Runnable> held = new ArrayList<>();
+        MediaPublishDispatcher dispatcher = dispatcher(held::add);
+        AtomicLong nextId = new AtomicLong();
+        when(publishService.claimDueJobs(anyInt())).thenAnswer(inv -> LongStream
+                .range(0, (int) inv.getArgument(0))
+                .mapToObj(i -> job(nextId.incrementAndGet()))
+                .toList());
+
+        // When
+        dispatcher.dispatch();
+        dispatcher.dispatch();
+
+        // Then
+        assertThat(held).hasSize(3);
+        assertThat(dispatcher.inFlight()).isEqualTo(3);
+        verify(publishService, times(1)).claimDueJobs(anyInt());
+
+        // When - the running jobs finish
+        held.forEach(Runnable::run);
+        dispatcher.dispatch();
+
+        // Then
+        verify(publishService, times(2)).claimDueJobs(3);
+        assertThat(held).hasSize(6);
+    }
+
+    private MediaPublishDispatcher dispatcher(TaskExecutor executor) {
+        return new MediaPublishDispatcher(publishService, storageProvider, whatsappClient, graphUploadEngine,
+                whatsappProperties, userClient, accessService, properties, executor, new SimpleMeterRegistry());
+    }
+
+    private MediaPublishJob job(Long id) {
+        return MediaPublishJob.builder()
+                .id(id)
+                .mediaRecordId(id)
+                .userId(1L)
+                .organisationId(1L)
+                .status(PublishJobStatus.IN_PROGRESS)
+                .build();
+    }
+
+    private Media media(Long id, Long size) {
+        return Media.builder()
+                .id(id)
+                .originalFilename("report.pdf")
+                .mimeType("application/pdf")
+                .storageKey("org-1/user-1/document/report.pdf")
+                .fileSize(size)
+                .userId(1L)
+                .organisationId(1L)
+                .build();
+    }
+
+    private WhatsappMediaUploadResponseDto uploadResponse(String id) {
+        WhatsappMediaUploadResponseDto response = new WhatsappMediaUploadResponseDto();
+        response.setId(id);
+        return response;
+    }
+}
@@ -0,0 +1,63 @@
+package com.aigreentick.services.storage.service.impl.media;
+
+import com.aigreentick.services.storage.config.MediaLifecycleProperties;
+import com.aigreentick.services.storage.service.StorageProvider;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MediaContentServiceImpl.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class MediaContentServiceImplTest {
+
+    @Mock
+    private MediaServiceImpl mediaService;
+    @Mock
+    private StorageProvider storageProvider;
+
+    private MediaContentServiceImpl contentService;
+
+    @BeforeEach
+    void setUp() {
+        contentService = new MediaContentServiceImpl(mediaService, storageProvider,
+                new MediaAccessServiceImpl(mediaService, new MediaLifecycleProperties()));
+    }
+
+    @Test
+    void transfer_WhenObjectEndsEarly_ShouldFailInsteadOfCompletingShortResponse() throws Exception {
+        // Given - Content-Length promised 10 bytes, storage delivers 4
+        when(storageProvider.transferRange(eq("k"), eq(0L), eq(10L), any())).thenReturn(4L);
+
+        // When / Then
+        assertThatThrownBy(() -> contentService.transfer("k", 0, 10, new ByteArrayOutputStream()))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("4 of 10");
+    }
+
+    @Test
+    void transfer_WhenRangeIsEmpty_ShouldNotReadStorage() throws Exception {
+        // When
+        contentService.transfer("k", 0, 0, new ByteArrayOutputStream());
+
+        // Then
+        verify(storageProvider, never()).transferRange(anyString(), anyLong(), anyLong(), any());
+    }
+}
@@ -0,0 +1,120 @@
+package com.aigreentick.services.storage.service.impl.media;
+
+import com.aigreentick.services.storage.config.MediaExportProperties;
+import com.aigreentick.services.storage.enums.MediaType;
+import com.aigreentick.services.storage.enums.StorageProviderType;
+import com.aigreentick.services.storage.exception.StorageException;
+import com.aigreentick.services.storage.model.Media;
+import com.aigreentick.services.storage.repository.MediaRepository;
+import com.aigreentick.services.storage.service.StorageProvider;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MediaExportServiceImpl.
+ */
+@ExtendWith(MockitoExtension.class)
+class MediaExportServiceImplTest {
+
+    @Mock
+    private MediaRepository mediaRepository;
+
+    @Mock
+    private StorageProvider storageProvider;
+
+    private MediaExportProperties properties;
+    private MediaExportServiceImpl exportService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new MediaExportProperties();
+        properties.setBatchSize(2);
+        properties.setPrefetchWindow(2);
+        properties.setPrefetchBytes(4);
+        exportService = new MediaExportServiceImpl(mediaRepository, storageProvider, properties);
+    }
+
+    @Test
+    void exportUserMedia_WhenOneObjectIsMissing_ShouldWriteErrorEntryInItsPlace() throws Exception {
+        // Given
+        when(mediaRepository.findExportBatch(eq(7L), isNull(), eq(0L), eq(2)))
+                .thenReturn(List.of(media(1L, "report.txt", "text/plain"), media(2L, "photo.jpg", "image/jpeg")));
+        when(mediaRepository.findExportBatch(eq(7L), isNull(), eq(2L), eq(2)))
+                .thenReturn(List.of(media(3L, "../notes.txt", "text/plain")));
+        when(storageProvider.retrieve("key-1"))
+                .thenReturn(new ByteArrayInputStream("quarterly report".getBytes(StandardCharsets.UTF_8)));
+        when(storageProvider.retrieve("key-2"))
+                .thenThrow(new StorageException("File not found: key-2", StorageProviderType.LOCAL, "key-2"));
+        when(storageProvider.retrieve("key-3"))
+                .thenReturn(new ByteArrayInputStream("notes".getBytes(StandardCharsets.UTF_8)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        int entries = exportService.exportUserMedia(7L, 0L, out);
+
+        // Then
+        Map<String, String> archive = unzip(out.toByteArray());
+        assertThat(entries).isEqualTo(3);
+        assertThat(archive.keySet()).containsExactly(
+                "document/1_report.txt", "image/2_photo.jpg.error.txt", "document/3___notes.txt");
+        assertThat(archive.get("document/1_report.txt")).isEqualTo("quarterly report");
+        assertThat(archive.get("image/2_photo.jpg.error.txt")).contains("File not found: key-2");
+    }
+
+    @Test
+    void exportOrganisationMedia_WhenResumed_ShouldContinueAfterLastDeliveredMedia() throws Exception {
+        // Given - media 5 was the last entry received
+        when(mediaRepository.findExportBatch(isNull(), eq(1L), eq(5L), eq(2)))
+                .thenReturn(List.of(media(6L, "report.txt", "text/plain")));
+        when(storageProvider.retrieve("key-6"))
+                .thenReturn(new ByteArrayInputStream("sixth".getBytes(StandardCharsets.UTF_8)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        int entries = exportService.exportOrganisationMedia(1L, 5L, out);
+
+        // Then
+        assertThat(entries).isEqualTo(1);
+        assertThat(unzip(out.toByteArray())).containsExactly(entry("document/6_report.txt", "sixth"));
+    }
+
+    private Media media(Long id, String filename, String mimeType) {
+        return Media.builder()
+                .id(id)
+                .originalFilename(filename)
+                .mimeType(mimeType)
+                .mediaType(mimeType.startsWith("image/") ? MediaType.IMAGE : MediaType.DOCUMENT)
+                .storageKey("key-" + id)
+                .userId(7L)
+                .organisationId(1L)
+                .build();
+    }
+
+    private Map<String, String> unzip(byte[] archive) throws Exception {
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(archive))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+}
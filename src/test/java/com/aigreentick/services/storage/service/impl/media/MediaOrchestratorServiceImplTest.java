@@ -0,0 +1,288 @@
+package com.aigreentick.services.storage.service.impl.media;
+
+import com.aigreentick.services.common.context.UserContext;
+import com.aigreentick.services.common.context.UserContextData;
+import com.aigreentick.services.storage.client.service.impl.UserClientAdapter;
+import com.aigreentick.services.storage.client.service.impl.WhatsappClientAdapter;
+import com.aigreentick.services.storage.config.MediaPublishProperties;
+import com.aigreentick.services.storage.config.UploadPipelineProperties;
+import com.aigreentick.services.storage.dto.response.BatchUploadItemResponse;
+import com.aigreentick.services.storage.dto.response.BatchUploadResponse;
+import com.aigreentick.services.storage.dto.response.MediaUploadResponse;
+import com.aigreentick.services.storage.dto.storage.QuotaReservation;
+import com.aigreentick.services.storage.dto.storage.StorageResult;
+import com.aigreentick.services.storage.enums.MediaType;
+import com.aigreentick.services.storage.enums.StorageProviderType;
+import com.aigreentick.services.storage.exception.MediaUploadException;
+import com.aigreentick.services.storage.exception.StorageException;
+import com.aigreentick.services.storage.exception.StorageLimitExceedException;
+import com.aigreentick.services.storage.mapper.MediaMapper;
+import com.aigreentick.services.storage.model.Media;
+import com.aigreentick.services.storage.service.StorageProvider;
+import com.aigreentick.services.storage.service.impl.publish.MediaPublishServiceImpl;
+import com.aigreentick.services.storage.service.impl.quota.StorageQuotaServiceImpl;
+import com.aigreentick.services.storage.validator.MediaValidator;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the upload pipeline phases of MediaOrchestratorServiceImpl.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class MediaOrchestratorServiceImplTest {
+
+    private static final String STORAGE_KEY = "org-1/user-1/image/abc.jpg";
+
+    @Mock
+    private StorageProvider storageProvider;
+    @Mock
+    private WhatsappClientAdapter whatsappClient;
+    @Mock
+    private UserClientAdapter userClient;
+    @Mock
+    private MediaServiceImpl mediaService;
+    @Mock
+    private MediaCommitServiceImpl mediaCommitService;
+    @Mock
+    private StorageQuotaServiceImpl quotaService;
+    @Mock
+    private MediaValidator mediaValidator;
+    @Mock
+    private MediaPublishServiceImpl publishService;
+    @Mock
+    private MediaAccessServiceImpl accessService;
+
+    private MediaOrchestratorServiceImpl orchestrator;
+
+    @BeforeEach
+    void setUp() {
+        UserContext.set(new UserContextData(1L, 1L));
+        orchestrator = new MediaOrchestratorServiceImpl(
+                storageProvider, whatsappClient, new MediaMapper(), userClient, mediaService,
+                mediaCommitService, quotaService, mediaValidator, publishService, accessService,
+                new MediaPublishProperties(), new UploadPipelineProperties(), new SyncTaskExecutor());
+
+        when(mediaValidator.detectMediaType("image/jpeg")).thenReturn(MediaType.IMAGE);
+        when(storageProvider.getProviderType()).thenReturn(StorageProviderType.LOCAL);
+        when(storageProvider.save(any(InputStream.class), any())).thenReturn(storageResult());
+        when(mediaCommitService.commit(any(), anyBoolean())).thenAnswer(inv -> inv.getArgument(0));
+        when(quotaService.reserve(any(), anyLong())).thenAnswer(inv ->
+                new QuotaReservation("r-1", inv.getArgument(0), inv.getArgument(1), true));
+    }
+
+    @AfterEach
+    void tearDown() {
+        UserContext.clear();
+    }
+
+    @Test
+    void uploadMedia_WhenSuccessful_ShouldCommitOnlyAfterStorageWrite() {
+        // When
+        orchestrator.uploadMedia(file());
+
+        // Then
+        InOrder inOrder = inOrder(storageProvider, mediaCommitService);
+        inOrder.verify(storageProvider).save(any(InputStream.class), any());
+        inOrder.verify(mediaCommitService).commit(any(), eq(true));
+        verify(storageProvider, never()).delete(anyString());
+        verify(quotaService).commit(any(QuotaReservation.class));
+    }
+
+    @Test
+    void uploadMedia_WhenCommitFails_ShouldDeleteStoredObject() {
+        // Given
+        when(mediaCommitService.commit(any(), anyBoolean())).thenThrow(new IllegalStateException("db down"));
+
+        // When & Then
+        assertThatThrownBy(() -> orchestrator.uploadMedia(file()))
+            .isInstanceOf(MediaUploadException.class);
+        verify(storageProvider).delete(STORAGE_KEY);
+        verify(quotaService).release(any(QuotaReservation.class));
+        verify(quotaService, never()).commit(any(QuotaReservation.class));
+    }
+
+    @Test
+    void uploadMedia_WhenSourceFailsAfterStorageWrite_ShouldDeleteStoredObject() throws Exception {
+        // Given - the provider stops reading and the trailing hash read fails
+        MultipartFile failing = mock(MultipartFile.class);
+        when(failing.getOriginalFilename()).thenReturn("test.jpg");
+        when(failing.getContentType()).thenReturn("image/jpeg");
+        when(failing.getSize()).thenReturn(18L);
+        when(failing.getInputStream()).thenReturn(new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("connection reset");
+            }
+        });
+
+        // When & Then
+        assertThatThrownBy(() -> orchestrator.uploadMedia(failing))
+            .isInstanceOf(MediaUploadException.class);
+        verify(storageProvider).delete(STORAGE_KEY);
+        verify(mediaCommitService, never()).commit(any(), anyBoolean());
+    }
+
+    @Test
+    void uploadMedia_WhenContentIsDuplicate_ShouldDeleteNewObjectAndReturnExisting() {
+        // Given - the commit points the media at an object already stored for the org
+        String existingKey = "org-1/user-1/image/existing.jpg";
+        when(mediaCommitService.commit(any(), anyBoolean())).thenAnswer(inv -> {
+            Media media = inv.getArgument(0);
+            media.setStorageKey(existingKey);
+            media.setStoredFilename(existingKey);
+            return media;
+        });
+
+        // When
+        MediaUploadResponse response = orchestrator.uploadMedia(file());
+
+        // Then
+        assertThat(response.getStoredFilename()).isEqualTo(existingKey);
+        verify(storageProvider).delete(STORAGE_KEY);
+        verify(storageProvider, never()).delete(existingKey);
+        verify(quotaService).release(any(QuotaReservation.class));
+        verify(quotaService, never()).commit(any(QuotaReservation.class));
+    }
+
+    @Test
+    void uploadMedia_WhenUploadsAreInFlight_ShouldNotOpenAnyTransaction() throws Exception {
+        // Given - every storage write blocks until released
+        int uploads = 8;
+        CountDownLatch allWriting = new CountDownLatch(uploads);
+        CountDownLatch release = new CountDownLatch(1);
+
+        when(storageProvider.save(any(InputStream.class), any())).thenAnswer(inv -> {
+            allWriting.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return storageResult();
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(uploads);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < uploads; i++) {
+                results.add(executor.submit(() -> {
+                    UserContext.set(new UserContextData(1L, 1L));
+                    try {
+                        orchestrator.uploadMedia(file());
+                    } finally {
+                        UserContext.clear();
+                    }
+                }));
+            }
+
+            // When - all uploads are in their I/O phase
+            assertThat(allWriting.await(10, TimeUnit.SECONDS)).isTrue();
+
+            // Then - no commit (and so no pooled connection) has been taken yet
+            verify(mediaCommitService, never()).commit(any(), anyBoolean());
+
+            release.countDown();
+            for (Future<?> result : results) {
+                result.get(10, TimeUnit.SECONDS);
+            }
+            verify(mediaCommitService, times(uploads)).commit(any(), anyBoolean());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void uploadMediaBatch_WhenSomeFilesFail_ShouldReportPerFileAndCommitOnce() {
+        // Given - one unsupported type, one storage failure, one good file
+        when(mediaValidator.detectMediaType("application/x-unknown"))
+            .thenThrow(new IllegalArgumentException("Unsupported media type"));
+        when(storageProvider.save(any(InputStream.class), any()))
+            .thenThrow(new StorageException("disk full", StorageProviderType.LOCAL, STORAGE_KEY))
+            .thenReturn(storageResult());
+        when(mediaCommitService.commitAll(anyList(), anyBoolean())).thenAnswer(inv -> inv.getArgument(0));
+
+        List<MultipartFile> files = List.of(
+            new MockMultipartFile("files", "bad.bin", "application/x-unknown", "x".getBytes()),
+            file(),
+            file());
+
+        // When
+        BatchUploadResponse response = orchestrator.uploadMediaBatch(files);
+
+        // Then
+        assertThat(response.getTotal()).isEqualTo(3);
+        assertThat(response.getSucceeded()).isEqualTo(1);
+        assertThat(response.getFailed()).isEqualTo(2);
+        assertThat(response.getResults()).extracting(BatchUploadItemResponse::isSuccess)
+            .containsExactly(false, false, true);
+        verify(quotaService, times(2)).reserve(1L, 18L);
+        verify(quotaService).commit(any(QuotaReservation.class));
+        verify(quotaService).release(any(QuotaReservation.class));
+        verify(mediaCommitService).commitAll(argThat(media -> media.size() == 1), eq(true));
+        verify(mediaCommitService, never()).commit(any(), anyBoolean());
+        assertThat(orchestrator.activeOrganisations()).isZero();
+    }
+
+    @Test
+    void uploadMediaBatch_WhenQuotaFitsOnlySomeFiles_ShouldStoreThoseThatFit() {
+        // Given - the organisation has room for one file only
+        when(quotaService.reserve(any(), anyLong()))
+            .thenAnswer(inv -> new QuotaReservation("r-1", inv.getArgument(0), inv.getArgument(1), true))
+            .thenThrow(new StorageLimitExceedException("Storage of organisation full only remaining 0"));
+        when(mediaCommitService.commitAll(anyList(), anyBoolean())).thenAnswer(inv -> inv.getArgument(0));
+
+        // When
+        BatchUploadResponse response = orchestrator.uploadMediaBatch(List.of(file(), file()));
+
+        // Then
+        assertThat(response.getSucceeded()).isEqualTo(1);
+        assertThat(response.getResults()).extracting(BatchUploadItemResponse::isSuccess)
+            .containsExactly(true, false);
+        assertThat(response.getResults().get(1).getError()).contains("Storage of organisation full");
+        verify(storageProvider, times(1)).save(any(InputStream.class), any());
+        verify(quotaService).commit(argThat(reservation -> reservation.getBytes() == 18L));
+        verify(quotaService, never()).release(any());
+    }
+
+    private MockMultipartFile file() {
+        return new MockMultipartFile("file", "test.jpg", "image/jpeg", "test image content".getBytes());
+    }
+
+    private StorageResult storageResult() {
+        return StorageResult.builder()
+                .storageKey(STORAGE_KEY)
+                .publicUrl("http://localhost:7998/api/v1/media/" + STORAGE_KEY)
+                .provider(StorageProviderType.LOCAL)
+                .bucket("./media-uploads")
+                .region("local")
+                .fileSize(18L)
+                .contentType("image/jpeg")
+                .build();
+    }
+}
@@ -0,0 +1,130 @@
+package com.aigreentick.services.storage.service.impl.media;
+
+import com.aigreentick.services.storage.config.MediaDedupProperties;
+import com.aigreentick.services.storage.config.MediaPurgeProperties;
+import com.aigreentick.services.storage.dto.response.MediaPurgeResponse;
+import com.aigreentick.services.storage.model.Media;
+import com.aigreentick.services.storage.repository.FileMetadataRepository;
+import com.aigreentick.services.storage.repository.MediaRepository;
+import com.aigreentick.services.storage.service.StorageProvider;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MediaPurgeServiceImpl, with the real deduplication checks.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class MediaPurgeServiceImplTest {
+    private static final String SHARED_KEY = "org-1/user-1/image/shared.jpg";
+    private static final String OWN_KEY = "org-1/user-1/image/own.jpg";
+
+    @Mock
+    private MediaRepository mediaRepository;
+    @Mock
+    private FileMetadataRepository fileMetadataRepository;
+    @Mock
+    private MediaServiceImpl mediaService;
+    @Mock
+    private StorageProvider storageProvider;
+
+    private MediaPurgeServiceImpl purgeService;
+
+    @BeforeEach
+    void setUp() {
+        MediaDedupServiceImpl dedupService = new MediaDedupServiceImpl(fileMetadataRepository, mediaRepository,
+                new MediaDedupProperties());
+        purgeService = new MediaPurgeServiceImpl(mediaRepository, mediaService, dedupService, storageProvider,
+                new MediaPurgeProperties());
+        when(mediaService.purgeSoftDeleted(anyCollection()))
+                .thenAnswer(inv -> inv.getArgument(0, Collection.class).size());
+        when(fileMetadataRepository.findStoredFilenames(anyCollection())).thenReturn(List.of());
+        when(mediaRepository.findLiveStorageKeys(anyCollection())).thenReturn(List.of());
+        when(storageProvider.deleteAll(anyCollection())).thenReturn(Set.of());
+    }
+
+    @Test
+    void purgeDeleted_WhenLiveMediaStillSharesTheObject_ShouldPurgeRowAndKeepObject() {
+        // Given - a deduplicated upload still points at the deleted row's object
+        softDeleted(media(1L, SHARED_KEY));
+        when(mediaRepository.findLiveStorageKeys(anyCollection())).thenReturn(List.of(SHARED_KEY));
+
+        // When
+        MediaPurgeResponse response = purgeService.purgeDeleted(null);
+
+        // Then
+        assertThat(response.getPurged()).isEqualTo(1);
+        assertThat(response.getObjectsDeleted()).isZero();
+        verify(storageProvider, never()).deleteAll(anyCollection());
+    }
+
+    @Test
+    void purgeDeleted_WhenLastReferencesAreDeleted_ShouldDeleteSharedObjectOnce() {
+        // Given - both rows that shared the object are soft-deleted
+        softDeleted(media(1L, SHARED_KEY), media(2L, SHARED_KEY), media(3L, OWN_KEY));
+
+        // When
+        MediaPurgeResponse response = purgeService.purgeDeleted(null);
+
+        // Then
+        verify(storageProvider).deleteAll(Set.of(SHARED_KEY, OWN_KEY));
+        verify(fileMetadataRepository).deleteUnreferenced(Set.of(SHARED_KEY, OWN_KEY));
+        assertThat(response.getPurged()).isEqualTo(3);
+        assertThat(response.getObjectsDeleted()).isEqualTo(2);
+    }
+
+    @Test
+    void purgeDeleted_WhenDedupEntryGainedAReference_ShouldKeepObject() {
+        // Given - a new upload matched the checksum after the rows were deleted
+        softDeleted(media(1L, SHARED_KEY), media(2L, OWN_KEY));
+        when(fileMetadataRepository.findStoredFilenames(anyCollection())).thenReturn(List.of(SHARED_KEY));
+
+        // When
+        purgeService.purgeDeleted(null);
+
+        // Then
+        verify(storageProvider).deleteAll(Set.of(OWN_KEY));
+    }
+
+    @Test
+    void purgeDeleted_WhenDeleteFails_ShouldKeepRowsOnlyWhileObjectIsStillStored() {
+        // Given - both deletes are reported as failed, but one object is gone anyway
+        softDeleted(media(1L, SHARED_KEY), media(2L, OWN_KEY));
+        when(storageProvider.deleteAll(anyCollection())).thenReturn(Set.of(SHARED_KEY, OWN_KEY));
+        when(storageProvider.existsAll(Set.of(SHARED_KEY, OWN_KEY))).thenReturn(Set.of(SHARED_KEY));
+
+        // When
+        MediaPurgeResponse response = purgeService.purgeDeleted(null);
+
+        // Then
+        verify(mediaService).purgeSoftDeleted(List.of(2L));
+        assertThat(response.getObjectsFailed()).isEqualTo(1);
+        assertThat(response.getObjectsDeleted()).isEqualTo(1);
+    }
+
+    private void softDeleted(Media... media) {
+        when(mediaRepository.findSoftDeletedAfter(anyLong(), any(), anyInt()))
+                .thenReturn(List.of(media), List.of());
+    }
+
+    private Media media(Long id, String storageKey) {
+        return Media.builder().id(id).organisationId(1L).storageKey(storageKey).build();
+    }
+}
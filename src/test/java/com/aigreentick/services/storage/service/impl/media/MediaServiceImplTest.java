@@ -5,6 +5,7 @@ import com.aigreentick.services.storage.enums.MediaType;
 import com.aigreentick.services.storage.exception.MediaNotFoundException;
 import com.aigreentick.services.storage.model.Media;
 import com.aigreentick.services.storage.repository.MediaRepository;
+import com.aigreentick.services.storage.service.impl.quota.StorageQuotaServiceImpl;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -38,12 +39,14 @@ import static org.mockito.Mockito.*;
 public class MediaServiceImplTest {
     @Mock
     private MediaRepository mediaRepository;
+    @Mock
+    private StorageQuotaServiceImpl quotaService;
 
     private MediaServiceImpl mediaService;
 
     @BeforeEach
     void setUp() {
-        mediaService = new MediaServiceImpl(mediaRepository);
+        mediaService = new MediaServiceImpl(mediaRepository, quotaService);
     }
 
 
@@ -171,23 +174,40 @@ public class MediaServiceImplTest {
     }
 
     @Test
-    void softDelete_WhenMediaExists_ShouldSoftDeleteMedia() {
+    void softDelete_WhenMediaExists_ShouldSoftDeleteMediaAndReleaseQuota() {
         // Given
         Long mediaId = 1L;
         Long deletedBy = 10L;
         Media media = createTestMedia();
+        media.setStorageKey("org-1/user-1/image/abc-123.jpg");
         when(mediaRepository.findById(mediaId)).thenReturn(Optional.of(media));
-        when(mediaRepository.save(any(Media.class))).thenReturn(media);
+        when(mediaRepository.softDeleteById(mediaId, deletedBy)).thenReturn(1);
+        when(mediaRepository.findLiveStorageKeys(List.of(media.getStorageKey()))).thenReturn(List.of());
 
         // When
         mediaService.softDeleteById(mediaId, deletedBy);
 
         // Then
-        assertThat(media.isDeleted()).isTrue();
-        assertThat(media.getUpdatedByUserId()).isEqualTo(deletedBy);
-        assertThat(media.getDeletedAt()).isNotNull();
-        verify(mediaRepository).findById(mediaId);
-        verify(mediaRepository).save(media);
+        verify(mediaRepository).softDeleteById(mediaId, deletedBy);
+        verify(quotaService).releaseUsage(1L, 1024L);
+    }
+
+    @Test
+    void softDelete_WhenStoredObjectIsShared_ShouldKeepQuotaCharged() {
+        // Given - a deduplicated row still points at the same object
+        Long mediaId = 1L;
+        Media media = createTestMedia();
+        media.setStorageKey("org-1/user-1/image/abc-123.jpg");
+        when(mediaRepository.findById(mediaId)).thenReturn(Optional.of(media));
+        when(mediaRepository.softDeleteById(mediaId, 10L)).thenReturn(1);
+        when(mediaRepository.findLiveStorageKeys(List.of(media.getStorageKey())))
+            .thenReturn(List.of(media.getStorageKey()));
+
+        // When
+        mediaService.softDeleteById(mediaId, 10L);
+
+        // Then
+        verify(quotaService, never()).releaseUsage(any(), anyLong());
     }
 
     @Test
@@ -202,7 +222,8 @@ public class MediaServiceImplTest {
             .isInstanceOf(MediaNotFoundException.class);
         
         verify(mediaRepository).findById(mediaId);
-        verify(mediaRepository, never()).save(any(Media.class));
+        verify(mediaRepository, never()).softDeleteById(anyLong(), anyLong());
+        verify(quotaService, never()).releaseUsage(any(), anyLong());
     }
 
      @Test
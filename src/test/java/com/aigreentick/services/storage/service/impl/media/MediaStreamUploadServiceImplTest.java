@@ -0,0 +1,111 @@
+package com.aigreentick.services.storage.service.impl.media;
+
+import com.aigreentick.services.common.context.UserContext;
+import com.aigreentick.services.storage.dto.storage.QuotaReservation;
+import com.aigreentick.services.storage.dto.storage.StorageResult;
+import com.aigreentick.services.storage.enums.MediaType;
+import com.aigreentick.services.storage.enums.StorageProviderType;
+import com.aigreentick.services.storage.exception.StorageException;
+import com.aigreentick.services.storage.mapper.MediaMapper;
+import com.aigreentick.services.storage.model.Media;
+import com.aigreentick.services.storage.service.ReactiveStorageProvider;
+import com.aigreentick.services.storage.service.impl.quota.StorageQuotaServiceImpl;
+import com.aigreentick.services.storage.validator.MediaValidator;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MediaStreamUploadServiceImpl.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class MediaStreamUploadServiceImplTest {
+
+    @Mock
+    private ReactiveStorageProvider storageProvider;
+    @Mock
+    private MediaCommitServiceImpl mediaCommitService;
+    @Mock
+    private StorageQuotaServiceImpl quotaService;
+    @Mock
+    private MediaValidator mediaValidator;
+
+    private MediaStreamUploadServiceImpl uploadService;
+
+    @BeforeEach
+    void setUp() {
+        uploadService = new MediaStreamUploadServiceImpl(storageProvider, new MediaMapper(), mediaCommitService,
+                quotaService, mediaValidator);
+        when(mediaValidator.detectMediaType("image/png")).thenReturn(MediaType.IMAGE);
+    }
+
+    @Test
+    void uploadMedia_WhenReservingQuota_ShouldRunWithCallersUserContext() {
+        // Given - the quota lookup may call the organisation service, which forwards UserContext
+        AtomicReference<Long> reservedForUser = new AtomicReference<>();
+        when(quotaService.reserve(any(), anyLong())).thenAnswer(inv -> {
+            reservedForUser.set(UserContext.getUserId());
+            return new QuotaReservation("r-1", inv.getArgument(0), inv.getArgument(1), true);
+        });
+        when(storageProvider.save(any(), any())).thenReturn(Mono.error(new StorageException("disk full", StorageProviderType.LOCAL)));
+        Flux<DataBuffer> content = Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(new byte[3]));
+
+        // When
+        StepVerifier.create(uploadService.uploadMedia("photo.png", "image/png", 3, 7L, 9L, content))
+                .expectError(StorageException.class)
+                .verify();
+
+        // Then
+        assertThat(reservedForUser.get()).isEqualTo(7L);
+        verify(quotaService, timeout(1000)).release(any());
+    }
+
+    @Test
+    void uploadMedia_WhenContentIsDuplicate_ShouldReturnReservationInsteadOfChargingIt() {
+        // Given - the commit points the media at an object already stored for the org
+        when(quotaService.reserve(any(), anyLong())).thenAnswer(inv ->
+                new QuotaReservation("r-1", inv.getArgument(0), inv.getArgument(1), true));
+        when(storageProvider.save(any(), any())).thenReturn(Mono.just(StorageResult.builder()
+                .storageKey("org-9/user-7/image/new.png")
+                .provider(StorageProviderType.LOCAL)
+                .build()));
+        when(storageProvider.delete("org-9/user-7/image/new.png")).thenReturn(Mono.just(true));
+        when(mediaCommitService.commit(any(), anyBoolean())).thenAnswer(inv -> {
+            Media media = inv.getArgument(0);
+            media.setStorageKey("org-9/user-7/image/existing.png");
+            return media;
+        });
+        Flux<DataBuffer> content = Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(new byte[3]));
+
+        // When
+        StepVerifier.create(uploadService.uploadMedia("photo.png", "image/png", 3, 7L, 9L, content))
+                .assertNext(response -> assertThat(response.getStoredFilename())
+                        .isEqualTo("org-9/user-7/image/existing.png"))
+                .verifyComplete();
+
+        // Then
+        verify(quotaService, timeout(1000)).release(any());
+        verify(quotaService, never()).commit(any());
+        verify(storageProvider).delete("org-9/user-7/image/new.png");
+    }
+}
@@ -0,0 +1,189 @@
+package com.aigreentick.services.storage.service.impl.media;
+
+import com.aigreentick.services.common.context.UserContext;
+import com.aigreentick.services.common.context.UserContextData;
+import com.aigreentick.services.storage.client.service.impl.UserClientAdapter;
+import com.aigreentick.services.storage.client.service.impl.WhatsappClientAdapter;
+import com.aigreentick.services.storage.config.MediaPublishProperties;
+import com.aigreentick.services.storage.config.UploadPipelineProperties;
+import com.aigreentick.services.storage.dto.storage.QuotaReservation;
+import com.aigreentick.services.storage.dto.storage.StorageMetadata;
+import com.aigreentick.services.storage.dto.storage.StorageResult;
+import com.aigreentick.services.storage.enums.MediaType;
+import com.aigreentick.services.storage.enums.StorageProviderType;
+import com.aigreentick.services.storage.mapper.MediaMapper;
+import com.aigreentick.services.storage.model.Media;
+import com.aigreentick.services.storage.service.StorageProvider;
+import com.aigreentick.services.storage.service.impl.publish.MediaPublishServiceImpl;
+import com.aigreentick.services.storage.service.impl.quota.StorageQuotaServiceImpl;
+import com.aigreentick.services.storage.validator.MediaValidator;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs concurrent uploads against a real Hikari pool of a single connection,
+ * with the same {@code @Transactional} proxying Spring applies, to show that
+ * no connection is held while the storage write is in progress.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class MediaUploadConnectionPoolTest {
+    private static final int UPLOADS = 4;
+
+    @Mock
+    private StorageProvider storageProvider;
+    @Mock
+    private WhatsappClientAdapter whatsappClient;
+    @Mock
+    private UserClientAdapter userClient;
+    @Mock
+    private MediaServiceImpl mediaService;
+    @Mock
+    private StorageQuotaServiceImpl quotaService;
+    @Mock
+    private MediaValidator mediaValidator;
+    @Mock
+    private MediaPublishServiceImpl publishService;
+    @Mock
+    private MediaAccessServiceImpl accessService;
+    @Mock
+    private MediaDedupServiceImpl dedupService;
+
+    private HikariDataSource dataSource;
+    private DataSourceTransactionManager transactionManager;
+    private JdbcTemplate jdbc;
+    private MediaOrchestratorServiceImpl orchestrator;
+
+    @BeforeEach
+    void setUp() {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:upload-pool;DB_CLOSE_DELAY=-1");
+        config.setMaximumPoolSize(1);
+        config.setConnectionTimeout(250);
+        dataSource = new HikariDataSource(config);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE media_probe (id BIGINT AUTO_INCREMENT PRIMARY KEY, storage_key VARCHAR(255))");
+
+        // The row insert joins the commit transaction's connection
+        doAnswer(inv -> {
+            Media media = inv.getArgument(0);
+            jdbc.update("INSERT INTO media_probe (storage_key) VALUES (?)", media.getStorageKey());
+            return media;
+        }).when(mediaService).save(any(Media.class));
+        when(mediaValidator.detectMediaType("image/jpeg")).thenReturn(MediaType.IMAGE);
+        when(storageProvider.getProviderType()).thenReturn(StorageProviderType.LOCAL);
+        when(quotaService.reserve(any(), anyLong())).thenAnswer(inv ->
+                new QuotaReservation("r-1", inv.getArgument(0), inv.getArgument(1), true));
+
+        MediaCommitServiceImpl commitService = transactional(
+                new MediaCommitServiceImpl(mediaService, publishService, dedupService));
+        orchestrator = transactional(new MediaOrchestratorServiceImpl(
+                storageProvider, whatsappClient, new MediaMapper(), userClient, mediaService,
+                commitService, quotaService, mediaValidator, publishService, accessService,
+                new MediaPublishProperties(), new UploadPipelineProperties(), new SyncTaskExecutor()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbc.execute("DROP TABLE media_probe");
+        dataSource.close();
+    }
+
+    @Test
+    void uploadMedia_WhenUploadsRunConcurrently_ShouldNotHoldAConnectionDuringStorageIo() throws Exception {
+        // Given - every storage write blocks until all uploads are inside one
+        CountDownLatch allWriting = new CountDownLatch(UPLOADS);
+        CountDownLatch release = new CountDownLatch(1);
+        when(storageProvider.save(any(InputStream.class), any())).thenAnswer(inv -> {
+            allWriting.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return storageResult(inv.getArgument(1, StorageMetadata.class).generateStorageKey());
+        });
+
+        // When
+        List<Future<?>> uploads = new ArrayList<>();
+        try (ExecutorService requests = Executors.newFixedThreadPool(UPLOADS)) {
+            for (int i = 0; i < UPLOADS; i++) {
+                uploads.add(requests.submit(() -> {
+                    UserContext.set(new UserContextData(1L, 1L));
+                    try {
+                        return orchestrator.uploadMedia(file());
+                    } finally {
+                        UserContext.clear();
+                    }
+                }));
+            }
+
+            // Then - all uploads are mid-write and the only connection is idle
+            assertThat(allWriting.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(dataSource.getHikariPoolMXBean().getActiveConnections()).isZero();
+            release.countDown();
+
+            // And every commit got the single connection within its 250 ms timeout
+            for (Future<?> upload : uploads) {
+                assertThatCode(() -> upload.get(10, TimeUnit.SECONDS)).doesNotThrowAnyException();
+            }
+        }
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM media_probe", Integer.class)).isEqualTo(UPLOADS);
+        assertThat(dataSource.getHikariPoolMXBean().getActiveConnections()).isZero();
+    }
+
+    /**
+     * Applies {@code @Transactional} the way Spring's proxies do.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T transactional(T target) {
+        ProxyFactory factory = new ProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAdvice(new TransactionInterceptor(transactionManager,
+                new AnnotationTransactionAttributeSource()));
+        return (T) factory.getProxy();
+    }
+
+    private MockMultipartFile file() {
+        return new MockMultipartFile("file", "test.jpg", "image/jpeg", "test image content".getBytes());
+    }
+
+    private StorageResult storageResult(String storageKey) {
+        return StorageResult.builder()
+                .storageKey(storageKey)
+                .publicUrl("http://localhost:7998/api/v1/media/" + storageKey)
+                .provider(StorageProviderType.LOCAL)
+                .bucket("./media-uploads")
+                .region("local")
+                .fileSize(18L)
+                .contentType("image/jpeg")
+                .build();
+    }
+}
@@ -0,0 +1,216 @@
+package com.aigreentick.services.storage.service.impl.publish;
+
+import com.aigreentick.services.storage.config.MediaPublishProperties;
+import com.aigreentick.services.storage.enums.MediaStatus;
+import com.aigreentick.services.storage.enums.PublishJobStatus;
+import com.aigreentick.services.storage.model.Media;
+import com.aigreentick.services.storage.model.MediaPublishJob;
+import com.aigreentick.services.storage.repository.MediaPublishJobRepository;
+import com.aigreentick.services.storage.repository.MediaRepository;
+import com.aigreentick.services.storage.service.impl.media.MediaDedupServiceImpl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the outbox operations of MediaPublishServiceImpl.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class MediaPublishServiceImplTest {
+
+    @Mock
+    private MediaPublishJobRepository jobRepository;
+    @Mock
+    private MediaRepository mediaRepository;
+    @Mock
+    private MediaDedupServiceImpl dedupService;
+
+    private MediaPublishProperties properties;
+    private MediaPublishServiceImpl publishService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new MediaPublishProperties();
+        properties.setMaxAttempts(3);
+        properties.setInitialBackoffMs(1000);
+        publishService = new MediaPublishServiceImpl(jobRepository, mediaRepository, properties, dedupService);
+        when(jobRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    @Test
+    void claimDueJobs_WhenJobsAreDue_ShouldLeaseThemInProgress() {
+        // Given
+        MediaPublishJob job = job(1L, PublishJobStatus.PENDING, 0);
+        when(jobRepository.lockDueJobs(any(), anyInt())).thenReturn(List.of(job));
+
+        // When
+        List<MediaPublishJob> claimed = publishService.claimDueJobs(10);
+
+        // Then
+        assertThat(claimed).containsExactly(job);
+        assertThat(job.getStatus()).isEqualTo(PublishJobStatus.IN_PROGRESS);
+        assertThat(job.getLockedUntil()).isAfter(LocalDateTime.now().plusSeconds(properties.getLeaseSeconds() - 5));
+    }
+
+    @Test
+    void claimDueJobs_WhenJobsAreDue_ShouldLeaseThemInWholeSeconds() {
+        // Given
+        MediaPublishJob job = job(1L, PublishJobStatus.PENDING, 0);
+        when(jobRepository.lockDueJobs(any(), anyInt())).thenReturn(List.of(job));
+
+        // When
+        publishService.claimDueJobs(10);
+
+        // Then
+        assertThat(job.getLockedUntil().getNano()).isZero();
+    }
+
+    @Test
+    void releaseClaims_WhenJobsWereNeverStarted_ShouldReturnThemToPendingWithoutAnAttempt() {
+        // Given
+        MediaPublishJob claimed = leased(1L, 1);
+        MediaPublishJob completed = job(2L, PublishJobStatus.COMPLETED, 1);
+        when(jobRepository.lockById(1L)).thenReturn(Optional.of(claimed));
+        when(jobRepository.lockById(2L)).thenReturn(Optional.of(completed));
+
+        // When
+        publishService.releaseClaims(List.of(copy(claimed), copy(completed)));
+
+        // Then
+        assertThat(claimed.getStatus()).isEqualTo(PublishJobStatus.PENDING);
+        assertThat(claimed.getLockedUntil()).isNull();
+        assertThat(claimed.getAttempts()).isEqualTo(1);
+        assertThat(completed.getStatus()).isEqualTo(PublishJobStatus.COMPLETED);
+    }
+
+    @Test
+    void markAttemptFailed_WhenAttemptsRemain_ShouldRetryWithBackoff() {
+        // Given
+        MediaPublishJob job = leased(1L, 1);
+        when(jobRepository.lockById(1L)).thenReturn(Optional.of(job));
+
+        // When
+        publishService.markAttemptFailed(copy(job), "Graph API error 500");
+
+        // Then
+        assertThat(job.getStatus()).isEqualTo(PublishJobStatus.PENDING);
+        assertThat(job.getAttempts()).isEqualTo(2);
+        assertThat(job.getNextAttemptAt()).isAfter(LocalDateTime.now().plusNanos(1_500_000_000L));
+        assertThat(job.getLastError()).isEqualTo("Graph API error 500");
+    }
+
+    @Test
+    void markAttemptFailed_WhenAttemptBudgetIsSpent_ShouldFailJobAndMedia() {
+        // Given
+        MediaPublishJob job = leased(1L, 2);
+        Media media = Media.builder().id(10L).status(MediaStatus.PENDING.name()).build();
+        when(jobRepository.lockById(1L)).thenReturn(Optional.of(job));
+        when(mediaRepository.findById(10L)).thenReturn(Optional.of(media));
+
+        // When
+        publishService.markAttemptFailed(copy(job), "Graph API error 400");
+
+        // Then
+        assertThat(job.getStatus()).isEqualTo(PublishJobStatus.FAILED);
+        assertThat(media.getStatus()).isEqualTo(MediaStatus.FAILED.name());
+    }
+
+    @Test
+    void markPublished_WhenJobExists_ShouldRecordMediaIdOnMedia() {
+        // Given
+        MediaPublishJob job = leased(1L, 0);
+        Media media = Media.builder().id(10L).status(MediaStatus.PENDING.name()).build();
+        when(jobRepository.lockById(1L)).thenReturn(Optional.of(job));
+        when(mediaRepository.findById(10L)).thenReturn(Optional.of(media));
+
+        // When
+        publishService.markPublished(copy(job), "wa-1");
+
+        // Then
+        assertThat(job.getStatus()).isEqualTo(PublishJobStatus.COMPLETED);
+        assertThat(media.getMediaId()).isEqualTo("wa-1");
+        assertThat(media.getStatus()).isEqualTo(MediaStatus.PUBLISHED.name());
+        verify(dedupService).recordWhatsappMediaId(media);
+    }
+
+    @Test
+    void markHandleIssued_WhenJobExists_ShouldKeepHandleOutOfMediaId() {
+        // Given
+        MediaPublishJob job = leased(1L, 0);
+        Media media = Media.builder().id(10L).status(MediaStatus.PENDING.name()).build();
+        when(jobRepository.lockById(1L)).thenReturn(Optional.of(job));
+        when(mediaRepository.findById(10L)).thenReturn(Optional.of(media));
+
+        // When
+        publishService.markHandleIssued(copy(job), "4::aGFuZGxl");
+
+        // Then
+        assertThat(job.getStatus()).isEqualTo(PublishJobStatus.COMPLETED);
+        assertThat(media.getUploadHandle()).isEqualTo("4::aGFuZGxl");
+        assertThat(media.getMediaId()).isNull();
+        assertThat(media.getStatus()).isEqualTo(MediaStatus.HANDLE_ISSUED.name());
+        verify(dedupService, never()).recordWhatsappMediaId(any());
+    }
+
+    @Test
+    void markPublished_WhenLeaseWasReclaimed_ShouldIgnoreStaleResult() {
+        // Given - the lease expired and another dispatcher claimed the job again
+        MediaPublishJob stale = leased(1L, 0);
+        MediaPublishJob current = leased(1L, 0);
+        current.setLockedUntil(stale.getLockedUntil().plusMinutes(5));
+        when(jobRepository.lockById(1L)).thenReturn(Optional.of(current));
+
+        // When
+        publishService.markPublished(stale, "wa-1");
+        publishService.markAttemptFailed(stale, "timeout");
+
+        // Then
+        assertThat(current.getStatus()).isEqualTo(PublishJobStatus.IN_PROGRESS);
+        assertThat(current.getAttempts()).isZero();
+        verify(mediaRepository, never()).findById(any());
+    }
+
+    private MediaPublishJob leased(Long id, int attempts) {
+        MediaPublishJob job = job(id, PublishJobStatus.IN_PROGRESS, attempts);
+        job.setLockedUntil(LocalDateTime.now().plusMinutes(5).truncatedTo(ChronoUnit.SECONDS));
+        return job;
+    }
+
+    /**
+     * The dispatcher's detached copy of a claimed job.
+     */
+    private MediaPublishJob copy(MediaPublishJob job) {
+        MediaPublishJob claim = job(job.getId(), job.getStatus(), job.getAttempts());
+        claim.setLockedUntil(job.getLockedUntil());
+        return claim;
+    }
+
+    private MediaPublishJob job(Long id, PublishJobStatus status, int attempts) {
+        return MediaPublishJob.builder()
+                .id(id)
+                .mediaRecordId(10L)
+                .userId(1L)
+                .organisationId(1L)
+                .status(status)
+                .attempts(attempts)
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,220 @@
+package com.aigreentick.services.storage.service.impl.quota;
+
+import com.aigreentick.services.storage.client.dto.response.StorageInfo;
+import com.aigreentick.services.storage.client.service.impl.OrganisationClientAdapter;
+import com.aigreentick.services.storage.config.StorageQuotaProperties;
+import com.aigreentick.services.storage.dto.storage.QuotaReservation;
+import com.aigreentick.services.storage.exception.StorageLimitExceedException;
+import com.aigreentick.services.storage.repository.MediaRepository;
+import com.aigreentick.services.storage.validator.ClientValidator;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs the quota ledger's Lua scripts against a real Redis.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class StorageQuotaServiceImplTest {
+    private static final Long ORG_ID = 1L;
+    private static final String LEDGER = "storage:quota:{org-1}";
+
+    @Container
+    private static final GenericContainer<?> REDIS = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379);
+
+    @Mock
+    private OrganisationClientAdapter organisationClient;
+    @Mock
+    private ClientValidator clientValidator;
+    @Mock
+    private MediaRepository mediaRepository;
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private StorageQuotaProperties properties;
+    private StorageQuotaServiceImpl quotaService;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(REDIS.getHost(), REDIS.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.afterPropertiesSet();
+        redisTemplate.execute(connection -> {
+            connection.serverCommands().flushDb();
+            return null;
+        }, true);
+
+        properties = new StorageQuotaProperties();
+        quotaService = new StorageQuotaServiceImpl(redisTemplate, organisationClient, clientValidator,
+                properties, mediaRepository);
+
+        // The organisation service reports no usage; the media rows are the source of truth
+        when(organisationClient.getStorageInfo()).thenReturn(new StorageInfo(0, 100, 100));
+        when(mediaRepository.sumStoredBytes(ORG_ID)).thenReturn(0L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void reserve_WhenQuotaHasRoom_ShouldHoldBytesUntilCommit() {
+        // When
+        QuotaReservation reservation = quotaService.reserve(ORG_ID, 40);
+
+        // Then
+        assertThat(reservation.isTracked()).isTrue();
+        assertThat(ledger("reserved")).isEqualTo(40);
+        assertThat(ledger("used")).isZero();
+
+        // And commit turns the reservation into usage
+        quotaService.commit(reservation);
+        assertThat(ledger("reserved")).isZero();
+        assertThat(ledger("used")).isEqualTo(40);
+    }
+
+    @Test
+    void reserve_WhenQuotaIsExceeded_ShouldRejectWithoutHoldingBytes() {
+        // Given
+        quotaService.reserve(ORG_ID, 60);
+
+        // When / Then
+        assertThatThrownBy(() -> quotaService.reserve(ORG_ID, 60))
+                .isInstanceOf(StorageLimitExceedException.class)
+                .hasMessageContaining("40");
+        assertThat(ledger("reserved")).isEqualTo(60);
+    }
+
+    @Test
+    void release_WhenUploadFails_ShouldReturnReservedBytes() {
+        // Given
+        QuotaReservation reservation = quotaService.reserve(ORG_ID, 40);
+
+        // When
+        quotaService.release(reservation);
+        quotaService.release(reservation);
+
+        // Then - settling twice is a no-op
+        assertThat(ledger("reserved")).isZero();
+        assertThat(ledger("used")).isZero();
+    }
+
+    @Test
+    void reconcile_WhenUploadsWereCommitted_ShouldKeepCommittedUsage() {
+        // Given - one upload committed and stored, another still in flight
+        quotaService.commit(quotaService.reserve(ORG_ID, 30));
+        quotaService.reserve(ORG_ID, 20);
+        when(mediaRepository.sumStoredBytes(ORG_ID)).thenReturn(30L);
+
+        // When
+        quotaService.reconcile(ORG_ID);
+
+        // Then
+        assertThat(ledger("limit")).isEqualTo(100);
+        assertThat(ledger("used")).isEqualTo(30);
+        assertThat(ledger("reserved")).isEqualTo(20);
+        assertThatThrownBy(() -> quotaService.reserve(ORG_ID, 51))
+                .isInstanceOf(StorageLimitExceedException.class);
+    }
+
+    @Test
+    void reconcile_WhenReservationsExpired_ShouldDropThem() throws Exception {
+        // Given
+        properties.setReservationTtlSeconds(0);
+        quotaService.reserve(ORG_ID, 40);
+        Thread.sleep(5);
+
+        // When
+        quotaService.reconcile(ORG_ID);
+
+        // Then
+        assertThat(ledger("reserved")).isZero();
+        assertThat(redisTemplate.opsForHash().size(LEDGER + ":reservations")).isZero();
+    }
+
+    @Test
+    void releaseUsage_WhenMediaIsDeleted_ShouldFreeBytesButNeverGoNegative() {
+        // Given
+        quotaService.commit(quotaService.reserve(ORG_ID, 30));
+
+        // When
+        quotaService.releaseUsage(ORG_ID, 10);
+
+        // Then
+        assertThat(ledger("used")).isEqualTo(20);
+        quotaService.releaseUsage(ORG_ID, 50);
+        assertThat(ledger("used")).isZero();
+    }
+
+    @Test
+    void reserve_WhenReservationsRace_ShouldNeverOvershootLimit() throws Exception {
+        // Given - ten reservations of 10 bytes fit a limit of 100
+        quotaService.reconcile(ORG_ID);
+        int threads = 32;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> attempts = new ArrayList<>();
+
+        // When
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int i = 0; i < threads; i++) {
+                attempts.add(executor.submit(() -> {
+                    start.await(5, TimeUnit.SECONDS);
+                    try {
+                        quotaService.reserve(ORG_ID, 10);
+                        return true;
+                    } catch (StorageLimitExceedException e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+
+            // Then
+            int granted = 0;
+            for (Future<Boolean> attempt : attempts) {
+                if (attempt.get(10, TimeUnit.SECONDS)) {
+                    granted++;
+                }
+            }
+            assertThat(granted).isEqualTo(10);
+        }
+        assertThat(ledger("reserved")).isEqualTo(100);
+        assertThat(redisTemplate.opsForHash().size(LEDGER + ":reservations")).isEqualTo(10);
+    }
+
+    private long ledger(String field) {
+        Object value = redisTemplate.opsForHash().get(LEDGER, field);
+        return value != null ? Long.parseLong(value.toString()) : 0;
+    }
+}
@@ -0,0 +1,146 @@
+package com.aigreentick.services.storage.service.impl.storage;
+
+import com.aigreentick.services.storage.config.provider.LocalStorageProperties;
+import com.aigreentick.services.storage.dto.storage.ObjectStat;
+import com.aigreentick.services.storage.exception.StorageException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for the channel-based read paths of LocalFileSystemProviderImpl.
+ */
+class LocalFileSystemProviderImplTest {
+
+    private static final String STORAGE_KEY = "org-1/user-1/document/report.txt";
+    private static final String CONTENT = "0123456789abcdefghij";
+
+    @TempDir
+    Path rootPath;
+
+    private LocalStorageProperties properties;
+    private LocalFileSystemProviderImpl provider;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        properties = new LocalStorageProperties();
+        properties.setRootPath(rootPath.toString());
+        provider = new LocalFileSystemProviderImpl(properties, new LocalPathResolver(properties));
+
+        Path file = rootPath.resolve(STORAGE_KEY);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, CONTENT);
+    }
+
+    @Test
+    void retrieveRange_WhenRangeIsInsideFile_ShouldReturnOnlyThatRange() throws Exception {
+        // When
+        try (InputStream in = provider.retrieveRange(STORAGE_KEY, 5, 6)) {
+            // Then
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("56789a");
+        }
+    }
+
+    @Test
+    void transferRange_WhenTargetIsStream_ShouldWriteRangeAndReturnCount() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long written = provider.transferRange(STORAGE_KEY, 15, 5, Channels.newChannel(out));
+
+        // Then
+        assertThat(written).isEqualTo(5);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("fghij");
+    }
+
+    @Test
+    void transferRange_WhenRangeRunsPastEnd_ShouldStopAtFileSize() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long written = provider.transferRange(STORAGE_KEY, 18, 10, Channels.newChannel(out));
+
+        // Then - the caller sees the short count and decides how to fail
+        assertThat(written).isEqualTo(2);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("ij");
+    }
+
+    @Test
+    void download_WhenFileExists_ShouldCopyWholeFile() throws Exception {
+        // Given
+        Path target = Files.createFile(rootPath.resolve("spool.part"));
+
+        // When
+        provider.download(STORAGE_KEY, target);
+
+        // Then
+        assertThat(Files.readString(target)).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void stat_WhenFileExists_ShouldReturnSizeAndStableETag() {
+        // When
+        ObjectStat first = provider.stat(STORAGE_KEY);
+        ObjectStat second = provider.stat(STORAGE_KEY);
+
+        // Then
+        assertThat(first.getSize()).isEqualTo(CONTENT.length());
+        assertThat(first.getLastModified()).isNotNull();
+        assertThat(first.getETag()).startsWith("\"").endsWith("\"").isEqualTo(second.getETag());
+    }
+
+    @Test
+    void stat_WhenFileIsMissing_ShouldThrowStorageException() {
+        // When & Then
+        assertThatThrownBy(() -> provider.stat("org-1/user-1/document/missing.txt"))
+            .isInstanceOf(StorageException.class);
+    }
+
+    @Test
+    void deleteAll_WhenSomeKeysAreMissing_ShouldDeleteExistingAndReportNoFailures() {
+        // Given
+        String missing = "org-1/user-1/document/missing.txt";
+
+        // When
+        Set<String> before = provider.existsAll(List.of(STORAGE_KEY, missing));
+        Set<String> failed = provider.deleteAll(List.of(STORAGE_KEY, missing));
+
+        // Then
+        assertThat(before).containsExactly(STORAGE_KEY);
+        assertThat(failed).isEmpty();
+        assertThat(provider.existsAll(List.of(STORAGE_KEY, missing))).isEmpty();
+    }
+
+    @Test
+    void transition_WhenArchiveIsConfigured_ShouldMoveFileAndKeepItReadable() throws Exception {
+        // Given
+        Path archiveRoot = rootPath.resolve("archive");
+        properties.setArchiveRootPath(archiveRoot.toString());
+
+        // When
+        boolean moved = provider.transition(STORAGE_KEY, "ARCHIVE");
+
+        // Then
+        assertThat(moved).isTrue();
+        assertThat(rootPath.resolve(STORAGE_KEY)).doesNotExist();
+        assertThat(archiveRoot.resolve("org-1/user-1/document")).isDirectory();
+        try (InputStream in = provider.retrieve(STORAGE_KEY)) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(CONTENT);
+        }
+        assertThat(provider.transition(STORAGE_KEY, "GLACIER")).isFalse();
+    }
+}
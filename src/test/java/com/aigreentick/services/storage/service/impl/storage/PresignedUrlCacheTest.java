@@ -0,0 +1,99 @@
+package com.aigreentick.services.storage.service.impl.storage;
+
+import com.aigreentick.services.storage.config.provider.S3StorageProperties;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for PresignedUrlCache.
+ */
+class PresignedUrlCacheTest {
+
+    private static final String KEY = "org-1/user-1/image/abc.jpg";
+    private static final Duration EXPIRY = Duration.ofMinutes(60);
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final AtomicInteger signed = new AtomicInteger();
+    private final List<Duration> signedExpiries = new ArrayList<>();
+    private S3StorageProperties properties;
+    private PresignedUrlCache cache;
+
+    @BeforeEach
+    void setUp() {
+        properties = new S3StorageProperties();
+        cache = new PresignedUrlCache(properties, now::get);
+    }
+
+    @Test
+    void get_WithinReuseWindow_ShouldReturnCachedUrl() {
+        // Given
+        String first = cache.get(KEY, EXPIRY, this::sign);
+
+        // When - 11 of the 12 reusable minutes have passed
+        now.addAndGet(Duration.ofMinutes(11).toMillis());
+        String second = cache.get(KEY, EXPIRY, this::sign);
+
+        // Then
+        assertThat(second).isEqualTo(first);
+        assertThat(signed).hasValue(1);
+    }
+
+    @Test
+    void get_WhenNearExpiryOrInvalidated_ShouldSignAgain() {
+        // Given
+        cache.get(KEY, EXPIRY, this::sign);
+
+        // When - past the reuse window, then invalidated
+        now.addAndGet(Duration.ofMinutes(13).toMillis());
+        String refreshed = cache.get(KEY, EXPIRY, this::sign);
+        cache.invalidate(KEY);
+        String afterInvalidate = cache.get(KEY, EXPIRY, this::sign);
+
+        // Then
+        assertThat(refreshed).isEqualTo("url-2");
+        assertThat(afterInvalidate).isEqualTo("url-3");
+    }
+
+    @Test
+    void get_WhenExpiriesFallInOneBucket_ShouldShareUrlSignedForTheBucket() {
+        // Given
+        String first = cache.get(KEY, Duration.ofSeconds(3_590), this::sign);
+
+        // When - another caller asks for a slightly different expiry
+        String second = cache.get(KEY, Duration.ofSeconds(3_555), this::sign);
+
+        // Then
+        assertThat(second).isEqualTo(first);
+        assertThat(signedExpiries).containsExactly(Duration.ofSeconds(3_600));
+    }
+
+    @Test
+    void get_WhenFull_ShouldDropLeastRecentlyUsedKey() {
+        // Given - room for two keys; "a" is read again after "b" was added
+        properties.setPresignedUrlCacheMaxEntries(2);
+        cache.get("a", EXPIRY, this::sign);
+        cache.get("b", EXPIRY, this::sign);
+        cache.get("a", EXPIRY, this::sign);
+
+        // When
+        cache.get("c", EXPIRY, this::sign);
+
+        // Then - "a" is still cached, "b" was evicted
+        assertThat(cache.get("a", EXPIRY, this::sign)).isEqualTo("url-1");
+        assertThat(cache.get("b", EXPIRY, this::sign)).isEqualTo("url-4");
+    }
+
+    private String sign(Duration expiry) {
+        signedExpiries.add(expiry);
+        return "url-" + signed.incrementAndGet();
+    }
+}
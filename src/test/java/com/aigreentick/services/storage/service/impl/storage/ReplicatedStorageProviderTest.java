@@ -0,0 +1,163 @@
+package com.aigreentick.services.storage.service.impl.storage;
+
+import com.aigreentick.services.storage.config.UploadPipelineProperties;
+import com.aigreentick.services.storage.config.provider.ReplicatedStorageProperties;
+import com.aigreentick.services.storage.dto.storage.ReplicaWritesSettledEvent;
+import com.aigreentick.services.storage.dto.storage.StorageMetadata;
+import com.aigreentick.services.storage.dto.storage.StorageResult;
+import com.aigreentick.services.storage.enums.MediaType;
+import com.aigreentick.services.storage.enums.StorageProviderType;
+import com.aigreentick.services.storage.exception.StorageException;
+import com.aigreentick.services.storage.service.StorageProvider;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ReplicatedStorageProvider.
+ */
+@ExtendWith(MockitoExtension.class)
+class ReplicatedStorageProviderTest {
+
+    @Mock
+    private StorageProvider local;
+
+    @Mock
+    private StorageProvider s3;
+
+    @Mock
+    private ObjectProvider<StorageProvider> storageProviders;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ReplicatedStorageProperties properties;
+    private ReplicatedStorageProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        when(local.getProviderType()).thenReturn(StorageProviderType.LOCAL);
+        when(s3.getProviderType()).thenReturn(StorageProviderType.S3);
+        when(storageProviders.orderedStream()).thenAnswer(inv -> Stream.of(local, s3));
+
+        properties = new ReplicatedStorageProperties();
+        properties.setReplicas(List.of("local", "s3"));
+        properties.setWriteQuorum(1);
+        provider = new ReplicatedStorageProvider(properties, new UploadPipelineProperties(), storageProviders,
+                eventPublisher);
+    }
+
+    @AfterEach
+    void tearDown() {
+        provider.shutdown();
+    }
+
+    @Test
+    void save_WhenOneReplicaFailsWithinQuorum_ShouldStoreUnderSameKeyAndRecordHolder() {
+        // Given
+        when(local.save(any(InputStream.class), any())).thenAnswer(inv -> {
+            inv.getArgument(0, InputStream.class).readAllBytes();
+            return result(inv.getArgument(1, StorageMetadata.class), StorageProviderType.LOCAL);
+        });
+        when(s3.save(any(InputStream.class), any())).thenThrow(
+                new StorageException("Failed to upload file to S3", StorageProviderType.S3));
+
+        // When
+        StorageResult result = provider.save(new ByteArrayInputStream(new byte[300_000]), metadata());
+
+        // Then
+        assertThat(result.getProvider()).isEqualTo(StorageProviderType.REPLICATED);
+        assertThat(result.getReplicas()).containsExactly(StorageProviderType.LOCAL);
+        assertThat(result.getStorageKey()).startsWith("org-1/user-2/image/");
+    }
+
+    @Test
+    void save_WhenLateReplicaFinishesAfterAcknowledgement_ShouldPublishSettledReplicas() throws Exception {
+        // Given - S3 has read the content but only finishes once released
+        CountDownLatch release = new CountDownLatch(1);
+        when(local.save(any(InputStream.class), any())).thenAnswer(inv -> {
+            inv.getArgument(0, InputStream.class).readAllBytes();
+            return result(inv.getArgument(1, StorageMetadata.class), StorageProviderType.LOCAL);
+        });
+        when(s3.save(any(InputStream.class), any())).thenAnswer(inv -> {
+            inv.getArgument(0, InputStream.class).readAllBytes();
+            release.await(5, TimeUnit.SECONDS);
+            return result(inv.getArgument(1, StorageMetadata.class), StorageProviderType.S3);
+        });
+
+        // When
+        StorageResult result = provider.save(new ByteArrayInputStream(new byte[1024]), metadata());
+        release.countDown();
+
+        // Then
+        assertThat(result.getReplicas()).containsExactly(StorageProviderType.LOCAL);
+        verify(eventPublisher, timeout(5000)).publishEvent(new ReplicaWritesSettledEvent(result.getStorageKey(),
+                List.of(StorageProviderType.LOCAL, StorageProviderType.S3)));
+    }
+
+    @Test
+    void save_WhenQuorumCannotBeReached_ShouldThrowStorageException() {
+        // Given
+        properties.setWriteQuorum(2);
+        when(local.save(any(InputStream.class), any())).thenAnswer(inv -> {
+            inv.getArgument(0, InputStream.class).readAllBytes();
+            return result(inv.getArgument(1, StorageMetadata.class), StorageProviderType.LOCAL);
+        });
+        when(s3.save(any(InputStream.class), any())).thenThrow(
+                new StorageException("Failed to upload file to S3", StorageProviderType.S3));
+
+        // When / Then
+        assertThatThrownBy(() -> provider.save(new ByteArrayInputStream(new byte[1024]), metadata()))
+                .isInstanceOf(StorageException.class)
+                .hasMessageContaining("Write quorum not reached");
+    }
+
+    @Test
+    void retrieve_WhenFirstReplicaFails_ShouldFailOverToNextReplica() throws Exception {
+        // Given
+        when(local.retrieve("key")).thenThrow(
+                new StorageException("File not found: key", StorageProviderType.LOCAL, "key"));
+        when(s3.retrieve("key")).thenReturn(new ByteArrayInputStream(new byte[] { 1, 2, 3 }));
+
+        // When
+        try (InputStream in = provider.retrieve("key")) {
+            // Then
+            assertThat(in.readAllBytes()).containsExactly(1, 2, 3);
+        }
+    }
+
+    private StorageMetadata metadata() {
+        return StorageMetadata.builder()
+                .originalFilename("a.jpg")
+                .contentType("image/jpeg")
+                .userId(2L)
+                .organisationId(1L)
+                .mediaType(MediaType.IMAGE)
+                .fileExtension(".jpg")
+                .build();
+    }
+
+    private StorageResult result(StorageMetadata metadata, StorageProviderType type) {
+        return StorageResult.builder()
+                .storageKey(metadata.generateStorageKey())
+                .provider(type)
+                .build();
+    }
+}
@@ -0,0 +1,145 @@
+package com.aigreentick.services.storage.service.impl.storage;
+
+import com.aigreentick.services.storage.config.provider.S3StorageProperties;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for S3MultipartUploader.
+ */
+@ExtendWith(MockitoExtension.class)
+class S3MultipartUploaderTest {
+
+    private static final String STORAGE_KEY = "org-1/user-1/video/clip.mp4";
+    private static final int PART_SIZE = 1024;
+
+    @Mock
+    private S3Client s3Client;
+
+    private ExecutorService executor;
+    private S3MultipartUploader uploader;
+    private final Map<Integer, byte[]> receivedParts = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        S3StorageProperties properties = new S3StorageProperties();
+        properties.setBucket("media");
+        properties.setMultipartPartSizeBytes(PART_SIZE);
+        properties.setMultipartMaxConcurrency(2);
+        properties.setMultipartBufferPoolSize(3);
+
+        executor = Executors.newFixedThreadPool(3);
+        uploader = new S3MultipartUploader(s3Client, properties, executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void upload_WhenStreamSpansSeveralParts_ShouldSendOrderedPartsAndComplete() throws Exception {
+        // Given - unknown length, 3.5 parts
+        byte[] content = randomBytes(PART_SIZE * 3 + PART_SIZE / 2);
+        when(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+            .thenReturn(CreateMultipartUploadResponse.builder().uploadId("u-1").build());
+        when(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class))).thenAnswer(inv -> {
+            UploadPartRequest request = inv.getArgument(0);
+            receivedParts.put(request.partNumber(), read(inv.getArgument(1)));
+            return UploadPartResponse.builder().eTag("etag-" + request.partNumber()).build();
+        });
+
+        // When
+        long stored = uploader.upload(STORAGE_KEY, new ByteArrayInputStream(content), "video/mp4", Map.of());
+
+        // Then
+        assertThat(stored).isEqualTo(content.length);
+        ArgumentCaptor<CompleteMultipartUploadRequest> complete =
+            ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+        verify(s3Client).completeMultipartUpload(complete.capture());
+        assertThat(complete.getValue().multipartUpload().parts())
+            .extracting(CompletedPart::partNumber).containsExactly(1, 2, 3, 4);
+
+        ByteArrayOutputStream reassembled = new ByteArrayOutputStream();
+        for (int part = 1; part <= 4; part++) {
+            reassembled.write(receivedParts.get(part));
+        }
+        assertThat(reassembled.toByteArray()).isEqualTo(content);
+        verify(s3Client, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+    }
+
+    @Test
+    void upload_WhenStreamFitsOnePart_ShouldUseSinglePut() throws Exception {
+        // Given
+        byte[] content = randomBytes(PART_SIZE / 4);
+
+        // When
+        long stored = uploader.upload(STORAGE_KEY, new ByteArrayInputStream(content), "video/mp4", Map.of());
+
+        // Then
+        assertThat(stored).isEqualTo(content.length);
+        ArgumentCaptor<PutObjectRequest> put = ArgumentCaptor.forClass(PutObjectRequest.class);
+        verify(s3Client).putObject(put.capture(), any(RequestBody.class));
+        assertThat(put.getValue().contentLength()).isEqualTo(content.length);
+        verify(s3Client, never()).createMultipartUpload(any(CreateMultipartUploadRequest.class));
+    }
+
+    @Test
+    void upload_WhenPartFails_ShouldAbortUpload() {
+        // Given
+        when(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+            .thenReturn(CreateMultipartUploadResponse.builder().uploadId("u-1").build());
+        when(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class)))
+            .thenThrow(S3Exception.builder().message("slow down").statusCode(503).build());
+
+        // When & Then
+        assertThatThrownBy(() -> uploader.upload(STORAGE_KEY,
+                new ByteArrayInputStream(randomBytes(PART_SIZE * 5)), "video/mp4", Map.of()))
+            .isInstanceOf(S3Exception.class);
+        verify(s3Client).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+        verify(s3Client, never()).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+    }
+
+    private byte[] read(RequestBody body) throws Exception {
+        try (InputStream in = body.contentStreamProvider().newStream()) {
+            return in.readAllBytes();
+        }
+    }
+
+    private byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random(7).nextBytes(bytes);
+        return bytes;
+    }
+}
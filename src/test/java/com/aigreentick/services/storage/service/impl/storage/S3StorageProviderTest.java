@@ -0,0 +1,123 @@
+package com.aigreentick.services.storage.service.impl.storage;
+
+import com.aigreentick.services.storage.config.provider.S3StorageProperties;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+import software.amazon.awssdk.services.s3.model.S3Error;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the batch delete of S3StorageProvider.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class S3StorageProviderTest {
+
+    @Mock
+    private S3Client s3Client;
+    @Mock
+    private S3MultipartUploader multipartUploader;
+    @Mock
+    private S3Presigner s3Presigner;
+
+    private S3StorageProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        S3StorageProperties properties = new S3StorageProperties();
+        properties.setBucket("media");
+        provider = new S3StorageProvider(s3Client, multipartUploader, properties, s3Presigner,
+                new PresignedUrlCache(properties));
+        when(s3Client.deleteObjects(any(DeleteObjectsRequest.class)))
+                .thenReturn(DeleteObjectsResponse.builder().build());
+    }
+
+    @Test
+    void deleteAll_WhenMoreThanOneRequestWorthOfKeys_ShouldSendChunksOfAtMostOneThousand() {
+        // Given
+        List<String> keys = keys(2500);
+
+        // When
+        Set<String> failed = provider.deleteAll(keys);
+
+        // Then
+        ArgumentCaptor<DeleteObjectsRequest> requests = ArgumentCaptor.forClass(DeleteObjectsRequest.class);
+        verify(s3Client, times(3)).deleteObjects(requests.capture());
+        assertThat(requests.getAllValues())
+                .extracting(request -> request.delete().objects().size())
+                .containsExactly(1000, 1000, 500);
+        assertThat(requests.getAllValues())
+                .flatExtracting(request -> request.delete().objects())
+                .extracting(ObjectIdentifier::key)
+                .containsExactlyElementsOf(keys);
+        assertThat(failed).isEmpty();
+    }
+
+    @Test
+    void deleteAll_WhenSomeKeysAreRejected_ShouldReportOnlyThoseKeys() {
+        // Given
+        when(s3Client.deleteObjects(any(DeleteObjectsRequest.class))).thenReturn(DeleteObjectsResponse.builder()
+                .errors(S3Error.builder().key("key-7").code("AccessDenied").message("Access Denied").build())
+                .build());
+
+        // When
+        Set<String> failed = provider.deleteAll(keys(10));
+
+        // Then
+        assertThat(failed).containsExactly("key-7");
+    }
+
+    @Test
+    void deleteAll_WhenOneChunkFailsEntirely_ShouldReportThatChunkAndContinue() {
+        // Given - the second of three requests does not reach S3
+        when(s3Client.deleteObjects(any(DeleteObjectsRequest.class)))
+                .thenReturn(DeleteObjectsResponse.builder().build())
+                .thenThrow(SdkClientException.create("connection reset"))
+                .thenReturn(DeleteObjectsResponse.builder().build());
+        List<String> keys = keys(2100);
+
+        // When
+        Set<String> failed = provider.deleteAll(keys);
+
+        // Then
+        verify(s3Client, times(3)).deleteObjects(any(DeleteObjectsRequest.class));
+        assertThat(failed).hasSize(1000).containsExactlyElementsOf(keys.subList(1000, 2000));
+    }
+
+    @Test
+    void deleteAll_WhenKeysRepeat_ShouldDeleteEachOnce() {
+        // When
+        provider.deleteAll(List.of("key-1", "key-2", "key-1"));
+
+        // Then
+        ArgumentCaptor<DeleteObjectsRequest> request = ArgumentCaptor.forClass(DeleteObjectsRequest.class);
+        verify(s3Client).deleteObjects(request.capture());
+        assertThat(request.getValue().delete().objects()).extracting(ObjectIdentifier::key)
+                .containsExactly("key-1", "key-2");
+    }
+
+    private List<String> keys(int count) {
+        return IntStream.range(0, count).mapToObj(i -> "key-" + i).toList();
+    }
+}
@@ -0,0 +1,184 @@
+package com.aigreentick.services.storage.service.impl.storage;
+
+import com.aigreentick.services.storage.config.provider.TieredStorageProperties;
+import com.aigreentick.services.storage.dto.storage.StorageMetadata;
+import com.aigreentick.services.storage.dto.storage.StorageResult;
+import com.aigreentick.services.storage.enums.StorageProviderType;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TieredStorageProvider over a real disk cache.
+ */
+@ExtendWith(MockitoExtension.class)
+class TieredStorageProviderTest {
+
+    private static final String STORAGE_KEY = "org-1/user-1/image/a.jpg";
+
+    @TempDir
+    Path cacheDir;
+
+    @Mock
+    private S3StorageProvider remote;
+
+    private TieredStorageProperties properties;
+    private LocalDiskCache cache;
+    private TieredStorageProvider provider;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        properties = new TieredStorageProperties();
+        properties.setCacheDir(cacheDir.toString());
+        properties.setCacheMaxBytes(1024);
+        cache = new LocalDiskCache(properties);
+        cache.loadIndex();
+        provider = new TieredStorageProvider(remote, cache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.shutdown();
+    }
+
+    @Test
+    void retrieve_WhenObjectWasJustSaved_ShouldServeFromCacheWithoutRemoteRead() throws Exception {
+        // Given
+        when(remote.save(any(InputStream.class), any())).thenAnswer(inv -> {
+            inv.getArgument(0, InputStream.class).readAllBytes();
+            return result(STORAGE_KEY, 5);
+        });
+        provider.save(new ByteArrayInputStream(bytes("hello")), metadata());
+
+        // When
+        try (InputStream in = provider.retrieve(STORAGE_KEY)) {
+            // Then
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("hello");
+        }
+        verify(remote, never()).retrieve(any());
+    }
+
+    @Test
+    void retrieve_WhenObjectIsOnlyRemote_ShouldFillCacheOnceFullyRead() throws Exception {
+        // Given
+        when(remote.retrieve(STORAGE_KEY)).thenReturn(new ByteArrayInputStream(bytes("remote")));
+
+        // When - first read goes to S3, second is local
+        try (InputStream in = provider.retrieve(STORAGE_KEY)) {
+            in.readAllBytes();
+        }
+        try (InputStream in = provider.retrieve(STORAGE_KEY)) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("remote");
+        }
+
+        // Then
+        verify(remote, times(1)).retrieve(STORAGE_KEY);
+    }
+
+    @Test
+    void retrieve_WhenObjectIsDeletedDuringRemoteRead_ShouldNotCacheIt() throws Exception {
+        // Given
+        when(remote.retrieve(STORAGE_KEY)).thenAnswer(inv -> new ByteArrayInputStream(bytes("remote")));
+        when(remote.delete(STORAGE_KEY)).thenReturn(true);
+
+        // When - the delete lands after the bytes were read but before the fill commits
+        try (InputStream in = provider.retrieve(STORAGE_KEY)) {
+            in.readAllBytes();
+            provider.delete(STORAGE_KEY);
+        }
+
+        // Then
+        assertThat(cache.contains(STORAGE_KEY)).isFalse();
+        assertThat(cache.lookup(STORAGE_KEY)).isNull();
+        assertThat(cache.usedBytes()).isZero();
+    }
+
+    @Test
+    void save_WhenObjectIsEvictedAndCachedAgain_ShouldKeepTheNewCopy() throws Exception {
+        // Given
+        when(remote.save(any(InputStream.class), any())).thenAnswer(inv -> {
+            inv.getArgument(0, InputStream.class).readAllBytes();
+            return result(STORAGE_KEY, 3);
+        }).thenAnswer(inv -> {
+            inv.getArgument(0, InputStream.class).readAllBytes();
+            return result(STORAGE_KEY, 5);
+        });
+        provider.save(new ByteArrayInputStream(bytes("old")), metadata());
+
+        // When
+        cache.evict(STORAGE_KEY);
+        provider.save(new ByteArrayInputStream(bytes("fresh")), metadata());
+
+        // Then
+        try (InputStream in = provider.retrieve(STORAGE_KEY)) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("fresh");
+        }
+        assertThat(cache.usedBytes()).isEqualTo(5);
+        verify(remote, never()).retrieve(any());
+    }
+
+    @Test
+    void save_WhenCacheExceedsMaximum_ShouldEvictLeastRecentlyUsedInBackground() throws Exception {
+        // Given - three 400 byte objects in a 1024 byte cache, the first read again after the second
+        when(remote.save(any(InputStream.class), any())).thenAnswer(inv -> {
+            inv.getArgument(0, InputStream.class).readAllBytes();
+            return result("org-1/user-1/image/first.jpg", 400);
+        }).thenAnswer(inv -> {
+            inv.getArgument(0, InputStream.class).readAllBytes();
+            return result("org-1/user-1/image/second.jpg", 400);
+        }).thenAnswer(inv -> {
+            inv.getArgument(0, InputStream.class).readAllBytes();
+            return result("org-1/user-1/image/third.jpg", 400);
+        });
+        String first = provider.save(new ByteArrayInputStream(new byte[400]), metadata()).getStorageKey();
+        provider.save(new ByteArrayInputStream(new byte[400]), metadata());
+        cache.lookup(first);
+
+        // When
+        provider.save(new ByteArrayInputStream(new byte[400]), metadata());
+
+        // Then
+        awaitUsedBytesAtMost(1024);
+        assertThat(cache.contains("org-1/user-1/image/second.jpg")).isFalse();
+        assertThat(cache.contains(first)).isTrue();
+        assertThat(cache.contains("org-1/user-1/image/third.jpg")).isTrue();
+    }
+
+    private void awaitUsedBytesAtMost(long limit) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (cache.usedBytes() > limit && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(cache.usedBytes()).isLessThanOrEqualTo(limit);
+    }
+
+    private StorageResult result(String storageKey, long size) {
+        return StorageResult.builder()
+                .storageKey(storageKey)
+                .provider(StorageProviderType.S3)
+                .fileSize(size)
+                .build();
+    }
+
+    private StorageMetadata metadata() {
+        return StorageMetadata.builder().originalFilename("a.jpg").contentType("image/jpeg").build();
+    }
+
+    private byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,254 @@
+package com.aigreentick.services.storage.service.impl.upload;
+
+import com.aigreentick.services.common.context.UserContext;
+import com.aigreentick.services.common.context.UserContextData;
+import com.aigreentick.services.storage.config.ResumableUploadProperties;
+import com.aigreentick.services.storage.dto.request.ResumableUploadRequest;
+import com.aigreentick.services.storage.dto.response.MediaUploadResponse;
+import com.aigreentick.services.storage.dto.response.ResumableUploadResponse;
+import com.aigreentick.services.storage.dto.storage.QuotaReservation;
+import com.aigreentick.services.storage.dto.storage.StorageResult;
+import com.aigreentick.services.storage.enums.MediaType;
+import com.aigreentick.services.storage.enums.StorageProviderType;
+import com.aigreentick.services.storage.exception.UploadSessionConflictException;
+import com.aigreentick.services.storage.mapper.MediaMapper;
+import com.aigreentick.services.storage.model.Media;
+import com.aigreentick.services.storage.service.StorageProvider;
+import com.aigreentick.services.storage.service.impl.media.MediaCommitServiceImpl;
+import com.aigreentick.services.storage.service.impl.quota.StorageQuotaServiceImpl;
+import com.aigreentick.services.storage.validator.MediaValidator;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ResumableUploadServiceImpl, with session state in a real Redis.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ResumableUploadServiceImplTest {
+    private static final int CHUNK = 4;
+    private static final String UPLOAD_ID = "upload-1";
+
+    @Container
+    private static final GenericContainer<?> REDIS = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379);
+
+    @Mock
+    private StorageProvider storageProvider;
+    @Mock
+    private MediaCommitServiceImpl mediaCommitService;
+    @Mock
+    private StorageQuotaServiceImpl quotaService;
+    @Mock
+    private MediaValidator mediaValidator;
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private ResumableUploadServiceImpl uploadService;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(REDIS.getHost(), REDIS.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.afterPropertiesSet();
+        redisTemplate.execute(connection -> {
+            connection.serverCommands().flushDb();
+            return null;
+        }, true);
+
+        ResumableUploadProperties properties = new ResumableUploadProperties();
+        properties.setChunkSizeBytes(CHUNK);
+        uploadService = new ResumableUploadServiceImpl(redisTemplate, storageProvider, new MediaMapper(),
+                mediaCommitService, quotaService, mediaValidator, properties);
+
+        UserContext.set(new UserContextData(1L, 1L));
+        when(mediaValidator.validateResumableUpload(anyString(), anyString(), anyLong())).thenReturn(MediaType.IMAGE);
+        when(quotaService.reserve(any(), anyLong(), any(Duration.class))).thenAnswer(inv ->
+                new QuotaReservation("r-1", inv.getArgument(0), inv.getArgument(1), true));
+        when(storageProvider.initiateChunkedUpload(anyString(), any())).thenReturn(UPLOAD_ID);
+        when(storageProvider.writeChunk(anyString(), eq(UPLOAD_ID), anyInt(), anyLong(), any(), anyLong()))
+                .thenAnswer(inv -> "etag-" + inv.getArgument(2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        UserContext.clear();
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void createSession_WhenQuotaFits_ShouldReserveForTheWholeSessionTtl() {
+        // When
+        ResumableUploadResponse session = uploadService.createSession(request(6));
+
+        // Then
+        assertThat(session.getOffset()).isZero();
+        assertThat(session.getChunkSizeBytes()).isEqualTo(CHUNK);
+        verify(quotaService).reserve(1L, 6L, Duration.ofHours(24));
+    }
+
+    @Test
+    void writeChunk_WhenOffsetMatches_ShouldAdvanceAndRenewReservation() {
+        // Given
+        String id = uploadService.createSession(request(6)).getId();
+
+        // When
+        long offset = uploadService.writeChunk(id, 0, CHUNK, new ByteArrayInputStream(new byte[CHUNK]));
+
+        // Then
+        assertThat(offset).isEqualTo(CHUNK);
+        assertThat(uploadService.getSession(id).getOffset()).isEqualTo(CHUNK);
+        verify(quotaService).renew(argThat(reservation -> "r-1".equals(reservation.getId())),
+                eq(Duration.ofHours(24)));
+    }
+
+    @Test
+    void writeChunk_WhenOffsetIsStale_ShouldReportCurrentOffset() {
+        // Given
+        String id = uploadService.createSession(request(6)).getId();
+        uploadService.writeChunk(id, 0, CHUNK, new ByteArrayInputStream(new byte[CHUNK]));
+
+        // When / Then
+        assertThatThrownBy(() -> uploadService.writeChunk(id, 0, CHUNK, new ByteArrayInputStream(new byte[CHUNK])))
+                .isInstanceOfSatisfying(UploadSessionConflictException.class,
+                        e -> assertThat(e.getCurrentOffset()).isEqualTo(CHUNK));
+        verify(storageProvider, times(1)).writeChunk(anyString(), anyString(), anyInt(), anyLong(), any(), anyLong());
+    }
+
+    @Test
+    void completeSession_WhenAllBytesArrived_ShouldChecksumCommitAndChargeQuota() {
+        // Given
+        String id = uploadService.createSession(request(6)).getId();
+        uploadService.writeChunk(id, 0, CHUNK, new ByteArrayInputStream(new byte[CHUNK]));
+        uploadService.writeChunk(id, CHUNK, 2, new ByteArrayInputStream(new byte[2]));
+        when(storageProvider.completeChunkedUpload(anyString(), eq(UPLOAD_ID), eq(List.of("etag-1", "etag-2")), any()))
+                .thenAnswer(inv -> StorageResult.builder()
+                        .storageKey(inv.getArgument(0))
+                        .provider(StorageProviderType.S3)
+                        .build());
+        when(storageProvider.retrieve(anyString())).thenReturn(new ByteArrayInputStream(new byte[6]));
+        when(mediaCommitService.commit(any(), anyBoolean())).thenAnswer(inv -> inv.getArgument(0));
+
+        // When
+        MediaUploadResponse response = uploadService.completeSession(id);
+
+        // Then
+        assertThat(response.getFileSizeBytes()).isEqualTo(6L);
+        verify(mediaCommitService).commit(argThat(media -> media.getChecksum() != null
+                && media.getChecksum().length() == 64), eq(true));
+        verify(quotaService).commit(any(QuotaReservation.class));
+        assertThatThrownBy(() -> uploadService.getSession(id))
+                .hasMessageContaining("not found");
+    }
+
+    @Test
+    void completeSession_WhenContentIsDuplicate_ShouldDeleteNewObjectAndReturnQuota() {
+        // Given
+        String id = uploadService.createSession(request(2)).getId();
+        uploadService.writeChunk(id, 0, 2, new ByteArrayInputStream(new byte[2]));
+        when(storageProvider.completeChunkedUpload(anyString(), eq(UPLOAD_ID), anyList(), any()))
+                .thenAnswer(inv -> StorageResult.builder()
+                        .storageKey(inv.getArgument(0))
+                        .provider(StorageProviderType.S3)
+                        .build());
+        when(storageProvider.retrieve(anyString())).thenReturn(new ByteArrayInputStream(new byte[2]));
+        when(mediaCommitService.commit(any(), anyBoolean())).thenAnswer(inv -> {
+            Media media = inv.getArgument(0);
+            media.setStorageKey("org-1/user-1/image/existing.jpg");
+            return media;
+        });
+
+        // When
+        uploadService.completeSession(id);
+
+        // Then
+        verify(storageProvider).delete(argThat(key -> !key.equals("org-1/user-1/image/existing.jpg")));
+        verify(quotaService).release(any(QuotaReservation.class));
+        verify(quotaService, never()).commit(any(QuotaReservation.class));
+    }
+
+    @Test
+    void abortExpiredSessions_WhenSessionExpiredInRedis_ShouldAbortProviderUpload() {
+        // Given - Redis dropped the session and its expiry is due
+        String id = uploadService.createSession(request(6)).getId();
+        redisTemplate.delete("upload:session:{" + id + "}");
+        redisTemplate.opsForZSet().add("upload:sessions:expiry", id, 0);
+
+        // When
+        int aborted = uploadService.abortExpiredSessions(10);
+
+        // Then
+        assertThat(aborted).isEqualTo(1);
+        verify(storageProvider).abortChunkedUpload(anyString(), eq(UPLOAD_ID));
+        assertThat(uploadService.abortExpiredSessions(10)).isZero();
+    }
+
+    @Test
+    void abortExpiredSessions_WhenSessionIsStillAlive_ShouldLeaveIt() {
+        // Given
+        String id = uploadService.createSession(request(6)).getId();
+        redisTemplate.opsForZSet().add("upload:sessions:expiry", id, 0);
+
+        // When
+        int aborted = uploadService.abortExpiredSessions(10);
+
+        // Then
+        assertThat(aborted).isZero();
+        verify(storageProvider, never()).abortChunkedUpload(anyString(), anyString());
+        assertThat(uploadService.getSession(id).getOffset()).isZero();
+    }
+
+    @Test
+    void abortSession_WhenCalled_ShouldAbortUploadAndDropItFromTheSweep() {
+        // Given
+        String id = uploadService.createSession(request(6)).getId();
+
+        // When
+        uploadService.abortSession(id);
+
+        // Then
+        verify(storageProvider).abortChunkedUpload(anyString(), eq(UPLOAD_ID));
+        verify(quotaService).release(any(QuotaReservation.class));
+        assertThat(redisTemplate.opsForZSet().size("upload:sessions:expiry")).isZero();
+    }
+
+    private ResumableUploadRequest request(long size) {
+        return ResumableUploadRequest.builder()
+                .filename("photo.jpg")
+                .contentType("image/jpeg")
+                .size(size)
+                .build();
+    }
+}
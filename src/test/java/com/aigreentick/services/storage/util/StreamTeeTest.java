@@ -0,0 +1,138 @@
+package com.aigreentick.services.storage.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for StreamTee.
+ */
+class StreamTeeTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void branches_WhenReadConcurrently_ShouldEachReceiveAllBytes() throws Exception {
+        // Given
+        byte[] payload = randomBytes(1_000_003);
+        StreamTee tee = new StreamTee(new ByteArrayInputStream(payload), 2, 4096, 4);
+
+        // When
+        CompletableFuture<byte[]> first = readAsync(tee.branch(0));
+        CompletableFuture<byte[]> second = readAsync(tee.branch(1));
+        tee.start(executor);
+
+        // Then
+        assertThat(first.get(10, TimeUnit.SECONDS)).isEqualTo(payload);
+        assertThat(second.get(10, TimeUnit.SECONDS)).isEqualTo(payload);
+    }
+
+    @Test
+    void branch_WhenOtherBranchIsClosed_ShouldStillReceiveAllBytes() throws Exception {
+        // Given
+        byte[] payload = randomBytes(200_000);
+        StreamTee tee = new StreamTee(new ByteArrayInputStream(payload), 2, 1024, 2);
+
+        // When - second consumer gives up immediately
+        tee.branch(1).close();
+        CompletableFuture<byte[]> first = readAsync(tee.branch(0));
+        tee.start(executor);
+
+        // Then
+        assertThat(first.get(10, TimeUnit.SECONDS)).isEqualTo(payload);
+    }
+
+    @Test
+    void branch_WhenOtherBranchStallsPastTimeout_ShouldStillReceiveAllBytes() throws Exception {
+        // Given
+        byte[] payload = randomBytes(200_000);
+        StreamTee tee = new StreamTee(new ByteArrayInputStream(payload), 2, 1024, 2, Duration.ofMillis(200));
+
+        // When - second consumer never reads
+        CompletableFuture<byte[]> first = readAsync(tee.branch(0));
+        tee.start(executor);
+
+        // Then
+        assertThat(first.get(10, TimeUnit.SECONDS)).isEqualTo(payload);
+        tee.drained().get(10, TimeUnit.SECONDS);
+        assertThatThrownBy(() -> tee.branch(1).readAllBytes())
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("fell behind");
+    }
+
+    @Test
+    void stallTimeout_WhenSetOnOneBranch_ShouldDetachOnlyThatBranch() throws Exception {
+        // Given
+        byte[] payload = randomBytes(200_000);
+        StreamTee tee = new StreamTee(new ByteArrayInputStream(payload), 2, 1024, 2);
+        tee.stallTimeout(1, Duration.ofMillis(200));
+
+        // When - second consumer never reads
+        CompletableFuture<byte[]> first = readAsync(tee.branch(0));
+        tee.start(executor);
+
+        // Then
+        assertThat(first.get(10, TimeUnit.SECONDS)).isEqualTo(payload);
+        assertThatThrownBy(() -> tee.branch(1).readAllBytes())
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("fell behind");
+    }
+
+    @Test
+    void branch_WhenSourceFails_ShouldPropagateIOException() {
+        // Given
+        InputStream failing = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("boom");
+            }
+        };
+        StreamTee tee = new StreamTee(failing, 1, 1024, 2);
+
+        // When
+        tee.start(executor);
+
+        // Then
+        assertThatThrownBy(() -> tee.branch(0).readAllBytes())
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("Tee source failed");
+    }
+
+    @Test
+    void constructor_WhenBranchCountIsZero_ShouldThrowException() {
+        assertThatThrownBy(() -> new StreamTee(new ByteArrayInputStream(new byte[0]), 0, 1024, 2))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private CompletableFuture<byte[]> readAsync(InputStream branch) {
+        return CompletableFuture.supplyAsync(() -> {
+            try (branch) {
+                return branch.readAllBytes();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }, executor);
+    }
+
+    private byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random(42).nextBytes(bytes);
+        return bytes;
+    }
+}
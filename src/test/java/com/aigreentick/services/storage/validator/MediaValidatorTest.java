@@ -210,4 +210,25 @@ public class MediaValidatorTest {
             .hasMessageContaining("Content type is missing");
     }
 
+    @Test
+    void validateResumableUpload_WhenDocumentExceedsRequestLimit_ShouldAcceptUpToTypeLimit() {
+        // Given - 80MB is above the 50MB single-request limit but within the document limit
+        long size = 80L * 1024 * 1024;
+
+        // When
+        MediaType result = mediaValidator.validateResumableUpload("report.pdf", "application/pdf", size);
+
+        // Then
+        assertThat(result).isEqualTo(MediaType.DOCUMENT);
+    }
+
+    @Test
+    void validateResumableUpload_WhenSizeExceedsTypeLimit_ShouldThrowException() {
+        // When & Then
+        assertThatThrownBy(() -> mediaValidator.validateResumableUpload(
+                "photo.jpg", "image/jpeg", MediaType.IMAGE.getMaxBytes() + 1))
+            .isInstanceOf(InvalidMediaException.class)
+            .hasMessageContaining("IMAGE files are limited");
+    }
+
 }